@@ -0,0 +1,137 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2016 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.benchmarks;
+
+import com.itextpdf.io.source.ByteArrayOutputStream;
+import com.itextpdf.io.source.OutputStream;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfResources;
+import com.itextpdf.kernel.pdf.PdfStream;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures throughput of number and operator emission to the content stream,
+ * in both default and high precision modes of the number formatting.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class OperatorEmissionBenchmark {
+
+    private static final int NUMBER_OF_OPERANDS = 10000;
+
+    @Param({"false", "true"})
+    private boolean highPrecision;
+
+    private double[] operands;
+    private ByteArrayOutputStream baos;
+    private OutputStream<ByteArrayOutputStream> outputStream;
+    private PdfDocument pdfDocument;
+    private PdfStream contentStream;
+    private PdfCanvas canvas;
+    private boolean previousHighPrecision;
+
+    @Setup
+    public void setUp() {
+        previousHighPrecision = OutputStream.getHighPrecision();
+        OutputStream.setHighPrecision(highPrecision);
+        Random random = new Random(NUMBER_OF_OPERANDS);
+        operands = new double[NUMBER_OF_OPERANDS];
+        for (int i = 0; i < operands.length; i++) {
+            operands[i] = (random.nextDouble() - 0.1) * 1000;
+        }
+        baos = new ByteArrayOutputStream();
+        outputStream = new OutputStream<>(baos);
+        pdfDocument = new PdfDocument(new PdfWriter(new java.io.ByteArrayOutputStream()));
+        contentStream = new PdfStream();
+        canvas = new PdfCanvas(contentStream, new PdfResources(), pdfDocument);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pdfDocument.close();
+        OutputStream.setHighPrecision(previousHighPrecision);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NUMBER_OF_OPERANDS)
+    public long writeDouble() {
+        outputStream.reset();
+        for (double operand : operands) {
+            outputStream.writeDouble(operand);
+            outputStream.writeSpace();
+        }
+        return outputStream.getCurrentPos();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NUMBER_OF_OPERANDS / 2)
+    public long lineTo() {
+        contentStream.getOutputStream().reset();
+        for (int i = 0; i < operands.length; i += 2) {
+            canvas.lineTo(operands[i], operands[i + 1]);
+        }
+        return contentStream.getOutputStream().getCurrentPos();
+    }
+}
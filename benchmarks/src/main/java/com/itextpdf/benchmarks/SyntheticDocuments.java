@@ -0,0 +1,170 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2016 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.benchmarks;
+
+import com.itextpdf.io.font.FontConstants;
+import com.itextpdf.io.source.ByteUtils;
+import com.itextpdf.io.source.RandomAccessSourceFactory;
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.ReaderProperties;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.Random;
+
+/**
+ * Generates the documents and the text used as input of the benchmarks, so that they can be run
+ * without any external files.
+ */
+final class SyntheticDocuments {
+
+    private static final String[] WORDS = {"lorem", "ipsum", "dolor", "sit", "amet", "consectetur", "adipiscing",
+            "elit", "sed", "do", "eiusmod", "tempor", "incididunt", "ut", "labore", "et", "dolore", "magna", "aliqua",
+            "enim", "ad", "minim", "veniam", "quis", "nostrud", "exercitation", "ullamco", "laboris", "nisi",
+            "aliquip", "ex", "ea", "commodo", "consequat"};
+
+    private static final String[] FONT_LOCATIONS = {
+            "kernel/src/test/resources/com/itextpdf/kernel/pdf/EncodingTest/FreeSans.ttf",
+            "../kernel/src/test/resources/com/itextpdf/kernel/pdf/EncodingTest/FreeSans.ttf"};
+
+    private SyntheticDocuments() {
+    }
+
+    /**
+     * Creates a document with the given number of pages, each page is filled with lines of text
+     * shown with a standard font.
+     */
+    static byte[] createTextDocument(int numberOfPages, int linesPerPage) throws IOException {
+        Random random = new Random(numberOfPages);
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument pdfDocument = new PdfDocument(new PdfWriter(baos));
+        PdfFont font = PdfFontFactory.createFont(FontConstants.HELVETICA);
+        for (int i = 0; i < numberOfPages; i++) {
+            PdfCanvas canvas = new PdfCanvas(pdfDocument.addNewPage());
+            canvas.beginText().setFontAndSize(font, 10).moveText(36, 806);
+            for (int j = 0; j < linesPerPage; j++) {
+                canvas.showText(createText(random, 12));
+                canvas.moveText(0, -12);
+            }
+            canvas.endText();
+            canvas.release();
+        }
+        pdfDocument.close();
+        return baos.toByteArray();
+    }
+
+    /**
+     * Creates a reader over the document kept in memory without copying it.
+     */
+    static PdfReader createReader(byte[] document, ReaderProperties properties) throws IOException {
+        return new PdfReader(new RandomAccessSourceFactory().createSource(document), properties);
+    }
+
+    /**
+     * Creates a copy of the document with the broken offset of the cross-reference table,
+     * so that the table has to be rebuilt when the document is opened.
+     */
+    static byte[] breakXrefOffset(byte[] document) {
+        byte[] broken = document.clone();
+        byte[] startxref = ByteUtils.getIsoBytes("startxref");
+        int pos = lastIndexOf(broken, startxref) + startxref.length;
+        while (pos < broken.length && !Character.isDigit(broken[pos])) {
+            pos++;
+        }
+        while (pos < broken.length && Character.isDigit(broken[pos])) {
+            broken[pos++] = '0';
+        }
+        return broken;
+    }
+
+    /**
+     * Creates a text of the given number of words. The same seed always produces the same text.
+     */
+    static String createText(Random random, int numberOfWords) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < numberOfWords; i++) {
+            if (i > 0) {
+                sb.append(' ');
+            }
+            sb.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Finds the TrueType font shipped with the test resources of the repository. The location can be overridden
+     * with the {@code benchmarks.font} system property.
+     */
+    static String findFontFile() {
+        String font = System.getProperty("benchmarks.font");
+        if (font != null) {
+            return font;
+        }
+        for (String location : FONT_LOCATIONS) {
+            if (new File(location).isFile()) {
+                return location;
+            }
+        }
+        throw new IllegalStateException("Font file is not found, specify it with -Dbenchmarks.font=<path>");
+    }
+
+    private static int lastIndexOf(byte[] bytes, byte[] pattern) {
+        for (int i = bytes.length - pattern.length; i >= 0; i--) {
+            int j = 0;
+            while (j < pattern.length && bytes[i + j] == pattern[j]) {
+                j++;
+            }
+            if (j == pattern.length) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Pattern is not found");
+    }
+}
@@ -0,0 +1,158 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2016 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.benchmarks;
+
+import com.itextpdf.kernel.geom.Rectangle;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.ReaderProperties;
+import com.itextpdf.kernel.pdf.canvas.parser.EventType;
+import com.itextpdf.kernel.pdf.canvas.parser.ParallelTextExtractor;
+import com.itextpdf.kernel.pdf.canvas.parser.PdfCanvasProcessor;
+import com.itextpdf.kernel.pdf.canvas.parser.data.IEventData;
+import com.itextpdf.kernel.pdf.canvas.parser.data.TextRenderInfo;
+import com.itextpdf.kernel.pdf.canvas.parser.filter.TextRegionEventFilter;
+import com.itextpdf.kernel.pdf.canvas.parser.listener.FilteredTextEventListener;
+import com.itextpdf.kernel.pdf.canvas.parser.listener.IEventListener;
+import com.itextpdf.kernel.pdf.canvas.parser.listener.ITextExtractionStrategy;
+import com.itextpdf.kernel.pdf.canvas.parser.listener.ITextExtractionStrategyFactory;
+import com.itextpdf.kernel.pdf.canvas.parser.listener.LocationTextExtractionStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures text extraction with {@link LocationTextExtractionStrategy}, page by page and with {@link ParallelTextExtractor},
+ * and the processing of text render events by the listeners which only need the decoded text or filter out most of the text.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TextExtractionBenchmark {
+
+    @Param({"50"})
+    private int numberOfPages;
+
+    private PdfDocument pdfDocument;
+    private PdfDocument concurrentPdfDocument;
+    private ParallelTextExtractor parallelTextExtractor;
+
+    @Setup
+    public void setUp() throws IOException {
+        byte[] document = SyntheticDocuments.createTextDocument(numberOfPages, 60);
+        pdfDocument = new PdfDocument(SyntheticDocuments.createReader(document, new ReaderProperties()));
+        concurrentPdfDocument = new PdfDocument(SyntheticDocuments.createReader(document, new ReaderProperties().useConcurrentReadAccess()));
+        parallelTextExtractor = new ParallelTextExtractor(new ITextExtractionStrategyFactory() {
+            @Override
+            public ITextExtractionStrategy createStrategy(int pageNumber) {
+                return new LocationTextExtractionStrategy();
+            }
+        });
+    }
+
+    @TearDown
+    public void tearDown() {
+        pdfDocument.close();
+        concurrentPdfDocument.close();
+    }
+
+    @Benchmark
+    public void extractText(Blackhole blackhole) {
+        for (int i = 1; i <= pdfDocument.getNumberOfPages(); i++) {
+            LocationTextExtractionStrategy strategy = new LocationTextExtractionStrategy();
+            new PdfCanvasProcessor(strategy).processPageContent(pdfDocument.getPage(i));
+            blackhole.consume(strategy.getResultantText());
+        }
+    }
+
+    @Benchmark
+    public void extractTextInParallel(Blackhole blackhole) {
+        blackhole.consume(parallelTextExtractor.extractText(concurrentPdfDocument));
+    }
+
+    @Benchmark
+    public void decodeTextOnly(final Blackhole blackhole) {
+        IEventListener listener = new IEventListener() {
+            @Override
+            public void eventOccurred(IEventData data, EventType type) {
+                blackhole.consume(((TextRenderInfo) data).getText());
+            }
+
+            @Override
+            public Set<EventType> getSupportedEvents() {
+                return Collections.singleton(EventType.RENDER_TEXT);
+            }
+        };
+        for (int i = 1; i <= pdfDocument.getNumberOfPages(); i++) {
+            new PdfCanvasProcessor(listener).processPageContent(pdfDocument.getPage(i));
+        }
+    }
+
+    @Benchmark
+    public void extractTextInRegion(Blackhole blackhole) {
+        Rectangle region = new Rectangle(36, 700, 200, 50);
+        for (int i = 1; i <= pdfDocument.getNumberOfPages(); i++) {
+            FilteredTextEventListener listener = new FilteredTextEventListener(new LocationTextExtractionStrategy(), new TextRegionEventFilter(region));
+            new PdfCanvasProcessor(listener).processPageContent(pdfDocument.getPage(i));
+            blackhole.consume(listener.getResultantText());
+        }
+    }
+}
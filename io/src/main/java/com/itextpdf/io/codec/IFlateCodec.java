@@ -0,0 +1,84 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2016 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.io.codec;
+
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+
+/**
+ * The Flate (zlib) compression backend used by {@link com.itextpdf.io.source.DeflaterOutputStream}
+ * and by the decoding of the FlateDecode streams. The backend in use is defined by {@link FlateCodecs}.
+ * <br>
+ * Implementations must be thread safe, as the streams are compressed and decoded concurrently.
+ */
+public interface IFlateCodec {
+
+    /**
+     * Gets a deflater, which is reset and set up to compress with the given level. The deflater is owned by
+     * the caller until it is passed to {@link #releaseDeflater(Deflater)}.
+     *
+     * @param level the compression level, from -1 to 9
+     * @return a deflater ready to compress
+     */
+    Deflater acquireDeflater(int level);
+
+    /**
+     * Gives back a deflater obtained by {@link #acquireDeflater(int)}. The deflater must not be used after this call.
+     *
+     * @param deflater the deflater which is no longer used
+     */
+    void releaseDeflater(Deflater deflater);
+
+    /**
+     * Decompresses the zlib data. The bytes following the end of the zlib stream are ignored.
+     *
+     * @param input          the compressed data
+     * @param expectedLength the expected length of the decompressed data, e.g. taken from the /DL entry
+     *                       of a stream dictionary, or 0 if it is unknown. It is used only to size the output buffer
+     *                       and must not be trusted, as it comes from the document
+     * @return the decompressed data
+     * @throws DataFormatException if the data is corrupted or truncated
+     */
+    byte[] inflate(byte[] input, int expectedLength) throws DataFormatException;
+}
@@ -0,0 +1,209 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2016 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.io.codec;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * The default {@link IFlateCodec} based on {@link Deflater} and {@link Inflater} of the JDK.
+ * <br>
+ * Creating a deflater or an inflater allocates the native zlib state, which is noticeable for small streams,
+ * so the instances are reset and reused. At most {@code maxPooledInstances} idle instances are kept per compression
+ * level, the rest are ended when they are released. Decompression writes directly into a buffer sized
+ * after the expected length, instead of copying through a stream. As the expected length usually comes from
+ * the document, it is only trusted up to {@value #MAX_INITIAL_BUFFER_SIZE} bytes and up to
+ * {@value #MAX_EXPECTED_RATIO} times the length of the compressed data; above that the buffer grows as needed.
+ */
+public class PooledFlateCodec implements IFlateCodec {
+
+    /**
+     * The default maximum number of idle instances kept per compression level and for decompression.
+     */
+    public static final int DEFAULT_MAX_POOLED_INSTANCES = 8;
+
+    private static final int MIN_BUFFER_SIZE = 1024;
+
+    private static final int MAX_INITIAL_BUFFER_SIZE = 16 * 1024 * 1024;
+
+    private static final int MAX_EXPECTED_RATIO = 32;
+
+    // some VMs reserve header words in an array
+    private static final int MAX_BUFFER_SIZE = Integer.MAX_VALUE - 8;
+
+    private final int maxPooledInstances;
+
+    // idle deflaters, indexed by compression level + 1
+    private final ArrayDeque<Deflater>[] deflaters;
+
+    private final ArrayDeque<Inflater> inflaters = new ArrayDeque<>();
+
+    /**
+     * Creates a codec, which keeps at most {@link #DEFAULT_MAX_POOLED_INSTANCES} idle instances.
+     */
+    public PooledFlateCodec() {
+        this(DEFAULT_MAX_POOLED_INSTANCES);
+    }
+
+    /**
+     * Creates a codec, which keeps at most the given number of idle instances per compression level
+     * and for decompression.
+     *
+     * @param maxPooledInstances the maximum number of idle instances, 0 disables pooling
+     */
+    @SuppressWarnings("unchecked")
+    public PooledFlateCodec(int maxPooledInstances) {
+        if (maxPooledInstances < 0) {
+            throw new IllegalArgumentException("The parameter must be a non-negative integer");
+        }
+        this.maxPooledInstances = maxPooledInstances;
+        this.deflaters = new ArrayDeque[Deflater.BEST_COMPRESSION + 2];
+        for (int i = 0; i < deflaters.length; i++) {
+            deflaters[i] = new ArrayDeque<>();
+        }
+    }
+
+    @Override
+    public Deflater acquireDeflater(int level) {
+        if (level < Deflater.DEFAULT_COMPRESSION || level > Deflater.BEST_COMPRESSION) {
+            // let Deflater report the invalid level
+            return new Deflater(level);
+        }
+        ArrayDeque<Deflater> pool = deflaters[level + 1];
+        Deflater deflater;
+        synchronized (pool) {
+            deflater = pool.pollFirst();
+        }
+        // a reused deflater is already reset, the level is kept, so the output is the same as of a new one
+        return deflater != null ? deflater : new PooledDeflater(level);
+    }
+
+    @Override
+    public void releaseDeflater(Deflater deflater) {
+        if (deflater instanceof PooledDeflater) {
+            deflater.reset();
+            ArrayDeque<Deflater> pool = deflaters[((PooledDeflater) deflater).level + 1];
+            synchronized (pool) {
+                if (pool.size() < maxPooledInstances) {
+                    pool.addFirst(deflater);
+                    return;
+                }
+            }
+        }
+        deflater.end();
+    }
+
+    @Override
+    public byte[] inflate(byte[] input, int expectedLength) throws DataFormatException {
+        Inflater inflater = acquireInflater();
+        boolean reusable = false;
+        try {
+            inflater.setInput(input);
+            byte[] output = new byte[initialBufferSize(input.length, expectedLength)];
+            int length = 0;
+            while (!inflater.finished()) {
+                if (length == output.length) {
+                    if (output.length == MAX_BUFFER_SIZE) {
+                        throw new OutOfMemoryError("The decompressed data exceeds the maximum array size");
+                    }
+                    output = Arrays.copyOf(output, (int) Math.min(MAX_BUFFER_SIZE, (long) output.length * 2));
+                }
+                int n = inflater.inflate(output, length, output.length - length);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new DataFormatException("Unexpected end of ZLIB input stream");
+                }
+                length += n;
+            }
+            reusable = true;
+            return length == output.length ? output : Arrays.copyOf(output, length);
+        } finally {
+            releaseInflater(inflater, reusable);
+        }
+    }
+
+    private static int initialBufferSize(int inputLength, int expectedLength) {
+        long defaultSize = Math.max(MIN_BUFFER_SIZE, (long) inputLength * 4);
+        if (expectedLength <= 0) {
+            return (int) Math.min(defaultSize, MAX_INITIAL_BUFFER_SIZE);
+        }
+        long trustedSize = Math.max(MIN_BUFFER_SIZE, Math.min(MAX_INITIAL_BUFFER_SIZE, (long) inputLength * MAX_EXPECTED_RATIO));
+        return (int) Math.min(expectedLength, trustedSize);
+    }
+
+    private Inflater acquireInflater() {
+        Inflater inflater;
+        synchronized (inflaters) {
+            inflater = inflaters.pollFirst();
+        }
+        return inflater != null ? inflater : new Inflater();
+    }
+
+    private void releaseInflater(Inflater inflater, boolean reusable) {
+        if (reusable) {
+            inflater.reset();
+            synchronized (inflaters) {
+                if (inflaters.size() < maxPooledInstances) {
+                    inflaters.addFirst(inflater);
+                    return;
+                }
+            }
+        }
+        inflater.end();
+    }
+
+    /**
+     * A deflater which remembers its compression level, so that it is pooled with the deflaters of the same level.
+     */
+    private static class PooledDeflater extends Deflater {
+        private final int level;
+
+        PooledDeflater(int level) {
+            super(level);
+            this.level = level;
+        }
+    }
+}
@@ -57,6 +57,8 @@ public class GlyphLine implements Serializable {
     public int start;
     public int end;
     public int idx;
+    // the lists are shared with another line, so they are copied before the first modification
+    private transient boolean copyOnWrite;
 
     public GlyphLine() {
         this.glyphs = new ArrayList<>();
@@ -110,6 +112,7 @@ public class GlyphLine implements Serializable {
         this.start = other.start;
         this.end = other.end;
         this.idx = other.idx;
+        this.copyOnWrite = other.copyOnWrite;
     }
 
     /**
@@ -126,6 +129,7 @@ public class GlyphLine implements Serializable {
         this.start = 0;
         this.end = end - start;
         this.idx = other.idx - start;
+        this.copyOnWrite = other.copyOnWrite;
     }
 
     /**
@@ -166,20 +170,38 @@ public class GlyphLine implements Serializable {
         GlyphLine glyphLine = new GlyphLine();
         glyphLine.start = 0;
         glyphLine.end = right - left;
-        glyphLine.glyphs = new ArrayList<>(glyphs.subList(left, right));
-        glyphLine.actualText = actualText == null ? null : new ArrayList<>(actualText.subList(left, right));
+        glyphLine.glyphs = copyRange(glyphs, left, right);
+        glyphLine.actualText = actualText == null ? null : copyRange(actualText, left, right);
         return glyphLine;
     }
 
+    /**
+     * Copy this GlyphLine without copying the glyphs. The copy shares the glyphs with this line
+     * until either of them is modified, which makes it cheap to copy the lines which are rarely modified.
+     * <br>
+     * The lines which share the glyphs with this line without being copies of it, i.e. the lines created
+     * with {@link #GlyphLine(GlyphLine)} before this call, must not be modified afterwards.
+     *
+     * @return new GlyphLine with the same glyphs, start and end
+     */
+    public GlyphLine copyOnWrite() {
+        if (!copyOnWrite) {
+            copyOnWrite = true;
+        }
+        return new GlyphLine(this);
+    }
+
     public Glyph get(int index) {
         return glyphs.get(index);
     }
 
     public Glyph set(int index, Glyph glyph) {
+        ensureOwnLists();
         return glyphs.set(index, glyph);
     }
 
     public void add(Glyph glyph) {
+        ensureOwnLists();
         glyphs.add(glyph);
         if (actualText != null) {
             actualText.add(null);
@@ -187,6 +209,7 @@ public class GlyphLine implements Serializable {
     }
 
     public void add(int index, Glyph glyph) {
+        ensureOwnLists();
         glyphs.add(index, glyph);
         if (actualText != null) {
             actualText.add(index, null);
@@ -198,9 +221,11 @@ public class GlyphLine implements Serializable {
         start = 0;
         end = replacementGlyphs.size();
         actualText = null;
+        copyOnWrite = false;
     }
 
     public void replaceContent(GlyphLine other) {
+        ensureOwnLists();
         glyphs.clear();
         glyphs.addAll(other.glyphs);
         if (actualText != null) {
@@ -221,6 +246,7 @@ public class GlyphLine implements Serializable {
     }
 
     public void substituteManyToOne(OpenTypeFontTableReader tableReader, int lookupFlag, int rightPartLen, int substitutionGlyphIndex) {
+        ensureOwnLists();
         OpenTableLookup.GlyphIndexer gidx = new OpenTableLookup.GlyphIndexer();
         gidx.line = this;
         gidx.idx = idx;
@@ -252,6 +278,7 @@ public class GlyphLine implements Serializable {
     }
 
     public void substituteOneToOne(OpenTypeFontTableReader tableReader, int substitutionGlyphIndex) {
+        ensureOwnLists();
         Glyph oldGlyph = glyphs.get(idx);
         Glyph newGlyph = tableReader.getGlyph(substitutionGlyphIndex);
         if (oldGlyph.getChars() != null) {
@@ -265,6 +292,7 @@ public class GlyphLine implements Serializable {
     }
 
     public void substituteOneToMany(OpenTypeFontTableReader tableReader, int[] substGlyphIds) {
+        ensureOwnLists();
         int substCode = substGlyphIds[0]; //sequence length shall be at least 1
         Glyph glyph = tableReader.getGlyph(substCode);
         glyphs.set(idx, glyph);
@@ -283,20 +311,23 @@ public class GlyphLine implements Serializable {
     }
 
     public GlyphLine filter(IGlyphLineFilter filter) {
-        boolean anythingFiltered = false;
-        List<Glyph> filteredGlyphs = new ArrayList<>(end - start);
-        List<ActualText> filteredActualText = actualText != null ? new ArrayList<ActualText>(end - start) : null;
+        List<Glyph> filteredGlyphs = null;
+        List<ActualText> filteredActualText = null;
         for (int i = start; i < end; i++) {
             if (filter.accept(glyphs.get(i))) {
-                filteredGlyphs.add(glyphs.get(i));
-                if (filteredActualText != null) {
-                    filteredActualText.add(actualText.get(i));
+                if (filteredGlyphs != null) {
+                    filteredGlyphs.add(glyphs.get(i));
+                    if (filteredActualText != null) {
+                        filteredActualText.add(actualText.get(i));
+                    }
                 }
-            } else {
-                anythingFiltered = true;
+            } else if (filteredGlyphs == null) {
+                // the lists are created only when the first glyph is filtered out, usually nothing is
+                filteredGlyphs = copyRange(glyphs, start, i);
+                filteredActualText = actualText != null ? copyRange(actualText, start, i) : null;
             }
         }
-        if (anythingFiltered) {
+        if (filteredGlyphs != null) {
             return new GlyphLine(filteredGlyphs, filteredActualText, 0, filteredGlyphs.size());
         } else {
             return this;
@@ -304,6 +335,7 @@ public class GlyphLine implements Serializable {
     }
 
     public void setActualText(int left, int right, String text) {
+        ensureOwnLists();
         if (this.actualText == null) {
             this.actualText = new ArrayList<>(glyphs.size());
             for (int i = 0; i < glyphs.size(); i++)
@@ -320,6 +352,7 @@ public class GlyphLine implements Serializable {
     }
 
     private void removeGlyph(int index) {
+        ensureOwnLists();
         glyphs.remove(index);
         if (actualText != null) {
             actualText.remove(index);
@@ -327,6 +360,7 @@ public class GlyphLine implements Serializable {
     }
 
     private void addAllGlyphs(int index, List<Glyph> additionalGlyphs) {
+        ensureOwnLists();
         glyphs.addAll(index, additionalGlyphs);
         if (actualText != null) {
             for (int i = 0; i < additionalGlyphs.size(); i++) {
@@ -335,6 +369,25 @@ public class GlyphLine implements Serializable {
         }
     }
 
+    private void ensureOwnLists() {
+        if (copyOnWrite) {
+            glyphs = copyRange(glyphs, 0, glyphs.size());
+            if (actualText != null) {
+                actualText = copyRange(actualText, 0, actualText.size());
+            }
+            copyOnWrite = false;
+        }
+    }
+
+    // unlike new ArrayList<>(list.subList(left, right)), doesn't create an intermediate array
+    private static <T> List<T> copyRange(List<T> list, int left, int right) {
+        List<T> copy = new ArrayList<>(right - left);
+        for (int i = left; i < right; i++) {
+            copy.add(list.get(i));
+        }
+        return copy;
+    }
+
     public static class GlyphLinePart {
         public int start;
         public int end;
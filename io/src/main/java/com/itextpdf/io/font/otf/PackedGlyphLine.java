@@ -0,0 +1,201 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2016 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.io.font.otf;
+
+import java.util.List;
+
+/**
+ * A read-only view of a slice of a {@link GlyphLine}, which keeps the glyph properties in primitive arrays
+ * instead of the {@link Glyph} objects. It is meant for the hot loops, like the measuring and the writing
+ * of the text, which visit every glyph of the line and need only its code, width, unicode and positioning.
+ * <br>
+ * The indices are the same as in the packed {@link GlyphLine}, i.e. the glyph {@code i} of the line is available
+ * at the index {@code i} of the view, for {@code start <= i < end}.
+ * <br>
+ * The view is a snapshot: the changes of the line made after it has been packed are not reflected.
+ */
+public class PackedGlyphLine {
+
+    private static final int[] EMPTY = new int[0];
+
+    public final int start;
+    public final int end;
+
+    private final List<Glyph> glyphs;
+    private final int[] codes;
+    private final int[] widths;
+    private final int[] unicodes;
+    // xPlacement, yPlacement, xAdvance and yAdvance packed into 16 bits each; null if no glyph has offsets
+    private long[] positioning;
+    // null if no glyph has an anchor delta
+    private short[] anchorDeltas;
+
+    /**
+     * Packs the glyphs of the line from its {@link GlyphLine#start} to its {@link GlyphLine#end}.
+     *
+     * @param line the line to pack
+     */
+    public PackedGlyphLine(GlyphLine line) {
+        this(line, line.start, line.end);
+    }
+
+    /**
+     * Packs a slice of the line.
+     *
+     * @param line  the line to pack
+     * @param start the index of the first glyph to pack
+     * @param end   the index after the last glyph to pack
+     */
+    public PackedGlyphLine(GlyphLine line, int start, int end) {
+        this.glyphs = line.glyphs;
+        this.start = start;
+        this.end = Math.max(start, end);
+        int size = this.end - start;
+        codes = size > 0 ? new int[size] : EMPTY;
+        widths = size > 0 ? new int[size] : EMPTY;
+        unicodes = size > 0 ? new int[size] : EMPTY;
+        for (int i = 0; i < size; i++) {
+            Glyph glyph = glyphs.get(start + i);
+            codes[i] = glyph.getCode();
+            widths[i] = glyph.getWidth();
+            unicodes[i] = glyph.getUnicode();
+            if (glyph.hasOffsets()) {
+                if (positioning == null) {
+                    positioning = new long[size];
+                }
+                positioning[i] = (glyph.getXPlacement() & 0xffffL) | (glyph.getYPlacement() & 0xffffL) << 16
+                        | (glyph.getXAdvance() & 0xffffL) << 32 | (glyph.getYAdvance() & 0xffffL) << 48;
+            }
+            if (glyph.getAnchorDelta() != 0) {
+                if (anchorDeltas == null) {
+                    anchorDeltas = new short[size];
+                }
+                anchorDeltas[i] = glyph.getAnchorDelta();
+            }
+        }
+    }
+
+    /**
+     * Checks if this view has been packed from the glyphs of the given line and covers its whole range,
+     * so that it can be used instead of the line.
+     *
+     * @param line the line to check
+     * @return true if the view covers the line, false otherwise
+     */
+    public boolean isPackedFrom(GlyphLine line) {
+        return line.glyphs == glyphs && (line.start >= line.end || start <= line.start && line.end <= end);
+    }
+
+    /**
+     * Gets the glyph of the packed line. The glyph is not created, it is the one the line contains.
+     *
+     * @param index the index of the glyph
+     * @return the glyph
+     */
+    public Glyph getGlyph(int index) {
+        return glyphs.get(index);
+    }
+
+    /**
+     * Creates a {@link GlyphLine} over the glyphs this view has been packed from.
+     * The line shares the glyphs with the packed one and is not meant to be modified.
+     *
+     * @return the line with the packed glyphs
+     */
+    public GlyphLine toGlyphLine() {
+        return new GlyphLine(glyphs, start, end);
+    }
+
+    public int getCode(int index) {
+        return codes[index - start];
+    }
+
+    public int getWidth(int index) {
+        return widths[index - start];
+    }
+
+    public int getUnicode(int index) {
+        return unicodes[index - start];
+    }
+
+    public boolean hasValidUnicode(int index) {
+        return unicodes[index - start] > -1;
+    }
+
+    public short getXPlacement(int index) {
+        return positioning != null ? (short) positioning[index - start] : 0;
+    }
+
+    public short getYPlacement(int index) {
+        return positioning != null ? (short) (positioning[index - start] >> 16) : 0;
+    }
+
+    public short getXAdvance(int index) {
+        return positioning != null ? (short) (positioning[index - start] >> 32) : 0;
+    }
+
+    public short getYAdvance(int index) {
+        return positioning != null ? (short) (positioning[index - start] >> 48) : 0;
+    }
+
+    public short getAnchorDelta(int index) {
+        return anchorDeltas != null ? anchorDeltas[index - start] : 0;
+    }
+
+    /**
+     * @param index the index of the glyph
+     * @return true if the glyph has a placement or an advance offset, see {@link Glyph#hasOffsets()}
+     */
+    public boolean hasOffsets(int index) {
+        return positioning != null && positioning[index - start] != 0;
+    }
+
+    public boolean hasPlacement(int index) {
+        return positioning != null && (positioning[index - start] & 0xffffffffL) != 0;
+    }
+
+    public boolean hasAdvance(int index) {
+        return positioning != null && (positioning[index - start] >>> 32) != 0;
+    }
+}
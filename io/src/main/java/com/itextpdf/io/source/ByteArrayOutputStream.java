@@ -43,6 +43,8 @@
  */
 package com.itextpdf.io.source;
 
+import java.util.Arrays;
+
 public class ByteArrayOutputStream extends java.io.ByteArrayOutputStream{
 
     public ByteArrayOutputStream() {
@@ -53,6 +55,30 @@ public class ByteArrayOutputStream extends java.io.ByteArrayOutputStream{
         super(size);
     }
 
+    /**
+     * Writes the byte without the synchronization of {@link java.io.ByteArrayOutputStream}, the stream
+     * is not intended to be shared between threads while being written.
+     */
+    @Override
+    public void write(int b) {
+        ensureCapacity(count + 1);
+        buf[count++] = (byte) b;
+    }
+
+    /**
+     * Writes the bytes without the synchronization of {@link java.io.ByteArrayOutputStream}, the stream
+     * is not intended to be shared between threads while being written.
+     */
+    @Override
+    public void write(byte[] b, int off, int len) {
+        if (off < 0 || len < 0 || off > b.length - len) {
+            throw new IndexOutOfBoundsException();
+        }
+        ensureCapacity(count + len);
+        System.arraycopy(b, off, buf, count, len);
+        count += len;
+    }
+
     public ByteArrayOutputStream assignBytes(byte[] bytes, int count) {
         buf = bytes;
         this.count = count;
@@ -64,4 +90,17 @@ public class ByteArrayOutputStream extends java.io.ByteArrayOutputStream{
         this.count = bytes.length;
         return this;
     }
+
+    private void ensureCapacity(int minCapacity) {
+        if (minCapacity > buf.length) {
+            if (minCapacity < 0) {
+                throw new OutOfMemoryError();
+            }
+            int newCapacity = buf.length << 1;
+            if (newCapacity < minCapacity) {
+                newCapacity = minCapacity;
+            }
+            buf = Arrays.copyOf(buf, newCapacity);
+        }
+    }
 }
@@ -56,6 +56,13 @@ public class ByteUtils {
     private static final byte[] one = new byte[]{49};
     private static final byte[] negOne = new byte[]{(byte) '-', 49};
 
+    // below this limit the precision of double is much finer than 6 fractional digits, so rounding of
+    // the exact value gives the same digits as DecimalFormat, which rounds the shortest decimal representation
+    private static final double MAX_HIGH_PRECISION_FAST_FORMAT = 1e6;
+    private static final int HIGH_PRECISION_SCALE = 1000000;
+    // distance to the middle between two rounded values, within which the rounding is left to DecimalFormat
+    private static final double HIGH_PRECISION_TIE_MARGIN = 1e-3;
+
     public static byte[] getIsoBytes(String text) {
         if (text == null)
             return null;
@@ -134,6 +141,10 @@ public class ByteUtils {
                     return zero;
                 }
             }
+            ByteBuffer formatted = formatHighPrecision(d, buffer);
+            if (formatted != null) {
+                return buffer == null ? formatted.getInternalBuffer() : null;
+            }
             byte[] result = DecimalFormatUtil.formatNumber(d, "0.######").getBytes(StandardCharsets.ISO_8859_1);
             if (buffer != null) {
                 buffer.prepend(result);
@@ -251,6 +262,58 @@ public class ByteUtils {
         return buffer == null ? buf.getInternalBuffer() : null;
     }
 
+    /**
+     * Formats the number the same way as {@code DecimalFormat} with "0.######" pattern does, but without
+     * creating any intermediate objects if the buffer is passed.
+     *
+     * @return the buffer with the formatted number, or null if the number is too large or so close to the middle
+     * between two rounded values, that the rounding can't be determined reliably in double arithmetic.
+     */
+    private static ByteBuffer formatHighPrecision(double d, ByteBuffer buffer) {
+        boolean negative = d < 0;
+        double abs = negative ? -d : d;
+        if (!(abs < MAX_HIGH_PRECISION_FAST_FORMAT)) {
+            return null;
+        }
+        long intPart = (long) abs;
+        double scaledFrac = (abs - intPart) * HIGH_PRECISION_SCALE;
+        long frac = (long) scaledFrac;
+        double rest = scaledFrac - frac;
+        if (Math.abs(rest - 0.5) < HIGH_PRECISION_TIE_MARGIN) {
+            return null;
+        }
+        if (rest > 0.5) {
+            frac++;
+            if (frac == HIGH_PRECISION_SCALE) {
+                intPart++;
+                frac = 0;
+            }
+        }
+        int fracLen = 6;
+        while (fracLen > 0 && frac % 10 == 0) {
+            frac /= 10;
+            fracLen--;
+        }
+        int intLen = longSize(intPart);
+        ByteBuffer buf = buffer != null ? buffer
+                : new ByteBuffer(intLen + (fracLen > 0 ? fracLen + 1 : 0) + (negative ? 1 : 0));
+        for (int i = 0; i < fracLen; i++) {
+            buf.prepend(bytes[(int) (frac % 10)]);
+            frac /= 10;
+        }
+        if (fracLen > 0) {
+            buf.prepend((byte) '.');
+        }
+        for (int i = 0; i < intLen; i++) {
+            buf.prepend(bytes[(int) (intPart % 10)]);
+            intPart /= 10;
+        }
+        if (negative) {
+            buf.prepend((byte) '-');
+        }
+        return buf;
+    }
+
     private static int longSize(long l) {
         long m = 10;
         for (int i = 1; i < 19; i++) {
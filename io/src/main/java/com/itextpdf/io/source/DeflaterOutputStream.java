@@ -43,14 +43,23 @@
  */
 package com.itextpdf.io.source;
 
+import com.itextpdf.io.codec.FlateCodecs;
+import com.itextpdf.io.codec.IFlateCodec;
+
 import java.io.IOException;
 import java.io.OutputStream;
-import java.util.zip.Deflater;
 
+/**
+ * Compresses the data with the deflater of {@link FlateCodecs}. The deflater is given back to the codec
+ * it was taken from when the stream is finished, even if another codec has been set in the meantime.
+ */
 public class DeflaterOutputStream extends java.util.zip.DeflaterOutputStream {
 
+    private final IFlateCodec codec;
+    private boolean released;
+
     public DeflaterOutputStream(OutputStream out, int level, int size) {
-        super(out, new Deflater(level), size);
+        this(out, FlateCodecs.getCodec(), level, size);
     }
 
     public DeflaterOutputStream(OutputStream out, int level) {
@@ -61,6 +70,20 @@ public class DeflaterOutputStream extends java.util.zip.DeflaterOutputStream {
         this(out, -1);
     }
 
+    private DeflaterOutputStream(OutputStream out, IFlateCodec codec, int level, int size) {
+        super(out, codec.acquireDeflater(level), size);
+        this.codec = codec;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        if (released) {
+            // the deflater may already be in use by another stream
+            throw new IOException("write beyond end of stream");
+        }
+        super.write(b, off, len);
+    }
+
     @Override
     public void close() throws IOException {
         finish();
@@ -69,7 +92,11 @@ public class DeflaterOutputStream extends java.util.zip.DeflaterOutputStream {
 
     @Override
     public void finish() throws IOException {
+        if (released) {
+            return;
+        }
         super.finish();
-        def.end();
+        released = true;
+        codec.releaseDeflater(def);
     }
 }
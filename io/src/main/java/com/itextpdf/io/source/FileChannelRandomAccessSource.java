@@ -77,10 +77,23 @@ public class FileChannelRandomAccessSource implements IRandomAccessSource, Seria
      * @throws java.io.IOException if the channel cannot be opened or mapped
      */
     public FileChannelRandomAccessSource(FileChannel channel) throws java.io.IOException {
+        this(channel, null, null);
+    }
+
+    /**
+     * Constructs a new {@link FileChannelRandomAccessSource} based on the specified FileChannel.  The entire source channel will be mapped into memory.
+     * @param channel the channel to use as the backing store
+     * @param policy the mapping policy, or null to use the default one
+     * @param statistics the counters to update, or null
+     * @throws java.io.IOException if the channel cannot be opened or mapped
+     */
+    FileChannelRandomAccessSource(FileChannel channel, MemoryMappingPolicy policy, MemoryMappingStatistics statistics) throws java.io.IOException {
         this.channel = channel;
         if(channel.size() == 0)
             throw new java.io.IOException("File size is 0 bytes");
-        source = new MappedChannelRandomAccessSource(channel, 0, channel.size());
+        // the whole file can't be read from the channel instead, the caller falls back to RandomAccessFile in this case
+        source = new MappedChannelRandomAccessSource(channel, 0, channel.size(),
+                policy == null ? null : new MemoryMappingPolicy().setPreload(policy.isPreload()), statistics);
         source.open();
     }
 
@@ -43,6 +43,7 @@
  */
 package com.itextpdf.io.source;
 
+import java.nio.MappedByteBuffer;
 import java.nio.channels.FileChannel;
 
 /**
@@ -65,11 +66,31 @@ class MappedChannelRandomAccessSource implements IRandomAccessSource {
      */
     private final long length;
 
+    /**
+     * Whether the content is loaded into physical memory when the region is mapped
+     */
+    private final boolean preload;
+
+    /**
+     * Whether the region is read from the channel if it can't be mapped
+     */
+    private final boolean fallbackToChannelRead;
+
+    /**
+     * The counters to update, may be null
+     */
+    private final MemoryMappingStatistics statistics;
+
     /**
      * If the map is active, the actual map.  null other wise.
      */
     private ByteBufferRandomAccessSource source;
 
+    /**
+     * Whether the region failed to map and is read from the channel
+     */
+    private boolean readFromChannel;
+
     /**
      * Create a new source based on the channel.  Mapping will not occur until data is actually read.
      * @param channel the underlying channel
@@ -77,6 +98,18 @@ class MappedChannelRandomAccessSource implements IRandomAccessSource {
      * @param length the length of the map
      */
     public MappedChannelRandomAccessSource(FileChannel channel, long offset, long length) {
+        this(channel, offset, length, null, null);
+    }
+
+    /**
+     * Create a new source based on the channel.  Mapping will not occur until data is actually read.
+     * @param channel the underlying channel
+     * @param offset the offset of the map
+     * @param length the length of the map
+     * @param policy the mapping policy, or null to use the default one
+     * @param statistics the counters to update, or null
+     */
+    MappedChannelRandomAccessSource(FileChannel channel, long offset, long length, MemoryMappingPolicy policy, MemoryMappingStatistics statistics) {
         if (offset < 0)
             throw new IllegalArgumentException(offset + " is negative");
         if (length <= 0)
@@ -85,6 +118,9 @@ class MappedChannelRandomAccessSource implements IRandomAccessSource {
         this.channel = channel;
         this.offset = offset;
         this.length = length;
+        this.preload = policy != null && policy.isPreload();
+        this.fallbackToChannelRead = policy != null && policy.isFallbackToChannelRead();
+        this.statistics = statistics;
         this.source = null;
     }
 
@@ -93,19 +129,31 @@ class MappedChannelRandomAccessSource implements IRandomAccessSource {
      * @throws java.io.IOException if there is a problem with creating the map
      */
     void open() throws java.io.IOException {
-        if (source != null)
+        if (source != null || readFromChannel)
             return;
 
         if (!channel.isOpen())
             throw new IllegalStateException("Channel is closed");
 
         try{
-            source = new ByteBufferRandomAccessSource(channel.map(FileChannel.MapMode.READ_ONLY, offset, length));
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+            if (preload)
+                buffer.load();
+            source = new ByteBufferRandomAccessSource(buffer);
         } catch (java.io.IOException e){
-            if (exceptionIsMapFailureException(e))
+            if (exceptionIsMapFailureException(e)) {
+                if (statistics != null)
+                    statistics.onMapFailed();
+                if (fallbackToChannelRead) {
+                    readFromChannel = true;
+                    return;
+                }
                 throw new MapFailedException(e);
+            }
             throw e;
         }
+        if (statistics != null)
+            statistics.onMapped(length);
     }
 
     /**
@@ -126,6 +174,10 @@ class MappedChannelRandomAccessSource implements IRandomAccessSource {
      * {@inheritDoc}
      */
     public int get(long position) throws java.io.IOException {
+        if (readFromChannel) {
+            byte[] singleByte = new byte[1];
+            return readFromChannel(position, singleByte, 0, 1) == -1 ? -1 : singleByte[0] & 0xff;
+        }
         if (source == null)
             throw new java.io.IOException("RandomAccessSource not opened");
         return source.get(position);
@@ -135,6 +187,8 @@ class MappedChannelRandomAccessSource implements IRandomAccessSource {
      * {@inheritDoc}
      */
     public int get(long position, byte[] bytes, int off, int len) throws java.io.IOException {
+        if (readFromChannel)
+            return readFromChannel(position, bytes, off, len);
         if (source == null)
             throw new java.io.IOException("RandomAccessSource not opened");
         return source.get(position, bytes, off, len);
@@ -151,10 +205,31 @@ class MappedChannelRandomAccessSource implements IRandomAccessSource {
      * {@inheritDoc}
      */
     public void close() throws java.io.IOException {
+        // the region is mapped again on the next open, in case the address space was freed
+        readFromChannel = false;
         if (source == null)
             return;
         source.close();
         source = null;
+        if (statistics != null)
+            statistics.onUnmapped(length);
+    }
+
+    /**
+     * Reads the bytes of the region with positional reads of the channel, which don't change the channel position
+     */
+    private int readFromChannel(long position, byte[] bytes, int off, int len) throws java.io.IOException {
+        if (position >= length)
+            return -1;
+        java.nio.ByteBuffer buffer = java.nio.ByteBuffer.wrap(bytes, off, (int) Math.min(len, length - position));
+        while (buffer.hasRemaining()) {
+            if (statistics != null)
+                statistics.onChannelRead();
+            if (channel.read(buffer, offset + position + buffer.position() - off) == -1)
+                break;
+        }
+        int read = buffer.position() - off;
+        return read == 0 ? -1 : read;
     }
 
     @Override
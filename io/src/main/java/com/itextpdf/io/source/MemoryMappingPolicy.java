@@ -0,0 +1,166 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2016 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.io.source;
+
+import java.io.Serializable;
+
+/**
+ * Defines how {@link RandomAccessSourceFactory} maps files into memory.
+ * <br>
+ * A file which fits into {@code pageSize * maxOpenPages} bytes is mapped entirely. Larger files are mapped
+ * page by page, at most {@code maxOpenPages} pages are mapped at a time and the least recently used page is unmapped
+ * when another one is needed, so the address space used by a file is bounded regardless of its size.
+ */
+public class MemoryMappingPolicy implements Serializable {
+
+    private static final long serialVersionUID = 2530478519393640361L;
+
+    /**
+     * The default size of a mapped page, 4 MB.
+     */
+    public static final int DEFAULT_PAGE_SIZE = PagedChannelRandomAccessSource.DEFAULT_TOTAL_BUFSIZE / PagedChannelRandomAccessSource.DEFAULT_MAX_OPEN_BUFFERS;
+
+    /**
+     * The default number of pages which are mapped at a time.
+     */
+    public static final int DEFAULT_MAX_OPEN_PAGES = PagedChannelRandomAccessSource.DEFAULT_MAX_OPEN_BUFFERS;
+
+    private int pageSize = DEFAULT_PAGE_SIZE;
+    private int maxOpenPages = DEFAULT_MAX_OPEN_PAGES;
+    private boolean preload;
+    private boolean fallbackToChannelRead;
+
+    /**
+     * Sets the size of the pages the large files are mapped with.
+     *
+     * @param pageSize the page size in bytes
+     * @return this policy
+     */
+    public MemoryMappingPolicy setPageSize(int pageSize) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("The parameter must be a positive integer");
+        }
+        this.pageSize = pageSize;
+        return this;
+    }
+
+    /**
+     * Gets the size of the pages the large files are mapped with.
+     *
+     * @return the page size in bytes
+     */
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    /**
+     * Sets the maximum number of pages which are mapped at a time.
+     *
+     * @param maxOpenPages the maximum number of mapped pages
+     * @return this policy
+     */
+    public MemoryMappingPolicy setMaxOpenPages(int maxOpenPages) {
+        if (maxOpenPages <= 0) {
+            throw new IllegalArgumentException("The parameter must be a positive integer");
+        }
+        this.maxOpenPages = maxOpenPages;
+        return this;
+    }
+
+    /**
+     * Gets the maximum number of pages which are mapped at a time.
+     *
+     * @return the maximum number of mapped pages
+     */
+    public int getMaxOpenPages() {
+        return maxOpenPages;
+    }
+
+    /**
+     * Defines whether the content of a page is loaded into physical memory as soon as the page is mapped,
+     * instead of being loaded on demand by the operating system when it is read.
+     *
+     * @param preload {@code true} to load the mapped pages eagerly
+     * @return this policy
+     */
+    public MemoryMappingPolicy setPreload(boolean preload) {
+        this.preload = preload;
+        return this;
+    }
+
+    /**
+     * Checks whether the content of a page is loaded into physical memory as soon as the page is mapped.
+     *
+     * @return {@code true} if the mapped pages are loaded eagerly
+     */
+    public boolean isPreload() {
+        return preload;
+    }
+
+    /**
+     * Defines whether a page which can't be mapped, e.g. because the address space is exhausted, is read with
+     * positional reads of the file channel instead. Otherwise {@link MapFailedException} is thrown.
+     * A file which can't be mapped at all when it is opened is always read with {@link java.io.RandomAccessFile}.
+     *
+     * @param fallbackToChannelRead {@code true} to read the pages which can't be mapped from the channel
+     * @return this policy
+     */
+    public MemoryMappingPolicy setFallbackToChannelRead(boolean fallbackToChannelRead) {
+        this.fallbackToChannelRead = fallbackToChannelRead;
+        return this;
+    }
+
+    /**
+     * Checks whether a page which can't be mapped is read with positional reads of the file channel.
+     *
+     * @return {@code true} if the pages which can't be mapped are read from the channel
+     */
+    public boolean isFallbackToChannelRead() {
+        return fallbackToChannelRead;
+    }
+
+    long getMaxMappedSize() {
+        return (long) pageSize * maxOpenPages;
+    }
+}
@@ -102,20 +102,35 @@ class PagedChannelRandomAccessSource extends GroupedRandomAccessSource implement
      * @throws java.io.IOException if the channel cannot be opened or mapped
      */
     public PagedChannelRandomAccessSource(FileChannel channel, int totalBufferSize, int maxOpenBuffers) throws java.io.IOException {
-        super(buildSources(channel, totalBufferSize/maxOpenBuffers));
+        this(channel, new MemoryMappingPolicy().setPageSize(totalBufferSize/maxOpenBuffers).setMaxOpenPages(maxOpenBuffers), null);
+    }
+
+    /**
+     * Constructs a new {@link PagedChannelRandomAccessSource} based on the specified FileChannel, with the page size and the number
+     * of the open buffers defined by the policy
+     * @param channel the channel to use as the backing store
+     * @param policy the mapping policy
+     * @param statistics the counters to update, or null
+     * @throws java.io.IOException if the channel cannot be opened or mapped
+     */
+    PagedChannelRandomAccessSource(FileChannel channel, MemoryMappingPolicy policy, MemoryMappingStatistics statistics) throws java.io.IOException {
+        super(buildSources(channel, policy, statistics));
         this.channel = channel;
-        this.bufferSize = totalBufferSize/maxOpenBuffers;
-        this.mru = new MRU<IRandomAccessSource>(maxOpenBuffers);
+        this.bufferSize = policy.getPageSize();
+        // the active page is not held by the MRU
+        this.mru = new MRU<IRandomAccessSource>(policy.getMaxOpenPages() - 1);
     }
 
     /**
      * Constructs a set of {@link MappedChannelRandomAccessSource}s for each page (of size bufferSize) of the underlying channel
      * @param channel the underlying channel
-     * @param bufferSize the size of each page (the last page may be shorter)
+     * @param policy the policy which defines the size of each page (the last page may be shorter)
+     * @param statistics the counters to update, or null
      * @return a list of sources that represent the pages of the channel
      * @throws java.io.IOException if IO fails for any reason
      */
-    private static IRandomAccessSource[] buildSources(FileChannel channel, int bufferSize) throws java.io.IOException{
+    private static IRandomAccessSource[] buildSources(FileChannel channel, MemoryMappingPolicy policy, MemoryMappingStatistics statistics) throws java.io.IOException{
+        int bufferSize = policy.getPageSize();
         long size = channel.size();
         if (size <= 0)
             throw new java.io.IOException("File size must be greater than zero");
@@ -126,7 +141,7 @@ class PagedChannelRandomAccessSource extends GroupedRandomAccessSource implement
         for (int i = 0; i < bufferCount; i++){
             long pageOffset = (long)i*bufferSize;
             long pageLength = Math.min(size - pageOffset, bufferSize);
-            sources[i] = new MappedChannelRandomAccessSource(channel, pageOffset, pageLength);
+            sources[i] = new MappedChannelRandomAccessSource(channel, pageOffset, pageLength, policy, statistics);
         }
         return sources;
     }
@@ -110,6 +110,23 @@ public class PdfTokenizer implements Closeable, Serializable {
     public static final byte[] True = ByteUtils.getIsoBytes("true");
     public static final byte[] False = ByteUtils.getIsoBytes("false");
 
+    /**
+     * Numbers with at most this number of digits have an exactly representable mantissa
+     * and are parsed without creating intermediate strings.
+     */
+    private static final int MAX_FAST_PARSED_DIGITS = 15;
+
+    private static final double[] POWERS_OF_TEN = {1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15};
+
+    /**
+     * Integers with at most this number of digits fit the {@code long} range and are parsed without creating
+     * intermediate strings.
+     */
+    private static final int MAX_FAST_PARSED_INTEGER_DIGITS = 18;
+
+    private static final long NOT_A_PLAIN_INTEGER = Long.MIN_VALUE;
+
     protected TokenType type;
     protected int reference;
     protected int generation;
@@ -117,6 +134,10 @@ public class PdfTokenizer implements Closeable, Serializable {
     protected ByteBuffer outBuf;
 
     private final RandomAccessFileOrArray file;
+    /**
+     * Holds the first number of a possible indirect reference while {@link #nextValidToken()} looks ahead.
+     */
+    private final ByteBuffer savedNumber = new ByteBuffer(16);
     /**
      * Streams are closed automatically.
      */
@@ -183,6 +204,26 @@ public class PdfTokenizer implements Closeable, Serializable {
         return new String(outBuf.getInternalBuffer(), 0, outBuf.size());
     }
 
+    /**
+     * Gets the internal buffer which holds the bytes of the current token. Only the first
+     * {@link #getTokenLength()} bytes belong to the token, and the buffer is reused by the next
+     * {@link #nextToken()} call, so its content shall not be retained.
+     *
+     * @return the internal buffer with the current token.
+     */
+    public byte[] getTokenBuffer() {
+        return outBuf.getInternalBuffer();
+    }
+
+    /**
+     * Gets the length of the current token.
+     *
+     * @return the number of bytes of the current token in {@link #getTokenBuffer()}.
+     */
+    public int getTokenLength() {
+        return outBuf.size();
+    }
+
     public byte[] getDecodedStringContent() {
         return decodeStringContent(outBuf.getInternalBuffer(), 0, outBuf.size() - 1, isHexString());
     }
@@ -260,7 +301,8 @@ public class PdfTokenizer implements Closeable, Serializable {
 
     public void nextValidToken() throws java.io.IOException {
         int level = 0;
-        byte[] n1 = null;
+        // the second number is only copied if it is not a plain int, which is an invalid reference anyway
+        long n2Value = NOT_A_PLAIN_INTEGER;
         byte[] n2 = null;
         long ptr = 0;
         while (nextToken()) {
@@ -271,48 +313,46 @@ public class PdfTokenizer implements Closeable, Serializable {
                     if (type != TokenType.Number)
                         return;
                     ptr = file.getPosition();
-                    n1 = getByteContent();
+                    savedNumber.reset().append(outBuf.getInternalBuffer(), 0, outBuf.size());
                     ++level;
                     break;
                 }
                 case 1: {
                     if (type != TokenType.Number) {
                         file.seek(ptr);
-                        type = TokenType.Number;
-                        outBuf.reset().append(n1);
+                        restoreSavedNumber();
                         return;
                     }
-                    n2 = getByteContent();
+                    n2Value = parsePlainInteger(outBuf.getInternalBuffer(), outBuf.size());
+                    if (n2Value == NOT_A_PLAIN_INTEGER || n2Value > Integer.MAX_VALUE || n2Value < Integer.MIN_VALUE) {
+                        n2 = getByteContent();
+                    }
                     ++level;
                     break;
                 }
                 case 2: {
                     if (type == TokenType.Other) {
                         if (tokenValueEqualsTo(R)) {
-                            assert n2 != null;
                             type = TokenType.Ref;
-                            reference = Integer.parseInt(new String(n1));
-                            generation = Integer.parseInt(new String(n2));
+                            reference = parseIntValue(savedNumber.getInternalBuffer(), savedNumber.size());
+                            generation = n2 == null ? (int) n2Value : Integer.parseInt(new String(n2));
                             return;
                         } else if (tokenValueEqualsTo(Obj)) {
-                            assert n2 != null;
                             type = TokenType.Obj;
-                            reference = Integer.parseInt(new String(n1));
-                            generation = Integer.parseInt(new String(n2));
+                            reference = parseIntValue(savedNumber.getInternalBuffer(), savedNumber.size());
+                            generation = n2 == null ? (int) n2Value : Integer.parseInt(new String(n2));
                             return;
                         }
                     }
                     file.seek(ptr);
-                    type = TokenType.Number;
-                    outBuf.reset().append(n1);
+                    restoreSavedNumber();
                     return;
                 }
             }
         }
 
         if (level == 1) { // if the level 1 check returns EOF, then we are still looking at a number - set the type back to Number
-            type = TokenType.Number;
-            outBuf.reset().append(n1);
+            restoreSavedNumber();
         }
         // if we hit here, the file is either corrupt (stream ended unexpectedly),
         // or the last token ended exactly at the end of a stream.  This last
@@ -468,12 +508,136 @@ public class PdfTokenizer implements Closeable, Serializable {
         return true;
     }
 
+    /**
+     * Parses the current token as an integer. Plain decimal integers are parsed without creating intermediate
+     * strings, the other tokens are parsed with {@link Long#parseLong(String)}.
+     *
+     * @return the value of the current token.
+     */
     public long getLongValue() {
-        return Long.parseLong(getStringValue());
+        long value = parsePlainInteger(outBuf.getInternalBuffer(), outBuf.size());
+        return value != NOT_A_PLAIN_INTEGER ? value : Long.parseLong(getStringValue());
     }
 
+    /**
+     * Parses the current token as an integer. Plain decimal integers are parsed without creating intermediate
+     * strings, the other tokens are parsed with {@link Integer#parseInt(String)}.
+     *
+     * @return the value of the current token.
+     */
     public int getIntValue() {
-        return Integer.parseInt(getStringValue());
+        return parseIntValue(outBuf.getInternalBuffer(), outBuf.size());
+    }
+
+    /**
+     * Checks if the current token is an integer written in its canonical form: an optional minus followed by
+     * the decimal digits without leading zeros, which fits the {@code int} range. Such a token is written back
+     * exactly the same way from its {@link #getIntValue() value}, so there is no need to keep its bytes.
+     *
+     * @return {@code true} if the current token is a canonical integer.
+     */
+    public boolean isCanonicalIntValue() {
+        byte[] buffer = outBuf.getInternalBuffer();
+        int length = outBuf.size();
+        int firstDigit = length > 0 && buffer[0] == '-' ? 1 : 0;
+        if (firstDigit >= length || buffer[firstDigit] == '+' || buffer[firstDigit] == '0' && length > 1) {
+            // explicit plus, leading zeros and negative zero are not canonical
+            return false;
+        }
+        long value = parsePlainInteger(buffer, length);
+        return value != NOT_A_PLAIN_INTEGER && value <= Integer.MAX_VALUE && value >= -Integer.MAX_VALUE;
+    }
+
+    /**
+     * Parses the current token as a real number without creating intermediate strings. The result is the same as
+     * parsing the token with {@link Double#parseDouble(String)}; {@link Double#NaN} is returned if the token
+     * is not a valid number.
+     *
+     * @return the value of the current token.
+     */
+    public double getDoubleValue() {
+        byte[] buffer = outBuf.getInternalBuffer();
+        int length = outBuf.size();
+        int index = 0;
+        boolean negative = false;
+        if (length > 0 && (buffer[0] == '-' || buffer[0] == '+')) {
+            negative = buffer[0] == '-';
+            index++;
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int fractionDigits = -1;
+        for (; index < length; index++) {
+            int ch = buffer[index];
+            if (ch >= '0' && ch <= '9') {
+                mantissa = mantissa * 10 + ch - '0';
+                if (++digits > MAX_FAST_PARSED_DIGITS) {
+                    return parseDoubleValue();
+                }
+                if (fractionDigits >= 0) {
+                    fractionDigits++;
+                }
+            } else if (ch == '.' && fractionDigits < 0) {
+                fractionDigits = 0;
+            } else {
+                return parseDoubleValue();
+            }
+        }
+        if (digits == 0) {
+            return Double.NaN;
+        }
+        // both the mantissa and the power of ten are exact doubles here, so a single division is correctly rounded
+        double value = fractionDigits > 0 ? mantissa / POWERS_OF_TEN[fractionDigits] : mantissa;
+        return negative ? -value : value;
+    }
+
+    private double parseDoubleValue() {
+        try {
+            return Double.parseDouble(getStringValue());
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+
+    /**
+     * Parses an optionally signed decimal integer without creating intermediate strings.
+     *
+     * @return the value, or {@link #NOT_A_PLAIN_INTEGER} if the bytes are not a decimal integer which
+     * is short enough to be parsed this way.
+     */
+    private static long parsePlainInteger(byte[] buffer, int length) {
+        int index = 0;
+        boolean negative = false;
+        if (length > 0 && (buffer[0] == '-' || buffer[0] == '+')) {
+            negative = buffer[0] == '-';
+            index++;
+        }
+        int digits = length - index;
+        if (digits == 0 || digits > MAX_FAST_PARSED_INTEGER_DIGITS) {
+            return NOT_A_PLAIN_INTEGER;
+        }
+        long value = 0;
+        for (; index < length; index++) {
+            int ch = buffer[index];
+            if (ch < '0' || ch > '9') {
+                return NOT_A_PLAIN_INTEGER;
+            }
+            value = value * 10 + ch - '0';
+        }
+        return negative ? -value : value;
+    }
+
+    private static int parseIntValue(byte[] buffer, int length) {
+        long value = parsePlainInteger(buffer, length);
+        if (value != NOT_A_PLAIN_INTEGER && value <= Integer.MAX_VALUE && value >= Integer.MIN_VALUE) {
+            return (int) value;
+        }
+        return Integer.parseInt(new String(buffer, 0, length));
+    }
+
+    private void restoreSavedNumber() {
+        type = TokenType.Number;
+        outBuf.reset().append(savedNumber.getInternalBuffer(), 0, savedNumber.size());
     }
 
     public boolean isHexString() {
@@ -78,6 +78,16 @@ public final class RandomAccessSourceFactory implements Serializable {
      */
     private boolean exclusivelyLockFile = false;
 
+    /**
+     * How the files are mapped into memory
+     */
+    private MemoryMappingPolicy memoryMappingPolicy;
+
+    /**
+     * The counters of the memory mapping, may be null
+     */
+    private MemoryMappingStatistics memoryMappingStatistics;
+
     /**
      * Creates a factory that will give preference to accessing the underling data source using memory mapped files
      */
@@ -109,6 +119,27 @@ public final class RandomAccessSourceFactory implements Serializable {
         return this;
     }
 
+    /**
+     * Defines how the files are mapped into memory. If the policy is not set, files up to 64 MB are mapped entirely
+     * and larger files are mapped with at most 16 pages of 4 MB.
+     * @param memoryMappingPolicy the policy to use, or null to use the default one
+     * @return this object (this allows chaining of method calls)
+     */
+    public RandomAccessSourceFactory setMemoryMappingPolicy(MemoryMappingPolicy memoryMappingPolicy) {
+        this.memoryMappingPolicy = memoryMappingPolicy;
+        return this;
+    }
+
+    /**
+     * Sets the counters which are updated by the memory mapped sources created by this factory.
+     * @param memoryMappingStatistics the counters to update, or null
+     * @return this object (this allows chaining of method calls)
+     */
+    public RandomAccessSourceFactory setMemoryMappingStatistics(MemoryMappingStatistics memoryMappingStatistics) {
+        this.memoryMappingStatistics = memoryMappingStatistics;
+        return this;
+    }
+
     /**
      * Creates a {@link IRandomAccessSource} based on a byte array
      * @param data the byte array
@@ -218,10 +249,12 @@ public final class RandomAccessSourceFactory implements Serializable {
      * @return the newly created {@link IRandomAccessSource}
      */
     public IRandomAccessSource createBestSource(FileChannel channel) throws java.io.IOException {
-        if (channel.size() <= PagedChannelRandomAccessSource.DEFAULT_TOTAL_BUFSIZE){ // if less than the fully mapped usage of PagedFileChannelRandomAccessSource, just map the whole thing and be done with it
-            return new GetBufferedRandomAccessSource(new FileChannelRandomAccessSource(channel));
+        MemoryMappingPolicy policy = memoryMappingPolicy != null ? memoryMappingPolicy : new MemoryMappingPolicy();
+        // a single buffer can't map more than Integer.MAX_VALUE bytes
+        if (channel.size() <= Math.min(policy.getMaxMappedSize(), Integer.MAX_VALUE)){ // if less than the fully mapped usage of PagedFileChannelRandomAccessSource, just map the whole thing and be done with it
+            return new GetBufferedRandomAccessSource(new FileChannelRandomAccessSource(channel, policy, memoryMappingStatistics));
         } else {
-            return new GetBufferedRandomAccessSource(new PagedChannelRandomAccessSource(channel));
+            return new GetBufferedRandomAccessSource(new PagedChannelRandomAccessSource(channel, policy, memoryMappingStatistics));
         }
     }
 
@@ -45,6 +45,7 @@ package com.itextpdf.io.util;
 
 import com.itextpdf.io.IOException;
 import com.itextpdf.io.codec.Base64;
+import com.itextpdf.io.codec.FlateCodecs;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
@@ -71,10 +72,17 @@ public final class FilterUtil {
      * @return the decoded data
      */
     public static byte[] flateDecode(byte[] input, boolean strict) {
+        if (strict) {
+            try {
+                return FlateCodecs.getCodec().inflate(input, 0);
+            } catch (DataFormatException e) {
+                return null;
+            }
+        }
         ByteArrayInputStream stream = new ByteArrayInputStream(input);
         InflaterInputStream zip = new InflaterInputStream(stream);
         ByteArrayOutputStream output = new ByteArrayOutputStream();
-        byte[] b = new byte[strict ? 4092 : 1];
+        byte[] b = new byte[1];
         try {
             int n;
             while ((n = zip.read(b)) >= 0) {
@@ -84,7 +92,7 @@ public final class FilterUtil {
             output.close();
             return output.toByteArray();
         } catch (Exception e) {
-            return strict ? null : output.toByteArray();
+            return output.toByteArray();
         }
     }
 
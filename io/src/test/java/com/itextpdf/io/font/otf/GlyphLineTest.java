@@ -0,0 +1,96 @@
+package com.itextpdf.io.font.otf;
+
+import com.itextpdf.test.annotations.type.UnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Category(UnitTest.class)
+public class GlyphLineTest {
+
+    @Test
+    public void copyOnWriteTest() {
+        GlyphLine line = createLine("abcd");
+        GlyphLine copy = line.copyOnWrite();
+        GlyphLine copyOfCopy = new GlyphLine(copy);
+
+        copy.set(0, new Glyph(1, 500, 'x'));
+        copyOfCopy.add(new Glyph(2, 500, 'y'));
+        line.setActualText(0, 2, "ab");
+
+        Assert.assertEquals("abcd", line.toUnicodeString(0, 4));
+        Assert.assertEquals(4, line.size());
+        Assert.assertEquals("xbcd", copy.toString());
+        Assert.assertEquals(4, copy.size());
+        Assert.assertEquals(5, copyOfCopy.size());
+        Assert.assertEquals("abcdy", copyOfCopy.toUnicodeString(0, 5));
+    }
+
+    @Test
+    public void filterTest() {
+        GlyphLine line = createLine("a b c");
+        GlyphLine.IGlyphLineFilter acceptAll = new GlyphLine.IGlyphLineFilter() {
+            @Override
+            public boolean accept(Glyph glyph) {
+                return true;
+            }
+        };
+        Assert.assertSame(line, line.filter(acceptAll));
+
+        GlyphLine filtered = line.filter(new GlyphLine.IGlyphLineFilter() {
+            @Override
+            public boolean accept(Glyph glyph) {
+                return glyph.getUnicode() != ' ';
+            }
+        });
+        Assert.assertEquals("abc", filtered.toString());
+        Assert.assertEquals(3, filtered.size());
+    }
+
+    @Test
+    public void packedGlyphLineTest() {
+        GlyphLine line = createLine("abcd");
+        line.set(2, new Glyph(line.get(2), -100, 200, 300, -400, -1));
+        line.start = 1;
+        line.end = 3;
+
+        PackedGlyphLine packed = new PackedGlyphLine(line);
+        Assert.assertEquals(1, packed.start);
+        Assert.assertEquals(3, packed.end);
+        Assert.assertEquals(11, packed.getCode(1));
+        Assert.assertEquals(500, packed.getWidth(1));
+        Assert.assertEquals('b', packed.getUnicode(1));
+        Assert.assertTrue(packed.hasValidUnicode(1));
+        Assert.assertFalse(packed.hasOffsets(1));
+        Assert.assertSame(line.get(2), packed.getGlyph(2));
+
+        Assert.assertTrue(packed.hasOffsets(2));
+        Assert.assertTrue(packed.hasPlacement(2));
+        Assert.assertTrue(packed.hasAdvance(2));
+        Assert.assertEquals(-100, packed.getXPlacement(2));
+        Assert.assertEquals(200, packed.getYPlacement(2));
+        Assert.assertEquals(300, packed.getXAdvance(2));
+        Assert.assertEquals(-400, packed.getYAdvance(2));
+        Assert.assertEquals(-1, packed.getAnchorDelta(2));
+
+        Assert.assertTrue(packed.isPackedFrom(line));
+        GlyphLine slice = new GlyphLine(line);
+        slice.start = 2;
+        Assert.assertTrue(packed.isPackedFrom(slice));
+        slice.start = 0;
+        Assert.assertFalse(packed.isPackedFrom(slice));
+        Assert.assertFalse(packed.isPackedFrom(createLine("abcd")));
+        Assert.assertEquals("bc", packed.toGlyphLine().toString());
+    }
+
+    private static GlyphLine createLine(String text) {
+        List<Glyph> glyphs = new ArrayList<>();
+        for (int i = 0; i < text.length(); i++) {
+            glyphs.add(new Glyph(i + 10, 500, text.charAt(i)));
+        }
+        return new GlyphLine(glyphs);
+    }
+}
@@ -60,4 +60,36 @@ public class WriteNumbersTest {
             Assert.assertArrayEquals(message, expecteds, actuals);
         }
     }
+
+    @Test
+    public void WriteHighPrecisionNumberTest() {
+        Random rnd = new Random();
+        double[] scales = {1, 100, 32767, 1e6, 1e11};
+        for (int i = 0; i < 100000; i++) {
+            double d = (rnd.nextDouble() - 0.5) * scales[i % scales.length];
+            if (i % 3 == 0) {
+                d = round(d, 7);
+            }
+            assertHighPrecisionNumber(d);
+        }
+        double[] specialValues = {0.0000005, 0.0000015, 1.0000005, 2.5e-6, -0.9999995, 0.1234565, 999999.9999995,
+                -1e-6, 1e12, -3e15};
+        for (double d : specialValues) {
+            assertHighPrecisionNumber(d);
+        }
+    }
+
+    private static void assertHighPrecisionNumber(double d) {
+        if (Math.abs(d) < 0.000001) {
+            return;
+        }
+        byte[] actuals = ByteUtils.getIsoBytes(d, null, true);
+        ByteBuffer buffer = new ByteBuffer(32);
+        ByteUtils.getIsoBytes(d, buffer, true);
+        byte[] bufferActuals = buffer.toByteArray(buffer.capacity() - buffer.size(), buffer.size());
+        byte[] expecteds = DecimalFormatUtil.formatNumber(d, "0.######").getBytes(StandardCharsets.ISO_8859_1);
+        String message = "Expects: " + new String(expecteds) + ", actual: " + new String(actuals) + " \\\\ " + d;
+        Assert.assertArrayEquals(message, expecteds, actuals);
+        Assert.assertArrayEquals(message, expecteds, bufferActuals);
+    }
 }
@@ -47,6 +47,7 @@ import com.itextpdf.io.font.FontConstants;
 import com.itextpdf.io.font.FontProgram;
 import com.itextpdf.io.font.otf.Glyph;
 import com.itextpdf.io.font.otf.GlyphLine;
+import com.itextpdf.io.font.otf.PackedGlyphLine;
 import com.itextpdf.io.util.TextUtil;
 import com.itextpdf.kernel.PdfException;
 import com.itextpdf.kernel.pdf.PdfDictionary;
@@ -60,6 +61,7 @@ import com.itextpdf.kernel.pdf.PdfStream;
 import com.itextpdf.kernel.pdf.PdfString;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -73,7 +75,7 @@ public abstract class PdfFont extends PdfObjectWrapper<PdfDictionary> {
 
     protected static final byte[] emptyBytes = new byte[0];
 
-    protected Map<Integer, Glyph> notdefGlyphs = new HashMap<>();
+    protected Map<Integer, Glyph> notdefGlyphs = Collections.synchronizedMap(new HashMap<Integer, Glyph>());
 
     /**
      * false, if the font comes from PdfDocument.
@@ -173,6 +175,20 @@ public abstract class PdfFont extends PdfObjectWrapper<PdfDictionary> {
 
     public abstract void writeText(String text, PdfOutputStream stream);
 
+    /**
+     * Writes the glyphs of a packed line from {@code from} to {@code to} inclusive.
+     * The fonts which can encode the glyphs from their codes and unicodes override it
+     * to avoid visiting the {@link Glyph} objects.
+     *
+     * @param text   the packed line
+     * @param from   the index of the first glyph to write
+     * @param to     the index of the last glyph to write
+     * @param stream the stream to write to
+     */
+    public void writeText(PackedGlyphLine text, int from, int to, PdfOutputStream stream) {
+        writeText(text.toGlyphLine(), from, to, stream);
+    }
+
     public void writeText(GlyphLine text, PdfOutputStream stream) {
         writeText(text, 0, text.size() - 1, stream);
     }
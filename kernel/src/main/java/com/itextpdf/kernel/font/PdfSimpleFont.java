@@ -51,6 +51,7 @@ import com.itextpdf.io.font.FontProgram;
 import com.itextpdf.io.font.PdfEncodings;
 import com.itextpdf.io.font.otf.Glyph;
 import com.itextpdf.io.font.otf.GlyphLine;
+import com.itextpdf.io.font.otf.PackedGlyphLine;
 import com.itextpdf.io.util.ArrayUtil;
 import com.itextpdf.io.util.StreamUtil;
 import com.itextpdf.kernel.pdf.PdfArray;
@@ -186,6 +187,29 @@ public abstract class PdfSimpleFont<T extends FontProgram> extends PdfFont {
         StreamUtil.writeEscapedString(stream, bytes);
     }
 
+    @Override
+    public void writeText(PackedGlyphLine text, int from, int to, PdfOutputStream stream) {
+        byte[] bytes = new byte[to - from + 1];
+        int ptr = 0;
+
+        if (fontEncoding.isFontSpecific()) {
+            for (int i = from; i <= to; i++) {
+                bytes[ptr++] = (byte) text.getCode(i);
+            }
+        } else {
+            for (int i = from; i <= to; i++) {
+                if (fontEncoding.canEncode(text.getUnicode(i))) {
+                    bytes[ptr++] = (byte) fontEncoding.convertToByte(text.getUnicode(i));
+                }
+            }
+        }
+        bytes = ArrayUtil.shortenArray(bytes, ptr);
+        for (byte b : bytes) {
+            shortTag[b & 0xff] = 1;
+        }
+        StreamUtil.writeEscapedString(stream, bytes);
+    }
+
     @Override
     public void writeText(String text, PdfOutputStream stream) {
         StreamUtil.writeEscapedString(stream, convertToBytes(text));
@@ -56,6 +56,7 @@ import com.itextpdf.io.font.cmap.CMapContentParser;
 import com.itextpdf.io.font.cmap.CMapToUnicode;
 import com.itextpdf.io.font.otf.Glyph;
 import com.itextpdf.io.font.otf.GlyphLine;
+import com.itextpdf.io.font.otf.PackedGlyphLine;
 import com.itextpdf.io.util.StreamUtil;
 import com.itextpdf.io.util.TextUtil;
 import com.itextpdf.kernel.PdfException;
@@ -310,6 +311,19 @@ public class PdfType0Font extends PdfFont {
         StreamUtil.writeHexedString(stream, PdfEncodings.convertToBytes(bytes.toString(), PdfEncodings.UNICODE_BIG_UNMARKED));
     }
 
+    @Override
+    public void writeText(PackedGlyphLine text, int from, int to, PdfOutputStream stream) {
+        StringBuilder bytes = new StringBuilder();
+        for (int i = from; i <= to; i++) {
+            int code = text.getCode(i);
+            bytes.append((char) cmapEncoding.getCmapCode(code));
+            if (longTag.get(code) == null) {
+                longTag.put(code, new int[]{code, text.getWidth(i), text.hasValidUnicode(i) ? text.getUnicode(i) : 0});
+            }
+        }
+        StreamUtil.writeHexedString(stream, PdfEncodings.convertToBytes(bytes.toString(), PdfEncodings.UNICODE_BIG_UNMARKED));
+    }
+
     @Override
     public void writeText(String text, PdfOutputStream stream) {
         StreamUtil.writeHexedString(stream, convertToBytes(text));
@@ -0,0 +1,201 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2016 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.kernel.font;
+
+import com.itextpdf.kernel.pdf.PdfDictionary;
+import com.itextpdf.kernel.pdf.PdfIndirectReference;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A thread-safe cache of the fonts created from the font dictionaries of a document, which is shared
+ * by all the content stream processors of the document, so that every font with its encoding,
+ * ToUnicode CMap and widths is decoded only once however many pages and threads use it.
+ * <br>
+ * The fonts are keyed by the indirect references of their dictionaries. The number of the cached
+ * fonts is bounded: when the limit is exceeded, the least recently used font is evicted.
+ * See {@link com.itextpdf.kernel.pdf.PdfDocument#getSharedFontCache()}.
+ */
+public class SharedFontCache {
+
+    /**
+     * The default maximum number of the cached fonts.
+     */
+    public static final int DEFAULT_MAX_SIZE = 256;
+
+    private final LinkedHashMap<PdfIndirectReference, PdfFont> fonts;
+    private int maxSize;
+    private long hitCount;
+    private long missCount;
+
+    /**
+     * Creates a cache with the {@link #DEFAULT_MAX_SIZE default limit}.
+     */
+    public SharedFontCache() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * Creates a cache.
+     *
+     * @param maxSize the maximum number of the cached fonts
+     */
+    public SharedFontCache(int maxSize) {
+        checkMaxSize(maxSize);
+        this.maxSize = maxSize;
+        this.fonts = new LinkedHashMap<PdfIndirectReference, PdfFont>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<PdfIndirectReference, PdfFont> eldest) {
+                return size() > SharedFontCache.this.maxSize;
+            }
+        };
+    }
+
+    /**
+     * Gets the font for the font dictionary, creating it if the font is not cached yet.
+     * The fonts of the direct font dictionaries are not cached.
+     *
+     * @param fontDict the font dictionary
+     * @return the font
+     */
+    public PdfFont getFont(PdfDictionary fontDict) {
+        PdfIndirectReference reference = fontDict.getIndirectReference();
+        if (reference == null) {
+            synchronized (this) {
+                missCount++;
+            }
+            return PdfFontFactory.createFont(fontDict);
+        }
+        PdfFont font = getCachedFont(reference);
+        if (font == null) {
+            // the font dictionary is locked so that concurrent processors don't decode the same font twice
+            synchronized (fontDict) {
+                font = getCachedFont(reference);
+                if (font == null) {
+                    font = PdfFontFactory.createFont(fontDict);
+                    synchronized (this) {
+                        missCount++;
+                        fonts.put(reference, font);
+                    }
+                }
+            }
+        }
+        return font;
+    }
+
+    /**
+     * Gets the number of the requests, which were served with a cached font.
+     *
+     * @return the number of the cache hits
+     */
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Gets the number of the requests, which required creating a new font.
+     *
+     * @return the number of the cache misses
+     */
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Gets the number of the cached fonts.
+     *
+     * @return the number of the cached fonts
+     */
+    public synchronized int size() {
+        return fonts.size();
+    }
+
+    /**
+     * Gets the maximum number of the cached fonts.
+     *
+     * @return the maximum number of the cached fonts
+     */
+    public synchronized int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Sets the maximum number of the cached fonts. If the cache contains more fonts,
+     * the least recently used ones are evicted.
+     *
+     * @param maxSize the maximum number of the cached fonts
+     * @return this {@link SharedFontCache} instance
+     */
+    public synchronized SharedFontCache setMaxSize(int maxSize) {
+        checkMaxSize(maxSize);
+        this.maxSize = maxSize;
+        while (fonts.size() > maxSize) {
+            PdfIndirectReference eldest = fonts.keySet().iterator().next();
+            fonts.remove(eldest);
+        }
+        return this;
+    }
+
+    /**
+     * Removes all the cached fonts. The hit and miss counters are not reset.
+     */
+    public synchronized void clear() {
+        fonts.clear();
+    }
+
+    private synchronized PdfFont getCachedFont(PdfIndirectReference reference) {
+        PdfFont font = fonts.get(reference);
+        if (font != null) {
+            hitCount++;
+        }
+        return font;
+    }
+
+    private static void checkMaxSize(int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("The parameter must be a positive integer");
+        }
+    }
+}
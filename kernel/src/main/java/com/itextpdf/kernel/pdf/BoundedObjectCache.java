@@ -0,0 +1,154 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2016 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.kernel.pdf;
+
+/**
+ * Keeps track of the objects read by {@link PdfReader} and releases the least recently used ones,
+ * when the number of the read objects exceeds the limit. Released objects are detached from their
+ * indirect references, so that they are read from the source again on the next access.
+ * The objects are chosen for release by clock algorithm: each indirect reference is marked as recently used
+ * on access, the clock hand clears the marks and releases the first object, which wasn't accessed since
+ * the previous pass.
+ * <br/>
+ * Only unmodified and non-flushed objects are released. Catalog and page tree dictionaries are not tracked,
+ * because they are referenced by the document's page tree anyway.
+ */
+class BoundedObjectCache {
+
+    private final PdfIndirectReference[] references;
+    private int size;
+    private int hand;
+    private long releasedCount;
+
+    /**
+     * Creates the cache.
+     *
+     * @param limit maximum number of the read objects, which are kept in the indirect references.
+     */
+    BoundedObjectCache(int limit) {
+        references = new PdfIndirectReference[limit];
+    }
+
+    /**
+     * Registers the indirect reference, which object was just read.
+     * If the cache is full, one of the previously read objects is released.
+     *
+     * @param reference indirect reference of the read object.
+     * @param object    the read object.
+     */
+    void add(PdfIndirectReference reference, PdfObject object) {
+        if (isTracked(object)) {
+            addReference(reference);
+        }
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Gets the number of the objects released by the cache.
+     *
+     * @return the number of the released objects.
+     */
+    synchronized long getReleasedCount() {
+        return releasedCount;
+    }
+
+    private synchronized void addReference(PdfIndirectReference reference) {
+        if (size < references.length) {
+            references[size++] = reference;
+            return;
+        }
+        // The loop is bounded: after the first pass all the marks are cleared.
+        for (int i = 0; i < 2 * references.length + 1; i++) {
+            PdfIndirectReference candidate = references[hand];
+            if (tryRelease(candidate)) {
+                break;
+            }
+            hand = (hand + 1) % references.length;
+        }
+        references[hand] = reference;
+        hand = (hand + 1) % references.length;
+    }
+
+    /**
+     * Checks whether the slot of the reference can be reused, releasing the object if it wasn't accessed recently.
+     * The slots of the references which objects are already released or can't be released are reused as well.
+     */
+    private boolean tryRelease(PdfIndirectReference reference) {
+        synchronized (reference) {
+            PdfObject object = reference.refersTo;
+            if (object == null) {
+                return true;
+            }
+            if (!isReleasable(reference, object)) {
+                // the object is kept by the document, the slot is reused
+                return true;
+            }
+            if (reference.checkState(PdfObject.RECENTLY_USED)) {
+                reference.clearState(PdfObject.RECENTLY_USED);
+                return false;
+            }
+            reference.refersTo = null;
+            releasedCount++;
+            return true;
+        }
+    }
+
+    private static boolean isReleasable(PdfIndirectReference reference, PdfObject object) {
+        return !reference.checkState(PdfObject.MODIFIED) && !reference.checkState(PdfObject.FLUSHED)
+                && !reference.checkState(PdfObject.FORBID_RELEASE) && !object.checkState(PdfObject.MODIFIED)
+                && !object.checkState(PdfObject.FORBID_RELEASE) && object.getIndirectReference() == reference;
+    }
+
+    private static boolean isTracked(PdfObject object) {
+        if (object.getType() == PdfObject.DICTIONARY) {
+            // the type is not resolved, not to read other objects
+            PdfObject type = ((PdfDictionary) object).get(PdfName.Type, false);
+            return !PdfName.Catalog.equals(type) && !PdfName.Pages.equals(type) && !PdfName.Page.equals(type);
+        }
+        return true;
+    }
+}
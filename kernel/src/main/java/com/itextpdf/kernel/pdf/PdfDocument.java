@@ -57,6 +57,7 @@ import com.itextpdf.kernel.events.IEventHandler;
 import com.itextpdf.kernel.events.PdfDocumentEvent;
 import com.itextpdf.kernel.font.PdfFont;
 import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.kernel.font.SharedFontCache;
 import com.itextpdf.kernel.geom.PageSize;
 import com.itextpdf.kernel.log.Counter;
 import com.itextpdf.kernel.log.CounterFactory;
@@ -171,6 +172,11 @@ public class PdfDocument implements IEventDispatcher, Closeable, Serializable {
     private Map<PdfIndirectReference, PdfFont> documentFonts = new HashMap<>();
     private PdfFont defaultFont = null;
 
+    /**
+     * The fonts created while processing the content of the document, see {@link #getSharedFontCache()}.
+     */
+    private transient volatile SharedFontCache sharedFontCache;
+
     protected transient TagStructureContext tagStructureContext;
 
     private static AtomicLong lastDocumentId = new AtomicLong();
@@ -339,7 +345,13 @@ public class PdfDocument implements IEventDispatcher, Closeable, Serializable {
      */
     public PdfPage getPage(int pageNum) {
         checkClosingStatus();
-        return catalog.getPageTree().getPage(pageNum);
+        PdfPagesTree pageTree = catalog.getPageTree();
+        if (isConcurrentReadAccess()) {
+            synchronized (pageTree) {
+                return pageTree.getPage(pageNum);
+            }
+        }
+        return pageTree.getPage(pageNum);
     }
 
     /**
@@ -350,7 +362,13 @@ public class PdfDocument implements IEventDispatcher, Closeable, Serializable {
      */
     public PdfPage getPage(PdfDictionary pageDictionary) {
         checkClosingStatus();
-        return catalog.getPageTree().getPage(pageDictionary);
+        PdfPagesTree pageTree = catalog.getPageTree();
+        if (isConcurrentReadAccess()) {
+            synchronized (pageTree) {
+                return pageTree.getPage(pageDictionary);
+            }
+        }
+        return pageTree.getPage(pageDictionary);
     }
 
     /**
@@ -473,7 +491,13 @@ public class PdfDocument implements IEventDispatcher, Closeable, Serializable {
      */
     public int getPageNumber(PdfPage page) {
         checkClosingStatus();
-        return catalog.getPageTree().getPageNumber(page);
+        PdfPagesTree pageTree = catalog.getPageTree();
+        if (isConcurrentReadAccess()) {
+            synchronized (pageTree) {
+                return pageTree.getPageNumber(page);
+            }
+        }
+        return pageTree.getPageNumber(page);
     }
 
     /**
@@ -483,7 +507,13 @@ public class PdfDocument implements IEventDispatcher, Closeable, Serializable {
      * @return page number by {@link PdfDictionary}.
      */
     public int getPageNumber(PdfDictionary pageDictionary) {
-        return catalog.getPageTree().getPageNumber(pageDictionary);
+        PdfPagesTree pageTree = catalog.getPageTree();
+        if (isConcurrentReadAccess()) {
+            synchronized (pageTree) {
+                return pageTree.getPageNumber(pageDictionary);
+            }
+        }
+        return pageTree.getPageNumber(pageDictionary);
     }
 
     /**
@@ -1414,6 +1444,26 @@ public class PdfDocument implements IEventDispatcher, Closeable, Serializable {
         }
     }
 
+    /**
+     * Gets the cache of the fonts, which are created by {@link com.itextpdf.kernel.pdf.canvas.parser.PdfCanvasProcessor}
+     * while processing the content of the document. The cache is shared by all the processors of the document
+     * and can be used from several threads.
+     *
+     * @return the shared font cache of the document.
+     */
+    public SharedFontCache getSharedFontCache() {
+        SharedFontCache cache = sharedFontCache;
+        if (cache == null) {
+            synchronized (documentFonts) {
+                cache = sharedFontCache;
+                if (cache == null) {
+                    sharedFontCache = cache = new SharedFontCache();
+                }
+            }
+        }
+        return cache;
+    }
+
     /**
      * Gets default font for the document: Helvetica, WinAnsi.
      * One instance per document.
@@ -1434,6 +1484,16 @@ public class PdfDocument implements IEventDispatcher, Closeable, Serializable {
         }
         return defaultFont;
     }
+    /**
+     * Checks whether the document is opened in concurrent read access mode, so its pages and objects
+     * can be read from several threads. See {@link ReaderProperties#useConcurrentReadAccess()}.
+     *
+     * @return true if the document is opened in concurrent read access mode.
+     */
+    public boolean isConcurrentReadAccess() {
+        return reader != null && reader.isConcurrentReadAccess();
+    }
+
     /**
      * Gets list of indirect references.
      *
@@ -1513,6 +1573,12 @@ public class PdfDocument implements IEventDispatcher, Closeable, Serializable {
         try {
             if (reader != null) {
                 reader.pdfDocument = this;
+                if (writer == null && reader.properties.compactXrefStorage && !reader.properties.concurrentReadAccess) {
+                    xref.useCompactStorage(this);
+                }
+                if (writer == null && reader.properties.objectCacheLimit > 0) {
+                    reader.objectCache = new BoundedObjectCache(reader.properties.objectCacheLimit);
+                }
                 reader.readPdf();
                 Counter counter = getCounter();
                 if (counter != null) {
@@ -1546,6 +1612,9 @@ public class PdfDocument implements IEventDispatcher, Closeable, Serializable {
                 }
                 if (properties.appendMode && (reader.hasRebuiltXref() || reader.hasFixedXref()))
                     throw new PdfException(PdfException.AppendModeRequiresADocumentWithoutErrorsEvenIfRecoveryWasPossible);
+                if (writer == null && reader.properties.concurrentReadAccess) {
+                    reader.enableConcurrentReadAccess();
+                }
             }
             if (writer != null) {
                 if (reader != null && reader.hasXrefStm() && writer.properties.isFullCompression == null) {
@@ -123,8 +123,14 @@ public class PdfIndirectReference extends PdfObject implements Comparable<PdfInd
      */
     public PdfObject getRefersTo(boolean recursively) {
         if (!recursively) {
-            if (refersTo == null && !checkState(FLUSHED) && !checkState(MODIFIED) && getReader() != null) {
-                refersTo = getReader().readObject(this);
+            PdfReader reader = getReader();
+            if (reader != null && reader.isConcurrentReadAccess()) {
+                return reader.readObjectConcurrently(this);
+            }
+            if (refersTo == null && !checkState(FLUSHED) && !checkState(MODIFIED) && reader != null) {
+                refersTo = reader.readObject(this);
+            } else if (refersTo != null && reader != null) {
+                setState(RECENTLY_USED);
             }
             return refersTo;
         } else {
@@ -264,6 +264,7 @@ public class PdfName extends PdfPrimitiveObject implements Comparable<PdfName> {
     public static final PdfName DigestValue = createDirectName("DigestValue");
     public static final PdfName Direction = createDirectName("Direction");
     public static final PdfName DisplayDocTitle = createDirectName("DisplayDocTitle");
+    public static final PdfName DL = createDirectName("DL");
     public static final PdfName DocMDP = createDirectName("DocMDP");
     public static final PdfName DocOpen = createDirectName("DocOpen");
     public static final PdfName DocTimeStamp = createDirectName("DocTimeStamp");
@@ -857,6 +858,12 @@ public class PdfName extends PdfPrimitiveObject implements Comparable<PdfName> {
      */
     public static Map<String, PdfName> staticNames;
 
+    /**
+     * Open addressing hash table of all known static names, which allows to find a static name by its bytes
+     * without creating a string. The bytes are hashed the same way as {@link String#hashCode()}.
+     */
+    private static PdfName[] staticNamesTable;
+
     /**
      * Use reflection to cache all the public static final names so
      * future <code>PdfName</code> additions don't have to be "added twice".
@@ -866,6 +873,51 @@ public class PdfName extends PdfPrimitiveObject implements Comparable<PdfName> {
 
     static {
         staticNames = PdfNameLoader.loadNames();
+        if (staticNames != null) {
+            int capacity = Integer.highestOneBit(Math.max(staticNames.size(), 1) * 4);
+            staticNamesTable = new PdfName[capacity];
+            for (PdfName name : staticNames.values()) {
+                int index = name.value.hashCode() & (capacity - 1);
+                while (staticNamesTable[index] != null) {
+                    index = (index + 1) & (capacity - 1);
+                }
+                staticNamesTable[index] = name;
+            }
+        }
+    }
+
+    /**
+     * Finds the known static name which is written with the given bytes.
+     *
+     * @param content the buffer which holds the name bytes, without the leading solidus
+     * @param length the number of the name bytes in the buffer
+     * @return the static name, or {@code null} if there is no such static name.
+     */
+    static PdfName getStaticName(byte[] content, int length) {
+        if (staticNamesTable == null) {
+            return null;
+        }
+        int hash = 0;
+        for (int i = 0; i < length; i++) {
+            hash = 31 * hash + (content[i] & 0xff);
+        }
+        int mask = staticNamesTable.length - 1;
+        for (int index = hash & mask; staticNamesTable[index] != null; index = (index + 1) & mask) {
+            String value = staticNamesTable[index].value;
+            if (value.length() == length && isNameContent(value, content)) {
+                return staticNamesTable[index];
+            }
+        }
+        return null;
+    }
+
+    private static boolean isNameContent(String value, byte[] content) {
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) != (content[i] & 0xff)) {
+                return false;
+            }
+        }
+        return true;
     }
 
     private static PdfName createDirectName(String name) {
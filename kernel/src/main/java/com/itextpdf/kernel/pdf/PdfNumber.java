@@ -72,6 +72,19 @@ public class PdfNumber extends PdfPrimitiveObject {
         this.value = java.lang.Double.NaN;
     }
 
+    /**
+     * Creates an integer number which is read from a document. Unlike {@link #PdfNumber(int)} the number is not
+     * considered to be modified.
+     *
+     * @param value the value of the number
+     * @param isRead marks the constructor used for the numbers read from a document
+     */
+    PdfNumber(int value, boolean isRead) {
+        super();
+        setValue(value);
+        this.changed = !isRead;
+    }
+
     private PdfNumber() {
         super();
     }
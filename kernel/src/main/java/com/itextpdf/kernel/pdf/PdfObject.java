@@ -104,6 +104,9 @@ public abstract class PdfObject implements Serializable {
     // (because of multiple objects read from the same reference inconsistency).
     protected static final short READ_ONLY = 256;
 
+    // Indicates that the object read by PdfReader was accessed since the last pass of the bounded object cache.
+    protected static final short RECENTLY_USED = 512;
+
     /**
      * If object is flushed the indirect reference is kept here.
      */
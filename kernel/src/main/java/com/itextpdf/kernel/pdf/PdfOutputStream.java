@@ -212,7 +212,7 @@ public class PdfOutputStream extends OutputStream<PdfOutputStream> {
     }
 
     private void write(PdfLiteral literal) {
-        literal.setPosition(getCurrentPos());
+        updateLiteralPosition(literal);
         writeBytes(literal.getInternalContent());
     }
 
@@ -294,6 +294,16 @@ public class PdfOutputStream extends OutputStream<PdfOutputStream> {
                 length.setValue((int) (getCurrentPos() - beginStreamContent));
                 pdfStream.updateLength(length.intValue());
                 writeBytes(PdfOutputStream.endstream);
+            } else if (pdfStream.hasPassthroughContent() && !userDefinedCompression && !checkEncryption(pdfStream)
+                    && !(toCompress && !containsFlateFilter(pdfStream) && allowCompression)) {
+                // unmodified content copied from another document is transferred from the source as is
+                int length = pdfStream.getPassthroughLength();
+                pdfStream.put(PdfName.Length, new PdfNumber(length));
+                pdfStream.updateLength(length);
+                this.write((PdfDictionary) pdfStream);
+                writeBytes(PdfOutputStream.stream);
+                pdfStream.transferPassthroughContent(this);
+                writeBytes(PdfOutputStream.endstream);
             } else {
                 //When document is opened in stamping mode the output stream can be uninitialized.
                 //We have to initialize it and write all data from streams input to streams output.
@@ -357,6 +367,42 @@ public class PdfOutputStream extends OutputStream<PdfOutputStream> {
         }
     }
 
+    /**
+     * Checks whether the content of the stream, which is kept in memory, is going to be compressed
+     * with Flate filter when the stream is written.
+     *
+     * @param pdfStream stream to check.
+     * @return true if the stream content will be compressed, otherwise false.
+     */
+    boolean isFlateCompressionRequired(PdfStream pdfStream) {
+        boolean userDefinedCompression = pdfStream.getCompressionLevel() != CompressionConstants.UNDEFINED_COMPRESSION;
+        boolean toCompress = resolveCompressionLevel(pdfStream) != CompressionConstants.NO_COMPRESSION;
+        boolean allowCompression = !pdfStream.containsKey(PdfName.Filter) && isNotMetadataPdfStream(pdfStream);
+        return toCompress && !containsFlateFilter(pdfStream) && (allowCompression || userDefinedCompression);
+    }
+
+    /**
+     * Gets compression level the stream will be written with.
+     *
+     * @param pdfStream stream to check.
+     * @return compression level of the stream if it is defined, otherwise default compression level of the document.
+     */
+    int resolveCompressionLevel(PdfStream pdfStream) {
+        if (pdfStream.getCompressionLevel() != CompressionConstants.UNDEFINED_COMPRESSION) {
+            return pdfStream.getCompressionLevel();
+        }
+        return document != null ? document.getWriter().getCompressionLevel() : CompressionConstants.DEFAULT_COMPRESSION;
+    }
+
+    /**
+     * Stores the position of the literal in the output.
+     *
+     * @param literal the literal which is being written.
+     */
+    void updateLiteralPosition(PdfLiteral literal) {
+        literal.setPosition(getCurrentPos());
+    }
+
     protected boolean checkEncryption(PdfStream pdfStream) {
         if (crypto == null || crypto.isEmbeddedFilesOnly()) {
             return false;
@@ -447,6 +447,11 @@ public class PdfPage extends PdfObjectWrapper<PdfDictionary> {
      * descenders of the given structure element, belong to the current page - the tag is considered
      * to belong to the page. If tag has descenders from several pages - it is flushed, if all other pages except the
      * current one are flushed.
+     * <br>
+     * <br>
+     * If the document is opened in append mode, only the modified content streams are written to the incremental
+     * update. Unmodified content streams are not written again, they are released after the page is written,
+     * so stamping and flushing pages one by one keeps memory usage independent of the number of pages.
      */
     @Override
     public void flush() {
@@ -485,13 +490,26 @@ public class PdfPage extends PdfObjectWrapper<PdfDictionary> {
             flushContentStreams();
         }
         int contentStreamCount = getContentStreamCount();
+        List<PdfStream> unmodifiedContentStreams = new ArrayList<>();
         for (int i = 0; i < contentStreamCount; i++) {
-            getContentStream(i).flush(false);
+            PdfStream contentStream = getContentStream(i);
+            if (isNotModifiedInAppendMode(contentStream)) {
+                unmodifiedContentStreams.add(contentStream);
+            } else {
+                contentStream.flush(false);
+            }
         }
 
         resources = null;
 
         super.flush();
+
+        // the streams are released only after the page, which could hold them, is written
+        for (PdfStream contentStream : unmodifiedContentStreams) {
+            if (!contentStream.checkState(PdfObject.FORBID_RELEASE)) {
+                contentStream.release();
+            }
+        }
     }
 
     /**
@@ -1072,10 +1090,21 @@ public class PdfPage extends PdfObjectWrapper<PdfDictionary> {
     }
 
     private void flushMustBeIndirectObject(PdfObject obj) {
+        if (isNotModifiedInAppendMode(obj)) {
+            return;
+        }
         // TODO DEVSIX-744
         obj.makeIndirect(getDocument()).flush();
     }
 
+    /**
+     * In append mode the objects of the original document, which are not modified, are already present
+     * in the previous revision, so they shall not be written again.
+     */
+    private boolean isNotModifiedInAppendMode(PdfObject obj) {
+        return getDocument().isAppendMode() && obj.getIndirectReference() != null && !obj.isModified();
+    }
+
     /*
     * initialization <code>parentPages</code> if needed
     */
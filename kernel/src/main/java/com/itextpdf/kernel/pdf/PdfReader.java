@@ -49,6 +49,8 @@ import com.itextpdf.io.source.ByteUtils;
 import com.itextpdf.io.source.IRandomAccessSource;
 import com.itextpdf.io.source.PdfTokenizer;
 import com.itextpdf.io.source.RandomAccessFileOrArray;
+import com.itextpdf.io.source.MemoryMappingPolicy;
+import com.itextpdf.io.source.MemoryMappingStatistics;
 import com.itextpdf.io.source.RandomAccessSourceFactory;
 import com.itextpdf.io.source.WindowRandomAccessSource;
 import com.itextpdf.kernel.PdfException;
@@ -63,7 +65,18 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.Serializable;
 import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * Reads a PDF document.
@@ -79,6 +92,11 @@ public class PdfReader implements Closeable, Serializable {
     private static final byte[] endstream = ByteUtils.getIsoBytes("endstream");
     private static final byte[] endobj = ByteUtils.getIsoBytes("endobj");
 
+    private static final long MIN_XREF_REBUILD_CHUNK_SIZE = 64 * 1024;
+    private static final int CHUNKS_PER_THREAD = 4;
+    private static final int THREAD_READER_BUFFER_SIZE = 8 * 1024;
+    private static final int STREAM_TRANSFER_BUFFER_SIZE = 64 * 1024;
+
     protected static boolean correctStreamLength = true;
 
     private boolean unethicalReading;
@@ -109,6 +127,19 @@ public class PdfReader implements Closeable, Serializable {
     protected boolean fixedXref = false;
     protected boolean xrefStm = false;
 
+    // readers with own tokenizers, which are used by each thread if concurrent read access is enabled
+    private transient ThreadLocal<PdfReader> threadReaders;
+    private boolean concurrentReadAccess = false;
+
+    // releases the read objects if their number exceeds the limit, null if the objects are not released
+    BoundedObjectCache objectCache;
+
+    // streams of other documents, which are copied from this document and read their content from it when written
+    private transient Set<PdfStream> passthroughCopies;
+
+    // counters of the memory mapping of the source file, null if the reader is not created from a file name
+    private MemoryMappingStatistics memoryMappingStatistics;
+
     /**
      * Constructs a new PdfReader.
      *
@@ -120,6 +151,27 @@ public class PdfReader implements Closeable, Serializable {
         this.tokens = getOffsetTokeniser(byteSource);
     }
 
+    /**
+     * Creates the reader, which is used by a single thread in concurrent read access mode.
+     * The reader shares the document and the decryption with the original reader,
+     * but reads the objects with its own tokenizer.
+     */
+    private PdfReader(PdfReader reader, IRandomAccessSource sharedSource, Object sharedSourceLock) {
+        this.properties = reader.properties;
+        this.pdfDocument = reader.pdfDocument;
+        this.decrypt = reader.decrypt;
+        this.encrypted = reader.encrypted;
+        this.trailer = reader.trailer;
+        this.headerPdfVersion = reader.headerPdfVersion;
+        this.unethicalReading = reader.unethicalReading;
+        this.fixedXref = reader.fixedXref;
+        this.rebuiltXref = reader.rebuiltXref;
+        this.concurrentReadAccess = true;
+        this.objectCache = reader.objectCache;
+        this.tokens = new PdfTokenizer(new RandomAccessFileOrArray(
+                new SharedRandomAccessSourceView(sharedSource, sharedSourceLock, THREAD_READER_BUFFER_SIZE)));
+    }
+
     /**
      * Reads and parses a PDF document.
      *
@@ -151,13 +203,13 @@ public class PdfReader implements Closeable, Serializable {
      * @throws IOException on error
      */
     public PdfReader(String filename, ReaderProperties properties) throws IOException {
-        this(
-                new RandomAccessSourceFactory()
-                        .setForceRead(false)
-                        .createBestSource(filename),
-                properties
-        );
+        this(filename, properties, new MemoryMappingStatistics());
+    }
+
+    private PdfReader(String filename, ReaderProperties properties, MemoryMappingStatistics memoryMappingStatistics) throws IOException {
+        this(createSourceFactory(properties, memoryMappingStatistics).createBestSource(filename), properties);
         this.sourcePath = filename;
+        this.memoryMappingStatistics = memoryMappingStatistics;
     }
 
     /**
@@ -177,6 +229,8 @@ public class PdfReader implements Closeable, Serializable {
      * @throws IOException on error.
      */
     public void close() throws IOException {
+        materializePassthroughCopies();
+        threadReaders = null;
         tokens.close();
     }
 
@@ -272,6 +326,23 @@ public class PdfReader implements Closeable, Serializable {
         }
     }
 
+    /**
+     * Registers the stream of another document, which reads its content from this document when it is written.
+     * Content of such streams is read into memory if this reader is closed before they are written.
+     */
+    synchronized void registerPassthroughCopy(PdfStream copy) {
+        if (passthroughCopies == null) {
+            passthroughCopies = Collections.newSetFromMap(new IdentityHashMap<PdfStream, Boolean>());
+        }
+        passthroughCopies.add(copy);
+    }
+
+    synchronized void unregisterPassthroughCopy(PdfStream copy) {
+        if (passthroughCopies != null) {
+            passthroughCopies.remove(copy);
+        }
+    }
+
     /**
      * Reads and decrypt stream bytes.
      * Note, this method doesn't store actual bytes in any internal structures.
@@ -280,6 +351,9 @@ public class PdfReader implements Closeable, Serializable {
      * @throws IOException on error.
      */
     public byte[] readStreamBytesRaw(PdfStream stream) throws IOException {
+        if (threadReaders != null) {
+            return threadReaders.get().readStreamBytesRaw(stream);
+        }
         PdfName type = stream.getAsName(PdfName.Type);
         if (!PdfName.XRefStm.equals(type) && !PdfName.ObjStm.equals(type))
             checkPdfStreamLength(stream);
@@ -313,8 +387,10 @@ public class PdfReader implements Closeable, Serializable {
                     filter.release();
                 }
                 if (!skip) {
-                    decrypt.setHashKeyForNextObject(stream.getIndirectReference().getObjNumber(), stream.getIndirectReference().getGenNumber());
-                    bytes = decrypt.decryptByteArray(bytes);
+                    synchronized (decrypt) {
+                        decrypt.setHashKeyForNextObject(stream.getIndirectReference().getObjNumber(), stream.getIndirectReference().getGenNumber());
+                        bytes = decrypt.decryptByteArray(bytes);
+                    }
                 }
             }
         } finally {
@@ -326,6 +402,58 @@ public class PdfReader implements Closeable, Serializable {
         return bytes;
     }
 
+    /**
+     * Gets the length of the raw stream content as it will be read from the source,
+     * correcting it the same way as {@link #readStreamBytesRaw(PdfStream)} does.
+     * Only for streams of not encrypted documents.
+     *
+     * @return the length of the raw stream content.
+     * @throws IOException on error.
+     */
+    int getRawStreamLength(PdfStream stream) throws IOException {
+        if (threadReaders != null) {
+            return threadReaders.get().getRawStreamLength(stream);
+        }
+        PdfName type = stream.getAsName(PdfName.Type);
+        if (!PdfName.XRefStm.equals(type) && !PdfName.ObjStm.equals(type))
+            checkPdfStreamLength(stream);
+        return Math.max(stream.getLength(), 0);
+    }
+
+    /**
+     * Copies raw stream bytes to the output in chunks, without reading the whole stream into memory.
+     * {@link #getRawStreamLength(PdfStream)} shall be called first. Only for streams of not encrypted documents.
+     *
+     * @param output the output the bytes are written to.
+     * @throws IOException on error.
+     */
+    void transferRawStreamBytes(PdfStream stream, java.io.OutputStream output) throws IOException {
+        if (threadReaders != null) {
+            threadReaders.get().transferRawStreamBytes(stream, output);
+            return;
+        }
+        assert decrypt == null : "Raw stream bytes of encrypted document can't be transferred";
+        int remaining = stream.getLength();
+        if (stream.getOffset() <= 0 || remaining <= 0)
+            return;
+        RandomAccessFileOrArray file = tokens.getSafeFile();
+        try {
+            file.seek(stream.getOffset());
+            byte[] buffer = new byte[Math.min(remaining, STREAM_TRANSFER_BUFFER_SIZE)];
+            while (remaining > 0) {
+                int n = Math.min(remaining, buffer.length);
+                file.readFully(buffer, 0, n);
+                output.write(buffer, 0, n);
+                remaining -= n;
+            }
+        } finally {
+            try {
+                file.close();
+            } catch (Exception ignored) {
+            }
+        }
+    }
+
     /**
      * Reads, decrypt and optionally decode stream bytes into {@link ByteArrayInputStream}.
      * User is responsible for closing returned stream.
@@ -431,6 +559,16 @@ public class PdfReader implements Closeable, Serializable {
         return tokens.getSafeFile().length();
     }
 
+    /**
+     * Gets the counters of the memory mapping of the source file, which is defined by
+     * {@link ReaderProperties#useMemoryMapping(MemoryMappingPolicy)}.
+     *
+     * @return the memory mapping statistics, or {@code null} if the reader was not created from a file name.
+     */
+    public MemoryMappingStatistics getMemoryMappingStatistics() {
+        return memoryMappingStatistics;
+    }
+
     /**
      * Checks if the document was opened with the owner password so that the end application
      * can decide what level of access restrictions to apply. If the document is not encrypted
@@ -532,10 +670,29 @@ public class PdfReader implements Closeable, Serializable {
     }
 
     protected void readObjectStream(PdfStream objectStream) throws IOException {
+        readObjectStream(objectStream, null);
+    }
+
+    /**
+     * Reads the objects of the object stream.
+     *
+     * @param objectStream the object stream.
+     * @param target       the reference which object is requested, or null.
+     * @return the object of the target reference. The object is returned explicitly, because
+     * the bounded object cache could release it right after it was read.
+     */
+    private PdfObject readObjectStream(PdfStream objectStream, PdfIndirectReference target) throws IOException {
+        return readObjectStream(objectStream, readStreamBytes(objectStream, true), target);
+    }
+
+    /**
+     * Reads the objects of the object stream from its already decoded content.
+     */
+    private PdfObject readObjectStream(PdfStream objectStream, byte[] bytes, PdfIndirectReference target) throws IOException {
+        PdfObject targetObject = null;
         int objectStreamNumber = objectStream.getIndirectReference().getObjNumber();
         int first = objectStream.getAsNumber(PdfName.First).intValue();
         int n = objectStream.getAsNumber(PdfName.N).intValue();
-        byte[] bytes = readStreamBytes(objectStream, true);
         PdfTokenizer saveTokens = tokens;
         try {
             tokens = new PdfTokenizer(new RandomAccessFileOrArray(new RandomAccessSourceFactory().createSource(bytes)));
@@ -567,7 +724,7 @@ public class PdfReader implements Closeable, Serializable {
                 tokens.nextToken();
                 PdfObject obj;
                 if (tokens.getTokenType() == PdfTokenizer.TokenType.Number) {
-                    obj = new PdfNumber(tokens.getByteContent());
+                    obj = readPdfNumber();
                 } else {
                     tokens.seek(address[k]);
                     obj = readObject(false, true);
@@ -575,18 +732,271 @@ public class PdfReader implements Closeable, Serializable {
                 PdfIndirectReference reference = pdfDocument.getXref().get(objNumber[k]);
                 // Check if this object has no incremental updates (e.g. no append mode)
                 if (reference.getObjStreamNumber() == objectStreamNumber) {
-                    reference.setRefersTo(obj);
-                    obj.setIndirectReference(reference);
+                    if (concurrentReadAccess) {
+                        obj = publishObject(reference, obj);
+                    } else if (reference.refersTo == null) {
+                        // the objects, which are already read, are kept, the stream could be read again after release
+                        reference.setRefersTo(obj);
+                        obj.setIndirectReference(reference);
+                        if (objectCache != null) {
+                            objectCache.add(reference, obj);
+                        }
+                    } else {
+                        obj = reference.refersTo;
+                    }
+                    if (reference == target) {
+                        targetObject = obj;
+                    }
                 }
             }
-            objectStream.getIndirectReference().setState(PdfObject.ORIGINAL_OBJECT_STREAM);
+            if (concurrentReadAccess) {
+                synchronized (objectStream.getIndirectReference()) {
+                    objectStream.getIndirectReference().setState(PdfObject.ORIGINAL_OBJECT_STREAM);
+                }
+            } else {
+                objectStream.getIndirectReference().setState(PdfObject.ORIGINAL_OBJECT_STREAM);
+            }
         } finally {
             tokens = saveTokens;
         }
+        return targetObject;
+    }
+
+    /**
+     * Reads all the objects reachable from the given object, e.g. from a page dictionary, so that
+     * the following traversal of the object doesn't read anything from the document.
+     * <br>
+     * The objects are read level by level: the object streams, which contain the objects of a level,
+     * are read and decoded together and each of them is parsed in one pass. The {@link PdfName#Parent}
+     * entries and the other page dictionaries are not followed, so prefetching a page doesn't read the whole document.
+     *
+     * @param root the object to read the reachable objects of
+     * @throws IOException on error
+     */
+    public void prefetchObjects(PdfObject root) throws IOException {
+        prefetchObjects(root, 1);
+    }
+
+    /**
+     * Reads all the objects reachable from the given object, e.g. from a page dictionary, so that
+     * the following traversal of the object doesn't read anything from the document.
+     * <br>
+     * The objects are read level by level: the object streams, which contain the objects of a level,
+     * are read and decoded together and each of them is parsed in one pass. The {@link PdfName#Parent}
+     * entries and the other page dictionaries are not followed, so prefetching a page doesn't read the whole document.
+     *
+     * @param root        the object to read the reachable objects of
+     * @param parallelism the number of threads which decode the object streams of a level concurrently,
+     *                    1 means that they are decoded sequentially
+     * @throws IOException on error
+     */
+    public void prefetchObjects(PdfObject root, int parallelism) throws IOException {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("The parameter must be a positive integer");
+        }
+        // the threads are started once and reused for all the levels
+        ExecutorService executor = parallelism > 1 && !concurrentReadAccess ? Executors.newFixedThreadPool(parallelism) : null;
+        try {
+            prefetchObjects(root, executor);
+        } finally {
+            if (executor != null) {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    /**
+     * Reads all the objects reachable from the given object, e.g. from a page dictionary, so that
+     * the following traversal of the object doesn't read anything from the document.
+     * <br>
+     * The objects are read level by level: the object streams, which contain the objects of a level,
+     * are read and decoded together and each of them is parsed in one pass. The {@link PdfName#Parent}
+     * entries and the other page dictionaries are not followed, so prefetching a page doesn't read the whole document.
+     *
+     * @param root     the object to read the reachable objects of
+     * @param executor the executor which decodes the object streams of a level concurrently,
+     *                 or {@code null} to decode them sequentially. The executor is not shut down.
+     * @throws IOException on error
+     */
+    public void prefetchObjects(PdfObject root, ExecutorService executor) throws IOException {
+        Set<PdfIndirectReference> visited = Collections.newSetFromMap(new IdentityHashMap<PdfIndirectReference, Boolean>());
+        if (root.getIndirectReference() != null) {
+            visited.add(root.getIndirectReference());
+        }
+        List<PdfObject> level = new ArrayList<>();
+        level.add(root);
+        while (!level.isEmpty()) {
+            List<PdfIndirectReference> pending = new ArrayList<>();
+            List<PdfObject> nextLevel = new ArrayList<>();
+            for (PdfObject object : level) {
+                collectReferences(object, root, visited, pending, nextLevel);
+            }
+            readObjects(pending, executor);
+            for (PdfIndirectReference reference : pending) {
+                PdfObject object = reference.getRefersTo(false);
+                if (object != null) {
+                    nextLevel.add(object);
+                }
+            }
+            level = nextLevel;
+        }
+    }
+
+    /**
+     * Collects the references of the object, which are not read yet. The objects of the already read references
+     * are added to the next level to be traversed.
+     */
+    private static void collectReferences(PdfObject object, PdfObject root, Set<PdfIndirectReference> visited,
+                                          List<PdfIndirectReference> pending, List<PdfObject> nextLevel) {
+        switch (object.getType()) {
+            case PdfObject.INDIRECT_REFERENCE: {
+                PdfIndirectReference reference = (PdfIndirectReference) object;
+                if (reference.isFree() || !visited.add(reference)) {
+                    break;
+                }
+                if (reference.refersTo != null) {
+                    nextLevel.add(reference.refersTo);
+                } else {
+                    pending.add(reference);
+                }
+                break;
+            }
+            case PdfObject.DICTIONARY:
+            case PdfObject.STREAM: {
+                PdfDictionary dictionary = (PdfDictionary) object;
+                if (object != root && PdfName.Page.equals(dictionary.get(PdfName.Type, false))) {
+                    break;
+                }
+                for (PdfName key : dictionary.keySet()) {
+                    if (!PdfName.Parent.equals(key)) {
+                        collectReferences(dictionary.get(key, false), root, visited, pending, nextLevel);
+                    }
+                }
+                break;
+            }
+            case PdfObject.ARRAY: {
+                PdfArray array = (PdfArray) object;
+                for (int i = 0; i < array.size(); i++) {
+                    collectReferences(array.get(i, false), root, visited, pending, nextLevel);
+                }
+                break;
+            }
+        }
+    }
+
+    /**
+     * Reads the objects of the references. Each object stream which contains any of the objects is read
+     * and parsed once, the object streams are decoded concurrently if parallelism allows.
+     */
+    private void readObjects(List<PdfIndirectReference> references, ExecutorService executor) throws IOException {
+        if (concurrentReadAccess) {
+            // the objects are read by the readers of the threads anyway
+            for (PdfIndirectReference reference : references) {
+                reference.getRefersTo(false);
+            }
+            return;
+        }
+        Map<Integer, PdfStream> objectStreams = new LinkedHashMap<>();
+        for (PdfIndirectReference reference : references) {
+            int objectStreamNumber = reference.getObjStreamNumber();
+            if (objectStreamNumber > 0 && !objectStreams.containsKey(objectStreamNumber)) {
+                PdfObject objectStream = pdfDocument.getXref().get(objectStreamNumber).getRefersTo(false);
+                if (objectStream instanceof PdfStream) {
+                    objectStreams.put(objectStreamNumber, (PdfStream) objectStream);
+                }
+            }
+        }
+        List<PdfStream> streams = new ArrayList<>(objectStreams.values());
+        List<byte[]> contents = new ArrayList<>(streams.size());
+        for (PdfStream stream : streams) {
+            contents.add(readStreamBytesRaw(stream));
+        }
+        decodeObjectStreams(streams, contents, streams.size() > 1 ? executor : null);
+        for (int i = 0; i < streams.size(); i++) {
+            readObjectStream(streams.get(i), contents.get(i), null);
+        }
+        for (PdfIndirectReference reference : references) {
+            // the objects of the object streams are already read
+            reference.getRefersTo(false);
+        }
+    }
+
+    private static void decodeObjectStreams(final List<PdfStream> streams, final List<byte[]> contents, ExecutorService executor) throws IOException {
+        List<Future<byte[]>> decoded = new ArrayList<>();
+        try {
+            for (int i = 0; i < streams.size(); i++) {
+                final PdfStream stream = streams.get(i);
+                final byte[] content = contents.get(i);
+                if (executor != null && hasDirectFilters(stream)) {
+                    decoded.add(executor.submit(new Callable<byte[]>() {
+                        public byte[] call() {
+                            return decodeBytes(content, stream);
+                        }
+                    }));
+                } else {
+                    // the indirect filter parameters are read from the document, which can't be done concurrently
+                    contents.set(i, decodeBytes(content, stream));
+                    decoded.add(null);
+                }
+            }
+            for (int i = 0; i < decoded.size(); i++) {
+                if (decoded.get(i) != null) {
+                    contents.set(i, getChunkResult(decoded.get(i)));
+                }
+            }
+        } finally {
+            for (Future<byte[]> future : decoded) {
+                if (future != null) {
+                    future.cancel(true);
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks that the filters and their parameters, including the values nested in the parameter
+     * dictionaries, don't refer to indirect objects, which can't be read from the document concurrently.
+     */
+    static boolean hasDirectFilters(PdfStream stream) {
+        PdfName[] keys = {PdfName.Filter, PdfName.DecodeParms, PdfName.DP};
+        for (PdfName key : keys) {
+            PdfObject value = stream.get(key, false);
+            if (value != null && containsIndirectReference(value)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean containsIndirectReference(PdfObject object) {
+        if (object.isIndirectReference()) {
+            return true;
+        }
+        if (object.isDictionary()) {
+            PdfDictionary dictionary = (PdfDictionary) object;
+            for (PdfName key : dictionary.keySet()) {
+                if (containsIndirectReference(dictionary.get(key, false))) {
+                    return true;
+                }
+            }
+        } else if (object.isArray()) {
+            PdfArray array = (PdfArray) object;
+            for (int i = 0; i < array.size(); i++) {
+                if (containsIndirectReference(array.get(i, false))) {
+                    return true;
+                }
+            }
+        }
+        return false;
     }
 
     protected PdfObject readObject(PdfIndirectReference reference) {
-        return readObject(reference, true);
+        PdfObject object = readObject(reference, true);
+        // objects of object streams are registered when the stream is read
+        if (objectCache != null && object != null && reference.getObjStreamNumber() == 0) {
+            objectCache.add(reference, object);
+        }
+        return object;
     }
 
     protected PdfObject readObject(boolean readAsDirect) throws IOException {
@@ -625,14 +1035,19 @@ public class PdfReader implements Closeable, Serializable {
             case StartArray:
                 return readArray(objStm);
             case Number:
-                return new PdfNumber(tokens.getByteContent());
+                return readPdfNumber();
             case String: {
                 PdfString pdfString = new PdfString(tokens.getByteContent(), tokens.isHexString());
                 if (currentIndirectReference != null) {
                     pdfString.setDecryptInfoNum(currentIndirectReference.getObjNumber());
                     pdfString.setDecryptInfoGen(currentIndirectReference.getGenNumber());
                 }
-                return !isEncrypted() || objStm ? pdfString : pdfString.decrypt(decrypt);
+                if (!isEncrypted() || objStm) {
+                    return pdfString;
+                }
+                synchronized (decrypt) {
+                    return pdfString.decrypt(decrypt);
+                }
             }
             case Name:
                 return readPdfName(readAsDirect);
@@ -653,6 +1068,14 @@ public class PdfReader implements Closeable, Serializable {
                             throw new PdfException(PdfException.InvalidIndirectReference1);
                         }
                     }
+                } else if (concurrentReadAccess) {
+                    synchronized (table) {
+                        reference = table.get(num);
+                        if (reference == null) {
+                            reference = table.add(new PdfIndirectReference(pdfDocument,
+                                    num, tokens.getGenNr(), 0).setState(PdfObject.READING));
+                        }
+                    }
                 } else {
                     reference = table.add(new PdfIndirectReference(pdfDocument,
                             num, tokens.getGenNr(), 0).setState(PdfObject.READING));
@@ -684,9 +1107,16 @@ public class PdfReader implements Closeable, Serializable {
         }
     }
 
+    private static RandomAccessSourceFactory createSourceFactory(ReaderProperties properties, MemoryMappingStatistics memoryMappingStatistics) {
+        return new RandomAccessSourceFactory()
+                .setForceRead(false)
+                .setMemoryMappingPolicy(properties.memoryMappingPolicy)
+                .setMemoryMappingStatistics(memoryMappingStatistics);
+    }
+
     protected PdfName readPdfName(boolean readAsDirect) {
         if (readAsDirect) {
-            PdfName cachedName = PdfName.staticNames.get(tokens.getStringValue());
+            PdfName cachedName = PdfName.getStaticName(tokens.getTokenBuffer(), tokens.getTokenLength());
             if (cachedName != null)
                 return cachedName;
         }
@@ -694,6 +1124,14 @@ public class PdfReader implements Closeable, Serializable {
         return new PdfName(tokens.getByteContent());
     }
 
+    private PdfNumber readPdfNumber() {
+        // canonical integers are written back the same way from their values, the other numbers keep their bytes
+        if (tokens.isCanonicalIntValue()) {
+            return new PdfNumber(tokens.getIntValue(), true);
+        }
+        return new PdfNumber(tokens.getByteContent());
+    }
+
     protected PdfDictionary readDictionary(boolean objStm) throws IOException {
         PdfDictionary dic = new PdfDictionary();
         while (true) {
@@ -817,6 +1255,20 @@ public class PdfReader implements Closeable, Serializable {
                     end--;
                     continue;
                 }
+                if (xref.isCompactStorageUsed() && !xref.isDefined(num)) {
+                    boolean free = tokens.tokenValueEqualsTo(PdfTokenizer.F);
+                    if (!free && !tokens.tokenValueEqualsTo(PdfTokenizer.N)) {
+                        tokens.throwError(PdfException.InvalidCrossReferenceEntryInThisXrefSubsection);
+                    }
+                    if (!free && pos == 0) {
+                        tokens.throwError(PdfException.FilePosition1CrossReferenceEntryInThisXrefSubsection);
+                    }
+                    xref.addCompactEntry(num, gen, pos, 0, free);
+                    continue;
+                }
+                if (xref.isCompactEntry(num)) {
+                    continue;
+                }
                 PdfIndirectReference reference = xref.get(num);
                 if (reference == null) {
                     reference = new PdfIndirectReference(pdfDocument, num, gen, pos);
@@ -934,6 +1386,20 @@ public class PdfReader implements Closeable, Serializable {
                     field3 = (field3 << 8) + (b[bptr++] & 0xff);
                 }
                 int base = start;
+                if (xref.isCompactStorageUsed() && (xref.isCompactEntry(base) || !xref.isDefined(base))) {
+                    if (type < 0 || type > 2) {
+                        throw new PdfException(PdfException.InvalidXrefStream);
+                    }
+                    if (!xref.isDefined(base)) {
+                        if (type == 2) {
+                            xref.addCompactEntry(base, 0, field3, (int) field2, false);
+                        } else {
+                            xref.addCompactEntry(base, field3, type == 0 ? 0 : field2, 0, type == 0);
+                        }
+                    }
+                    ++start;
+                    continue;
+                }
                 PdfIndirectReference newReference;
                 switch (type) {
                     case 0:
@@ -1005,6 +1471,13 @@ public class PdfReader implements Closeable, Serializable {
         xref.clear();
         tokens.seek(0);
         trailer = null;
+        if (properties.xrefRebuildParallelism > 1
+                && tokens.length() >= 2 * MIN_XREF_REBUILD_CHUNK_SIZE) {
+            rebuildXrefInParallel(properties.xrefRebuildParallelism);
+            if (trailer == null)
+                throw new PdfException(PdfException.TrailerNotFound);
+            return;
+        }
         ByteBuffer buffer = new ByteBuffer(24);
         PdfTokenizer lineTokeniser = new PdfTokenizer(new RandomAccessFileOrArray(new ReusableRandomAccessSource(buffer)));
         for (; ; ) {
@@ -1042,6 +1515,73 @@ public class PdfReader implements Closeable, Serializable {
             throw new PdfException(PdfException.TrailerNotFound);
     }
 
+    /**
+     * Scans the chunks of the document concurrently and merges the found declarations in the document order,
+     * applying the same rules as the sequential rebuild does.
+     */
+    private void rebuildXrefInParallel(int parallelism) throws IOException {
+        PdfXrefTable xref = pdfDocument.getXref();
+        long length = tokens.length();
+        long chunkSize = Math.max(MIN_XREF_REBUILD_CHUNK_SIZE, (length + CHUNKS_PER_THREAD * parallelism - 1) / (CHUNKS_PER_THREAD * parallelism));
+        IRandomAccessSource source = tokens.getSafeFile().createSourceView();
+        Object sourceLock = new Object();
+        List<Future<XrefChunkScanner.Result>> chunks = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        try {
+            for (long start = 0; start < length; start += chunkSize) {
+                chunks.add(executor.submit(new XrefChunkScanner(source, sourceLock, start, Math.min(start + chunkSize, length))));
+            }
+            long skipUntil = -1;
+            for (Future<XrefChunkScanner.Result> chunk : chunks) {
+                XrefChunkScanner.Result result = getChunkResult(chunk);
+                for (int i = 0; i < result.size(); i++) {
+                    long pos = result.getPosition(i);
+                    if (pos < skipUntil)
+                        continue;
+                    if (result.isTrailer(i)) {
+                        tokens.seek(pos);
+                        tokens.nextToken();
+                        try {
+                            PdfDictionary dic = (PdfDictionary) readObject(false);
+                            if (dic.get(PdfName.Root, false) != null) {
+                                trailer = dic;
+                                // the lines inside trailer dictionary are not scanned by sequential rebuild
+                                skipUntil = tokens.getPosition();
+                            }
+                        } catch (Exception ignored) {
+                            // the same as in sequential rebuild, the trailer is skipped
+                        }
+                    } else {
+                        int num = result.getObjNumber(i);
+                        int gen = result.getGenNumber(i);
+                        if (xref.get(num) == null || xref.get(num).getGenNumber() <= gen) {
+                            xref.add(new PdfIndirectReference(pdfDocument, num, gen, pos));
+                        }
+                    }
+                }
+            }
+        } finally {
+            for (Future<XrefChunkScanner.Result> chunk : chunks) {
+                chunk.cancel(true);
+            }
+            executor.shutdownNow();
+        }
+    }
+
+    private static <T> T getChunkResult(Future<T> chunk) throws IOException {
+        try {
+            return chunk.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PdfException(PdfException.IoException, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new PdfException(PdfException.IoException, e.getCause());
+        }
+    }
+
     private void readDecryptObj() {
         if (encrypted)
             return;
@@ -1090,7 +1630,15 @@ public class PdfReader implements Closeable, Serializable {
             if (reference.getObjStreamNumber() > 0) {
                 PdfStream objectStream = (PdfStream) pdfDocument.getXref().
                         get(reference.getObjStreamNumber()).getRefersTo(false);
-                readObjectStream(objectStream);
+                PdfObject object = readObjectStream(objectStream, reference);
+                if (object != null) {
+                    return object;
+                }
+                if (concurrentReadAccess) {
+                    synchronized (reference) {
+                        return reference.refersTo;
+                    }
+                }
                 return reference.refersTo;
             } else if (reference.getOffset() > 0) {
                 PdfObject object;
@@ -1105,7 +1653,13 @@ public class PdfReader implements Closeable, Serializable {
                     object = readObject(false);
                 } catch (RuntimeException ex) {
                     if (fixXref && reference.getObjStreamNumber() == 0) {
-                        fixXref();
+                        if (concurrentReadAccess) {
+                            synchronized (pdfDocument.getXref()) {
+                                fixXref();
+                            }
+                        } else {
+                            fixXref();
+                        }
                         object = readObject(reference, false);
                     } else {
                         throw ex;
@@ -1120,6 +1674,74 @@ public class PdfReader implements Closeable, Serializable {
         }
     }
 
+    /**
+     * Enables concurrent read access to the objects of the document. Each thread reads the objects
+     * with its own tokenizer over the shared source, the read objects are published in the indirect references
+     * under their locks, so that every reference is resolved to the single object.
+     */
+    void enableConcurrentReadAccess() {
+        final IRandomAccessSource sharedSource = tokens.getSafeFile().createSourceView();
+        final Object sharedSourceLock = new Object();
+        final PdfReader reader = this;
+        threadReaders = new ThreadLocal<PdfReader>() {
+            @Override
+            protected PdfReader initialValue() {
+                return new PdfReader(reader, sharedSource, sharedSourceLock);
+            }
+        };
+        concurrentReadAccess = true;
+    }
+
+    boolean isConcurrentReadAccess() {
+        return concurrentReadAccess;
+    }
+
+    /**
+     * Reads the object in concurrent read access mode. The object is read by the reader of the current thread,
+     * if several threads read the same object simultaneously, the first read instance is kept in the reference.
+     */
+    PdfObject readObjectConcurrently(PdfIndirectReference reference) {
+        synchronized (reference) {
+            if (reference.refersTo != null) {
+                reference.setState(PdfObject.RECENTLY_USED);
+                return reference.refersTo;
+            }
+        }
+        PdfReader reader = threadReaders != null ? threadReaders.get() : this;
+        PdfObject object = reader.readObject(reference, true);
+        return object != null ? publishObject(reference, object) : null;
+    }
+
+    private PdfObject publishObject(PdfIndirectReference reference, PdfObject object) {
+        PdfObject published;
+        boolean isPublished = false;
+        synchronized (reference) {
+            if (reference.refersTo == null) {
+                reference.refersTo = object;
+                object.setIndirectReference(reference);
+                isPublished = true;
+            }
+            published = reference.refersTo;
+        }
+        if (isPublished && objectCache != null) {
+            objectCache.add(reference, object);
+        }
+        return published;
+    }
+
+    private void materializePassthroughCopies() {
+        List<PdfStream> copies;
+        synchronized (this) {
+            if (passthroughCopies == null || passthroughCopies.isEmpty()) {
+                return;
+            }
+            copies = new ArrayList<>(passthroughCopies);
+        }
+        for (PdfStream copy : copies) {
+            copy.materializePassthroughContent();
+        }
+    }
+
     private void checkPdfStreamLength(PdfStream pdfStream) throws IOException {
         if (!correctStreamLength)
             return;
@@ -1186,7 +1808,7 @@ public class PdfReader implements Closeable, Serializable {
     private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, ClassNotFoundException {
         in.defaultReadObject();
         if (sourcePath != null && tokens == null) {
-            tokens = getOffsetTokeniser(new RandomAccessSourceFactory().setForceRead(false).createBestSource(sourcePath));
+            tokens = getOffsetTokeniser(createSourceFactory(properties, memoryMappingStatistics).createBestSource(sourcePath));
         }
     }
 
@@ -69,6 +69,9 @@ public class PdfStream extends PdfDictionary {
     private InputStream inputStream;
     private long offset;
     private int length = -1;
+    // unmodified stream of another document the content is copied from when this stream is written
+    private PdfStream passthroughSource;
+    private PdfReader passthroughReader;
 
     /**
      * Constructs a {@code PdfStream}-object.
@@ -181,6 +184,7 @@ public class PdfStream extends PdfDictionary {
      * @return output stream
      */
     public PdfOutputStream getOutputStream() {
+        materializePassthroughContent();
         return outputStream;
     }
 
@@ -235,6 +239,7 @@ public class PdfStream extends PdfDictionary {
                     "getBytes() always returns null in this case");
             return null;
         }
+        materializePassthroughContent();
         byte[] bytes = null;
         if (outputStream != null && outputStream.getOutputStream() != null) {
             assert outputStream.getOutputStream() instanceof ByteArrayOutputStream
@@ -283,6 +288,7 @@ public class PdfStream extends PdfDictionary {
         if (inputStream != null) {
             throw new PdfException(PdfException.CannotSetDataToPdfstreamWhichWasCreatedByInputStream);
         }
+        materializePassthroughContent();
 
         boolean outputStreamIsUninitialized = outputStream == null;
         if (outputStreamIsUninitialized) {
@@ -394,6 +400,12 @@ public class PdfStream extends PdfDictionary {
         super.copyContent(from, document);
         PdfStream stream = (PdfStream) from;
         assert inputStream == null : "Try to copy the PdfStream that has been just created.";
+        if (isPassthroughAllowed(stream, document)) {
+            passthroughSource = stream;
+            passthroughReader = stream.getIndirectReference().getReader();
+            passthroughReader.registerPassthroughCopy(this);
+            return;
+        }
         byte[] bytes = stream.getBytes(false);
         try {
             outputStream.write(bytes);
@@ -412,6 +424,11 @@ public class PdfStream extends PdfDictionary {
      */
     protected void releaseContent() {
         super.releaseContent();
+        if (passthroughSource != null) {
+            passthroughReader.unregisterPassthroughCopy(this);
+            passthroughSource = null;
+            passthroughReader = null;
+        }
         try {
             if (outputStream != null) {
                 outputStream.close();
@@ -426,7 +443,65 @@ public class PdfStream extends PdfDictionary {
         return inputStream;
     }
 
+    /**
+     * Checks whether the content of this stream is going to be copied directly from the source document
+     * when the stream is written.
+     */
+    boolean hasPassthroughContent() {
+        return passthroughSource != null;
+    }
+
+    /**
+     * Writes the raw content of the source stream to the output without reading it into memory.
+     * The stream dictionary shall be written after {@link #getPassthroughLength()} and before this method.
+     */
+    void transferPassthroughContent(java.io.OutputStream output) throws IOException {
+        passthroughReader.transferRawStreamBytes(passthroughSource, output);
+    }
+
+    /**
+     * Gets the length of the raw content of the source stream.
+     */
+    int getPassthroughLength() throws IOException {
+        return passthroughReader.getRawStreamLength(passthroughSource);
+    }
+
+    /**
+     * Reads the content of the source stream into memory, so that it no longer depends on the source document.
+     */
+    void materializePassthroughContent() {
+        if (passthroughSource == null) {
+            return;
+        }
+        PdfStream source = passthroughSource;
+        PdfReader reader = passthroughReader;
+        passthroughSource = null;
+        passthroughReader = null;
+        reader.unregisterPassthroughCopy(this);
+        try {
+            byte[] bytes = reader.readStreamBytesRaw(source);
+            if (bytes != null) {
+                outputStream.write(bytes);
+            }
+        } catch (IOException ioe) {
+            throw new PdfException(PdfException.CannotCopyObjectContent, ioe, source);
+        }
+    }
+
+    private boolean isPassthroughAllowed(PdfStream stream, PdfDocument document) {
+        if (document == null || document.getWriter() == null || !document.getWriter().properties.streamPassthrough) {
+            return false;
+        }
+        if (stream.inputStream != null || stream.outputStream != null || stream.getOffset() <= 0
+                || stream.getIndirectReference() == null) {
+            return false;
+        }
+        PdfReader reader = stream.getIndirectReference().getReader();
+        return reader != null && !reader.isEncrypted() && outputStream != null;
+    }
+
     private void writeObject(ObjectOutputStream out) throws IOException {
+        materializePassthroughContent();
         if (inputStream == null || inputStream instanceof Serializable) {
             out.defaultWriteObject();
         } else {
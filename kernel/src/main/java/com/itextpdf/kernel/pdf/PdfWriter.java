@@ -58,6 +58,7 @@ import java.io.Serializable;
 import java.security.MessageDigest;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 import static com.itextpdf.io.source.ByteUtils.getIsoBytes;
@@ -93,6 +94,16 @@ public class PdfWriter extends PdfOutputStream implements Serializable {
     private HashMap<SerializedPdfObject, PdfIndirectReference> serializedContentToObjectRef = new HashMap<>();
     private HashMap<PdfDocument.IndirectRefDescription, byte[]> objectRefToSerializedContent = new HashMap<>();
 
+    /**
+     * Statistics of the objects deduplication in smart mode.
+     */
+    private SmartModeStatistics smartModeStatistics = new SmartModeStatistics();
+
+    /**
+     * Is used to compress streams on worker threads if parallel stream compression is enabled.
+     */
+    private transient StreamCompressionPipeline compressionPipeline;
+
     //forewarned is forearmed
     protected boolean isUserWarnedAboutAcroFormCopying;
 
@@ -119,6 +130,13 @@ public class PdfWriter extends PdfOutputStream implements Serializable {
         if (properties.debugMode) {
             setDebugMode();
         }
+        if (properties.isParallelStreamCompression()) {
+            compressionPipeline = new StreamCompressionPipeline(this, properties);
+        }
+        if (properties.smartModeIndexLimit > 0) {
+            serializedContentToObjectRef = new SmartModeIndex(properties.smartModeIndexLimit, smartModeStatistics);
+            objectRefToSerializedContent = new BoundedCache<>(properties.smartModeIndexLimit);
+        }
     }
 
     /**
@@ -188,6 +206,15 @@ public class PdfWriter extends PdfOutputStream implements Serializable {
         return this;
     }
 
+    /**
+     * Gets statistics of the objects deduplication performed in smart mode.
+     *
+     * @return smart mode statistics.
+     */
+    public SmartModeStatistics getSmartModeStatistics() {
+        return smartModeStatistics;
+    }
+
     /**
      * Write an integer to the underlying stream
      *
@@ -241,6 +268,9 @@ public class PdfWriter extends PdfOutputStream implements Serializable {
     @Override
     public void close() throws IOException {
         try {
+            if (compressionPipeline != null) {
+                compressionPipeline.close();
+            }
             super.close();
         } finally {
             try {
@@ -281,9 +311,12 @@ public class PdfWriter extends PdfOutputStream implements Serializable {
      */
     protected void flushObject(PdfObject pdfObject, boolean canBeInObjStm) throws IOException {
         PdfIndirectReference indirectReference = pdfObject.getIndirectReference();
+        boolean isWritingPostponed = false;
         if (isFullCompression() && canBeInObjStm) {
             PdfObjectStream objectStream = getObjectStream();
             objectStream.addObject(pdfObject);
+        } else if (compressionPipeline != null) {
+            isWritingPostponed = compressionPipeline.write(pdfObject);
         } else {
             indirectReference.setOffset(getCurrentPos());
             writeToBody(pdfObject);
@@ -306,7 +339,10 @@ public class PdfWriter extends PdfOutputStream implements Serializable {
             case PdfObject.DICTIONARY:
                 PdfDictionary dictionary = ((PdfDictionary) pdfObject);
                 markDictionaryContentToFlush(dictionary);
-                dictionary.releaseContent();
+                // Content of the postponed stream is released by the compression pipeline after writing.
+                if (!isWritingPostponed) {
+                    dictionary.releaseContent();
+                }
                 break;
             case PdfObject.INDIRECT_REFERENCE:
                 markObjectToFlush(((PdfIndirectReference) pdfObject).getRefersTo(false));
@@ -374,14 +410,36 @@ public class PdfWriter extends PdfOutputStream implements Serializable {
      * @throws IOException
      */
     protected void writeToBody(PdfObject pdfObj) throws IOException {
+        writeToBody(pdfObj, this);
+    }
+
+    /**
+     * Writes object to the passed stream in the same way as it is written to the body of PDF document.
+     *
+     * @param pdfObj object to write.
+     * @param outputStream stream to write to.
+     */
+    void writeToBody(PdfObject pdfObj, PdfOutputStream outputStream) {
         if (crypto != null) {
             crypto.setHashKeyForNextObject(pdfObj.getIndirectReference().getObjNumber(), pdfObj.getIndirectReference().getGenNumber());
         }
-        writeInteger(pdfObj.getIndirectReference().getObjNumber()).
+        outputStream.writeInteger(pdfObj.getIndirectReference().getObjNumber()).
                 writeSpace().
                 writeInteger(pdfObj.getIndirectReference().getGenNumber()).writeBytes(obj);
-        write(pdfObj);
-        writeBytes(endobj);
+        outputStream.write(pdfObj);
+        outputStream.writeBytes(endobj);
+    }
+
+    /**
+     * Writes all the objects postponed by parallel stream compression, so that the current position
+     * of the writer is the actual end of the written data.
+     *
+     * @throws IOException on error.
+     */
+    void writePostponedObjects() throws IOException {
+        if (compressionPipeline != null) {
+            compressionPipeline.writeAll();
+        }
     }
 
     /**
@@ -417,6 +475,11 @@ public class PdfWriter extends PdfOutputStream implements Serializable {
             objectStream.flush();
             objectStream = null;
         }
+        try {
+            writePostponedObjects();
+        } catch (IOException e) {
+            throw new PdfException(PdfException.IoException, e);
+        }
     }
 
     /**
@@ -426,7 +489,9 @@ public class PdfWriter extends PdfOutputStream implements Serializable {
         PdfXrefTable xref = document.getXref();
         for (int i = 1; i < xref.size(); i++) {
             PdfIndirectReference indirectReference = xref.get(i);
-            if (null != indirectReference) {
+            // only modified references can refer to modified objects, the rest are not read from the source
+            if (null != indirectReference && indirectReference.checkState(PdfObject.MODIFIED)
+                    && !indirectReference.checkState(PdfObject.FLUSHED)) {
                 PdfObject obj = indirectReference.getRefersTo(false);
                 if (obj != null && !obj.equals(objectStream) && obj.isModified()) {
                     obj.flush();
@@ -437,6 +502,11 @@ public class PdfWriter extends PdfOutputStream implements Serializable {
             objectStream.flush();
             objectStream = null;
         }
+        try {
+            writePostponedObjects();
+        } catch (IOException e) {
+            throw new PdfException(PdfException.IoException, e);
+        }
     }
 
     /**
@@ -476,11 +546,13 @@ public class PdfWriter extends PdfOutputStream implements Serializable {
     private PdfIndirectReference tryToFindPreviouslyCopiedEqualObject(PdfObject object) {
         SerializedPdfObject objectKey;
         if (object.isStream() || object.isDictionary()) {
-            objectKey = new SerializedPdfObject(object, objectRefToSerializedContent);
+            objectKey = new SerializedPdfObject(object, objectRefToSerializedContent, properties.smartModeDigestIndex);
             PdfIndirectReference objectRef = serializedContentToObjectRef.get(objectKey);
+            smartModeStatistics.onLookup(objectRef != null);
             if (objectRef != null) {
                 return objectRef;
             }
+            smartModeStatistics.onIndexed(objectKey.serializedSize, objectKey.serializedContent.length);
             serializedContentToObjectRef.put(objectKey, object.getIndirectReference());
         }
 
@@ -563,26 +635,45 @@ public class PdfWriter extends PdfOutputStream implements Serializable {
 
     static class SerializedPdfObject {
         private final byte[] serializedContent;
+        private final int serializedSize;
         private final int hash;
 
         private MessageDigest md5;
+        private MessageDigest sha256;
         private HashMap<PdfDocument.IndirectRefDescription, byte[]> objToSerializedContent;
 
         SerializedPdfObject(PdfObject obj, HashMap<PdfDocument.IndirectRefDescription, byte[]> objToSerializedContent) {
+            this(obj, objToSerializedContent, false);
+        }
+
+        /**
+         * Serializes the object.
+         *
+         * @param obj                    object to serialize.
+         * @param objToSerializedContent cache of serialized content of the indirect objects.
+         * @param digestOnly             if true, only SHA-256 digests of the serialized content are kept, both for
+         *                               the object and for the indirect objects it refers to.
+         */
+        SerializedPdfObject(PdfObject obj, HashMap<PdfDocument.IndirectRefDescription, byte[]> objToSerializedContent, boolean digestOnly) {
             assert obj.isDictionary() || obj.isStream();
 
             this.objToSerializedContent = objToSerializedContent;
             try {
                 md5 = MessageDigest.getInstance("MD5");
+                if (digestOnly) {
+                    sha256 = MessageDigest.getInstance("SHA-256");
+                }
             } catch (Exception e) {
                 throw new PdfException(e);
             }
             ByteBufferOutputStream bb = new ByteBufferOutputStream();
             int level = 100;
             serObject(obj, level, bb);
-            this.serializedContent = bb.toByteArray();
+            this.serializedSize = bb.size();
+            this.serializedContent = digestOnly ? sha256.digest(bb.toByteArray()) : bb.toByteArray();
             hash = calculateHash(this.serializedContent);
             md5 = null;
+            sha256 = null;
         }
 
         // TODO 2: object is not checked if it was already serialized on start, double work could be done
@@ -631,8 +722,15 @@ public class PdfWriter extends PdfOutputStream implements Serializable {
                 bb.append("$L").append(obj.toString()); // PdfNull case is also here
 
             if (savedBb != null) {
-                objToSerializedContent.put(indRefKey, bb.getBuffer());
-                savedBb.append(bb);
+                if (sha256 != null) {
+                    // In digest mode the referenced object is represented by the digest of its content
+                    byte[] digest = sha256.digest(bb.toByteArray());
+                    objToSerializedContent.put(indRefKey, digest);
+                    savedBb.append(digest);
+                } else {
+                    objToSerializedContent.put(indRefKey, bb.getBuffer());
+                    savedBb.append(bb);
+                }
             }
         }
 
@@ -686,4 +784,51 @@ public class PdfWriter extends PdfOutputStream implements Serializable {
             return hash;
         }
     }
+
+    /**
+     * Map which keeps at most the given number of entries, evicting the least recently accessed ones.
+     */
+    private static class BoundedCache<K, V> extends LinkedHashMap<K, V> {
+
+        private static final long serialVersionUID = -2815532469341436409L;
+
+        private final int limit;
+
+        BoundedCache(int limit) {
+            super(16, 0.75f, true);
+            this.limit = limit;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+            if (size() > limit) {
+                onEvicted(eldest);
+                return true;
+            }
+            return false;
+        }
+
+        protected void onEvicted(Map.Entry<K, V> eldest) {
+        }
+    }
+
+    /**
+     * Bounded smart mode index, which reports evicted objects to the statistics.
+     */
+    private static class SmartModeIndex extends BoundedCache<SerializedPdfObject, PdfIndirectReference> {
+
+        private static final long serialVersionUID = 6094585227355412046L;
+
+        private final SmartModeStatistics statistics;
+
+        SmartModeIndex(int limit, SmartModeStatistics statistics) {
+            super(limit);
+            this.statistics = statistics;
+        }
+
+        @Override
+        protected void onEvicted(Map.Entry<SerializedPdfObject, PdfIndirectReference> eldest) {
+            statistics.onEvicted(eldest.getKey().serializedContent.length);
+        }
+    }
 }
@@ -65,11 +65,35 @@ class PdfXrefTable implements Serializable {
     private static final byte[] freeXRefEntry = ByteUtils.getIsoBytes("f \n");
     private static final byte[] inUseXRefEntry = ByteUtils.getIsoBytes("n \n");
 
-    private PdfIndirectReference[] xref;
-    private int count = 0;
+    private static final byte NOT_DEFINED_ENTRY = 0;
+    private static final byte IN_USE_ENTRY = 1;
+    private static final byte FREE_ENTRY = 2;
+    private static final byte COMPRESSED_ENTRY = 3;
+
+    /**
+     * The array and the count are volatile, so that {@link #get(int)} may be called without locking while
+     * another thread adds references in concurrent read access mode: the array is always extended
+     * before the count is increased, and readers read the count before the array.
+     */
+    private volatile PdfIndirectReference[] xref;
+    private volatile int count = 0;
 
     private final TreeSet<Integer> freeReferences;
 
+    /**
+     * Document the references are created for, if compact storage is used.
+     */
+    private PdfDocument compactStorageDocument;
+
+    /**
+     * Compact storage of the entries read from the document, which don't have indirect reference instances yet.
+     * For compressed objects the number of object stream and the index inside object stream are packed
+     * into single value.
+     */
+    private byte[] entryTypes;
+    private long[] entryOffsets;
+    private char[] entryGenerations;
+
     public PdfXrefTable() {
         this(INITIAL_CAPACITY);
     }
@@ -93,9 +117,14 @@ class PdfXrefTable implements Serializable {
             return null;
         }
         int objNr = reference.getObjNumber();
-        this.count = Math.max(this.count, objNr);
         ensureCount(objNr);
         xref[objNr] = reference;
+        if (entryTypes != null) {
+            entryTypes[objNr] = NOT_DEFINED_ENTRY;
+        }
+        if (objNr > this.count) {
+            this.count = objNr;
+        }
         return reference;
     }
 
@@ -107,7 +136,85 @@ class PdfXrefTable implements Serializable {
         if (index > count) {
             return null;
         }
-        return xref[index];
+        PdfIndirectReference reference = xref[index];
+        byte[] entryTypes = this.entryTypes;
+        if (reference == null && entryTypes != null && entryTypes[index] != NOT_DEFINED_ENTRY) {
+            reference = createReferenceFromCompactEntry(index);
+        }
+        return reference;
+    }
+
+    /**
+     * Switches the table to the compact storage of the entries read from the document.
+     * Entries added with {@link #addCompactEntry(int, int, long, int, boolean)} are kept in primitive arrays
+     * and {@link PdfIndirectReference} instances are only created when the entries are requested.
+     *
+     * @param document document the indirect references are created for.
+     */
+    void useCompactStorage(PdfDocument document) {
+        compactStorageDocument = document;
+        entryTypes = new byte[xref.length];
+        entryOffsets = new long[xref.length];
+        entryGenerations = new char[xref.length];
+    }
+
+    boolean isCompactStorageUsed() {
+        return entryTypes != null;
+    }
+
+    /**
+     * Checks whether the entry with the given object number is defined in the table, either as an
+     * indirect reference or as an entry of the compact storage. Unlike {@link #get(int)} it doesn't
+     * create indirect reference for the compact entry.
+     *
+     * @param objNr object number.
+     * @return true if the entry is defined, otherwise false.
+     */
+    boolean isDefined(int objNr) {
+        if (objNr > count) {
+            return false;
+        }
+        return xref[objNr] != null || (entryTypes != null && entryTypes[objNr] != NOT_DEFINED_ENTRY);
+    }
+
+    /**
+     * Checks whether the entry with the given object number is stored in the compact storage
+     * and has no indirect reference instance yet.
+     *
+     * @param objNr object number.
+     * @return true if the entry is stored in the compact storage, otherwise false.
+     */
+    boolean isCompactEntry(int objNr) {
+        return entryTypes != null && objNr <= count && xref[objNr] == null && entryTypes[objNr] != NOT_DEFINED_ENTRY;
+    }
+
+    /**
+     * Adds an entry to the compact storage. Must be called only if compact storage is used.
+     *
+     * @param objNr           object number.
+     * @param genNr           generation number.
+     * @param offsetOrIndex   offset of the object in the document or index of the object inside object stream.
+     * @param objStreamNumber number of object stream containing the object, or 0.
+     * @param free            indicates if the entry is free.
+     */
+    void addCompactEntry(int objNr, int genNr, long offsetOrIndex, int objStreamNumber, boolean free) {
+        assert entryTypes != null : "Compact storage is not used";
+        ensureCount(objNr);
+        xref[objNr] = null;
+        if (free) {
+            entryTypes[objNr] = FREE_ENTRY;
+            entryOffsets[objNr] = 0;
+        } else if (objStreamNumber > 0) {
+            entryTypes[objNr] = COMPRESSED_ENTRY;
+            entryOffsets[objNr] = ((long) objStreamNumber << 32) | (offsetOrIndex & 0xFFFFFFFFL);
+        } else {
+            entryTypes[objNr] = IN_USE_ENTRY;
+            entryOffsets[objNr] = offsetOrIndex;
+        }
+        entryGenerations[objNr] = (char) genNr;
+        if (objNr > this.count) {
+            this.count = objNr;
+        }
     }
 
     /**
@@ -127,7 +234,7 @@ class PdfXrefTable implements Serializable {
             reference.setOffset(0);
             reference.clearState(PdfObject.FREE);
         } else {
-            reference = new PdfIndirectReference(document, ++count);
+            reference = new PdfIndirectReference(document, count + 1);
             add(reference);
         }
         return reference.setState(PdfObject.MODIFIED);
@@ -135,7 +242,7 @@ class PdfXrefTable implements Serializable {
 
     //For Object streams
     PdfIndirectReference createNewIndirectReference(PdfDocument document) {
-        PdfIndirectReference reference = new PdfIndirectReference(document, ++count);
+        PdfIndirectReference reference = new PdfIndirectReference(document, count + 1);
         add(reference);
         return reference.setState(PdfObject.MODIFIED);
     }
@@ -170,6 +277,8 @@ class PdfXrefTable implements Serializable {
      */
     protected void writeXrefTableAndTrailer(PdfDocument document, PdfObject fileId, PdfObject crypto) throws IOException {
         PdfWriter writer = document.getWriter();
+        // All the objects shall be written before offsets are collected.
+        writer.writePostponedObjects();
         if (document.isAppendMode()) {
             // Increment generation number for all freed references.
             for (Integer objNr : freeReferences) {
@@ -288,6 +397,7 @@ class PdfXrefTable implements Serializable {
                 }
             }
             xrefStream.flush();
+            writer.writePostponedObjects();
         } else {
             writer.writeString("xref\n");
             PdfXrefTable xrefTable = document.getXref();
@@ -341,6 +451,13 @@ class PdfXrefTable implements Serializable {
             }
             xref[i] = null;
         }
+        if (entryTypes != null) {
+            for (int i = 1; i <= count; i++) {
+                if (entryTypes[i] != FREE_ENTRY) {
+                    entryTypes[i] = NOT_DEFINED_ENTRY;
+                }
+            }
+        }
         count = 1;
     }
 
@@ -363,9 +480,41 @@ class PdfXrefTable implements Serializable {
     private void extendXref(int capacity) {
         PdfIndirectReference[] newXref = new PdfIndirectReference[capacity];
         System.arraycopy(xref, 0, newXref, 0, xref.length);
+        if (entryTypes != null) {
+            byte[] newEntryTypes = new byte[capacity];
+            System.arraycopy(entryTypes, 0, newEntryTypes, 0, entryTypes.length);
+            entryTypes = newEntryTypes;
+            long[] newEntryOffsets = new long[capacity];
+            System.arraycopy(entryOffsets, 0, newEntryOffsets, 0, entryOffsets.length);
+            entryOffsets = newEntryOffsets;
+            char[] newEntryGenerations = new char[capacity];
+            System.arraycopy(entryGenerations, 0, newEntryGenerations, 0, entryGenerations.length);
+            entryGenerations = newEntryGenerations;
+        }
+        // published last, after the arrays of the compact storage are replaced
         xref = newXref;
     }
 
+    private PdfIndirectReference createReferenceFromCompactEntry(int objNr) {
+        byte type = entryTypes[objNr];
+        long offset = entryOffsets[objNr];
+        PdfIndirectReference reference;
+        if (type == COMPRESSED_ENTRY) {
+            reference = new PdfIndirectReference(compactStorageDocument, objNr, entryGenerations[objNr], offset & 0xFFFFFFFFL);
+            reference.setObjStreamNumber((int) (offset >>> 32));
+        } else {
+            reference = new PdfIndirectReference(compactStorageDocument, objNr, entryGenerations[objNr], offset);
+        }
+        if (type == FREE_ENTRY) {
+            reference.setState(PdfObject.FREE);
+        }
+        // Reading an entry must not affect the table, so the reference is stored directly rather than
+        // with add() and setFree(), which would update the count and the list of free references
+        xref[objNr] = reference;
+        entryTypes[objNr] = NOT_DEFINED_ENTRY;
+        return reference;
+    }
+
     private static byte[] shortToBytes(int n) {
         return new byte[]{(byte) ((n >> 8) & 0xFF), (byte) (n & 0xFF)};
     }
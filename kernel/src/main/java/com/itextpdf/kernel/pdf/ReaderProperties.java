@@ -43,6 +43,7 @@
  */
 package com.itextpdf.kernel.pdf;
 
+import com.itextpdf.io.source.MemoryMappingPolicy;
 import com.itextpdf.kernel.security.IExternalDecryptionProcess;
 import java.io.Serializable;
 import java.security.Key;
@@ -59,6 +60,16 @@ public class ReaderProperties implements Serializable {
     protected String certificateKeyProvider; //added by Aiken Sam for certificate decryption
     protected IExternalDecryptionProcess externalDecryptionProcess;
 
+    protected boolean compactXrefStorage;
+
+    protected int xrefRebuildParallelism;
+
+    protected boolean concurrentReadAccess;
+
+    protected int objectCacheLimit;
+
+    protected MemoryMappingPolicy memoryMappingPolicy;
+
     /**
      * Defines the password which will be used if the document is encrypted with standard encryption.
      * This could be either user or owner password.
@@ -94,6 +105,76 @@ public class ReaderProperties implements Serializable {
         return this;
     }
 
+    /**
+     * Keeps the cross-reference entries of the document in primitive arrays instead of creating
+     * an indirect reference instance per object. Instances are created on the first access to the object.
+     * Reduces memory footprint of the documents with many objects, if only a part of them is read.
+     * Applied only to the documents opened in reading mode.
+     */
+    public ReaderProperties useCompactXrefStorage() {
+        this.compactXrefStorage = true;
+        return this;
+    }
+
+    /**
+     * Defines the number of threads which scan the document concurrently, if cross-reference table is broken
+     * and needs to be rebuilt. The document is split into chunks, which are scanned in parallel,
+     * the found objects are the same as in case of sequential rebuild.
+     * Value 0 or 1 means that the table is rebuilt sequentially, which is the default behaviour.
+     *
+     * @param parallelism the number of threads which rebuild cross-reference table.
+     */
+    public ReaderProperties useParallelXrefRebuild(int parallelism) {
+        if (parallelism < 0) {
+            throw new IllegalArgumentException("The parameter must be a non-negative integer");
+        }
+        this.xrefRebuildParallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * Allows to read the document from several threads. In this mode {@link PdfDocument#getPage(int)},
+     * {@link PdfDocument#getPdfObject(int)} and the resolving of indirect objects can be called concurrently:
+     * each thread parses the objects with its own tokenizer and the read objects are shared between threads.
+     * The read objects must not be modified. Applied only to the documents opened in reading mode,
+     * compact cross-reference storage is not used in this mode.
+     */
+    public ReaderProperties useConcurrentReadAccess() {
+        this.concurrentReadAccess = true;
+        return this;
+    }
+
+    /**
+     * Limits the number of the objects, which are kept in memory after they were read.
+     * If the limit is exceeded, the least recently used unmodified objects are released
+     * and are read from the source again on the next access.
+     * The catalog and the page tree dictionaries are always kept.
+     * Applied only to the documents opened in reading mode.
+     *
+     * @param maxObjects the maximum number of the read objects kept in memory, 0 means no limit.
+     */
+    public ReaderProperties useBoundedObjectCache(int maxObjects) {
+        if (maxObjects < 0) {
+            throw new IllegalArgumentException("The parameter must be a non-negative integer");
+        }
+        this.objectCacheLimit = maxObjects;
+        return this;
+    }
+
+    /**
+     * Defines how the document file is mapped into memory: the size and the number of the mapped pages,
+     * whether the pages are loaded eagerly and whether the pages which can't be mapped are read from the file channel.
+     * Bounding the mapped pages allows to read very large files without exhausting the virtual address space.
+     * Applied only to the documents opened by a file name, see {@link PdfReader#getMemoryMappingStatistics()}
+     * for the counters of the mapping.
+     *
+     * @param policy the memory mapping policy, or {@code null} to use the default one.
+     */
+    public ReaderProperties useMemoryMapping(MemoryMappingPolicy policy) {
+        this.memoryMappingPolicy = policy;
+        return this;
+    }
+
     private void clearEncryptionParams() {
         this.password = null;
         this.certificate = null;
@@ -0,0 +1,113 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2016 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.kernel.pdf;
+
+import com.itextpdf.io.source.IRandomAccessSource;
+
+import java.io.IOException;
+
+/**
+ * A view of the source, which is shared between threads. The view reads the source by blocks under the lock
+ * and keeps the last block in its own buffer, so that the threads don't interfere with each other
+ * and process the bytes concurrently. The view itself is not thread-safe, each thread must use its own view.
+ */
+class SharedRandomAccessSourceView implements IRandomAccessSource {
+
+    private final IRandomAccessSource source;
+    private final Object lock;
+    private final byte[] buffer;
+    private long bufferStart = -1;
+    private long bufferEnd = -1;
+
+    /**
+     * Creates the view of the shared source.
+     *
+     * @param source     the shared source.
+     * @param lock       the lock which guards the access to the shared source.
+     * @param bufferSize size of the block, which is read from the source at once.
+     */
+    SharedRandomAccessSourceView(IRandomAccessSource source, Object lock, int bufferSize) {
+        this.source = source;
+        this.lock = lock;
+        this.buffer = new byte[bufferSize];
+    }
+
+    @Override
+    public int get(long position) throws IOException {
+        if (position < bufferStart || position > bufferEnd) {
+            int count;
+            synchronized (lock) {
+                count = source.get(position, buffer, 0, buffer.length);
+            }
+            if (count <= 0)
+                return -1;
+            bufferStart = position;
+            bufferEnd = position + count - 1;
+        }
+        return 0xff & buffer[(int) (position - bufferStart)];
+    }
+
+    @Override
+    public int get(long position, byte[] bytes, int off, int len) throws IOException {
+        if (position >= bufferStart && position + len - 1 <= bufferEnd) {
+            System.arraycopy(buffer, (int) (position - bufferStart), bytes, off, len);
+            return len;
+        }
+        synchronized (lock) {
+            return source.get(position, bytes, off, len);
+        }
+    }
+
+    @Override
+    public long length() {
+        return source.length();
+    }
+
+    /**
+     * Does nothing - the shared source is closed by its owner.
+     */
+    @Override
+    public void close() throws IOException {
+    }
+}
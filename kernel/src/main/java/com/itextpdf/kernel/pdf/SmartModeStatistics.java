@@ -0,0 +1,150 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2016 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.kernel.pdf;
+
+import java.io.Serializable;
+
+/**
+ * Statistics of the objects deduplication performed by {@link PdfWriter} in smart mode.
+ */
+public class SmartModeStatistics implements Serializable {
+
+    private static final long serialVersionUID = 4727416521880271838L;
+
+    private long lookupsCount;
+    private long hitsCount;
+    private long evictedCount;
+    private long serializedBytes;
+    private long retainedBytes;
+
+    SmartModeStatistics() {
+    }
+
+    /**
+     * Gets number of copied objects which were checked for an already copied equal object.
+     *
+     * @return number of lookups.
+     */
+    public long getLookupsCount() {
+        return lookupsCount;
+    }
+
+    /**
+     * Gets number of copied objects which were replaced with an already copied equal object.
+     *
+     * @return number of reused objects.
+     */
+    public long getHitsCount() {
+        return hitsCount;
+    }
+
+    /**
+     * Gets ratio of the reused objects to all the checked objects.
+     *
+     * @return hit rate in range [0, 1].
+     */
+    public double getHitRate() {
+        return lookupsCount == 0 ? 0 : (double) hitsCount / lookupsCount;
+    }
+
+    /**
+     * Gets number of objects evicted from the smart mode index because of its size limit.
+     *
+     * @return number of evicted objects.
+     */
+    public long getEvictedCount() {
+        return evictedCount;
+    }
+
+    /**
+     * Gets total size of the serialized content of all the indexed objects.
+     *
+     * @return size in bytes.
+     */
+    public long getSerializedBytes() {
+        return serializedBytes;
+    }
+
+    /**
+     * Gets size of the content which is actually kept in the index. In default smart mode it is the whole
+     * serialized content, in digest mode only the digests are kept.
+     *
+     * @return size in bytes.
+     */
+    public long getRetainedBytes() {
+        return retainedBytes;
+    }
+
+    /**
+     * Gets size of the serialized content which is not kept in memory thanks to digest index and eviction.
+     *
+     * @return size in bytes.
+     */
+    public long getSavedBytes() {
+        return serializedBytes - retainedBytes;
+    }
+
+    void onLookup(boolean hit) {
+        lookupsCount++;
+        if (hit) {
+            hitsCount++;
+        }
+    }
+
+    void onIndexed(long serializedSize, long retainedSize) {
+        serializedBytes += serializedSize;
+        retainedBytes += retainedSize;
+    }
+
+    void onEvicted(long retainedSize) {
+        evictedCount++;
+        retainedBytes -= retainedSize;
+    }
+
+    @Override
+    public String toString() {
+        return "SmartModeStatistics{lookups=" + lookupsCount + ", hits=" + hitsCount + ", evicted=" + evictedCount
+                + ", serializedBytes=" + serializedBytes + ", retainedBytes=" + retainedBytes + "}";
+    }
+}
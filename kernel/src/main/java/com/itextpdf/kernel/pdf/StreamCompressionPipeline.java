@@ -0,0 +1,275 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2016 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.kernel.pdf;
+
+import com.itextpdf.io.source.ByteArrayOutputStream;
+import com.itextpdf.io.source.DeflaterOutputStream;
+import com.itextpdf.kernel.PdfException;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Compresses the content of flushed streams on worker threads.
+ * <p/>
+ * Objects are still written to the document in the order they were flushed: the objects flushed while some
+ * streams are being compressed are serialized into memory and written after these streams. As a result all
+ * the objects get exactly the same offsets as in the sequential mode.
+ * NOTE Only for internal use in PdfWriter!
+ */
+class StreamCompressionPipeline {
+
+    /**
+     * Max number of streams waiting for compression per worker thread. When the limit is reached,
+     * the writing thread waits for the oldest stream, which keeps memory consumption bounded.
+     */
+    private static final int MAX_PENDING_STREAMS_PER_THREAD = 4;
+
+    private final PdfWriter writer;
+    private final ExecutorService executor;
+    private final boolean isExecutorOwner;
+    private final int maxPendingStreams;
+
+    private final LinkedList<PendingObject> pendingObjects = new LinkedList<>();
+    private int pendingStreamsCount = 0;
+
+    StreamCompressionPipeline(PdfWriter writer, WriterProperties properties) {
+        this.writer = writer;
+        if (properties.streamCompressionExecutor != null) {
+            this.executor = properties.streamCompressionExecutor;
+            this.isExecutorOwner = false;
+        } else {
+            this.executor = new ForkJoinPool(properties.streamCompressionParallelism);
+            this.isExecutorOwner = true;
+        }
+        this.maxPendingStreams = MAX_PENDING_STREAMS_PER_THREAD * properties.streamCompressionParallelism;
+    }
+
+    /**
+     * Writes object to the body of the document, or postpones writing until all the previously flushed streams
+     * are compressed and written.
+     *
+     * @param pdfObject object to write.
+     * @return true if the object is postponed and its content must not be released until it is written.
+     * @throws IOException on error.
+     */
+    boolean write(PdfObject pdfObject) throws IOException {
+        writeCompleted();
+        if (pdfObject.getType() == PdfObject.STREAM && isCompressedInPipeline((PdfStream) pdfObject)) {
+            PdfStream pdfStream = (PdfStream) pdfObject;
+            writer.updateCompressionFilter(pdfStream);
+            ByteArrayOutputStream content = (ByteArrayOutputStream) pdfStream.getOutputStream().getOutputStream();
+            Future<byte[]> compressedContent = executor.submit(
+                    new CompressionTask(content, writer.resolveCompressionLevel(pdfStream)));
+            pendingObjects.add(new PendingObject(pdfStream, compressedContent));
+            pendingStreamsCount++;
+            while (pendingStreamsCount > maxPendingStreams) {
+                writeFirst();
+            }
+            return true;
+        }
+        if (pendingObjects.isEmpty()) {
+            pdfObject.getIndirectReference().setOffset(writer.getCurrentPos());
+            writer.writeToBody(pdfObject);
+        } else {
+            SerializedObjectStream serialized = new SerializedObjectStream(writer);
+            writer.writeToBody(pdfObject, serialized);
+            pendingObjects.add(new PendingObject(pdfObject, serialized));
+        }
+        return false;
+    }
+
+    /**
+     * Waits for all the pending streams and writes all the postponed objects.
+     *
+     * @throws IOException on error.
+     */
+    void writeAll() throws IOException {
+        while (!pendingObjects.isEmpty()) {
+            writeFirst();
+        }
+    }
+
+    /**
+     * Releases the worker threads. The postponed objects which are not written yet are discarded.
+     */
+    void close() {
+        for (PendingObject pendingObject : pendingObjects) {
+            if (pendingObject.compressedContent != null) {
+                pendingObject.compressedContent.cancel(false);
+            }
+        }
+        pendingObjects.clear();
+        pendingStreamsCount = 0;
+        if (isExecutorOwner) {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Checks whether the stream content is kept in memory and has to be compressed with the Flate filter,
+     * so the compression can be done by a worker thread.
+     */
+    private boolean isCompressedInPipeline(PdfStream pdfStream) {
+        return !(pdfStream instanceof PdfObjectStream)
+                && pdfStream.getInputStream() == null
+                && writer.isFlateCompressionRequired(pdfStream)
+                && pdfStream.getOutputStream() != null
+                && pdfStream.getOutputStream().getOutputStream() instanceof ByteArrayOutputStream;
+    }
+
+    /**
+     * Writes the postponed objects from the head of the queue which do not need to wait for compression.
+     */
+    private void writeCompleted() throws IOException {
+        while (!pendingObjects.isEmpty()) {
+            PendingObject first = pendingObjects.getFirst();
+            if (first.compressedContent != null && !first.compressedContent.isDone()) {
+                break;
+            }
+            writeFirst();
+        }
+    }
+
+    private void writeFirst() throws IOException {
+        PendingObject pendingObject = pendingObjects.removeFirst();
+        PdfIndirectReference indirectReference = pendingObject.pdfObject.getIndirectReference();
+        long offset = writer.getCurrentPos();
+        if (pendingObject.compressedContent != null) {
+            pendingStreamsCount--;
+            PdfStream pdfStream = (PdfStream) pendingObject.pdfObject;
+            byte[] compressed = getCompressedContent(pendingObject);
+            // The stream already has Flate filter, so it will be written as is.
+            pdfStream.getOutputStream().assignBytes(compressed, compressed.length);
+            indirectReference.setOffset(offset);
+            writer.writeToBody(pdfStream);
+            pdfStream.releaseContent();
+        } else {
+            SerializedObjectStream serialized = pendingObject.serializedContent;
+            indirectReference.setOffset(offset);
+            ((ByteArrayOutputStream) serialized.getOutputStream()).writeTo(writer);
+            for (PdfLiteral literal : serialized.literals) {
+                literal.setPosition(literal.getPosition() + offset);
+            }
+        }
+    }
+
+    private static byte[] getCompressedContent(PendingObject pendingObject) {
+        try {
+            return pendingObject.compressedContent.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PdfException(PdfException.CannotWriteToPdfStream, e, pendingObject.pdfObject);
+        } catch (ExecutionException e) {
+            throw new PdfException(PdfException.CannotWriteToPdfStream, e.getCause(), pendingObject.pdfObject);
+        }
+    }
+
+    private static class PendingObject {
+        private final PdfObject pdfObject;
+        private final Future<byte[]> compressedContent;
+        private final SerializedObjectStream serializedContent;
+
+        PendingObject(PdfStream pdfStream, Future<byte[]> compressedContent) {
+            this.pdfObject = pdfStream;
+            this.compressedContent = compressedContent;
+            this.serializedContent = null;
+        }
+
+        PendingObject(PdfObject pdfObject, SerializedObjectStream serializedContent) {
+            this.pdfObject = pdfObject;
+            this.compressedContent = null;
+            this.serializedContent = serializedContent;
+        }
+    }
+
+    /**
+     * Serializes an object into memory. Positions of the written literals are relative to the object start and
+     * are fixed when the object is written to the document.
+     */
+    private static class SerializedObjectStream extends PdfOutputStream {
+
+        private static final long serialVersionUID = 2410624839214545532L;
+
+        private final List<PdfLiteral> literals = new ArrayList<>();
+
+        SerializedObjectStream(PdfWriter writer) {
+            super(new ByteArrayOutputStream());
+            this.document = writer.document;
+            this.crypto = writer.crypto;
+        }
+
+        @Override
+        void updateLiteralPosition(PdfLiteral literal) {
+            super.updateLiteralPosition(literal);
+            literals.add(literal);
+        }
+    }
+
+    private static class CompressionTask implements Callable<byte[]> {
+        private final ByteArrayOutputStream content;
+        private final int compressionLevel;
+
+        CompressionTask(ByteArrayOutputStream content, int compressionLevel) {
+            this.content = content;
+            this.compressionLevel = compressionLevel;
+        }
+
+        @Override
+        public byte[] call() throws IOException {
+            ByteArrayOutputStream byteArrayStream = new ByteArrayOutputStream();
+            DeflaterOutputStream zip = new DeflaterOutputStream(byteArrayStream, compressionLevel);
+            content.writeTo(zip);
+            zip.finish();
+            return byteArrayStream.toByteArray();
+        }
+    }
+}
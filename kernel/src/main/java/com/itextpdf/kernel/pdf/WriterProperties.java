@@ -45,6 +45,7 @@ package com.itextpdf.kernel.pdf;
 
 import java.io.Serializable;
 import java.security.cert.Certificate;
+import java.util.concurrent.ExecutorService;
 
 public class WriterProperties implements Serializable {
 
@@ -62,11 +63,41 @@ public class WriterProperties implements Serializable {
      * and reused if there's an object with the same content later.
      */
     protected boolean smartMode;
+
+    /**
+     * Indicates if only digests of the serialized objects are kept in smart mode instead of the whole
+     * serialized content.
+     */
+    protected boolean smartModeDigestIndex;
+
+    /**
+     * Max number of objects kept in smart mode index. When the limit is reached, the least recently used
+     * objects are evicted. 0 means that the index is not bounded.
+     */
+    protected int smartModeIndexLimit;
     protected boolean debugMode;
     protected boolean addXmpMetadata;
     protected PdfVersion pdfVersion;
     protected EncryptionProperties encryptionProperties;
 
+    /**
+     * Number of worker threads used to compress stream content in parallel. 0 means that streams are compressed
+     * by the writing thread.
+     */
+    protected int streamCompressionParallelism;
+
+    /**
+     * Executor used to compress stream content in parallel. If null and {@link #streamCompressionParallelism}
+     * is positive, the writer creates its own pool.
+     */
+    protected transient ExecutorService streamCompressionExecutor;
+
+    /**
+     * Indicates if content of the streams copied from other documents is read from the source document
+     * when the stream is written, instead of being kept in memory.
+     */
+    protected boolean streamPassthrough;
+
     public WriterProperties() {
         smartMode = false;
         debugMode = false;
@@ -101,6 +132,27 @@ public class WriterProperties implements Serializable {
         return this;
     }
 
+    /**
+     * Enables smart mode with a compact index.
+     * <p/>
+     * Unlike {@link #useSmartMode()}, only the SHA-256 digest of the serialized content of each copied object
+     * is kept in memory, which makes smart mode applicable to the merging of very large documents.
+     * The number of indexed objects can be additionally bounded, in which case the least recently
+     * used objects are evicted from the index and won't be reused anymore.
+     *
+     * @param indexLimit max number of objects kept in the index, 0 for unbounded index.
+     * @return this {@code WriterProperties} instance
+     */
+    public WriterProperties useSmartModeDigestIndex(int indexLimit) {
+        if (indexLimit < 0) {
+            throw new IllegalArgumentException("The parameter must be a non-negative integer");
+        }
+        this.smartMode = true;
+        this.smartModeDigestIndex = true;
+        this.smartModeIndexLimit = indexLimit;
+        return this;
+    }
+
     /**
      * If true, default XMPMetadata based on {@link PdfDocumentInfo} will be added.
      * @return this {@code WriterProperties} instance
@@ -189,6 +241,70 @@ public class WriterProperties implements Serializable {
         return this;
     }
 
+    /**
+     * Enables parallel compression of stream content.
+     * <p/>
+     * Flate compression of the streams being flushed is performed on a pool of the given number of worker threads,
+     * while the objects themselves are still written in the same order and at the same offsets as in the
+     * sequential mode, so the resultant document is byte-identical to the one produced without this option.
+     * The pool is created by the {@link PdfWriter} and shut down when the writer is closed.
+     *
+     * @param parallelism number of worker threads used for compression, 0 disables parallel compression.
+     * @return this {@code WriterProperties} instance
+     */
+    public WriterProperties useParallelStreamCompression(int parallelism) {
+        if (parallelism < 0) {
+            throw new IllegalArgumentException("The parameter must be a non-negative integer");
+        }
+        this.streamCompressionParallelism = parallelism;
+        this.streamCompressionExecutor = null;
+        return this;
+    }
+
+    /**
+     * Enables parallel compression of stream content using the given executor.
+     * <p/>
+     * The executor is not shut down by the {@link PdfWriter}, so it can be shared between several documents.
+     * See {@link #useParallelStreamCompression(int)} for details.
+     *
+     * @param executor executor used for compression tasks.
+     * @return this {@code WriterProperties} instance
+     */
+    public WriterProperties useParallelStreamCompression(ExecutorService executor) {
+        if (executor == null) {
+            throw new NullPointerException("executor");
+        }
+        this.streamCompressionExecutor = executor;
+        this.streamCompressionParallelism = Runtime.getRuntime().availableProcessors();
+        return this;
+    }
+
+    /**
+     * Indicates if stream content is compressed in parallel.
+     *
+     * @return true if parallel stream compression is enabled, otherwise false.
+     */
+    public boolean isParallelStreamCompression() {
+        return streamCompressionParallelism > 0;
+    }
+
+    /**
+     * Enables passthrough of the content of the streams copied from other documents.
+     * <p/>
+     * The content of a stream, which is copied unmodified from a not encrypted document, is not read into memory
+     * on copying. Instead, the raw bytes are copied directly from the source document to the output in chunks
+     * when the stream is written, if neither compression nor encryption of the content is required.
+     * The content is read into memory only if it is accessed or changed before the stream is written,
+     * or if the source document is closed before that. So, to benefit from this option,
+     * flush the copied pages before closing the source documents.
+     *
+     * @return this {@code WriterProperties} instance
+     */
+    public WriterProperties useStreamPassthrough() {
+        this.streamPassthrough = true;
+        return this;
+    }
+
     boolean isStandardEncryptionUsed() {
         return encryptionProperties.isStandardEncryptionUsed();
     }
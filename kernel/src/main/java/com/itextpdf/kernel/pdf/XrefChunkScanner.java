@@ -0,0 +1,210 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2016 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.kernel.pdf;
+
+import com.itextpdf.io.source.ByteBuffer;
+import com.itextpdf.io.source.IRandomAccessSource;
+import com.itextpdf.io.source.PdfTokenizer;
+import com.itextpdf.io.source.RandomAccessFileOrArray;
+
+import java.io.IOException;
+import java.util.concurrent.Callable;
+
+/**
+ * Scans a part of the document for object and trailer declarations when cross reference table is rebuilt
+ * in parallel. The lines are split exactly like {@link PdfReader#rebuildXref()} splits them,
+ * so the found declarations have the same positions as in sequential rebuild.
+ * A chunk owns the lines which start within its bounds, the last line of the chunk may go beyond them.
+ */
+class XrefChunkScanner implements Callable<XrefChunkScanner.Result> {
+
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    private final IRandomAccessSource source;
+    private final Object sourceLock;
+    private final long start;
+    private final long end;
+
+    /**
+     * Creates the scanner of the chunk.
+     *
+     * @param source     source of the document bytes, shared between scanners.
+     * @param sourceLock lock which guards the access to the source.
+     * @param start      position of the chunk start, inclusive.
+     * @param end        position of the chunk end, exclusive.
+     */
+    XrefChunkScanner(IRandomAccessSource source, Object sourceLock, long start, long end) {
+        this.source = source;
+        this.sourceLock = sourceLock;
+        this.start = start;
+        this.end = end;
+    }
+
+    @Override
+    public Result call() throws IOException {
+        Result result = new Result();
+        IRandomAccessSource bufferedSource = new SharedRandomAccessSourceView(source, sourceLock, READ_BUFFER_SIZE);
+        long pos = 0;
+        boolean skipFirstLine = false;
+        if (start > 0) {
+            pos = findLineBoundary(bufferedSource, start);
+            if (pos < 0 || pos >= end) {
+                return result;
+            }
+            // The line may continue leading whitespaces of the line, which is owned by the previous chunk.
+            skipFirstLine = !isLineStart(bufferedSource, pos);
+        }
+        PdfTokenizer tokens = new PdfTokenizer(new RandomAccessFileOrArray(bufferedSource));
+        tokens.seek(pos);
+        ByteBuffer buffer = new ByteBuffer(24);
+        PdfTokenizer lineTokeniser = new PdfTokenizer(new RandomAccessFileOrArray(new PdfReader.ReusableRandomAccessSource(buffer)));
+        while ((pos = tokens.getPosition()) < end) {
+            buffer.reset();
+            if (!tokens.readLineSegment(buffer, true))
+                break;
+            if (skipFirstLine) {
+                skipFirstLine = false;
+                continue;
+            }
+            if (buffer.get(0) == 't') {
+                if (PdfTokenizer.checkTrailer(buffer)) {
+                    result.add(pos, Result.TRAILER, 0);
+                }
+            } else if (buffer.get(0) >= '0' && buffer.get(0) <= '9') {
+                int[] obj = PdfTokenizer.checkObjectStart(lineTokeniser);
+                if (obj != null) {
+                    result.add(pos, obj[0], obj[1]);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Finds the first position, which follows end of line marker, starting from the given position.
+     */
+    private static long findLineBoundary(IRandomAccessSource file, long from) throws IOException {
+        long length = file.length();
+        for (long pos = from; pos < length; pos++) {
+            int prev = file.get(pos - 1);
+            if (prev == '\n' || prev == '\r' && file.get(pos) != '\n') {
+                return pos;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Checks whether the line, which follows the end of line marker, is read by
+     * {@link PdfTokenizer#readLineSegment(ByteBuffer, boolean)} from this position,
+     * i.e. the end of line marker terminates the line and doesn't belong to the skipped leading whitespaces.
+     */
+    private static boolean isLineStart(IRandomAccessSource file, long pos) throws IOException {
+        long ptr = pos - 2;
+        if (file.get(pos - 1) == '\n' && ptr >= 0 && file.get(ptr) == '\r') {
+            ptr--;
+        }
+        for (; ptr >= 0; ptr--) {
+            int ch = file.get(ptr);
+            if (ch == '\n' || ch == '\r') {
+                return false;
+            }
+            if (!PdfTokenizer.isWhitespace(ch)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Positions of the declarations found in the chunk, in ascending order.
+     */
+    static class Result {
+        static final int TRAILER = -1;
+
+        private long[] positions = new long[16];
+        private int[] objNumbers = new int[16];
+        private int[] genNumbers = new int[16];
+        private int size;
+
+        int size() {
+            return size;
+        }
+
+        long getPosition(int index) {
+            return positions[index];
+        }
+
+        boolean isTrailer(int index) {
+            return objNumbers[index] == TRAILER;
+        }
+
+        int getObjNumber(int index) {
+            return objNumbers[index];
+        }
+
+        int getGenNumber(int index) {
+            return genNumbers[index];
+        }
+
+        private void add(long position, int objNumber, int genNumber) {
+            if (size == positions.length) {
+                int capacity = size << 1;
+                long[] newPositions = new long[capacity];
+                System.arraycopy(positions, 0, newPositions, 0, size);
+                positions = newPositions;
+                int[] newObjNumbers = new int[capacity];
+                System.arraycopy(objNumbers, 0, newObjNumbers, 0, size);
+                objNumbers = newObjNumbers;
+                int[] newGenNumbers = new int[capacity];
+                System.arraycopy(genNumbers, 0, newGenNumbers, 0, size);
+                genNumbers = newGenNumbers;
+            }
+            positions[size] = position;
+            objNumbers[size] = objNumber;
+            genNumbers[size] = genNumber;
+            size++;
+        }
+    }
+}
@@ -45,8 +45,8 @@ package com.itextpdf.kernel.pdf.canvas;
 
 import com.itextpdf.io.font.PdfEncodings;
 import com.itextpdf.io.font.otf.ActualTextIterator;
-import com.itextpdf.io.font.otf.Glyph;
 import com.itextpdf.io.font.otf.GlyphLine;
+import com.itextpdf.io.font.otf.PackedGlyphLine;
 import com.itextpdf.io.image.ImageData;
 import com.itextpdf.io.image.ImageType;
 import com.itextpdf.io.source.ByteUtils;
@@ -701,6 +701,18 @@ public class PdfCanvas implements Serializable {
      * @return current canvas.
      */
     public PdfCanvas showText(GlyphLine text, Iterator<GlyphLine.GlyphLinePart> iterator) {
+        return showText(new PackedGlyphLine(text), iterator);
+    }
+
+    /**
+     * Shows text (operator Tj).
+     *
+     * @param text     the packed glyph line to show, see {@link PackedGlyphLine}.
+     * @param iterator iterator over parts of the glyph line that should be wrapped into some marked content groups,
+     *                 e.g. /ActualText or /ReversedChars
+     * @return current canvas.
+     */
+    public PdfCanvas showText(PackedGlyphLine text, Iterator<GlyphLine.GlyphLinePart> iterator) {
         document.checkShowTextIsoConformance(currentGs, resources);
         PdfFont font;
         if ((font = currentGs.getFont()) == null) {
@@ -721,8 +733,7 @@ public class PdfCanvas implements Serializable {
             }
             int sub = glyphLinePart.start;
             for (int i = glyphLinePart.start; i < glyphLinePart.end; i++) {
-                Glyph glyph = text.get(i);
-                if (glyph.hasOffsets()) {
+                if (text.hasOffsets(i)) {
                     if (i - 1 - sub >= 0) {
                         font.writeText(text, sub, i - 1, contentStream.getOutputStream());
                         contentStream.getOutputStream().writeBytes(Tj);
@@ -735,19 +746,18 @@ public class PdfCanvas implements Serializable {
                     }
                     float xPlacement = Float.NaN;
                     float yPlacement = Float.NaN;
-                    if (glyph.hasPlacement()) {
+                    if (text.hasPlacement(i)) {
 
                         {
                             float xPlacementAddition = 0;
                             int currentGlyphIndex = i;
-                            Glyph currentGlyph = text.get(i);
-                            while (currentGlyph != null && currentGlyph.getXPlacement() != 0) {
-                                xPlacementAddition += currentGlyph.getXPlacement();
-                                if (currentGlyph.getAnchorDelta() == 0) {
+                            while (text.getXPlacement(currentGlyphIndex) != 0) {
+                                xPlacementAddition += text.getXPlacement(currentGlyphIndex);
+                                int anchorDelta = text.getAnchorDelta(currentGlyphIndex);
+                                if (anchorDelta == 0 || !isInRange(text, currentGlyphIndex + anchorDelta)) {
                                     break;
                                 } else {
-                                    currentGlyphIndex += currentGlyph.getAnchorDelta();
-                                    currentGlyph = text.get(currentGlyphIndex);
+                                    currentGlyphIndex += anchorDelta;
                                 }
                             }
                             xPlacement = -getSubrangeWidth(text, currentGlyphIndex, i) + xPlacementAddition * fontSize;
@@ -756,17 +766,16 @@ public class PdfCanvas implements Serializable {
                         {
                             float yPlacementAddition = 0;
                             int currentGlyphIndex = i;
-                            Glyph currentGlyph = text.get(i);
-                            while (currentGlyph != null && currentGlyph.getYPlacement() != 0) {
-                                yPlacementAddition += currentGlyph.getYPlacement();
-                                if (currentGlyph.getAnchorDelta() == 0) {
+                            while (text.getYPlacement(currentGlyphIndex) != 0) {
+                                yPlacementAddition += text.getYPlacement(currentGlyphIndex);
+                                int anchorDelta = text.getAnchorDelta(currentGlyphIndex);
+                                if (anchorDelta == 0 || !isInRange(text, currentGlyphIndex + anchorDelta)) {
                                     break;
                                 } else {
-                                    currentGlyph = text.get(currentGlyphIndex + currentGlyph.getAnchorDelta());
-                                    currentGlyphIndex += currentGlyph.getAnchorDelta();
+                                    currentGlyphIndex += anchorDelta;
                                 }
                             }
-                            yPlacement = glyph.getYAdvance() * fontSize + yPlacementAddition * fontSize;
+                            yPlacement = text.getYAdvance(i) * fontSize + yPlacementAddition * fontSize;
                         }
 
                         contentStream.getOutputStream()
@@ -787,11 +796,11 @@ public class PdfCanvas implements Serializable {
                                 .writeBytes(Td);
 
                     }
-                    if (glyph.hasAdvance()) {
+                    if (text.hasAdvance(i)) {
                         contentStream.getOutputStream()
-                                .writeFloat(((glyph.getWidth() + glyph.getXAdvance()) * fontSize + charSpacing) * scaling, true)
+                                .writeFloat(((text.getWidth(i) + text.getXAdvance(i)) * fontSize + charSpacing) * scaling, true)
                                 .writeSpace()
-                                .writeFloat(glyph.getYAdvance() * fontSize, true) // TODO shall previous y position been restored?
+                                .writeFloat(text.getYAdvance(i) * fontSize, true) // TODO shall previous y position been restored?
                                 .writeSpace()
                                 .writeBytes(Td);
                     }
@@ -819,15 +828,19 @@ public class PdfCanvas implements Serializable {
         return this;
     }
 
-    private float getSubrangeWidth(GlyphLine text, int from, int to) {
+    // the anchored glyphs are expected in the same line
+    private static boolean isInRange(PackedGlyphLine text, int index) {
+        return index >= text.start && index < text.end;
+    }
+
+    private float getSubrangeWidth(PackedGlyphLine text, int from, int to) {
         float fontSize = currentGs.getFontSize() / 1000f;
         float charSpacing = currentGs.getCharSpacing();
         float wordSpacing = currentGs.getCharSpacing();
         float scaling = currentGs.getHorizontalScaling() / 100f;
         float width = 0;
         for (int iter = from; iter <= to; iter++) {
-            Glyph glyph = text.get(iter);
-            width += (glyph.getWidth() * fontSize + (glyph.hasValidUnicode() && glyph.getCode() == ' ' ? wordSpacing : charSpacing)) * scaling;
+            width += (text.getWidth(iter) * fontSize + (text.hasValidUnicode(iter) && text.getCode(iter) == ' ' ? wordSpacing : charSpacing)) * scaling;
         }
         return width;
     }
@@ -0,0 +1,234 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2016 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.kernel.pdf.canvas.parser;
+
+import com.itextpdf.kernel.PdfException;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.ReaderProperties;
+import com.itextpdf.kernel.pdf.canvas.parser.listener.ITextExtractionStrategy;
+import com.itextpdf.kernel.pdf.canvas.parser.listener.ITextExtractionStrategyFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Extracts the text of many pages of a document in parallel. The pages are split into ranges, which are
+ * processed by the tasks of an executor, every page with its own {@link PdfCanvasProcessor} and
+ * {@link ITextExtractionStrategy}, while the decoded fonts are shared between all the pages and tasks
+ * by the {@link PdfDocument#getSharedFontCache() shared font cache} of the document.
+ * <br>
+ * The pages are processed in parallel only if the document is opened with
+ * {@link ReaderProperties#useConcurrentReadAccess()}, otherwise they are processed one by one in the calling thread.
+ */
+public class ParallelTextExtractor {
+
+    private static final int DEFAULT_PAGES_PER_TASK = 4;
+
+    private final ITextExtractionStrategyFactory strategyFactory;
+    private ExecutorService executor;
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    private int pagesPerTask = DEFAULT_PAGES_PER_TASK;
+
+    /**
+     * Creates a new extractor.
+     *
+     * @param strategyFactory the factory of the strategies used to extract the text of every page
+     */
+    public ParallelTextExtractor(ITextExtractionStrategyFactory strategyFactory) {
+        this.strategyFactory = strategyFactory;
+    }
+
+    /**
+     * Sets the executor which runs the extraction tasks. The executor is not shut down by the extractor.
+     * If the executor is not set, a new pool with {@link #setParallelism(int)} threads is created for every extraction.
+     *
+     * @param executor the executor
+     * @return this {@link ParallelTextExtractor} instance
+     */
+    public ParallelTextExtractor setExecutor(ExecutorService executor) {
+        this.executor = executor;
+        return this;
+    }
+
+    /**
+     * Sets the number of threads of the pool which is created if no executor is set.
+     * By default the number of available processors is used.
+     *
+     * @param parallelism the number of threads
+     * @return this {@link ParallelTextExtractor} instance
+     */
+    public ParallelTextExtractor setParallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("The parameter must be a positive integer");
+        }
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * Sets the number of consecutive pages processed by a single task.
+     *
+     * @param pagesPerTask the number of pages in a task
+     * @return this {@link ParallelTextExtractor} instance
+     */
+    public ParallelTextExtractor setPagesPerTask(int pagesPerTask) {
+        if (pagesPerTask < 1) {
+            throw new IllegalArgumentException("The parameter must be a positive integer");
+        }
+        this.pagesPerTask = pagesPerTask;
+        return this;
+    }
+
+    /**
+     * Extracts the text of all the pages of the document.
+     *
+     * @param filename the path to the document
+     * @return the text of the pages in the order of the pages
+     * @throws IOException if the document cannot be read
+     */
+    public List<String> extractText(String filename) throws IOException {
+        PdfDocument document = new PdfDocument(new PdfReader(filename, new ReaderProperties().useConcurrentReadAccess()));
+        try {
+            return extractText(document);
+        } finally {
+            document.close();
+        }
+    }
+
+    /**
+     * Extracts the text of all the pages of the document.
+     *
+     * @param document the document
+     * @return the text of the pages in the order of the pages
+     */
+    public List<String> extractText(PdfDocument document) {
+        return extractText(document, 1, document.getNumberOfPages());
+    }
+
+    /**
+     * Extracts the text of the range of pages of the document.
+     *
+     * @param document  the document
+     * @param firstPage the number of the first page of the range
+     * @param lastPage  the number of the last page of the range, inclusive
+     * @return the text of the pages in the order of the pages
+     */
+    public List<String> extractText(PdfDocument document, int firstPage, int lastPage) {
+        if (firstPage < 1 || lastPage > document.getNumberOfPages() || firstPage > lastPage + 1) {
+            throw new IndexOutOfBoundsException(firstPage + ".." + lastPage);
+        }
+        List<PageRangeTask> tasks = new ArrayList<>();
+        for (int pageNum = firstPage; pageNum <= lastPage; pageNum += pagesPerTask) {
+            tasks.add(new PageRangeTask(document, pageNum, Math.min(pageNum + pagesPerTask - 1, lastPage)));
+        }
+
+        List<String> result = new ArrayList<>(lastPage - firstPage + 1);
+        if (!document.isConcurrentReadAccess() || tasks.size() < 2) {
+            for (PageRangeTask task : tasks) {
+                result.addAll(task.call());
+            }
+            return result;
+        }
+
+        ExecutorService taskExecutor = executor != null ? executor : new ForkJoinPool(parallelism);
+        try {
+            List<Future<List<String>>> futures = new ArrayList<>(tasks.size());
+            for (PageRangeTask task : tasks) {
+                futures.add(taskExecutor.submit(task));
+            }
+            try {
+                for (Future<List<String>> future : futures) {
+                    result.addAll(future.get());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new PdfException(PdfException.CannotParseContentStream, e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw new PdfException(PdfException.CannotParseContentStream, e.getCause());
+            } finally {
+                for (Future<List<String>> future : futures) {
+                    future.cancel(false);
+                }
+            }
+        } finally {
+            if (taskExecutor != executor) {
+                taskExecutor.shutdown();
+            }
+        }
+        return result;
+    }
+
+    private class PageRangeTask implements Callable<List<String>> {
+        private final PdfDocument document;
+        private final int firstPage;
+        private final int lastPage;
+
+        PageRangeTask(PdfDocument document, int firstPage, int lastPage) {
+            this.document = document;
+            this.firstPage = firstPage;
+            this.lastPage = lastPage;
+        }
+
+        @Override
+        public List<String> call() {
+            List<String> text = new ArrayList<>(lastPage - firstPage + 1);
+            for (int pageNum = firstPage; pageNum <= lastPage; pageNum++) {
+                ITextExtractionStrategy strategy = strategyFactory.createStrategy(pageNum);
+                new PdfCanvasProcessor(strategy).processPageContent(document.getPage(pageNum));
+                text.add(strategy.getResultantText());
+            }
+            return text;
+        }
+    }
+}
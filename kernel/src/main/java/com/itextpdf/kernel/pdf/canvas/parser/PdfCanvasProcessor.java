@@ -61,8 +61,12 @@ import com.itextpdf.kernel.color.PatternColor;
 import com.itextpdf.kernel.color.Separation;
 import com.itextpdf.kernel.font.PdfFont;
 import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.kernel.geom.IShape;
 import com.itextpdf.kernel.geom.Matrix;
 import com.itextpdf.kernel.geom.Path;
+import com.itextpdf.kernel.geom.Point;
+import com.itextpdf.kernel.geom.Rectangle;
+import com.itextpdf.kernel.geom.Subpath;
 import com.itextpdf.kernel.pdf.PdfArray;
 import com.itextpdf.kernel.pdf.PdfDictionary;
 import com.itextpdf.kernel.pdf.PdfIndirectReference;
@@ -82,6 +86,8 @@ import com.itextpdf.kernel.pdf.canvas.parser.data.ImageRenderInfo;
 import com.itextpdf.kernel.pdf.canvas.parser.data.PathRenderInfo;
 import com.itextpdf.kernel.pdf.canvas.parser.data.TextRenderInfo;
 import com.itextpdf.kernel.pdf.canvas.parser.listener.IEventListener;
+import com.itextpdf.kernel.pdf.canvas.parser.util.ContentOperandStack;
+import com.itextpdf.kernel.pdf.canvas.parser.util.ContentOperatorTable;
 import com.itextpdf.kernel.pdf.canvas.parser.util.PdfCanvasParser;
 import com.itextpdf.kernel.pdf.colorspace.PdfCieBasedCs;
 import com.itextpdf.kernel.pdf.colorspace.PdfColorSpace;
@@ -89,10 +95,10 @@ import com.itextpdf.kernel.pdf.colorspace.PdfPattern;
 import com.itextpdf.kernel.pdf.colorspace.PdfSpecialCs;
 
 import java.io.IOException;
-import java.lang.ref.WeakReference;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -135,6 +141,22 @@ public class PdfCanvasProcessor {
      */
     private Map<String, IContentOperator> operators;
 
+    /**
+     * The ids of the registered operators, which are used to resolve the operators directly from the content bytes.
+     */
+    private ContentOperatorTable operatorTable = new ContentOperatorTable();
+
+    /**
+     * The registered operators indexed by their ids in {@link #operatorTable}.
+     */
+    private IContentOperator[] operatorsById = new IContentOperator[0];
+
+    /**
+     * Indicates whether a subclass overrides {@link #invokeOperator(PdfLiteral, List)}, in which case
+     * every operator is passed through that method.
+     */
+    private final boolean invokeOperatorOverridden;
+
     /**
      * Resources for the content stream.
      * Current resources are always at the top of the stack.
@@ -157,14 +179,19 @@ public class PdfCanvasProcessor {
     private Map<PdfName, IXObjectDoHandler> xobjectDoHandlers;
 
     /**
-     * The font cache
+     * A stack containing marked content info.
      */
-    private Map<Integer, WeakReference<PdfFont>> cachedFonts = new HashMap<>();
+    private Stack<CanvasTag> markedContentStack = new Stack<>();
 
     /**
-     * A stack containing marked content info.
+     * An immutable copy of the marked content stack, shared by the text render infos until the stack is changed.
      */
-    private Stack<CanvasTag> markedContentStack = new Stack<>();
+    private List<CanvasTag> canvasTagHierarchy;
+
+    /**
+     * The region of the page, in user space, outside of which the content may be skipped.
+     */
+    private Rectangle regionOfInterest;
 
     /**
      * Creates a new PDF Content Stream Processor that will send its output to the
@@ -175,6 +202,7 @@ public class PdfCanvasProcessor {
     public PdfCanvasProcessor(IEventListener eventListener) {
         this.eventListener = eventListener;
         this.supportedEvents = eventListener.getSupportedEvents();
+        this.invokeOperatorOverridden = isInvokeOperatorOverridden(getClass());
         operators = new HashMap<>();
         populateOperators();
         xobjectDoHandlers = new HashMap<>();
@@ -223,6 +251,11 @@ public class PdfCanvasProcessor {
      * @return the existing registered operator, if any
      */
     public IContentOperator registerContentOperator(String operatorString, IContentOperator operator) {
+        int id = operatorTable.register(operatorString);
+        if (id >= operatorsById.length) {
+            operatorsById = Arrays.copyOf(operatorsById, Math.max(id + 1, operatorsById.length * 2));
+        }
+        operatorsById[id] = operator;
         return operators.put(operatorString, operator);
     }
 
@@ -248,6 +281,31 @@ public class PdfCanvasProcessor {
         currentPath = new Path();
     }
 
+    /**
+     * Sets the region of the page, in the default user space, the listener is interested in.
+     * <br>
+     * If the region is set, the images and the painted paths which lie completely outside of the region
+     * are not reported, and the Form XObjects whose bounding box lies completely outside of the region are not processed
+     * at all. The check is conservative: the events intersecting the region are always reported, while text
+     * and the other events outside of the region still may be reported, so the listener is still expected
+     * to filter them, e.g. with {@link com.itextpdf.kernel.pdf.canvas.parser.filter.TextRegionEventFilter}.
+     *
+     * @param regionOfInterest the region of interest, or {@code null} to process the whole content
+     */
+    public void setRegionOfInterest(Rectangle regionOfInterest) {
+        this.regionOfInterest = regionOfInterest;
+    }
+
+    /**
+     * Gets the region of the page, in the default user space, the listener is interested in.
+     *
+     * @return the region of interest, or {@code null} if the whole content is processed
+     * @see #setRegionOfInterest(Rectangle)
+     */
+    public Rectangle getRegionOfInterest() {
+        return regionOfInterest;
+    }
+
     /**
      * Gets the current {@link ParserGraphicsState}
      *
@@ -271,11 +329,10 @@ public class PdfCanvasProcessor {
         this.resourcesStack.push(resources);
         PdfTokenizer tokeniser = new PdfTokenizer(new RandomAccessFileOrArray(new RandomAccessSourceFactory().createSource(contentBytes)));
         PdfCanvasParser ps = new PdfCanvasParser(tokeniser, resources);
-        List<PdfObject> operands = new ArrayList<>();
+        ContentOperandStack operands = new ContentOperandStack();
         try {
-            while (ps.parse(operands).size() > 0) {
-                PdfLiteral operator = (PdfLiteral) operands.get(operands.size() - 1);
-                invokeOperator(operator, operands);
+            while (ps.parse(operands, operatorTable)) {
+                invokeOperator(operands);
             }
         } catch (IOException e) {
             throw new PdfException(PdfException.CannotParseContentStream, e);
@@ -369,7 +426,7 @@ public class PdfCanvasProcessor {
 
             TextMoveStartNextLineOperator tdOperator = new TextMoveStartNextLineOperator();
             registerContentOperator("Td", tdOperator);
-            registerContentOperator("TD", new TextMoveStartNextLineWithLeadingOperator(tdOperator, tlOperator));
+            registerContentOperator("TD", new TextMoveStartNextLineWithLeadingOperator(tdOperator));
             registerContentOperator("Tm", new TextSetTextMatrixOperator());
             TextMoveNextLineOperator tstarOperator = new TextMoveNextLineOperator(tdOperator);
             registerContentOperator("T*", tstarOperator);
@@ -423,8 +480,10 @@ public class PdfCanvasProcessor {
      *                  In case it isn't applicable pass any <CODE>byte</CODE> value.
      */
     protected void paintPath(int operation, int rule) {
-        PathRenderInfo renderInfo = new PathRenderInfo(currentPath, operation, rule, isClip, clippingRule, getGraphicsState());
-        eventOccurred(renderInfo, EventType.RENDER_PATH);
+        if ((supportedEvents == null || supportedEvents.contains(EventType.RENDER_PATH)) && isPathInRegionOfInterest(operation)) {
+            PathRenderInfo renderInfo = new PathRenderInfo(currentPath, operation, rule, isClip, clippingRule, getGraphicsState());
+            eventListener.eventOccurred(renderInfo, EventType.RENDER_PATH);
+        }
 
         if (isClip) {
             isClip = false;
@@ -449,6 +508,40 @@ public class PdfCanvasProcessor {
         op.invoke(this, operator, operands);
     }
 
+    /**
+     * Invokes an operator parsed into the operand stack. The operators implementing {@link IPrimitiveContentOperator}
+     * read the operands directly from the stack, the others receive the operands as a list of {@link PdfObject}s
+     * in the same way as in {@link #invokeOperator(PdfLiteral, List)}.
+     *
+     * @param operands the operand stack with the operator and its operands
+     */
+    protected void invokeOperator(ContentOperandStack operands) {
+        if (invokeOperatorOverridden) {
+            invokeOperator(operands.getOperator(), operands.toList());
+            return;
+        }
+        int id = operands.getOperatorId();
+        IContentOperator op = id == ContentOperatorTable.UNKNOWN_OPERATOR ? null : operatorsById[id];
+        if (op == null)
+            op = operators.get(DEFAULT_OPERATOR);
+        if (op instanceof IPrimitiveContentOperator) {
+            ((IPrimitiveContentOperator) op).invoke(this, operands);
+        } else {
+            op.invoke(this, operands.getOperator(), operands.toList());
+        }
+    }
+
+    private static boolean isInvokeOperatorOverridden(Class<?> processorClass) {
+        for (Class<?> cls = processorClass; cls != PdfCanvasProcessor.class; cls = cls.getSuperclass()) {
+            try {
+                cls.getDeclaredMethod("invokeOperator", PdfLiteral.class, List.class);
+                return true;
+            } catch (NoSuchMethodException ignored) {
+            }
+        }
+        return false;
+    }
+
     protected PdfStream getXObjectStream(PdfName xobjectName) {
         PdfDictionary xobjects = getResources().getResource(PdfName.XObject);
         return xobjects.getAsStream(xobjectName);
@@ -469,20 +562,19 @@ public class PdfCanvasProcessor {
     }
 
     /**
-     * Gets the font pointed to by the indirect reference. The font may have been cached.
+     * Gets the font pointed to by the indirect reference. The font is cached in the
+     * {@link com.itextpdf.kernel.pdf.PdfDocument#getSharedFontCache() shared font cache} of the document,
+     * so it is created only once for all the processors and pages of the document.
      *
      * @param fontDict
      * @return the font
      */
     protected PdfFont getFont(PdfDictionary fontDict) {
-        int n = fontDict.getIndirectReference().getObjNumber();
-        WeakReference<PdfFont> fontRef = cachedFonts.get(n);
-        PdfFont font = (PdfFont)(fontRef == null ? null: fontRef.get());
-        if (font == null) {
-            font = PdfFontFactory.createFont(fontDict);
-            cachedFonts.put(n, new WeakReference<>(font));
+        PdfIndirectReference reference = fontDict.getIndirectReference();
+        if (reference == null || reference.getDocument() == null) {
+            return PdfFontFactory.createFont(fontDict);
         }
-        return font;
+        return reference.getDocument().getSharedFontCache().getFont(fontDict);
     }
 
     /**
@@ -493,6 +585,7 @@ public class PdfCanvasProcessor {
      */
     protected void beginMarkedContent(PdfName tag, PdfDictionary dict) {
         markedContentStack.push(new CanvasTag(tag).setProperties(dict));
+        canvasTagHierarchy = null;
     }
 
     /**
@@ -500,6 +593,7 @@ public class PdfCanvasProcessor {
      */
     protected void endMarkedContent() {
         markedContentStack.pop();
+        canvasTagHierarchy = null;
     }
 
     /**
@@ -534,7 +628,11 @@ public class PdfCanvasProcessor {
      * @param string the text to display
      */
     private void displayPdfString(PdfString string) {
-        TextRenderInfo renderInfo = new TextRenderInfo(string, getGraphicsState(), textMatrix, markedContentStack);
+        if (canvasTagHierarchy == null) {
+            canvasTagHierarchy = markedContentStack.isEmpty() ? Collections.<CanvasTag>emptyList()
+                    : Collections.<CanvasTag>unmodifiableList(new ArrayList<>(markedContentStack));
+        }
+        TextRenderInfo renderInfo = new TextRenderInfo(string, getGraphicsState(), textMatrix, canvasTagHierarchy);
         eventOccurred(renderInfo, EventType.RENDER_TEXT);
         textMatrix = new Matrix(renderInfo.getUnscaledWidth(), 0).multiply(textMatrix);
     }
@@ -557,6 +655,10 @@ public class PdfCanvasProcessor {
     }
 
     private void displayImage(PdfStream imageStream, boolean isInline) {
+        // the image occupies the unit square of the image space
+        if (!isInRegionOfInterest(0, 0, 1, 1, getGraphicsState().getCtm())) {
+            return;
+        }
         PdfDictionary colorSpaceDic = getResources().getResource(PdfName.ColorSpace);
         ImageRenderInfo renderInfo = new ImageRenderInfo(getGraphicsState().getCtm(), imageStream, colorSpaceDic, isInline);
         eventOccurred(renderInfo, EventType.RENDER_IMAGE);
@@ -573,6 +675,71 @@ public class PdfCanvasProcessor {
         textMatrix = new Matrix(adjustBy, 0).multiply(textMatrix);
     }
 
+    /**
+     * Checks if the bounding box of the current path, expanded by the line width for the stroked paths,
+     * may intersect the region of interest.
+     */
+    private boolean isPathInRegionOfInterest(int operation) {
+        if (regionOfInterest == null) {
+            return true;
+        }
+        float llx = Float.MAX_VALUE;
+        float lly = Float.MAX_VALUE;
+        float urx = -Float.MAX_VALUE;
+        float ury = -Float.MAX_VALUE;
+        for (Subpath subpath : currentPath.getSubpaths()) {
+            Point startPoint = subpath.getStartPoint();
+            llx = Math.min(llx, (float) startPoint.getX());
+            lly = Math.min(lly, (float) startPoint.getY());
+            urx = Math.max(urx, (float) startPoint.getX());
+            ury = Math.max(ury, (float) startPoint.getY());
+            for (IShape segment : subpath.getSegments()) {
+                // the control points of a Bezier curve form a convex hull of the curve
+                for (Point point : segment.getBasePoints()) {
+                    llx = Math.min(llx, (float) point.getX());
+                    lly = Math.min(lly, (float) point.getY());
+                    urx = Math.max(urx, (float) point.getX());
+                    ury = Math.max(ury, (float) point.getY());
+                }
+            }
+        }
+        if (llx > urx) {
+            return true;
+        }
+        if ((operation & PathRenderInfo.STROKE) != 0) {
+            ParserGraphicsState gs = getGraphicsState();
+            float extent = gs.getLineWidth() / 2 * Math.max(gs.getMiterLimit(), 1);
+            llx -= extent;
+            lly -= extent;
+            urx += extent;
+            ury += extent;
+        }
+        return isInRegionOfInterest(llx, lly, urx, ury, getGraphicsState().getCtm());
+    }
+
+    /**
+     * Checks if the rectangle, transformed to the user space, may intersect the region of interest.
+     */
+    private boolean isInRegionOfInterest(float llx, float lly, float urx, float ury, Matrix transform) {
+        if (regionOfInterest == null) {
+            return true;
+        }
+        float a = transform.get(Matrix.I11);
+        float b = transform.get(Matrix.I12);
+        float c = transform.get(Matrix.I21);
+        float d = transform.get(Matrix.I22);
+        float e = transform.get(Matrix.I31);
+        float f = transform.get(Matrix.I32);
+        float[] xs = {a * llx + c * lly + e, a * urx + c * lly + e, a * llx + c * ury + e, a * urx + c * ury + e};
+        float[] ys = {b * llx + d * lly + f, b * urx + d * lly + f, b * llx + d * ury + f, b * urx + d * ury + f};
+        float minX = Math.min(Math.min(xs[0], xs[1]), Math.min(xs[2], xs[3]));
+        float maxX = Math.max(Math.max(xs[0], xs[1]), Math.max(xs[2], xs[3]));
+        float minY = Math.min(Math.min(ys[0], ys[1]), Math.min(ys[2], ys[3]));
+        float maxY = Math.max(Math.max(ys[0], ys[1]), Math.max(ys[2], ys[3]));
+        return maxX >= regionOfInterest.getLeft() && minX <= regionOfInterest.getRight()
+                && maxY >= regionOfInterest.getBottom() && minY <= regionOfInterest.getTop();
+    }
+
     private void initClippingPath(PdfPage page) {
         Path clippingPath = new Path();
         clippingPath.rectangle(page.getCropBox());
@@ -580,13 +747,25 @@ public class PdfCanvasProcessor {
     }
 
     /**
-     * A handler that implements operator (unregistered).
+     * A base class for the handlers which read their operands directly from the operand stack.
      */
-    private static class IgnoreOperator implements IContentOperator {
+    private static abstract class PrimitiveContentOperator implements IPrimitiveContentOperator {
         /**
          * {@inheritDoc}
          */
         public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
+            invoke(processor, new ContentOperandStack(operator, operands));
+        }
+    }
+
+    /**
+     * A handler that implements operator (unregistered).
+     */
+    private static class IgnoreOperator extends PrimitiveContentOperator {
+        /**
+         * {@inheritDoc}
+         */
+        public void invoke(PdfCanvasProcessor processor, ContentOperandStack operands) {
             // ignore the operator
         }
     }
@@ -594,11 +773,11 @@ public class PdfCanvasProcessor {
     /**
      * A handler that implements operator (TJ). For more information see Table 51 ISO-32000-1
      */
-    private static class ShowTextArrayOperator implements IContentOperator {
+    private static class ShowTextArrayOperator extends PrimitiveContentOperator {
         /**
          * {@inheritDoc}
          */
-        public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
+        public void invoke(PdfCanvasProcessor processor, ContentOperandStack operands) {
             PdfArray array = (PdfArray) operands.get(0);
             float tj = 0;
             for (PdfObject entryObj : array) {
@@ -659,7 +838,7 @@ public class PdfCanvasProcessor {
     /**
      * A handler that implements operator ('). For more information see Table 51 ISO-32000-1
      */
-    private static class MoveNextLineAndShowTextOperator implements IContentOperator {
+    private static class MoveNextLineAndShowTextOperator extends PrimitiveContentOperator {
         private final TextMoveNextLineOperator textMoveNextLine;
         private final ShowTextOperator showText;
 
@@ -677,20 +856,20 @@ public class PdfCanvasProcessor {
         /**
          * {@inheritDoc}
          */
-        public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
-            textMoveNextLine.invoke(processor, null, new ArrayList<PdfObject>(0));
-            showText.invoke(processor, null, operands);
+        public void invoke(PdfCanvasProcessor processor, ContentOperandStack operands) {
+            textMoveNextLine.invoke(processor, operands);
+            showText.invoke(processor, operands);
         }
     }
 
     /**
      * A handler that implements operator (Tj). For more information see Table 51 ISO-32000-1
      */
-    private static class ShowTextOperator implements IContentOperator {
+    private static class ShowTextOperator extends PrimitiveContentOperator {
         /**
          * {@inheritDoc}
          */
-        public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
+        public void invoke(PdfCanvasProcessor processor, ContentOperandStack operands) {
             PdfString string = (PdfString) operands.get(0);
 
             processor.displayPdfString(string);
@@ -701,7 +880,7 @@ public class PdfCanvasProcessor {
     /**
      * A handler that implements operator (T*). For more information see Table 51 ISO-32000-1
      */
-    private static class TextMoveNextLineOperator implements IContentOperator {
+    private static class TextMoveNextLineOperator extends PrimitiveContentOperator {
         private final TextMoveStartNextLineOperator moveStartNextLine;
 
         public TextMoveNextLineOperator(TextMoveStartNextLineOperator moveStartNextLine) {
@@ -711,28 +890,25 @@ public class PdfCanvasProcessor {
         /**
          * {@inheritDoc}
          */
-        public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
-            List<PdfObject> tdoperands = new ArrayList<PdfObject>(2);
-            tdoperands.add(0, new PdfNumber(0));
-            tdoperands.add(1, new PdfNumber(-processor.getGraphicsState().getLeading()));
-            moveStartNextLine.invoke(processor, null, tdoperands);
+        public void invoke(PdfCanvasProcessor processor, ContentOperandStack operands) {
+            moveStartNextLine.moveStartNextLine(processor, 0, -processor.getGraphicsState().getLeading());
         }
     }
 
     /**
      * A handler that implements operator (Tm). For more information see Table 51 ISO-32000-1
      */
-    private static class TextSetTextMatrixOperator implements IContentOperator {
+    private static class TextSetTextMatrixOperator extends PrimitiveContentOperator {
         /**
          * {@inheritDoc}
          */
-        public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
-            float a = ((PdfNumber) operands.get(0)).floatValue();
-            float b = ((PdfNumber) operands.get(1)).floatValue();
-            float c = ((PdfNumber) operands.get(2)).floatValue();
-            float d = ((PdfNumber) operands.get(3)).floatValue();
-            float e = ((PdfNumber) operands.get(4)).floatValue();
-            float f = ((PdfNumber) operands.get(5)).floatValue();
+        public void invoke(PdfCanvasProcessor processor, ContentOperandStack operands) {
+            float a = operands.getFloat(0);
+            float b = operands.getFloat(1);
+            float c = operands.getFloat(2);
+            float d = operands.getFloat(3);
+            float e = operands.getFloat(4);
+            float f = operands.getFloat(5);
 
             processor.textLineMatrix = new Matrix(a, b, c, d, e, f);
             processor.textMatrix = processor.textLineMatrix;
@@ -742,39 +918,36 @@ public class PdfCanvasProcessor {
     /**
      * A handler that implements operator (TD). For more information see Table 51 ISO-32000-1
      */
-    private static class TextMoveStartNextLineWithLeadingOperator implements IContentOperator {
+    private static class TextMoveStartNextLineWithLeadingOperator extends PrimitiveContentOperator {
         private final TextMoveStartNextLineOperator moveStartNextLine;
-        private final SetTextLeadingOperator setTextLeading;
 
-        public TextMoveStartNextLineWithLeadingOperator(TextMoveStartNextLineOperator moveStartNextLine, SetTextLeadingOperator setTextLeading) {
+        public TextMoveStartNextLineWithLeadingOperator(TextMoveStartNextLineOperator moveStartNextLine) {
             this.moveStartNextLine = moveStartNextLine;
-            this.setTextLeading = setTextLeading;
         }
 
         /**
          * {@inheritDoc}
          */
-        public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
-            float ty = ((PdfNumber) operands.get(1)).floatValue();
+        public void invoke(PdfCanvasProcessor processor, ContentOperandStack operands) {
+            float ty = operands.getFloat(1);
 
-            List<PdfObject> tlOperands = new ArrayList<PdfObject>(1);
-            tlOperands.add(0, new PdfNumber(-ty));
-            setTextLeading.invoke(processor, null, tlOperands);
-            moveStartNextLine.invoke(processor, null, operands);
+            processor.getGraphicsState().setLeading(-ty);
+            moveStartNextLine.invoke(processor, operands);
         }
     }
 
     /**
      * A handler that implements operator (Td). For more information see Table 51 ISO-32000-1
      */
-    private static class TextMoveStartNextLineOperator implements IContentOperator {
+    private static class TextMoveStartNextLineOperator extends PrimitiveContentOperator {
         /**
          * {@inheritDoc}
          */
-        public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
-            float tx = ((PdfNumber) operands.get(0)).floatValue();
-            float ty = ((PdfNumber) operands.get(1)).floatValue();
+        public void invoke(PdfCanvasProcessor processor, ContentOperandStack operands) {
+            moveStartNextLine(processor, operands.getFloat(0), operands.getFloat(1));
+        }
 
+        void moveStartNextLine(PdfCanvasProcessor processor, float tx, float ty) {
             Matrix translationMatrix = new Matrix(tx, ty);
             processor.textMatrix = translationMatrix.multiply(processor.textLineMatrix);
             processor.textLineMatrix = processor.textMatrix;
@@ -784,13 +957,13 @@ public class PdfCanvasProcessor {
     /**
      * A handler that implements operator (Tf). For more information see Table 51 ISO-32000-1
      */
-    private static class SetTextFontOperator implements IContentOperator {
+    private static class SetTextFontOperator extends PrimitiveContentOperator {
         /**
          * {@inheritDoc}
          */
-        public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
+        public void invoke(PdfCanvasProcessor processor, ContentOperandStack operands) {
             PdfName fontResourceName = (PdfName) operands.get(0);
-            float size = ((PdfNumber) operands.get(1)).floatValue();
+            float size = operands.getFloat(1);
 
             PdfDictionary fontsDictionary = processor.getResources().getResource(PdfName.Font);
             PdfDictionary fontDict = fontsDictionary.getAsDictionary(fontResourceName);
@@ -806,93 +979,93 @@ public class PdfCanvasProcessor {
     /**
      * A handler that implements operator (Tr). For more information see Table 51 ISO-32000-1
      */
-    private static class SetTextRenderModeOperator implements IContentOperator {
+    private static class SetTextRenderModeOperator extends PrimitiveContentOperator {
         /**
          * {@inheritDoc}
          */
-        public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
-            PdfNumber render = (PdfNumber) operands.get(0);
-            processor.getGraphicsState().setTextRenderingMode(render.intValue());
+        public void invoke(PdfCanvasProcessor processor, ContentOperandStack operands) {
+            int render = operands.getInt(0);
+            processor.getGraphicsState().setTextRenderingMode(render);
         }
     }
 
     /**
      * A handler that implements operator (Ts). For more information see Table 51 ISO-32000-1
      */
-    private static class SetTextRiseOperator implements IContentOperator {
+    private static class SetTextRiseOperator extends PrimitiveContentOperator {
         /**
          * {@inheritDoc}
          */
-        public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
-            PdfNumber rise = (PdfNumber) operands.get(0);
-            processor.getGraphicsState().setTextRise(rise.floatValue());
+        public void invoke(PdfCanvasProcessor processor, ContentOperandStack operands) {
+            float rise = operands.getFloat(0);
+            processor.getGraphicsState().setTextRise(rise);
         }
     }
 
     /**
      * A handler that implements operator (TL). For more information see Table 51 ISO-32000-1
      */
-    private static class SetTextLeadingOperator implements IContentOperator {
+    private static class SetTextLeadingOperator extends PrimitiveContentOperator {
         /**
          * {@inheritDoc}
          */
-        public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
-            PdfNumber leading = (PdfNumber) operands.get(0);
-            processor.getGraphicsState().setLeading(leading.floatValue());
+        public void invoke(PdfCanvasProcessor processor, ContentOperandStack operands) {
+            float leading = operands.getFloat(0);
+            processor.getGraphicsState().setLeading(leading);
         }
     }
 
     /**
      * A handler that implements operator (Tz). For more information see Table 51 ISO-32000-1
      */
-    private static class SetTextHorizontalScalingOperator implements IContentOperator {
+    private static class SetTextHorizontalScalingOperator extends PrimitiveContentOperator {
         /**
          * {@inheritDoc}
          */
-        public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
-            PdfNumber scale = (PdfNumber) operands.get(0);
-            processor.getGraphicsState().setHorizontalScaling(scale.floatValue());
+        public void invoke(PdfCanvasProcessor processor, ContentOperandStack operands) {
+            float scale = operands.getFloat(0);
+            processor.getGraphicsState().setHorizontalScaling(scale);
         }
     }
 
     /**
      * A handler that implements operator (Tc). For more information see Table 51 ISO-32000-1
      */
-    private static class SetTextCharacterSpacingOperator implements IContentOperator {
+    private static class SetTextCharacterSpacingOperator extends PrimitiveContentOperator {
         /**
          * {@inheritDoc}
          */
-        public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
-            PdfNumber charSpace = (PdfNumber) operands.get(0);
-            processor.getGraphicsState().setCharSpacing(charSpace.floatValue());
+        public void invoke(PdfCanvasProcessor processor, ContentOperandStack operands) {
+            float charSpace = operands.getFloat(0);
+            processor.getGraphicsState().setCharSpacing(charSpace);
         }
     }
 
     /**
      * A handler that implements operator (Tw). For more information see Table 51 ISO-32000-1
      */
-    private static class SetTextWordSpacingOperator implements IContentOperator {
+    private static class SetTextWordSpacingOperator extends PrimitiveContentOperator {
         /**
          * {@inheritDoc}
          */
-        public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
-            PdfNumber wordSpace = (PdfNumber) operands.get(0);
-            processor.getGraphicsState().setWordSpacing(wordSpace.floatValue());
+        public void invoke(PdfCanvasProcessor processor, ContentOperandStack operands) {
+            float wordSpace = operands.getFloat(0);
+            processor.getGraphicsState().setWordSpacing(wordSpace);
         }
     }
 
     /**
      * A handler that implements operator (gs). For more information see Table 51 ISO-32000-1
      */
-    private static class ProcessGraphicsStateResourceOperator implements IContentOperator {
+    private static class ProcessGraphicsStateResourceOperator extends PrimitiveContentOperator {
         /**
          * {@inheritDoc}
          */
-        public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
+        public void invoke(PdfCanvasProcessor processor, ContentOperandStack operands) {
             PdfName dictionaryName = (PdfName) operands.get(0);
             PdfDictionary extGState = processor.getResources().getResource(PdfName.ExtGState);
             if (extGState == null)
-                throw new PdfException(PdfException.ResourcesDoNotContainExtgstateEntryUnableToProcessOperator1).setMessageParams(operator);
+                throw new PdfException(PdfException.ResourcesDoNotContainExtgstateEntryUnableToProcessOperator1).setMessageParams(operands.getOperator());
             PdfDictionary gsDic = extGState.getAsDictionary(dictionaryName);
             if (gsDic == null)
                 throw new PdfException(PdfException._1IsAnUnknownGraphicsStateDictionary).setMessageParams(dictionaryName);
@@ -912,11 +1085,11 @@ public class PdfCanvasProcessor {
     /**
      * A handler that implements operator (q). For more information see Table 51 ISO-32000-1
      */
-    private static class PushGraphicsStateOperator implements IContentOperator {
+    private static class PushGraphicsStateOperator extends PrimitiveContentOperator {
         /**
          * {@inheritDoc}
          */
-        public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
+        public void invoke(PdfCanvasProcessor processor, ContentOperandStack operands) {
             ParserGraphicsState gs = processor.gsStack.peek();
             ParserGraphicsState copy = new ParserGraphicsState(gs);
             processor.gsStack.push(copy);
@@ -926,17 +1099,17 @@ public class PdfCanvasProcessor {
     /**
      * A handler that implements operator (cm). For more information see Table 51 ISO-32000-1
      */
-    private static class ModifyCurrentTransformationMatrixOperator implements IContentOperator {
+    private static class ModifyCurrentTransformationMatrixOperator extends PrimitiveContentOperator {
         /**
          * {@inheritDoc}
          */
-        public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
-            float a = ((PdfNumber) operands.get(0)).floatValue();
-            float b = ((PdfNumber) operands.get(1)).floatValue();
-            float c = ((PdfNumber) operands.get(2)).floatValue();
-            float d = ((PdfNumber) operands.get(3)).floatValue();
-            float e = ((PdfNumber) operands.get(4)).floatValue();
-            float f = ((PdfNumber) operands.get(5)).floatValue();
+        public void invoke(PdfCanvasProcessor processor, ContentOperandStack operands) {
+            float a = operands.getFloat(0);
+            float b = operands.getFloat(1);
+            float c = operands.getFloat(2);
+            float d = operands.getFloat(3);
+            float e = operands.getFloat(4);
+            float f = operands.getFloat(5);
             Matrix matrix = new Matrix(a, b, c, d, e, f);
             processor.getGraphicsState().updateCtm(matrix);
         }
@@ -1005,10 +1178,10 @@ public class PdfCanvasProcessor {
     /**
      * Gets a color based on a list of operands.
      */
-    private static Color getColor(int nOperands, List<PdfObject> operands) {
+    private static Color getColor(int nOperands, ContentOperandStack operands) {
         float[] c = new float[nOperands];
         for (int i = 0; i < nOperands; i++) {
-            c[i] = ((PdfNumber) operands.get(i)).floatValue();
+            c[i] = operands.getFloat(i);
         }
 
         switch (nOperands) {
@@ -1033,7 +1206,7 @@ public class PdfCanvasProcessor {
     /**
      * A handler that implements operator (Q). For more information see Table 51 ISO-32000-1
      */
-    protected static class PopGraphicsStateOperator implements IContentOperator {
+    protected static class PopGraphicsStateOperator implements IPrimitiveContentOperator {
         /**
          * {@inheritDoc}
          */
@@ -1042,16 +1215,23 @@ public class PdfCanvasProcessor {
             ParserGraphicsState gs = processor.getGraphicsState();
             processor.eventOccurred(new ClippingPathInfo(gs.getClippingPath(), gs.getCtm()), EventType.CLIP_PATH_CHANGED);
         }
+
+        /**
+         * {@inheritDoc}
+         */
+        public void invoke(PdfCanvasProcessor processor, ContentOperandStack operands) {
+            invoke(processor, null, null);
+        }
     }
 
     /**
      * A handler that implements operator (g). For more information see Table 51 ISO-32000-1
      */
-    private static class SetGrayFillOperator implements IContentOperator {
+    private static class SetGrayFillOperator extends PrimitiveContentOperator {
         /**
          * {@inheritDoc}
          */
-        public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
+        public void invoke(PdfCanvasProcessor processor, ContentOperandStack operands) {
             processor.getGraphicsState().setFillColor(getColor(1, operands));
         }
     }
@@ -1059,11 +1239,11 @@ public class PdfCanvasProcessor {
     /**
      * A handler that implements operator (G). For more information see Table 51 ISO-32000-1
      */
-    private static class SetGrayStrokeOperator implements IContentOperator {
+    private static class SetGrayStrokeOperator extends PrimitiveContentOperator {
         /**
          * {@inheritDoc}
          */
-        public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
+        public void invoke(PdfCanvasProcessor processor, ContentOperandStack operands) {
             processor.getGraphicsState().setStrokeColor(getColor(1, operands));
         }
     }
@@ -1071,11 +1251,11 @@ public class PdfCanvasProcessor {
     /**
      * A handler that implements operator (rg). For more information see Table 51 ISO-32000-1
      */
-    private static class SetRGBFillOperator implements IContentOperator {
+    private static class SetRGBFillOperator extends PrimitiveContentOperator {
         /**
          * {@inheritDoc}
          */
-        public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
+        public void invoke(PdfCanvasProcessor processor, ContentOperandStack operands) {
             processor.getGraphicsState().setFillColor(getColor(3, operands));
         }
     }
@@ -1083,11 +1263,11 @@ public class PdfCanvasProcessor {
     /**
      * A handler that implements operator (RG). For more information see Table 51 ISO-32000-1
      */
-    private static class SetRGBStrokeOperator implements IContentOperator {
+    private static class SetRGBStrokeOperator extends PrimitiveContentOperator {
         /**
          * {@inheritDoc}
          */
-        public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
+        public void invoke(PdfCanvasProcessor processor, ContentOperandStack operands) {
             processor.getGraphicsState().setStrokeColor(getColor(3, operands));
         }
     }
@@ -1095,11 +1275,11 @@ public class PdfCanvasProcessor {
     /**
      * A handler that implements operator (k). For more information see Table 51 ISO-32000-1
      */
-    private static class SetCMYKFillOperator implements IContentOperator {
+    private static class SetCMYKFillOperator extends PrimitiveContentOperator {
         /**
          * {@inheritDoc}
          */
-        public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
+        public void invoke(PdfCanvasProcessor processor, ContentOperandStack operands) {
             processor.getGraphicsState().setFillColor(getColor(4, operands));
         }
     }
@@ -1107,11 +1287,11 @@ public class PdfCanvasProcessor {
     /**
      * A handler that implements operator (K). For more information see Table 51 ISO-32000-1
      */
-    private static class SetCMYKStrokeOperator implements IContentOperator {
+    private static class SetCMYKStrokeOperator extends PrimitiveContentOperator {
         /**
          * {@inheritDoc}
          */
-        public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
+        public void invoke(PdfCanvasProcessor processor, ContentOperandStack operands) {
             processor.getGraphicsState().setStrokeColor(getColor(4, operands));
         }
     }
@@ -1120,11 +1300,11 @@ public class PdfCanvasProcessor {
      * A handler that implements operator (CS). For more information see Table 51 ISO-32000-1
      *
      */
-    private static class SetColorSpaceFillOperator implements IContentOperator {
+    private static class SetColorSpaceFillOperator extends PrimitiveContentOperator {
         /**
          * {@inheritDoc}
          */
-        public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
+        public void invoke(PdfCanvasProcessor processor, ContentOperandStack operands) {
             PdfColorSpace pdfColorSpace = determineColorSpace((PdfName) operands.get(0), processor);
             processor.getGraphicsState().setFillColor(Color.makeColor(pdfColorSpace));
         }
@@ -1148,11 +1328,11 @@ public class PdfCanvasProcessor {
      * A handler that implements operator (cs). For more information see Table 51 ISO-32000-1
      *
      */
-    private static class SetColorSpaceStrokeOperator implements IContentOperator {
+    private static class SetColorSpaceStrokeOperator extends PrimitiveContentOperator {
         /**
          * {@inheritDoc}
          */
-        public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
+        public void invoke(PdfCanvasProcessor processor, ContentOperandStack operands) {
             PdfColorSpace pdfColorSpace = SetColorSpaceFillOperator.determineColorSpace((PdfName) operands.get(0), processor);
             processor.getGraphicsState().setStrokeColor(Color.makeColor(pdfColorSpace));
         }
@@ -1185,11 +1365,11 @@ public class PdfCanvasProcessor {
     /**
      * A handler that implements operator (BT). For more information see Table 51 ISO-32000-1
      */
-    private static class BeginTextOperator implements IContentOperator {
+    private static class BeginTextOperator extends PrimitiveContentOperator {
         /**
          * {@inheritDoc}
          */
-        public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
+        public void invoke(PdfCanvasProcessor processor, ContentOperandStack operands) {
             processor.textMatrix = new Matrix();
             processor.textLineMatrix = processor.textMatrix;
             processor.beginText();
@@ -1199,11 +1379,11 @@ public class PdfCanvasProcessor {
     /**
      * A handler that implements operator (ET). For more information see Table 51 ISO-32000-1
      */
-    private static class EndTextOperator implements IContentOperator {
+    private static class EndTextOperator extends PrimitiveContentOperator {
         /**
          * {@inheritDoc}
          */
-        public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
+        public void invoke(PdfCanvasProcessor processor, ContentOperandStack operands) {
             processor.textMatrix = null;
             processor.textLineMatrix = null;
             processor.endText();
@@ -1213,12 +1393,11 @@ public class PdfCanvasProcessor {
     /**
      * A handler that implements operator (BMC). For more information see Table 51 ISO-32000-1
      */
-    private static class BeginMarkedContentOperator implements IContentOperator {
+    private static class BeginMarkedContentOperator extends PrimitiveContentOperator {
         /**
          * {@inheritDoc}
          */
-        public void invoke(PdfCanvasProcessor processor,
-                           PdfLiteral operator, List<PdfObject> operands) {
+        public void invoke(PdfCanvasProcessor processor, ContentOperandStack operands) {
             processor.beginMarkedContent((PdfName) operands.get(0), new PdfDictionary());
         }
 
@@ -1227,12 +1406,11 @@ public class PdfCanvasProcessor {
     /**
      * A handler that implements operator (BDC). For more information see Table 51 ISO-32000-1
      */
-    private static class BeginMarkedContentDictionaryOperator implements IContentOperator {
+    private static class BeginMarkedContentDictionaryOperator extends PrimitiveContentOperator {
         /**
          * {@inheritDoc}
          */
-        public void invoke(PdfCanvasProcessor processor,
-                           PdfLiteral operator, List<PdfObject> operands) {
+        public void invoke(PdfCanvasProcessor processor, ContentOperandStack operands) {
 
             PdfObject properties = operands.get(1);
 
@@ -1251,12 +1429,11 @@ public class PdfCanvasProcessor {
     /**
      * A handler that implements operator (EMC). For more information see Table 51 ISO-32000-1
      */
-    private static class EndMarkedContentOperator implements IContentOperator {
+    private static class EndMarkedContentOperator extends PrimitiveContentOperator {
         /**
          * {@inheritDoc}
          */
-        public void invoke(PdfCanvasProcessor processor,
-                           PdfLiteral operator, List<PdfObject> operands) {
+        public void invoke(PdfCanvasProcessor processor, ContentOperandStack operands) {
             processor.endMarkedContent();
         }
     }
@@ -1264,11 +1441,11 @@ public class PdfCanvasProcessor {
     /**
      * A handler that implements operator (Do). For more information see Table 51 ISO-32000-1
      */
-    private static class DoOperator implements IContentOperator {
+    private static class DoOperator extends PrimitiveContentOperator {
         /**
          * {@inheritDoc}
          */
-        public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
+        public void invoke(PdfCanvasProcessor processor, ContentOperandStack operands) {
             PdfName xobjectName = (PdfName) operands.get(0);
             processor.displayXObject(xobjectName);
         }
@@ -1280,11 +1457,11 @@ public class PdfCanvasProcessor {
      * This not a usual operator, it will have a single operand, which will be a PdfStream object which
      * encapsulates inline image dictionary and bytes
      */
-    private static class EndImageOperator implements IContentOperator {
+    private static class EndImageOperator extends PrimitiveContentOperator {
         /**
          * {@inheritDoc}
          */
-        public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
+        public void invoke(PdfCanvasProcessor processor, ContentOperandStack operands) {
             PdfStream imageStream = (PdfStream) operands.get(0);
             processor.displayImage(imageStream, true);
         }
@@ -1293,12 +1470,12 @@ public class PdfCanvasProcessor {
     /**
      * A handler that implements operator (w). For more information see Table 51 ISO-32000-1
      */
-    private static class SetLineWidthOperator implements IContentOperator {
+    private static class SetLineWidthOperator extends PrimitiveContentOperator {
         /**
          * {@inheritDoc}
          */
-        public void invoke(PdfCanvasProcessor processor, PdfLiteral oper, List<PdfObject> operands) {
-            float lineWidth = ((PdfNumber) operands.get(0)).floatValue();
+        public void invoke(PdfCanvasProcessor processor, ContentOperandStack operands) {
+            float lineWidth = operands.getFloat(0);
             processor.getGraphicsState().setLineWidth(lineWidth);
         }
     }
@@ -1306,13 +1483,13 @@ public class PdfCanvasProcessor {
     /**
      * A handler that implements operator (J). For more information see Table 51 ISO-32000-1
      */
-    private static class SetLineCapOperator implements IContentOperator {
+    private static class SetLineCapOperator extends PrimitiveContentOperator {
 
         /**
          * {@inheritDoc}
          */
-        public void invoke(PdfCanvasProcessor processor, PdfLiteral oper, List<PdfObject> operands) {
-            int lineCap = ((PdfNumber) operands.get(0)).intValue();
+        public void invoke(PdfCanvasProcessor processor, ContentOperandStack operands) {
+            int lineCap = operands.getInt(0);
             processor.getGraphicsState().setLineCapStyle(lineCap);
         }
     }
@@ -1320,13 +1497,13 @@ public class PdfCanvasProcessor {
     /**
      * A handler that implements operator (j). For more information see Table 51 ISO-32000-1
      */
-    private static class SetLineJoinOperator implements IContentOperator {
+    private static class SetLineJoinOperator extends PrimitiveContentOperator {
 
         /**
          * {@inheritDoc}
          */
-        public void invoke(PdfCanvasProcessor processor, PdfLiteral oper, List<PdfObject> operands) {
-            int lineJoin = ((PdfNumber) operands.get(0)).intValue();
+        public void invoke(PdfCanvasProcessor processor, ContentOperandStack operands) {
+            int lineJoin = operands.getInt(0);
             processor.getGraphicsState().setLineJoinStyle(lineJoin);
         }
     }
@@ -1334,13 +1511,13 @@ public class PdfCanvasProcessor {
     /**
      * A handler that implements operator (M). For more information see Table 51 ISO-32000-1
      */
-    private static class SetMiterLimitOperator implements IContentOperator {
+    private static class SetMiterLimitOperator extends PrimitiveContentOperator {
 
         /**
          * {@inheritDoc}
          */
-        public void invoke(PdfCanvasProcessor processor, PdfLiteral oper, List<PdfObject> operands) {
-            float miterLimit = ((PdfNumber) operands.get(0)).floatValue();
+        public void invoke(PdfCanvasProcessor processor, ContentOperandStack operands) {
+            float miterLimit = operands.getFloat(0);
             processor.getGraphicsState().setMiterLimit(miterLimit);
         }
     }
@@ -1372,15 +1549,8 @@ public class PdfCanvasProcessor {
                 resources = new PdfResources(resourcesDic);
             }
 
-            // we read the content bytes up here so if it fails we don't leave the graphics state stack corrupted
-            // this is probably not necessary (if we fail on this, probably the entire content stream processing
-            // operation should be rejected
-            byte[] contentBytes;
-            contentBytes = stream.getBytes();
             final PdfArray matrix = stream.getAsArray(PdfName.Matrix);
-
-            new PushGraphicsStateOperator().invoke(processor, null, null);
-
+            Matrix formMatrix = null;
             if (matrix != null) {
                 float a = matrix.getAsNumber(0).floatValue();
                 float b = matrix.getAsNumber(1).floatValue();
@@ -1388,7 +1558,29 @@ public class PdfCanvasProcessor {
                 float d = matrix.getAsNumber(3).floatValue();
                 float e = matrix.getAsNumber(4).floatValue();
                 float f = matrix.getAsNumber(5).floatValue();
-                Matrix formMatrix = new Matrix(a, b, c, d, e, f);
+                formMatrix = new Matrix(a, b, c, d, e, f);
+            }
+
+            PdfArray bBox = stream.getAsArray(PdfName.BBox);
+            if (processor.regionOfInterest != null && bBox != null && bBox.size() == 4) {
+                Rectangle formBBox = bBox.toRectangle();
+                Matrix ctm = processor.getGraphicsState().getCtm();
+                // the content of the form is clipped by its bounding box, so it can be skipped entirely
+                if (!processor.isInRegionOfInterest(formBBox.getLeft(), formBBox.getBottom(), formBBox.getRight(), formBBox.getTop(),
+                        formMatrix != null ? formMatrix.multiply(ctm) : ctm)) {
+                    return;
+                }
+            }
+
+            // we read the content bytes up here so if it fails we don't leave the graphics state stack corrupted
+            // this is probably not necessary (if we fail on this, probably the entire content stream processing
+            // operation should be rejected
+            byte[] contentBytes;
+            contentBytes = stream.getBytes();
+
+            new PushGraphicsStateOperator().invoke(processor, null, null);
+
+            if (formMatrix != null) {
                 processor.getGraphicsState().updateCtm(formMatrix);
             }
 
@@ -1422,14 +1614,14 @@ public class PdfCanvasProcessor {
     /**
      * A handler that implements operator (m). For more information see Table 51 ISO-32000-1
      */
-    private static class MoveToOperator implements IContentOperator {
+    private static class MoveToOperator extends PrimitiveContentOperator {
 
         /**
          * {@inheritDoc}
          */
-        public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
-            float x = ((PdfNumber) operands.get(0)).floatValue();
-            float y = ((PdfNumber) operands.get(1)).floatValue();
+        public void invoke(PdfCanvasProcessor processor, ContentOperandStack operands) {
+            float x = operands.getFloat(0);
+            float y = operands.getFloat(1);
             processor.currentPath.moveTo(x, y);
         }
     }
@@ -1437,14 +1629,14 @@ public class PdfCanvasProcessor {
     /**
      * A handler that implements operator (l). For more information see Table 51 ISO-32000-1
      */
-    private static class LineToOperator implements IContentOperator {
+    private static class LineToOperator extends PrimitiveContentOperator {
 
         /**
          * {@inheritDoc}
          */
-        public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
-            float x = ((PdfNumber) operands.get(0)).floatValue();
-            float y = ((PdfNumber) operands.get(1)).floatValue();
+        public void invoke(PdfCanvasProcessor processor, ContentOperandStack operands) {
+            float x = operands.getFloat(0);
+            float y = operands.getFloat(1);
             processor.currentPath.lineTo(x, y);
         }
     }
@@ -1452,18 +1644,18 @@ public class PdfCanvasProcessor {
     /**
      * A handler that implements operator (c). For more information see Table 51 ISO-32000-1
      */
-    private static class CurveOperator implements IContentOperator {
+    private static class CurveOperator extends PrimitiveContentOperator {
 
         /**
          * {@inheritDoc}
          */
-        public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
-            float x1 = ((PdfNumber) operands.get(0)).floatValue();
-            float y1 = ((PdfNumber) operands.get(1)).floatValue();
-            float x2 = ((PdfNumber) operands.get(2)).floatValue();
-            float y2 = ((PdfNumber) operands.get(3)).floatValue();
-            float x3 = ((PdfNumber) operands.get(4)).floatValue();
-            float y3 = ((PdfNumber) operands.get(5)).floatValue();
+        public void invoke(PdfCanvasProcessor processor, ContentOperandStack operands) {
+            float x1 = operands.getFloat(0);
+            float y1 = operands.getFloat(1);
+            float x2 = operands.getFloat(2);
+            float y2 = operands.getFloat(3);
+            float x3 = operands.getFloat(4);
+            float y3 = operands.getFloat(5);
             processor.currentPath.curveTo(x1, y1, x2, y2, x3, y3);
         }
     }
@@ -1471,16 +1663,16 @@ public class PdfCanvasProcessor {
     /**
      * A handler that implements operator (v). For more information see Table 51 ISO-32000-1
      */
-    private static class CurveFirstPointDuplicatedOperator implements IContentOperator {
+    private static class CurveFirstPointDuplicatedOperator extends PrimitiveContentOperator {
 
         /**
          * {@inheritDoc}
          */
-        public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
-            float x2 = ((PdfNumber) operands.get(0)).floatValue();
-            float y2 = ((PdfNumber) operands.get(1)).floatValue();
-            float x3 = ((PdfNumber) operands.get(2)).floatValue();
-            float y3 = ((PdfNumber) operands.get(3)).floatValue();
+        public void invoke(PdfCanvasProcessor processor, ContentOperandStack operands) {
+            float x2 = operands.getFloat(0);
+            float y2 = operands.getFloat(1);
+            float x3 = operands.getFloat(2);
+            float y3 = operands.getFloat(3);
             processor.currentPath.curveTo(x2, y2, x3, y3);
         }
     }
@@ -1488,16 +1680,16 @@ public class PdfCanvasProcessor {
     /**
      * A handler that implements operator (y). For more information see Table 51 ISO-32000-1
      */
-    private static class CurveFourhPointDuplicatedOperator implements IContentOperator {
+    private static class CurveFourhPointDuplicatedOperator extends PrimitiveContentOperator {
 
         /**
          * {@inheritDoc}
          */
-        public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
-            float x1 = ((PdfNumber) operands.get(0)).floatValue();
-            float y1 = ((PdfNumber) operands.get(1)).floatValue();
-            float x3 = ((PdfNumber) operands.get(2)).floatValue();
-            float y3 = ((PdfNumber) operands.get(3)).floatValue();
+        public void invoke(PdfCanvasProcessor processor, ContentOperandStack operands) {
+            float x1 = operands.getFloat(0);
+            float y1 = operands.getFloat(1);
+            float x3 = operands.getFloat(2);
+            float y3 = operands.getFloat(3);
             processor.currentPath.curveFromTo(x1, y1, x3, y3);
         }
     }
@@ -1505,12 +1697,12 @@ public class PdfCanvasProcessor {
     /**
      * A handler that implements operator (h). For more information see Table 51 ISO-32000-1
      */
-    private static class CloseSubpathOperator implements IContentOperator {
+    private static class CloseSubpathOperator extends PrimitiveContentOperator {
 
         /**
          * {@inheritDoc}
          */
-        public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
+        public void invoke(PdfCanvasProcessor processor, ContentOperandStack operands) {
             processor.currentPath.closeSubpath();
         }
     }
@@ -1518,16 +1710,16 @@ public class PdfCanvasProcessor {
     /**
      * A handler that implements operator (re). For more information see Table 51 ISO-32000-1
      */
-    private static class RectangleOperator implements IContentOperator {
+    private static class RectangleOperator extends PrimitiveContentOperator {
 
         /**
          * {@inheritDoc}
          */
-        public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
-            float x = ((PdfNumber) operands.get(0)).floatValue();
-            float y = ((PdfNumber) operands.get(1)).floatValue();
-            float w = ((PdfNumber) operands.get(2)).floatValue();
-            float h = ((PdfNumber) operands.get(3)).floatValue();
+        public void invoke(PdfCanvasProcessor processor, ContentOperandStack operands) {
+            float x = operands.getFloat(0);
+            float y = operands.getFloat(1);
+            float w = operands.getFloat(2);
+            float h = operands.getFloat(3);
             processor.currentPath.rectangle(x, y, w, h);
         }
     }
@@ -1535,7 +1727,7 @@ public class PdfCanvasProcessor {
     /**
      * A handler that implements operator (S, s, f, F, f*, B, B*, b, b*). For more information see Table 51 ISO-32000-1
      */
-    private static class PaintPathOperator implements IContentOperator {
+    private static class PaintPathOperator extends PrimitiveContentOperator {
 
         private int operation;
         private int rule;
@@ -1560,7 +1752,7 @@ public class PdfCanvasProcessor {
         /**
          * {@inheritDoc}
          */
-        public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
+        public void invoke(PdfCanvasProcessor processor, ContentOperandStack operands) {
             if (close) {
                 processor.currentPath.closeSubpath();
             }
@@ -1572,7 +1764,7 @@ public class PdfCanvasProcessor {
     /**
      * A handler that implements operator (W, W*). For more information see Table 51 ISO-32000-1
      */
-    private static class ClipPathOperator implements IContentOperator {
+    private static class ClipPathOperator extends PrimitiveContentOperator {
 
         private int rule;
 
@@ -1583,7 +1775,7 @@ public class PdfCanvasProcessor {
         /**
          * {@inheritDoc}
          */
-        public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
+        public void invoke(PdfCanvasProcessor processor, ContentOperandStack operands) {
             processor.isClip = true;
             processor.clippingRule = rule;
         }
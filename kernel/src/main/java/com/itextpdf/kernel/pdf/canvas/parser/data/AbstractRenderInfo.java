@@ -0,0 +1,105 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2016 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.kernel.pdf.canvas.parser.data;
+
+import com.itextpdf.kernel.pdf.canvas.CanvasGraphicsState;
+import com.itextpdf.kernel.pdf.canvas.parser.PdfCanvasProcessor;
+import com.itextpdf.kernel.pdf.canvas.parser.listener.IEventListener;
+
+/**
+ * A base class for the render infos which refer to the graphics state of the {@link PdfCanvasProcessor}.
+ * <p>
+ * The graphics state is not copied when the render info is created. Instead, the render info refers to the
+ * current graphics state of the processor, which keeps changing while the content is processed.
+ * An {@link IEventListener} which retains the render info and needs the graphics state as it was at the time
+ * of the event shall call {@link #preserveGraphicsState()} while handling the event.
+ */
+public abstract class AbstractRenderInfo implements IEventData {
+
+    protected CanvasGraphicsState gs;
+    private boolean graphicsStateIsPreserved;
+
+    protected AbstractRenderInfo(CanvasGraphicsState gs) {
+        this.gs = gs;
+    }
+
+    /**
+     * Creates a render info which shares the graphics state with another render info.
+     *
+     * @param other the render info whose graphics state is shared
+     */
+    protected AbstractRenderInfo(AbstractRenderInfo other) {
+        this.gs = other.gs;
+        this.graphicsStateIsPreserved = other.graphicsStateIsPreserved;
+    }
+
+    /**
+     * Gets the graphics state of the render operation.
+     *
+     * @return the graphics state
+     */
+    public CanvasGraphicsState getGraphicsState() {
+        return graphicsStateIsPreserved ? gs : new CanvasGraphicsState(gs);
+    }
+
+    /**
+     * Checks if the graphics state of this render info has been preserved.
+     *
+     * @return true if {@link #preserveGraphicsState()} was called, false otherwise
+     */
+    public boolean isGraphicsStatePreserved() {
+        return graphicsStateIsPreserved;
+    }
+
+    /**
+     * Copies the graphics state, so that the graphics state dependent values of this render info are not affected
+     * by the changes the processor makes after the event has been dispatched. Shall be called while the event is handled.
+     */
+    public void preserveGraphicsState() {
+        if (!graphicsStateIsPreserved) {
+            this.graphicsStateIsPreserved = true;
+            gs = new CanvasGraphicsState(gs);
+        }
+    }
+}
@@ -53,7 +53,7 @@ import com.itextpdf.kernel.pdf.canvas.PdfCanvasConstants.FillingRule;
 /**
  * Contains information relating to painting current path.
  */
-public class PathRenderInfo implements IEventData {
+public class PathRenderInfo extends AbstractRenderInfo {
 
     /**
      * End the path object without filling or stroking it. This operator shall be a path-painting no-op,
@@ -77,7 +77,6 @@ public class PathRenderInfo implements IEventData {
     private int rule;
     private boolean isClip;
     private int clippingRule;
-    private CanvasGraphicsState gs;
 
     /**
      * @param path      The path to be rendered.
@@ -88,10 +87,10 @@ public class PathRenderInfo implements IEventData {
      * @param gs        The graphics state.
      */
     public PathRenderInfo(Path path, int operation, int rule, boolean isClip, int clipRule, CanvasGraphicsState gs) {
+        super(gs);
         this.path = path;
         this.operation = operation;
         this.rule = rule;
-        this.gs = gs;
         this.isClip = isClip;
         this.clippingRule = clipRule;
     }
@@ -69,15 +69,19 @@ import java.util.Stack;
  * This is passed between the {@link PdfCanvasProcessor} and
  * {@link IEventListener} objects as text rendering operations are
  * discovered
+ * <br><br>
+ * The decoded text, the baseline width and the character splits are calculated on the first request only.
+ * See {@link AbstractRenderInfo} on retaining the graphics state after the event is dispatched.
  */
-public class TextRenderInfo implements IEventData {
+public class TextRenderInfo extends AbstractRenderInfo {
 
     private final PdfString string;
     private String text = null;
     private final Matrix textToUserSpaceTransformMatrix;
-    private final CanvasGraphicsState gs;
     private float unscaledWidth = Float.NaN;
-    private double[] fontMatrix = null;
+    private float unscaledBaselineWidth = Float.NaN;
+    private final double[] fontMatrix;
+    private PdfString[] characterStrings;
 
     /**
      * Hierarchy of nested canvas tags for the text from the most inner (nearest to text) tag to the most outer.
@@ -92,10 +96,22 @@ public class TextRenderInfo implements IEventData {
      * @param canvasTagHierarchy the marked content tags sequence, if available
      */
     public TextRenderInfo(PdfString str, CanvasGraphicsState gs, Matrix textMatrix, Stack<CanvasTag> canvasTagHierarchy) {
+        this(str, gs, textMatrix, Collections.<CanvasTag>unmodifiableList(new ArrayList<>(canvasTagHierarchy)));
+    }
+
+    /**
+     * Creates a new TextRenderInfo object
+     * @param str the PDF string that should be displayed
+     * @param gs the graphics state (note: at this time, this is not immutable, so don't cache it)
+     * @param textMatrix the text matrix at the time of the render operation
+     * @param canvasTagHierarchy the marked content tags sequence from the most inner tag to the most outer.
+     *                           The list is not copied, so it shall not be modified afterwards
+     */
+    public TextRenderInfo(PdfString str, CanvasGraphicsState gs, Matrix textMatrix, List<CanvasTag> canvasTagHierarchy) {
+        super(gs);
         this.string = str;
         this.textToUserSpaceTransformMatrix = textMatrix.multiply(gs.getCtm());
-        this.gs = gs;
-        this.canvasTagHierarchy = Collections.<CanvasTag>unmodifiableList(new ArrayList<>(canvasTagHierarchy));
+        this.canvasTagHierarchy = canvasTagHierarchy;
         this.fontMatrix = gs.getFont().getFontMatrix();
     }
 
@@ -104,13 +120,15 @@ public class TextRenderInfo implements IEventData {
      * @param parent the parent TextRenderInfo
      * @param string the content of a TextRenderInfo
      * @param horizontalOffset the unscaled horizontal offset of the character that this TextRenderInfo represents
+     * @param unscaledWidth the unscaled width of the character
      */
-    private TextRenderInfo(TextRenderInfo parent, PdfString string, float horizontalOffset){
+    private TextRenderInfo(TextRenderInfo parent, PdfString string, float horizontalOffset, float unscaledWidth){
+        super(parent);
         this.string = string;
         this.textToUserSpaceTransformMatrix = new Matrix(horizontalOffset, 0).multiply(parent.textToUserSpaceTransformMatrix);
-        this.gs = parent.gs;
         this.canvasTagHierarchy = parent.canvasTagHierarchy;
-        this.fontMatrix = gs.getFont().getFontMatrix();
+        this.fontMatrix = parent.fontMatrix;
+        this.unscaledWidth = unscaledWidth;
     }
 
     /**
@@ -237,17 +255,15 @@ public class TextRenderInfo implements IEventData {
      * @return  A list of {@link TextRenderInfo} objects that represent each glyph used in the draw operation. The next effect is if there was a separate Tj opertion for each character in the rendered string
      */
     public List<TextRenderInfo> getCharacterRenderInfos(){
-        List<TextRenderInfo> rslt = new ArrayList<>(string.getValue().length());
-        PdfString[] strings = splitString(string);
+        PdfString[] strings = getCharacterStrings();
+        List<TextRenderInfo> rslt = new ArrayList<>(strings.length);
         float totalWidth = 0;
         for (PdfString str : strings) {
             float[] widthAndWordSpacing = getWidthAndWordSpacing(str);
-            TextRenderInfo subInfo = new TextRenderInfo(this, str, totalWidth);
-            rslt.add(subInfo);
-            totalWidth += (widthAndWordSpacing[0] * gs.getFontSize() + gs.getCharSpacing() + widthAndWordSpacing[1]) * (gs.getHorizontalScaling() / 100f);
+            float width = widthAndWordSpacing[0] * gs.getFontSize() + gs.getCharSpacing() + widthAndWordSpacing[1];
+            rslt.add(new TextRenderInfo(this, str, totalWidth, width * gs.getHorizontalScaling() / 100f));
+            totalWidth += width * (gs.getHorizontalScaling() / 100f);
         }
-        for (TextRenderInfo tri : rslt)
-            tri.getUnscaledWidth();
         return rslt;
     }
 
@@ -353,20 +369,30 @@ public class TextRenderInfo implements IEventData {
      * @return the unscaled (i.e. in Text space) width of the text
      */
     public float getUnscaledWidth(){
-        if (Float.isNaN(unscaledWidth))
-            unscaledWidth = getPdfStringWidth(string, false);
+        if (Float.isNaN(unscaledWidth)) {
+                unscaledWidth = getPdfStringWidth(string, false);
+        }
         return unscaledWidth;
     }
 
     private LineSegment getUnscaledBaselineWithOffset(float yOffset){
-        // we need to correct the width so we don't have an extra character and word spaces at the end.  The extra character and word spaces
-        // are important for tracking relative text coordinate systems, but should not be part of the baseline
-        String unicodeStr = string.toUnicodeString();
+        if (Float.isNaN(unscaledBaselineWidth)) {
+            // we need to correct the width so we don't have an extra character and word spaces at the end.  The extra character and word spaces
+            // are important for tracking relative text coordinate systems, but should not be part of the baseline
+            String unicodeStr = string.toUnicodeString();
 
-        float correctedUnscaledWidth = getUnscaledWidth() - (gs.getCharSpacing() +
-                (unicodeStr.length() > 0 && unicodeStr.charAt(unicodeStr.length() - 1) == ' ' ? gs.getWordSpacing() : 0)) * (gs.getHorizontalScaling() / 100f);
+            unscaledBaselineWidth = getUnscaledWidth() - (gs.getCharSpacing() +
+                    (unicodeStr.length() > 0 && unicodeStr.charAt(unicodeStr.length() - 1) == ' ' ? gs.getWordSpacing() : 0)) * (gs.getHorizontalScaling() / 100f);
+        }
 
-        return new LineSegment(new Vector(0, yOffset, 1), new Vector(correctedUnscaledWidth, yOffset, 1));
+        return new LineSegment(new Vector(0, yOffset, 1), new Vector(unscaledBaselineWidth, yOffset, 1));
+    }
+
+    private PdfString[] getCharacterStrings() {
+        if (characterStrings == null) {
+            characterStrings = splitString(string);
+        }
+        return characterStrings;
     }
 
     /**
@@ -433,7 +459,7 @@ public class TextRenderInfo implements IEventData {
             return (widthAndWordSpacing[0] * gs.getFontSize() + gs.getCharSpacing() + widthAndWordSpacing[1]) * gs.getHorizontalScaling()/100f;
         } else {
             float totalWidth = 0;
-            for (PdfString str : splitString(string)) {
+            for (PdfString str : getCharacterStrings()) {
                 totalWidth += getPdfStringWidth(str, true);
             }
             return totalWidth;
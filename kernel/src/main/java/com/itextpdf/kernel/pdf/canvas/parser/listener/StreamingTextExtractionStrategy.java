@@ -0,0 +1,479 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2016 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.kernel.pdf.canvas.parser.listener;
+
+import com.itextpdf.kernel.geom.LineSegment;
+import com.itextpdf.kernel.geom.Matrix;
+import com.itextpdf.kernel.pdf.canvas.parser.EventType;
+import com.itextpdf.kernel.pdf.canvas.parser.data.IEventData;
+import com.itextpdf.kernel.pdf.canvas.parser.data.TextRenderInfo;
+import com.itextpdf.kernel.pdf.canvas.parser.listener.LocationTextExtractionStrategy.ITextChunkLocation;
+import com.itextpdf.kernel.pdf.canvas.parser.listener.LocationTextExtractionStrategy.ITextChunkLocationStrategy;
+import com.itextpdf.kernel.pdf.canvas.parser.listener.LocationTextExtractionStrategy.TextChunk;
+import com.itextpdf.kernel.pdf.canvas.parser.listener.LocationTextExtractionStrategy.TextChunkLocationDefaultImp;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A text extraction strategy which produces the same line layout as {@link LocationTextExtractionStrategy},
+ * but does not keep every {@link TextChunk} of the page until the end of the processing.
+ * <p>
+ * Each chunk is put into a line bucket, identified by the orientation and the perpendicular distance
+ * of the chunk, as soon as it arrives. Inside the bucket, chunks that follow each other in reading order
+ * are concatenated right away, so a line which is written in its natural order occupies a single text buffer
+ * no matter how many chunks it consists of. The number of simultaneously open lines is bounded by
+ * {@link #setMaxActiveLines(int)}: when the limit is exceeded, the line that was not touched for the longest time
+ * is considered finished and is emitted. All the remaining lines are emitted, sorted by their position,
+ * on {@link #flush()} and {@link #getResultantText()}.
+ * <p>
+ * Finished lines are passed to the {@link ITextLineHandler} if one is set; in this case the text is not
+ * retained by the strategy and the memory it occupies is proportional to the number of active lines.
+ * Otherwise the lines are collected and returned by {@link #getResultantText()}.
+ * <p>
+ * Compared to {@link LocationTextExtractionStrategy}, a line that receives text after it has been emitted
+ * is emitted once again as a separate line, and a chunk which overlaps text already collected in its line
+ * is placed after that text.
+ */
+public class StreamingTextExtractionStrategy implements ITextExtractionStrategy {
+
+    /**
+     * The default maximum number of lines which are kept open simultaneously.
+     */
+    public static final int DEFAULT_MAX_ACTIVE_LINES = 1024;
+
+    private static final int DIACRITICAL_MARKS_ALLOWED_VERTICAL_DEVIATION = 2;
+
+    private final ITextChunkLocationStrategy tclStrat;
+
+    private final ITextLineHandler lineHandler;
+
+    /**
+     * Open lines in the order of their last modification.
+     */
+    private final Map<Long, TextLine> activeLines = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final StringBuilder result = new StringBuilder();
+
+    private boolean resultIsEmpty = true;
+
+    private int maxActiveLines = DEFAULT_MAX_ACTIVE_LINES;
+
+    private boolean rightToLeftRunDirection = false;
+
+    /**
+     * Creates a new streaming text extraction strategy which collects the text of the finished lines.
+     */
+    public StreamingTextExtractionStrategy() {
+        this((ITextLineHandler) null);
+    }
+
+    /**
+     * Creates a new streaming text extraction strategy which passes the finished lines to the handler.
+     *
+     * @param lineHandler the handler of the finished lines, or {@code null} to collect the text of the lines
+     */
+    public StreamingTextExtractionStrategy(ITextLineHandler lineHandler) {
+        this(new ITextChunkLocationStrategy() {
+            public ITextChunkLocation createLocation(TextRenderInfo renderInfo, LineSegment baseline) {
+                return new TextChunkLocationDefaultImp(baseline.getStartPoint(), baseline.getEndPoint(), renderInfo.getSingleSpaceWidth());
+            }
+        }, lineHandler);
+    }
+
+    /**
+     * Creates a new streaming text extraction strategy with a custom strategy for creating
+     * new TextChunkLocation objects based on the input of the TextRenderInfo.
+     *
+     * @param strat       the custom strategy
+     * @param lineHandler the handler of the finished lines, or {@code null} to collect the text of the lines
+     */
+    public StreamingTextExtractionStrategy(ITextChunkLocationStrategy strat, ITextLineHandler lineHandler) {
+        this.tclStrat = strat;
+        this.lineHandler = lineHandler;
+    }
+
+    /**
+     * Sets the maximum number of lines which are kept open simultaneously.
+     *
+     * @param maxActiveLines the maximum number of active lines
+     * @return this object
+     */
+    public StreamingTextExtractionStrategy setMaxActiveLines(int maxActiveLines) {
+        if (maxActiveLines <= 0) {
+            throw new IllegalArgumentException("The parameter must be a positive integer");
+        }
+        this.maxActiveLines = maxActiveLines;
+        while (activeLines.size() > maxActiveLines) {
+            emitLeastRecentlyUsedLine();
+        }
+        return this;
+    }
+
+    /**
+     * Gets the maximum number of lines which are kept open simultaneously.
+     *
+     * @return the maximum number of active lines
+     */
+    public int getMaxActiveLines() {
+        return maxActiveLines;
+    }
+
+    /**
+     * Gets the number of lines which are currently open.
+     *
+     * @return the number of active lines
+     */
+    public int getActiveLineCount() {
+        return activeLines.size();
+    }
+
+    /**
+     * Sets if text flows from left to right or from right to left.
+     * Call this method with <code>true</code> argument for extracting Arabic, Hebrew or other
+     * text with right-to-left writing direction.
+     *
+     * @param rightToLeftRunDirection value specifying whether the direction should be right to left
+     * @return this object
+     */
+    public StreamingTextExtractionStrategy setRightToLeftRunDirection(boolean rightToLeftRunDirection) {
+        this.rightToLeftRunDirection = rightToLeftRunDirection;
+        return this;
+    }
+
+    @Override
+    public void eventOccurred(IEventData data, EventType type) {
+        if (type.equals(EventType.RENDER_TEXT)) {
+            TextRenderInfo renderInfo = (TextRenderInfo) data;
+            LineSegment segment = renderInfo.getBaseline();
+            if (renderInfo.getRise() != 0) {
+                // remove the rise from the baseline, so that super/subscript text is put on the line it is relative to
+                Matrix riseOffsetTransform = new Matrix(0, -renderInfo.getRise());
+                segment = segment.transformBy(riseOffsetTransform);
+            }
+            addChunk(new TextChunk(renderInfo.getText(), tclStrat.createLocation(renderInfo, segment)));
+        }
+    }
+
+    @Override
+    public Set<EventType> getSupportedEvents() {
+        return Collections.singleton(EventType.RENDER_TEXT);
+    }
+
+    /**
+     * Emits all the active lines, sorted by their orientation and perpendicular distance, and returns the text
+     * of all the lines emitted so far. If an {@link ITextLineHandler} is set, the lines are not collected and
+     * the returned text is empty.
+     *
+     * @return the text of the finished lines
+     */
+    @Override
+    public String getResultantText() {
+        flush();
+        return result.toString();
+    }
+
+    /**
+     * Emits all the active lines, sorted by their orientation and perpendicular distance. This method should be called
+     * at the end of each page if the strategy is reused for several pages.
+     */
+    public void flush() {
+        if (activeLines.isEmpty()) {
+            return;
+        }
+        List<TextLine> lines = new ArrayList<>(activeLines.values());
+        activeLines.clear();
+        Collections.sort(lines, new Comparator<TextLine>() {
+            @Override
+            public int compare(TextLine first, TextLine second) {
+                int result = Integer.compare(first.orientationMagnitude, second.orientationMagnitude);
+                return result != 0 ? result : Integer.compare(first.distPerpendicular, second.distPerpendicular);
+            }
+        });
+        for (TextLine line : lines) {
+            emitLine(line);
+        }
+    }
+
+    /**
+     * Determines if a space character should be inserted between a previous chunk and the current chunk.
+     *
+     * @param chunk         the new chunk being evaluated
+     * @param previousChunk the chunk that appeared immediately before the current chunk
+     * @return true if the two chunks represent different words (i.e. should have a space between them).  False otherwise.
+     * @see LocationTextExtractionStrategy#isChunkAtWordBoundary(TextChunk, TextChunk)
+     */
+    protected boolean isChunkAtWordBoundary(TextChunk chunk, TextChunk previousChunk) {
+        return chunk.getLocation().isAtWordBoundary(previousChunk.getLocation());
+    }
+
+    private void addChunk(TextChunk chunk) {
+        ITextChunkLocation location = chunk.getLocation();
+        int orientation = location.orientationMagnitude();
+        int distPerpendicular = location.distPerpendicular();
+        boolean isMark = location.getStartLocation().equals(location.getEndLocation());
+
+        TextLine line = activeLines.get(getLineKey(orientation, distPerpendicular));
+        if (line == null && isMark) {
+            // diacritical marks are attached to the closest line, the same way LocationTextExtractionStrategy does
+            for (int deviation = 1; deviation <= DIACRITICAL_MARKS_ALLOWED_VERTICAL_DEVIATION && line == null; deviation++) {
+                line = activeLines.get(getLineKey(orientation, distPerpendicular - deviation));
+                if (line == null) {
+                    line = activeLines.get(getLineKey(orientation, distPerpendicular + deviation));
+                }
+            }
+        }
+        if (line == null) {
+            line = new TextLine(orientation, distPerpendicular, isMark);
+            if (!isMark) {
+                attachMarks(line);
+            }
+            activeLines.put(getLineKey(orientation, distPerpendicular), line);
+            if (activeLines.size() > maxActiveLines) {
+                emitLeastRecentlyUsedLine();
+            }
+        } else if (!isMark) {
+            line.marksOnly = false;
+        }
+        line.add(new TextRun(chunk, getSortKey(location), getEndSortKey(location)));
+    }
+
+    /**
+     * Moves the lines consisting of diacritical marks only, which were created before their base line, into the line.
+     */
+    private void attachMarks(TextLine line) {
+        for (int deviation = -DIACRITICAL_MARKS_ALLOWED_VERTICAL_DEVIATION; deviation <= DIACRITICAL_MARKS_ALLOWED_VERTICAL_DEVIATION; deviation++) {
+            if (deviation == 0) {
+                continue;
+            }
+            Long key = getLineKey(line.orientationMagnitude, line.distPerpendicular + deviation);
+            TextLine marks = activeLines.get(key);
+            if (marks != null && marks.marksOnly) {
+                activeLines.remove(key);
+                for (TextRun run : marks.runs) {
+                    line.add(run);
+                }
+            }
+        }
+    }
+
+    private void emitLeastRecentlyUsedLine() {
+        Iterator<TextLine> iterator = activeLines.values().iterator();
+        TextLine line = iterator.next();
+        iterator.remove();
+        emitLine(line);
+    }
+
+    private void emitLine(TextLine line) {
+        String text = line.getText();
+        if (lineHandler != null) {
+            lineHandler.lineFinished(text, line.orientationMagnitude, line.distPerpendicular);
+        } else {
+            if (!resultIsEmpty) {
+                result.append('\n');
+            }
+            result.append(text);
+            resultIsEmpty = false;
+        }
+    }
+
+    private float getSortKey(ITextChunkLocation location) {
+        return rightToLeftRunDirection ? -location.distParallelEnd() : location.distParallelStart();
+    }
+
+    private float getEndSortKey(ITextChunkLocation location) {
+        return rightToLeftRunDirection ? -location.distParallelStart() : location.distParallelEnd();
+    }
+
+    private static long getLineKey(int orientation, int distPerpendicular) {
+        return ((long) orientation << 32) | (distPerpendicular & 0xffffffffL);
+    }
+
+    /**
+     * A handler of the lines finished by {@link StreamingTextExtractionStrategy}.
+     */
+    public interface ITextLineHandler {
+
+        /**
+         * Called when a line is finished.
+         *
+         * @param text                 the text of the line
+         * @param orientationMagnitude the orientation of the line
+         * @param distPerpendicular    the perpendicular distance of the line, see {@link ITextChunkLocation#distPerpendicular()}
+         */
+        void lineFinished(String text, int orientationMagnitude, int distPerpendicular);
+    }
+
+    /**
+     * A line bucket: the runs of text of a single line, sorted by their position along the line.
+     */
+    private class TextLine {
+        final int orientationMagnitude;
+        final int distPerpendicular;
+        final List<TextRun> runs = new ArrayList<>(1);
+        boolean marksOnly;
+
+        TextLine(int orientationMagnitude, int distPerpendicular, boolean marksOnly) {
+            this.orientationMagnitude = orientationMagnitude;
+            this.distPerpendicular = distPerpendicular;
+            this.marksOnly = marksOnly;
+        }
+
+        void add(TextRun run) {
+            int index = runs.size() - 1;
+            while (index >= 0 && runs.get(index).firstKey > run.firstKey) {
+                index--;
+            }
+            TextRun next = index + 1 < runs.size() ? runs.get(index + 1) : null;
+            // marks which arrived before the text they are placed on are attached to this text
+            while (!run.isMark && next != null && next.isMark && next.firstKey <= run.lastEndKey) {
+                run.attachPrecedingMark(next);
+                runs.remove(index + 1);
+                next = index + 1 < runs.size() ? runs.get(index + 1) : null;
+            }
+            TextRun target = index >= 0 ? runs.get(index) : null;
+            if (rightToLeftRunDirection && run.isMark && target != null && !target.isMark
+                    && run.firstKey >= target.lastKey && run.firstKey <= target.lastEndKey) {
+                target.attachSucceedingMark(run);
+                return;
+            }
+            if (target != null && target.isFollowedBy(run) && (next == null || run.lastKey <= next.firstKey)) {
+                target.append(run);
+            } else {
+                target = run;
+                runs.add(++index, run);
+            }
+            if (next != null && target.isFollowedBy(next)) {
+                target.append(next);
+                runs.remove(index + 1);
+            }
+        }
+
+        String getText() {
+            TextRun first = runs.get(0);
+            for (int i = 1; i < runs.size(); i++) {
+                first.append(runs.get(i));
+            }
+            return first.text.toString();
+        }
+    }
+
+    /**
+     * Text of the adjacent chunks of a line. Only the first and the last chunks are retained
+     * to decide on the spaces between the runs.
+     */
+    private class TextRun {
+        final StringBuilder text;
+        final float firstKey;
+        TextChunk firstChunk;
+        TextChunk lastChunk;
+        float lastKey;
+        float lastEndKey;
+        int lastChunkStart;
+        boolean isMark;
+
+        TextRun(TextChunk chunk, float key, float endKey) {
+            this.text = new StringBuilder(chunk.getText());
+            this.isMark = key == endKey;
+            this.firstChunk = chunk;
+            this.lastChunk = chunk;
+            this.firstKey = key;
+            this.lastKey = key;
+            this.lastEndKey = endKey;
+        }
+
+        /**
+         * Checks if the other run goes right after this one in the reading order, leaving no gap which
+         * could be filled with a chunk coming later.
+         */
+        boolean isFollowedBy(TextRun other) {
+            return other.firstKey >= lastKey && other.firstKey - lastEndKey <= lastChunk.getLocation().getCharSpaceWidth();
+        }
+
+        void append(TextRun next) {
+            String nextText = next.firstChunk.getText();
+            String lastText = lastChunk.getText();
+            boolean startsWithSpace = nextText.length() != 0 && nextText.charAt(0) == ' ';
+            boolean endsWithSpace = lastText.length() != 0 && lastText.charAt(lastText.length() - 1) == ' ';
+            if (!startsWithSpace && !endsWithSpace && isChunkAtWordBoundary(next.firstChunk, lastChunk)) {
+                text.append(' ');
+            }
+            lastChunkStart = text.length() + next.lastChunkStart;
+            text.append(next.text);
+            lastChunk = next.lastChunk;
+            lastKey = next.lastKey;
+            lastEndKey = next.lastEndKey;
+            isMark = false;
+        }
+
+        /**
+         * Attaches a mark which arrived before the single chunk of this run, the same way
+         * {@link LocationTextExtractionStrategy} does: it precedes the chunk in the left-to-right direction
+         * and follows it otherwise.
+         */
+        void attachPrecedingMark(TextRun mark) {
+            if (rightToLeftRunDirection) {
+                text.append(mark.text);
+                lastChunk = mark.lastChunk;
+            } else {
+                text.insert(0, mark.text);
+                firstChunk = mark.firstChunk;
+            }
+        }
+
+        /**
+         * Puts a mark which arrived after the last chunk of this run in front of this chunk.
+         */
+        void attachSucceedingMark(TextRun mark) {
+            text.insert(lastChunkStart, mark.text);
+            lastChunkStart += mark.text.length();
+        }
+    }
+}
@@ -0,0 +1,279 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2016 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.kernel.pdf.canvas.parser.util;
+
+import com.itextpdf.kernel.pdf.PdfLiteral;
+import com.itextpdf.kernel.pdf.PdfNumber;
+import com.itextpdf.kernel.pdf.PdfObject;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A reusable holder of the operands of a single content stream operator.
+ * <br>
+ * Numeric operands, which make up the most of the content streams, are kept as primitive values
+ * together with their original bytes, so no {@link PdfNumber} objects are created for them unless
+ * they are explicitly requested with {@link #get(int)}. Other operands are kept as {@link PdfObject}s.
+ * The operator itself is identified by its id in a {@link ContentOperatorTable}.
+ * <br>
+ * The content of the stack is valid only until the next operator is parsed into it.
+ */
+public class ContentOperandStack {
+
+    private static final int INITIAL_CAPACITY = 8;
+
+    private PdfObject[] objects = new PdfObject[INITIAL_CAPACITY];
+    private boolean[] primitive = new boolean[INITIAL_CAPACITY];
+    private double[] numbers = new double[INITIAL_CAPACITY];
+    private int[] numberOffsets = new int[INITIAL_CAPACITY];
+    private int[] numberLengths = new int[INITIAL_CAPACITY];
+    private byte[] numberBytes = new byte[INITIAL_CAPACITY * 8];
+    private int numberBytesLength;
+    private int size;
+
+    private int operatorId = ContentOperatorTable.UNKNOWN_OPERATOR;
+    private byte[] operatorBytes = new byte[INITIAL_CAPACITY];
+    private int operatorLength;
+    private PdfLiteral operator;
+
+    private List<PdfObject> operandsList;
+
+    /**
+     * Creates an empty stack.
+     */
+    public ContentOperandStack() {
+    }
+
+    /**
+     * Creates a stack with the operands in the form they are passed to {@link com.itextpdf.kernel.pdf.canvas.parser.IContentOperator}.
+     *
+     * @param operator the operator, may be null
+     * @param operands the operands, may be null
+     */
+    public ContentOperandStack(PdfLiteral operator, List<PdfObject> operands) {
+        this.operator = operator;
+        if (operands != null) {
+            for (PdfObject operand : operands) {
+                pushObject(operand);
+            }
+        }
+    }
+
+    /**
+     * Gets the number of the operands.
+     *
+     * @return the number of the operands
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks whether the operand is a number.
+     *
+     * @param index the index of the operand
+     * @return true if the operand is a number
+     */
+    public boolean isNumber(int index) {
+        checkIndex(index);
+        return primitive[index] || objects[index] instanceof PdfNumber;
+    }
+
+    /**
+     * Gets the value of a numeric operand.
+     *
+     * @param index the index of the operand
+     * @return the value of the operand
+     * @throws ClassCastException if the operand is not a number
+     */
+    public double getDouble(int index) {
+        checkIndex(index);
+        if (primitive[index]) {
+            return numbers[index];
+        }
+        return ((PdfNumber) objects[index]).doubleValue();
+    }
+
+    /**
+     * Gets the value of a numeric operand.
+     *
+     * @param index the index of the operand
+     * @return the value of the operand
+     * @throws ClassCastException if the operand is not a number
+     */
+    public float getFloat(int index) {
+        return (float) getDouble(index);
+    }
+
+    /**
+     * Gets the value of a numeric operand.
+     *
+     * @param index the index of the operand
+     * @return the value of the operand
+     * @throws ClassCastException if the operand is not a number
+     */
+    public int getInt(int index) {
+        return (int) getDouble(index);
+    }
+
+    /**
+     * Gets the operand as a {@link PdfObject}. A {@link PdfNumber} is created for the numeric operands on demand.
+     *
+     * @param index the index of the operand
+     * @return the operand
+     */
+    public PdfObject get(int index) {
+        checkIndex(index);
+        if (objects[index] == null) {
+            int offset = numberOffsets[index];
+            objects[index] = new PdfNumber(Arrays.copyOfRange(numberBytes, offset, offset + numberLengths[index]));
+        }
+        return objects[index];
+    }
+
+    /**
+     * Gets the id of the operator in the {@link ContentOperatorTable} which was used for parsing.
+     *
+     * @return the operator id or {@link ContentOperatorTable#UNKNOWN_OPERATOR}
+     */
+    public int getOperatorId() {
+        return operatorId;
+    }
+
+    /**
+     * Gets the operator.
+     *
+     * @return the operator literal
+     */
+    public PdfLiteral getOperator() {
+        if (operator == null && operatorLength > 0) {
+            operator = new PdfLiteral(Arrays.copyOf(operatorBytes, operatorLength));
+        }
+        return operator;
+    }
+
+    /**
+     * Gets the operands followed by the operator, which is the form the operands are passed
+     * to {@link com.itextpdf.kernel.pdf.canvas.parser.IContentOperator}. The returned list
+     * is reused by the subsequent calls of this method.
+     *
+     * @return the list with the operands and the operator
+     */
+    public List<PdfObject> toList() {
+        if (operandsList == null) {
+            operandsList = new ArrayList<>(size + 1);
+        } else {
+            operandsList.clear();
+        }
+        for (int i = 0; i < size; i++) {
+            operandsList.add(get(i));
+        }
+        PdfLiteral literal = getOperator();
+        if (literal != null) {
+            operandsList.add(literal);
+        }
+        return operandsList;
+    }
+
+    /**
+     * Removes all the operands and the operator.
+     */
+    public void clear() {
+        Arrays.fill(objects, 0, size, null);
+        size = 0;
+        numberBytesLength = 0;
+        operatorId = ContentOperatorTable.UNKNOWN_OPERATOR;
+        operatorLength = 0;
+        operator = null;
+    }
+
+    void pushNumber(byte[] token, int length, double value) {
+        ensureCapacity(size + 1);
+        if (numberBytesLength + length > numberBytes.length) {
+            numberBytes = Arrays.copyOf(numberBytes, Math.max(numberBytesLength + length, numberBytes.length * 2));
+        }
+        System.arraycopy(token, 0, numberBytes, numberBytesLength, length);
+        primitive[size] = true;
+        numbers[size] = value;
+        numberOffsets[size] = numberBytesLength;
+        numberLengths[size] = length;
+        numberBytesLength += length;
+        size++;
+    }
+
+    void pushObject(PdfObject object) {
+        ensureCapacity(size + 1);
+        primitive[size] = false;
+        objects[size++] = object;
+    }
+
+    void setOperator(byte[] token, int length, int id) {
+        if (length > operatorBytes.length) {
+            operatorBytes = new byte[Math.max(length, operatorBytes.length * 2)];
+        }
+        System.arraycopy(token, 0, operatorBytes, 0, length);
+        operatorLength = length;
+        operatorId = id;
+        operator = null;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > objects.length) {
+            int newCapacity = Math.max(capacity, objects.length * 2);
+            objects = Arrays.copyOf(objects, newCapacity);
+            primitive = Arrays.copyOf(primitive, newCapacity);
+            numbers = Arrays.copyOf(numbers, newCapacity);
+            numberOffsets = Arrays.copyOf(numberOffsets, newCapacity);
+            numberLengths = Arrays.copyOf(numberLengths, newCapacity);
+        }
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(String.valueOf(index));
+        }
+    }
+}
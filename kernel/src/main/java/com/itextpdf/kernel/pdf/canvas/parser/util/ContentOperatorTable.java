@@ -0,0 +1,185 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2016 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.kernel.pdf.canvas.parser.util;
+
+import com.itextpdf.io.source.ByteUtils;
+
+import java.util.Arrays;
+
+/**
+ * Interns content stream operators into dense integer ids, so that an operator token can be
+ * resolved directly from the bytes of the tokenizer without creating a string for it.
+ */
+public class ContentOperatorTable {
+
+    /**
+     * The id of the operators which are not registered in the table.
+     */
+    public static final int UNKNOWN_OPERATOR = -1;
+
+    private static final int INITIAL_CAPACITY = 128;
+
+    private byte[][] keys = new byte[INITIAL_CAPACITY][];
+    private int[] slotIds = new int[INITIAL_CAPACITY];
+    private String[] operators = new String[INITIAL_CAPACITY / 2];
+    private int size;
+
+    /**
+     * Registers an operator in the table. Registering the same operator again doesn't change its id.
+     *
+     * @param operator the operator string
+     * @return the id of the operator
+     */
+    public int register(String operator) {
+        byte[] key = ByteUtils.getIsoBytes(operator);
+        int id = getId(key, 0, key.length);
+        if (id != UNKNOWN_OPERATOR) {
+            return id;
+        }
+        if (2 * (size + 1) > keys.length) {
+            rehash(keys.length * 2);
+        }
+        id = size++;
+        if (id == operators.length) {
+            operators = Arrays.copyOf(operators, operators.length * 2);
+        }
+        operators[id] = operator;
+        insert(key, id);
+        return id;
+    }
+
+    /**
+     * Gets the id of the registered operator.
+     *
+     * @param operator the operator string
+     * @return the id of the operator or {@link #UNKNOWN_OPERATOR} if it is not registered
+     */
+    public int getId(String operator) {
+        byte[] key = ByteUtils.getIsoBytes(operator);
+        return getId(key, 0, key.length);
+    }
+
+    /**
+     * Gets the id of the registered operator, which bytes are stored in the given array slice.
+     *
+     * @param token  the array with the operator bytes
+     * @param offset the offset of the operator in the array
+     * @param length the length of the operator
+     * @return the id of the operator or {@link #UNKNOWN_OPERATOR} if it is not registered
+     */
+    public int getId(byte[] token, int offset, int length) {
+        int mask = keys.length - 1;
+        for (int slot = hash(token, offset, length) & mask; keys[slot] != null; slot = (slot + 1) & mask) {
+            if (equals(keys[slot], token, offset, length)) {
+                return slotIds[slot];
+            }
+        }
+        return UNKNOWN_OPERATOR;
+    }
+
+    /**
+     * Gets the operator string by its id.
+     *
+     * @param id the id of the operator
+     * @return the operator string
+     */
+    public String getOperator(int id) {
+        if (id < 0 || id >= size) {
+            throw new IndexOutOfBoundsException(String.valueOf(id));
+        }
+        return operators[id];
+    }
+
+    /**
+     * Gets the number of the registered operators. The ids of the registered operators
+     * are in the range from 0 (inclusive) to the returned value (exclusive).
+     *
+     * @return the number of the registered operators
+     */
+    public int size() {
+        return size;
+    }
+
+    private void insert(byte[] key, int id) {
+        int mask = keys.length - 1;
+        int slot = hash(key, 0, key.length) & mask;
+        while (keys[slot] != null) {
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        slotIds[slot] = id;
+    }
+
+    private void rehash(int capacity) {
+        byte[][] oldKeys = keys;
+        int[] oldIds = slotIds;
+        keys = new byte[capacity][];
+        slotIds = new int[capacity];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != null) {
+                insert(oldKeys[i], oldIds[i]);
+            }
+        }
+    }
+
+    private static int hash(byte[] token, int offset, int length) {
+        int hash = length;
+        for (int i = offset; i < offset + length; i++) {
+            hash = 31 * hash + token[i];
+        }
+        return hash ^ (hash >>> 16);
+    }
+
+    private static boolean equals(byte[] key, byte[] token, int offset, int length) {
+        if (key.length != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (key[i] != token[offset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -44,6 +44,7 @@
 package com.itextpdf.kernel.pdf.canvas.parser.util;
 
 import com.itextpdf.kernel.PdfException;
+import com.itextpdf.io.source.ByteUtils;
 import com.itextpdf.io.source.PdfTokenizer;
 import com.itextpdf.kernel.pdf.PdfArray;
 import com.itextpdf.kernel.pdf.PdfDictionary;
@@ -65,6 +66,9 @@ import java.util.List;
  */
 public class PdfCanvasParser {
 
+    private static final byte[] BI = ByteUtils.getIsoBytes("BI");
+    private static final byte[] EI = ByteUtils.getIsoBytes("EI");
+
     /**
      * Holds value of property tokeniser.
      */
@@ -127,6 +131,44 @@ public class PdfCanvasParser {
         return ls;
     }
 
+    /**
+     * Parses a single command from the content into a reusable operand stack. Numeric operands are
+     * kept as primitive values and the operator is resolved to its id in the given operator table
+     * directly from the token bytes, so parsing a command with only numeric operands doesn't create
+     * any objects.
+     * <br>
+     * Inline images are handled in the same way as in {@link #parse(List)}: the stack will contain
+     * a single {@link PdfStream} operand and the EI operator.
+     * @param operands the stack to use. It will be cleared before using
+     * @param operatorTable the table to resolve the operator ids
+     * @return <CODE>true</CODE> if a command was read, <CODE>false</CODE> if the end of content was reached
+     * @throws IOException on error
+     */
+    public boolean parse(ContentOperandStack operands, ContentOperatorTable operatorTable) throws IOException {
+        operands.clear();
+        while (nextValidToken()) {
+            final PdfTokenizer.TokenType type = tokeniser.getTokenType();
+            if (type == PdfTokenizer.TokenType.Number) {
+                operands.pushNumber(tokeniser.getTokenBuffer(), tokeniser.getTokenLength(), tokeniser.getDoubleValue());
+            } else if (type == PdfTokenizer.TokenType.Other) {
+                if (tokeniser.tokenValueEqualsTo(BI)) {
+                    PdfStream inlineImageAsStream = InlineImageParsingUtils.parse(this, currentResources.getResource(PdfName.ColorSpace));
+                    operands.clear();
+                    operands.pushObject(inlineImageAsStream);
+                    operands.setOperator(EI, EI.length, operatorTable.getId(EI, 0, EI.length));
+                } else {
+                    byte[] token = tokeniser.getTokenBuffer();
+                    int length = tokeniser.getTokenLength();
+                    operands.setOperator(token, length, operatorTable.getId(token, 0, length));
+                }
+                return true;
+            } else {
+                operands.pushObject(readCurrentObject());
+            }
+        }
+        return false;
+    }
+
     /**
      * Gets the tokeniser.
      * @return the tokeniser.
@@ -190,6 +232,10 @@ public class PdfCanvasParser {
     public PdfObject readObject() throws IOException {
         if (!nextValidToken())
             return null;
+        return readCurrentObject();
+    }
+
+    private PdfObject readCurrentObject() throws IOException {
         final PdfTokenizer.TokenType type = tokeniser.getTokenType();
         switch (type) {
             case StartDic: {
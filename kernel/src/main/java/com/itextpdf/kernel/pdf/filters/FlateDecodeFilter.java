@@ -43,6 +43,7 @@
  */
 package com.itextpdf.kernel.pdf.filters;
 
+import com.itextpdf.io.codec.FlateCodecs;
 import com.itextpdf.kernel.PdfException;
 import com.itextpdf.kernel.pdf.PdfDictionary;
 import com.itextpdf.kernel.pdf.PdfName;
@@ -53,6 +54,7 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
 import java.io.IOException;
+import java.util.zip.DataFormatException;
 import java.util.zip.InflaterInputStream;
 
 /**
@@ -62,7 +64,14 @@ public class FlateDecodeFilter implements IFilterHandler {
 
     @Override
     public byte[] decode(byte[] b, PdfName filterName, PdfObject decodeParams, PdfDictionary streamDictionary) {
-        byte[] res = flateDecode(b, true);
+        int expectedLength = 0;
+        if (streamDictionary != null) {
+            PdfNumber dl = streamDictionary.getAsNumber(PdfName.DL);
+            if (dl != null && dl.getValue() > 0 && dl.getValue() <= Integer.MAX_VALUE) {
+                expectedLength = dl.intValue();
+            }
+        }
+        byte[] res = flateDecode(b, true, expectedLength);
         if (res == null)
             res = flateDecode(b, false);
         b = decodePredictor(res, decodeParams);
@@ -77,10 +86,33 @@ public class FlateDecodeFilter implements IFilterHandler {
      * @return the decoded data
      */
     public static byte[] flateDecode(byte[] in, boolean strict) {
+        return flateDecode(in, strict, 0);
+    }
+
+    /**
+     * A helper to flateDecode.
+     * <br>
+     * A correct stream is decoded by the {@link com.itextpdf.io.codec.IFlateCodec} of {@link FlateCodecs}.
+     * A corrupted stream is read byte by byte, to recover as much data as possible.
+     *
+     * @param in the input data
+     * @param strict {@code true} to read a correct stream. {@code false} to try to read a corrupted stream.
+     * @param expectedLength the expected length of the decoded data, e.g. the value of the /DL entry,
+     *                       or 0 if it is unknown. It is only a hint for the size of the output buffer.
+     * @return the decoded data
+     */
+    public static byte[] flateDecode(byte[] in, boolean strict, int expectedLength) {
+        if (strict) {
+            try {
+                return FlateCodecs.getCodec().inflate(in, expectedLength);
+            } catch (DataFormatException e) {
+                return null;
+            }
+        }
         ByteArrayInputStream stream = new ByteArrayInputStream(in);
         InflaterInputStream zip = new InflaterInputStream(stream);
         ByteArrayOutputStream out = new ByteArrayOutputStream();
-        byte[] b = new byte[strict ? 4092 : 1];
+        byte[] b = new byte[1];
         try {
             int n;
             while ((n = zip.read(b)) >= 0) {
@@ -91,8 +123,6 @@ public class FlateDecodeFilter implements IFilterHandler {
             return out.toByteArray();
         }
         catch (Exception e) {
-            if (strict)
-                return null;
             return out.toByteArray();
         }
     }
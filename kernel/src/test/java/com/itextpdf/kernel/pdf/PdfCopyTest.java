@@ -195,4 +195,78 @@ public class PdfCopyTest extends ExtendedITextTest {
         assertNull(new CompareTool().compareByContent(destinationFolder + "copySamePageWithAnnotationsSeveralTimes.pdf", sourceFolder + "cmp_copySamePageWithAnnotationsSeveralTimes.pdf", destinationFolder, "diff_"));
     }
 
+
+    @Test
+    public void copyWithSmartModeDigestIndex() throws IOException {
+        String srcFilename = destinationFolder + "copyWithSmartModeDigestIndex_src.pdf";
+        PdfDocument srcDoc = new PdfDocument(new PdfWriter(srcFilename));
+        for (int i = 0; i < 10; i++) {
+            PdfPage page = srcDoc.addNewPage();
+            PdfStream stream = new PdfStream(ByteUtils.getIsoBytes("Shared stream content"));
+            stream.makeIndirect(srcDoc);
+            PdfDictionary shared = new PdfDictionary();
+            shared.put(new PdfName("Stream"), stream);
+            shared.put(new PdfName("Value"), new PdfNumber(42));
+            page.getPdfObject().put(new PdfName("Shared"), shared.makeIndirect(srcDoc));
+        }
+        srcDoc.close();
+
+        srcDoc = new PdfDocument(new PdfReader(srcFilename));
+        PdfWriter writer = new PdfWriter(destinationFolder + "copyWithSmartModeDigestIndex.pdf",
+                new WriterProperties().useSmartModeDigestIndex(100));
+        PdfDocument destDoc = new PdfDocument(writer);
+        srcDoc.copyPagesTo(1, srcDoc.getNumberOfPages(), destDoc);
+        SmartModeStatistics statistics = writer.getSmartModeStatistics();
+        destDoc.close();
+        srcDoc.close();
+
+        Assert.assertTrue(statistics.getHitsCount() >= 9);
+        Assert.assertTrue(statistics.getSavedBytes() > 0);
+
+        PdfDocument resultDoc = new PdfDocument(new PdfReader(destinationFolder + "copyWithSmartModeDigestIndex.pdf"));
+        PdfIndirectReference sharedRef = resultDoc.getPage(1).getPdfObject().getAsDictionary(new PdfName("Shared")).getIndirectReference();
+        for (int i = 2; i <= resultDoc.getNumberOfPages(); i++) {
+            PdfDictionary shared = resultDoc.getPage(i).getPdfObject().getAsDictionary(new PdfName("Shared"));
+            assertEquals(sharedRef, shared.getIndirectReference());
+            assertEquals(42, shared.getAsNumber(new PdfName("Value")).intValue());
+        }
+        resultDoc.close();
+    }
+
+    @Test
+    public void copyWithStreamPassthrough() throws IOException {
+        String srcFilename = destinationFolder + "copyWithStreamPassthrough_src.pdf";
+        PdfDocument srcDoc = new PdfDocument(new PdfWriter(srcFilename));
+        for (int i = 1; i <= 6; i++) {
+            PdfPage page = srcDoc.addNewPage();
+            page.getFirstContentStream().setData(ByteUtils.getIsoBytes("BT /F1 12 Tf 36 700 Td (Page " + i + ") Tj ET"));
+        }
+        srcDoc.close();
+
+        srcDoc = new PdfDocument(new PdfReader(srcFilename));
+        PdfDocument destDoc = new PdfDocument(new PdfWriter(destinationFolder + "copyWithStreamPassthrough.pdf",
+                new WriterProperties().useStreamPassthrough()));
+        srcDoc.copyPagesTo(1, srcDoc.getNumberOfPages(), destDoc);
+        for (int i = 1; i <= destDoc.getNumberOfPages(); i++) {
+            Assert.assertTrue(destDoc.getPage(i).getPdfObject().getAsStream(PdfName.Contents).hasPassthroughContent());
+        }
+        // first pages are written directly from the source, the rest are read into memory on closing the source
+        for (int i = 1; i <= 3; i++) {
+            destDoc.getPage(i).flush();
+        }
+        srcDoc.close();
+        Assert.assertFalse(destDoc.getPage(4).getPdfObject().getAsStream(PdfName.Contents).hasPassthroughContent());
+        destDoc.close();
+
+        srcDoc = new PdfDocument(new PdfReader(srcFilename));
+        PdfDocument resultDoc = new PdfDocument(new PdfReader(destinationFolder + "copyWithStreamPassthrough.pdf"));
+        assertEquals(srcDoc.getNumberOfPages(), resultDoc.getNumberOfPages());
+        for (int i = 1; i <= srcDoc.getNumberOfPages(); i++) {
+            Assert.assertArrayEquals(srcDoc.getPage(i).getContentBytes(), resultDoc.getPage(i).getContentBytes());
+            Assert.assertArrayEquals(srcDoc.getPage(i).getFirstContentStream().getBytes(false),
+                    resultDoc.getPage(i).getFirstContentStream().getBytes(false));
+        }
+        resultDoc.close();
+        srcDoc.close();
+    }
 }
@@ -1,7 +1,11 @@
 package com.itextpdf.kernel.pdf;
 
+import com.itextpdf.io.codec.FlateCodecs;
+import com.itextpdf.io.codec.IFlateCodec;
+import com.itextpdf.io.codec.PooledFlateCodec;
 import com.itextpdf.io.image.ImageDataFactory;
 import com.itextpdf.io.source.DeflaterOutputStream;
+import com.itextpdf.kernel.pdf.filters.FlateDecodeFilter;
 import com.itextpdf.kernel.pdf.navigation.PdfDestination;
 import com.itextpdf.kernel.utils.CompareTool;
 import com.itextpdf.test.ExtendedITextTest;
@@ -13,6 +17,10 @@ import org.junit.experimental.categories.Category;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.Deflater;
 
 import static org.junit.Assert.*;
 
@@ -248,6 +256,69 @@ public class PdfDocumentTest extends ExtendedITextTest {
         zip2.close();
     }
 
+    @Test
+    public void flateCodecRoundTrip() throws IOException {
+        byte[] data = new byte[100000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) (i % 251 * (i / 1000));
+        }
+        byte[] firstZipped = null;
+        for (int k = 0; k < 3; k++) {
+            // the deflaters are reused, so every round must produce the same stream
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+            DeflaterOutputStream zip = new DeflaterOutputStream(compressed, 9);
+            zip.write(data);
+            zip.close();
+            byte[] zipped = compressed.toByteArray();
+            if (firstZipped == null) {
+                firstZipped = zipped;
+            } else {
+                Assert.assertArrayEquals(firstZipped, zipped);
+            }
+
+            Assert.assertArrayEquals(data, FlateDecodeFilter.flateDecode(zipped, true));
+            Assert.assertArrayEquals(data, FlateDecodeFilter.flateDecode(zipped, true, data.length));
+            Assert.assertArrayEquals(data, FlateDecodeFilter.flateDecode(zipped, true, 10));
+
+            PdfDictionary streamDictionary = new PdfDictionary();
+            streamDictionary.put(PdfName.DL, new PdfNumber(data.length));
+            Assert.assertArrayEquals(data, new FlateDecodeFilter().decode(zipped, PdfName.FlateDecode, null, streamDictionary));
+            // a huge /DL is only a hint and doesn't allocate a buffer of that size
+            streamDictionary.put(PdfName.DL, new PdfNumber(2000000000));
+            Assert.assertArrayEquals(data, new FlateDecodeFilter().decode(zipped, PdfName.FlateDecode, null, streamDictionary));
+            Assert.assertArrayEquals(data, FlateDecodeFilter.flateDecode(zipped, true, Integer.MAX_VALUE));
+
+            byte[] truncated = Arrays.copyOf(zipped, zipped.length / 2);
+            assertNull(FlateDecodeFilter.flateDecode(truncated, true));
+            byte[] recovered = FlateDecodeFilter.flateDecode(truncated, false);
+            Assert.assertTrue(recovered.length > 0 && recovered.length < data.length);
+            Assert.assertArrayEquals(Arrays.copyOf(data, recovered.length), recovered);
+        }
+    }
+
+    @Test
+    public void deflaterReleasedToItsCodec() throws IOException {
+        final List<Deflater> released = new ArrayList<>();
+        IFlateCodec recordingCodec = new PooledFlateCodec() {
+            @Override
+            public void releaseDeflater(Deflater deflater) {
+                released.add(deflater);
+                super.releaseDeflater(deflater);
+            }
+        };
+        FlateCodecs.setCodec(recordingCodec);
+        try {
+            DeflaterOutputStream zip = new DeflaterOutputStream(new ByteArrayOutputStream());
+            // the codec is replaced while the stream is still open
+            FlateCodecs.setCodec(null);
+            zip.write(new byte[] {1, 2, 3});
+            zip.close();
+            Assert.assertEquals(1, released.size());
+        } finally {
+            FlateCodecs.setCodec(null);
+        }
+    }
+
     @Test
     public void testFreeReference() throws IOException, InterruptedException {
         PdfWriter writer = new PdfWriter(destinationFolder + "freeReference.pdf", new WriterProperties().setFullCompressionMode(false));
@@ -3,6 +3,8 @@ package com.itextpdf.kernel.pdf;
 import com.itextpdf.io.LogMessageConstant;
 import com.itextpdf.io.source.ByteArrayOutputStream;
 import com.itextpdf.io.source.ByteUtils;
+import com.itextpdf.io.source.MemoryMappingPolicy;
+import com.itextpdf.io.source.MemoryMappingStatistics;
 import com.itextpdf.kernel.PdfException;
 import com.itextpdf.test.ExtendedITextTest;
 import com.itextpdf.test.annotations.LogMessage;
@@ -14,12 +16,21 @@ import org.junit.Ignore;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Category(IntegrationTest.class)
 public class PdfReaderTest extends ExtendedITextTest {
@@ -360,6 +371,309 @@ public class PdfReaderTest extends ExtendedITextTest {
         document.close();
     }
 
+    @Test
+    public void compactXrefStorageTest() throws IOException {
+        String[] files = {"1000PagesDocumentAppended.pdf", "1000PagesDocumentWithFullCompressionAppended.pdf",
+                "10PagesDocumentWithFullCompressionAppended.pdf", "freeReferences.pdf"};
+        for (String file : files) {
+            String filename = sourceFolder + file;
+            PdfDocument document = new PdfDocument(new PdfReader(filename));
+            PdfDocument compactDocument = new PdfDocument(new PdfReader(filename, new ReaderProperties().useCompactXrefStorage()));
+            Assert.assertTrue(compactDocument.getXref().isCompactStorageUsed());
+            Assert.assertEquals(document.getNumberOfPages(), compactDocument.getNumberOfPages());
+            for (int i = 1; i <= document.getNumberOfPages(); i++) {
+                Assert.assertArrayEquals(document.getPage(i).getContentBytes(), compactDocument.getPage(i).getContentBytes());
+            }
+            Assert.assertEquals(document.getNumberOfPdfObjects(), compactDocument.getNumberOfPdfObjects());
+            int compactXrefSize = compactDocument.getXref().size();
+            for (int i = 0; i < document.getNumberOfPdfObjects(); i++) {
+                PdfIndirectReference reference = document.getXref().get(i);
+                PdfIndirectReference compactReference = compactDocument.getXref().get(i);
+                if (reference == null) {
+                    Assert.assertNull(compactReference);
+                    continue;
+                }
+                Assert.assertEquals(reference.getGenNumber(), compactReference.getGenNumber());
+                Assert.assertEquals(reference.checkState(PdfObject.FREE), compactReference.checkState(PdfObject.FREE));
+                Assert.assertEquals(reference.getOffset(), compactReference.getOffset());
+                Assert.assertEquals(reference.getObjStreamNumber(), compactReference.getObjStreamNumber());
+                Assert.assertSame(compactReference, compactDocument.getXref().get(i));
+            }
+            Assert.assertEquals(compactXrefSize, compactDocument.getXref().size());
+            Assert.assertFalse(compactDocument.getReader().hasRebuiltXref());
+            document.close();
+            compactDocument.close();
+        }
+    }
+
+    @Test
+    @LogMessages(messages = @LogMessage(messageTemplate = LogMessageConstant.XREF_ERROR, count = 4))
+    public void parallelXrefRebuildTest() throws IOException {
+        String[] files = {"1000PagesDocumentAppended.pdf", "1000PagesDocument.pdf"};
+        for (String file : files) {
+            byte[] bytes = Files.readAllBytes(Paths.get(sourceFolder + file));
+            // corrupt the last startxref offset so that the xref table has to be rebuilt
+            String content = new String(bytes, "ISO-8859-1");
+            int offsetStart = content.lastIndexOf("startxref") + "startxref".length() + 1;
+            while (Character.isDigit(content.charAt(offsetStart))) {
+                bytes[offsetStart++] = '1';
+            }
+
+            PdfDocument document = new PdfDocument(new PdfReader(new ByteArrayInputStream(bytes)));
+            PdfDocument parallelDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(bytes),
+                    new ReaderProperties().useParallelXrefRebuild(4)));
+            Assert.assertTrue(document.getReader().hasRebuiltXref());
+            Assert.assertTrue(parallelDocument.getReader().hasRebuiltXref());
+            Assert.assertEquals(document.getTrailer().toString(), parallelDocument.getTrailer().toString());
+            Assert.assertEquals(document.getNumberOfPdfObjects(), parallelDocument.getNumberOfPdfObjects());
+            for (int i = 1; i < document.getNumberOfPdfObjects(); i++) {
+                PdfIndirectReference reference = document.getXref().get(i);
+                PdfIndirectReference parallelReference = parallelDocument.getXref().get(i);
+                if (reference == null) {
+                    Assert.assertNull(parallelReference);
+                    continue;
+                }
+                Assert.assertEquals(reference.getGenNumber(), parallelReference.getGenNumber());
+                Assert.assertEquals(reference.getOffset(), parallelReference.getOffset());
+            }
+            Assert.assertEquals(document.getNumberOfPages(), parallelDocument.getNumberOfPages());
+            for (int i = 1; i <= document.getNumberOfPages(); i++) {
+                Assert.assertArrayEquals(document.getPage(i).getContentBytes(), parallelDocument.getPage(i).getContentBytes());
+            }
+            document.close();
+            parallelDocument.close();
+        }
+    }
+
+    @Test
+    public void prefetchObjectsTest() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument pdfDoc = new PdfDocument(new PdfWriter(baos, new WriterProperties().setFullCompressionMode(true)));
+        for (int i = 1; i <= 3; i++) {
+            PdfPage page = pdfDoc.addNewPage();
+            PdfDictionary extGStates = new PdfDictionary();
+            // the states of a page span several object streams
+            for (int j = 0; j < 500; j++) {
+                PdfDictionary state = new PdfDictionary();
+                state.put(PdfName.LW, new PdfNumber(j));
+                state.put(PdfName.D, new PdfArray(new int[] {i, j}).makeIndirect(pdfDoc));
+                extGStates.put(new PdfName("GS" + j), state.makeIndirect(pdfDoc));
+            }
+            page.getResources().getPdfObject().put(PdfName.ExtGState, extGStates);
+        }
+        pdfDoc.close();
+
+        for (int parallelism = 1; parallelism <= 4; parallelism += 3) {
+            PdfDocument document = new PdfDocument(new PdfReader(new ByteArrayInputStream(baos.toByteArray())));
+            for (int i = 1; i <= 3; i++) {
+                PdfDictionary page = document.getPage(i).getPdfObject();
+                document.getReader().prefetchObjects(page, parallelism);
+                assertReferencesRead(page.get(PdfName.Resources, false));
+                PdfDictionary extGStates = page.getAsDictionary(PdfName.Resources).getAsDictionary(PdfName.ExtGState);
+                Assert.assertEquals(500, extGStates.size());
+                for (int j = 0; j < 500; j++) {
+                    PdfDictionary state = extGStates.getAsDictionary(new PdfName("GS" + j));
+                    Assert.assertEquals(j, state.getAsNumber(PdfName.LW).intValue());
+                    Assert.assertEquals(i, state.getAsArray(PdfName.D).getAsNumber(0).intValue());
+                }
+            }
+            document.close();
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        PdfDocument document = new PdfDocument(new PdfReader(new ByteArrayInputStream(baos.toByteArray())));
+        for (int i = 1; i <= 3; i++) {
+            PdfDictionary page = document.getPage(i).getPdfObject();
+            document.getReader().prefetchObjects(page, executor);
+            assertReferencesRead(page.get(PdfName.Resources, false));
+        }
+        Assert.assertFalse(executor.isShutdown());
+        executor.shutdown();
+        document.close();
+    }
+
+    @Test
+    public void prefetchNestedIndirectDecodeParmsTest() {
+        PdfDocument pdfDoc = new PdfDocument(new PdfWriter(new ByteArrayOutputStream()));
+        PdfStream stream = new PdfStream();
+        stream.put(PdfName.Filter, PdfName.FlateDecode);
+        Assert.assertTrue(PdfReader.hasDirectFilters(stream));
+
+        PdfDictionary decodeParms = new PdfDictionary();
+        decodeParms.put(PdfName.Predictor, new PdfNumber(12));
+        decodeParms.put(PdfName.Columns, new PdfNumber(5));
+        stream.put(PdfName.DecodeParms, decodeParms);
+        Assert.assertTrue(PdfReader.hasDirectFilters(stream));
+
+        decodeParms.put(PdfName.Columns, new PdfNumber(5).makeIndirect(pdfDoc).getIndirectReference());
+        Assert.assertFalse(PdfReader.hasDirectFilters(stream));
+
+        stream.put(PdfName.DecodeParms, new PdfArray(decodeParms));
+        Assert.assertFalse(PdfReader.hasDirectFilters(stream));
+        pdfDoc.addNewPage();
+        pdfDoc.close();
+    }
+
+    private static void assertReferencesRead(PdfObject object) {
+        if (object.isIndirectReference()) {
+            Assert.assertNotNull(((PdfIndirectReference) object).refersTo);
+            object = ((PdfIndirectReference) object).refersTo;
+        }
+        if (object.isDictionary() || object.isStream()) {
+            for (PdfName key : ((PdfDictionary) object).keySet()) {
+                assertReferencesRead(((PdfDictionary) object).get(key, false));
+            }
+        } else if (object.isArray()) {
+            for (int i = 0; i < ((PdfArray) object).size(); i++) {
+                assertReferencesRead(((PdfArray) object).get(i, false));
+            }
+        }
+    }
+
+    @Test
+    public void memoryMappingPolicyTest() throws IOException {
+        String filename = sourceFolder + "1000PagesDocument.pdf";
+        PdfDocument document = new PdfDocument(new PdfReader(filename));
+        MemoryMappingStatistics statistics = document.getReader().getMemoryMappingStatistics();
+        // the small file is mapped entirely
+        Assert.assertEquals(1, statistics.getPageFaults());
+        Assert.assertEquals(document.getReader().getFileLength(), statistics.getPeakMappedBytes());
+
+        MemoryMappingPolicy policy = new MemoryMappingPolicy().setPageSize(4096).setMaxOpenPages(2).setPreload(true);
+        PdfDocument pagedDocument = new PdfDocument(new PdfReader(filename, new ReaderProperties().useMemoryMapping(policy)));
+        for (int i = 1; i <= document.getNumberOfPages(); i++) {
+            Assert.assertArrayEquals(document.getPage(i).getContentBytes(), pagedDocument.getPage(i).getContentBytes());
+        }
+        MemoryMappingStatistics pagedStatistics = pagedDocument.getReader().getMemoryMappingStatistics();
+        Assert.assertTrue(pagedStatistics.getPageFaults() > document.getReader().getFileLength() / 4096);
+        Assert.assertTrue(pagedStatistics.getPeakMappedBytes() <= 2 * 4096);
+        Assert.assertEquals(0, pagedStatistics.getMapFailures());
+        document.close();
+        pagedDocument.close();
+        Assert.assertEquals(0, statistics.getMappedBytes());
+        Assert.assertEquals(0, pagedStatistics.getMappedBytes());
+    }
+
+    @Test
+    public void concurrentReadAccessTest() throws Exception {
+        String[] files = {"1000PagesDocument.pdf", "1000PagesDocumentWithFullCompression.pdf"};
+        for (String file : files) {
+            final PdfDocument document = new PdfDocument(new PdfReader(sourceFolder + file,
+                    new ReaderProperties().useConcurrentReadAccess()));
+            final int pageCount = document.getNumberOfPages();
+            int threadCount = 8;
+            ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+            List<Future<PdfPage[]>> results = new ArrayList<>();
+            for (int t = 0; t < threadCount; t++) {
+                final int firstPage = t * pageCount / threadCount;
+                results.add(executor.submit(new Callable<PdfPage[]>() {
+                    @Override
+                    public PdfPage[] call() {
+                        PdfPage[] pages = new PdfPage[pageCount];
+                        for (int i = 0; i < pageCount; i++) {
+                            int pageNum = (firstPage + i) % pageCount + 1;
+                            PdfPage page = document.getPage(pageNum);
+                            String content = new String(page.getContentBytes());
+                            Assert.assertTrue(content.contains("(" + pageNum + ")"));
+                            pages[pageNum - 1] = page;
+                        }
+                        return pages;
+                    }
+                }));
+            }
+            PdfPage[] pages = results.get(0).get();
+            for (Future<PdfPage[]> result : results) {
+                Assert.assertArrayEquals(pages, result.get());
+            }
+            executor.shutdown();
+            for (int i = 0; i < pageCount; i++) {
+                Assert.assertSame(pages[i], document.getPage(i + 1));
+            }
+            document.close();
+        }
+    }
+
+    @Test
+    public void concurrentXrefTableAccessTest() throws Exception {
+        final AtomicReference<PdfXrefTable> currentTable = new AtomicReference<>();
+        final AtomicBoolean done = new AtomicBoolean(false);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Integer> lookups = executor.submit(new Callable<Integer>() {
+                @Override
+                public Integer call() {
+                    // lookups without the lock, as done by concurrent readers, while the table grows
+                    int found = 0;
+                    while (!done.get()) {
+                        PdfXrefTable table = currentTable.get();
+                        if (table == null) {
+                            continue;
+                        }
+                        int last = table.size() - 1;
+                        for (int i = last + 1; i > last - 4 && i > 0; i--) {
+                            if (table.get(i) != null) {
+                                found++;
+                            }
+                        }
+                    }
+                    return found;
+                }
+            });
+            try {
+                for (int round = 0; round < 2000; round++) {
+                    PdfXrefTable table = new PdfXrefTable(1);
+                    currentTable.set(table);
+                    for (int i = 1; i <= 4096; i++) {
+                        synchronized (table) {
+                            table.add(new PdfIndirectReference(null, i, 0, 0));
+                        }
+                    }
+                    Assert.assertEquals(4097, table.size());
+                }
+            } finally {
+                done.set(true);
+            }
+            // rethrows the exception of the lookups, if any
+            lookups.get();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void boundedObjectCacheTest() throws IOException {
+        String[] files = {"1000PagesDocument.pdf", "1000PagesDocumentWithFullCompression.pdf"};
+        for (String file : files) {
+            PdfDocument document = new PdfDocument(new PdfReader(sourceFolder + file,
+                    new ReaderProperties().useBoundedObjectCache(50)));
+            BoundedObjectCache cache = document.getReader().objectCache;
+            for (int pass = 0; pass < 2; pass++) {
+                for (int i = 1; i <= document.getNumberOfPages(); i++) {
+                    PdfPage page = document.getPage(i);
+                    String content = new String(page.getContentBytes());
+                    Assert.assertTrue(content.contains("(" + i + ")"));
+                }
+            }
+            Assert.assertTrue(cache.size() <= 50);
+            Assert.assertTrue(cache.getReleasedCount() > 0);
+
+            int readObjects = 0;
+            for (int i = 1; i < document.getNumberOfPdfObjects(); i++) {
+                PdfIndirectReference reference = document.getXref().get(i);
+                if (reference != null && reference.refersTo != null) {
+                    PdfObject object = reference.refersTo;
+                    // page tree objects and the objects kept by the document are not released
+                    boolean isPageTreeObject = object instanceof PdfDictionary && ((PdfDictionary) object).getAsName(PdfName.Type) != null;
+                    if (!isPageTreeObject && !object.checkState(PdfObject.FORBID_RELEASE)) {
+                        readObjects++;
+                    }
+                }
+            }
+            Assert.assertTrue(readObjects <= 50);
+            document.close();
+        }
+    }
+
     @Test
     public void pagesTest02() throws IOException {
         String filename = sourceFolder + "1000PagesDocumentWithFullCompression.pdf";
@@ -2,6 +2,7 @@ package com.itextpdf.kernel.pdf;
 
 import com.itextpdf.io.source.ByteUtils;
 import com.itextpdf.io.util.DateTimeUtil;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
 import com.itextpdf.kernel.xmp.XMPException;
 import com.itextpdf.kernel.xmp.XMPMetaFactory;
 import com.itextpdf.test.ExtendedITextTest;
@@ -1225,6 +1226,49 @@ public class PdfStampingTest extends ExtendedITextTest {
         assertTrue(coef < 0.01);
     }
 
+    @Test
+    public void stampingAppendModeWithPageFlushing() throws IOException {
+        String filename1 = destinationFolder + "stampingAppendModeWithPageFlushing_1.pdf";
+        String filename2 = destinationFolder + "stampingAppendModeWithPageFlushing_2.pdf";
+        int pageCount = 20;
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            content.append("%original content line\n");
+        }
+
+        PdfDocument pdfDoc1 = new PdfDocument(new PdfWriter(filename1, new WriterProperties().setCompressionLevel(CompressionConstants.NO_COMPRESSION)));
+        for (int i = 1; i <= pageCount; i++) {
+            pdfDoc1.addNewPage().getFirstContentStream().getOutputStream().write(ByteUtils.getIsoBytes(content.toString()));
+        }
+        pdfDoc1.close();
+
+        PdfDocument pdfDoc2 = new PdfDocument(new PdfReader(filename1), new PdfWriter(filename2), new StampingProperties().useAppendMode());
+        for (int i = 1; i <= pageCount; i++) {
+            PdfPage page = pdfDoc2.getPage(i);
+            PdfIndirectReference originalContentReference = page.getFirstContentStream().getIndirectReference();
+            new PdfCanvas(page).rectangle(10, 10, 100, 100).fill().release();
+            page.flush();
+            assertTrue(page.isFlushed());
+            assertFalse("Unmodified content stream shall not be written again", originalContentReference.checkState(PdfObject.FLUSHED));
+        }
+        pdfDoc2.close();
+
+        long appendedBytes = new File(filename2).length() - new File(filename1).length();
+        assertTrue("Unmodified content streams shall not be written again", appendedBytes < content.length());
+
+        PdfReader reader = new PdfReader(filename2);
+        PdfDocument pdfDoc3 = new PdfDocument(reader);
+        assertFalse("Rebuilt", reader.hasRebuiltXref());
+        assertEquals(pageCount, pdfDoc3.getNumberOfPages());
+        for (int i = 1; i <= pageCount; i++) {
+            PdfPage page = pdfDoc3.getPage(i);
+            assertEquals(3, page.getContentStreamCount());
+            assertEquals(content.toString(), new String(page.getContentStream(1).getBytes()));
+            assertTrue(new String(page.getContentStream(2).getBytes()).contains(" re"));
+        }
+        pdfDoc3.close();
+    }
+
     static void verifyPdfPagesCount(PdfObject root) {
         if (root.getType() == PdfObject.INDIRECT_REFERENCE)
             root = ((PdfIndirectReference) root).getRefersTo();
@@ -292,4 +292,55 @@ public class PdfTokenizerTest {
         tok.nextToken();
         Assert.assertTrue(tok.tokenValueEqualsTo(data.getBytes(StandardCharsets.ISO_8859_1)));
     }
+
+    @Test
+    public void integerValuesTest() throws Exception {
+        String data = "[12 0 R 7 8 9 +5 007 -0 -2147483648 2147483648 1.5 --3 12 5 obj]/Type/Typ#65";
+        RandomAccessSourceFactory factory = new RandomAccessSourceFactory();
+        PdfTokenizer tok = new PdfTokenizer(new RandomAccessFileOrArray(factory.createSource(data.getBytes(StandardCharsets.ISO_8859_1))));
+
+        tok.nextValidToken();
+        Assert.assertSame(PdfTokenizer.TokenType.StartArray, tok.getTokenType());
+        tok.nextValidToken();
+        Assert.assertSame(PdfTokenizer.TokenType.Ref, tok.getTokenType());
+        Assert.assertEquals(12, tok.getObjNr());
+        Assert.assertEquals(0, tok.getGenNr());
+
+        // the looked ahead numbers are restored
+        int[] intValues = {7, 8, 9, 5, 7, 0, Integer.MIN_VALUE};
+        boolean[] canonical = {true, true, true, false, false, false, false};
+        for (int i = 0; i < intValues.length; i++) {
+            tok.nextValidToken();
+            Assert.assertSame(PdfTokenizer.TokenType.Number, tok.getTokenType());
+            Assert.assertEquals(intValues[i], tok.getIntValue());
+            Assert.assertEquals(canonical[i], tok.isCanonicalIntValue());
+        }
+        tok.nextValidToken();
+        Assert.assertEquals(2147483648L, tok.getLongValue());
+        Assert.assertFalse(tok.isCanonicalIntValue());
+        try {
+            tok.getIntValue();
+            Assert.fail("NumberFormatException expected");
+        } catch (NumberFormatException expected) {
+        }
+        tok.nextValidToken();
+        Assert.assertEquals("1.5", tok.getStringValue());
+        Assert.assertFalse(tok.isCanonicalIntValue());
+        tok.nextValidToken();
+        Assert.assertEquals("0", tok.getStringValue());
+        Assert.assertTrue(tok.isCanonicalIntValue());
+
+        tok.nextValidToken();
+        Assert.assertSame(PdfTokenizer.TokenType.Obj, tok.getTokenType());
+        Assert.assertEquals(12, tok.getObjNr());
+        Assert.assertEquals(5, tok.getGenNr());
+        tok.nextValidToken();
+        Assert.assertSame(PdfTokenizer.TokenType.EndArray, tok.getTokenType());
+
+        tok.nextValidToken();
+        Assert.assertSame(PdfName.Type, PdfName.getStaticName(tok.getTokenBuffer(), tok.getTokenLength()));
+        tok.nextValidToken();
+        // escaped names are not resolved by their bytes
+        Assert.assertNull(PdfName.getStaticName(tok.getTokenBuffer(), tok.getTokenLength()));
+    }
 }
@@ -3,6 +3,7 @@ package com.itextpdf.kernel.pdf;
 import com.itextpdf.io.source.ByteUtils;
 import com.itextpdf.io.util.DateTimeUtil;
 import com.itextpdf.kernel.PdfException;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
 import com.itextpdf.test.ExtendedITextTest;
 import com.itextpdf.test.annotations.type.IntegrationTest;
 import org.junit.Assert;
@@ -11,6 +12,7 @@ import org.junit.Test;
 import org.junit.experimental.categories.Category;
 
 import java.io.ByteArrayInputStream;
+import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
@@ -584,4 +586,59 @@ public class PdfWriterTest extends ExtendedITextTest {
         Assert.assertArrayEquals("Stream by InputStream", streamContent.getBytes(), pdfStream.getBytes());
         document.close();
     }
+
+    @Test
+    public void parallelStreamCompression() throws IOException {
+        String sequentialFilename = destinationFolder + "sequentialStreamCompression.pdf";
+        String parallelFilename = destinationFolder + "parallelStreamCompression.pdf";
+        createDocumentWithStreams(sequentialFilename, new WriterProperties());
+        createDocumentWithStreams(parallelFilename, new WriterProperties().useParallelStreamCompression(4));
+        compareObjectOffsets(sequentialFilename, parallelFilename);
+    }
+
+    @Test
+    public void parallelStreamCompressionWithFullCompression() throws IOException {
+        String sequentialFilename = destinationFolder + "sequentialStreamCompressionFullCompression.pdf";
+        String parallelFilename = destinationFolder + "parallelStreamCompressionFullCompression.pdf";
+        createDocumentWithStreams(sequentialFilename, new WriterProperties().setFullCompressionMode(true));
+        createDocumentWithStreams(parallelFilename, new WriterProperties().setFullCompressionMode(true).useParallelStreamCompression(4));
+        compareObjectOffsets(sequentialFilename, parallelFilename);
+    }
+
+    private void createDocumentWithStreams(String filename, WriterProperties properties) throws IOException {
+        PdfDocument pdfDoc = new PdfDocument(new PdfWriter(filename, properties));
+        for (int i = 0; i < 50; i++) {
+            PdfPage page = pdfDoc.addNewPage();
+            PdfCanvas canvas = new PdfCanvas(page);
+            for (int j = 0; j < 100 * (i % 7 + 1); j++) {
+                canvas.moveTo(j % 500, (i * j) % 800).lineTo((i + j) % 500, j % 800);
+            }
+            canvas.stroke().release();
+            PdfDictionary helloWorld = new PdfDictionary().makeIndirect(pdfDoc);
+            helloWorld.put(new PdfName("Hello"), new PdfString("World " + i));
+            page.getPdfObject().put(new PdfName("HelloWorld"), helloWorld);
+            if (i % 3 == 0) {
+                page.flush();
+            }
+        }
+        pdfDoc.close();
+    }
+
+    private void compareObjectOffsets(String expectedFilename, String actualFilename) throws IOException {
+        PdfDocument expectedDoc = new PdfDocument(new PdfReader(expectedFilename));
+        PdfDocument actualDoc = new PdfDocument(new PdfReader(actualFilename));
+        Assert.assertEquals(new File(expectedFilename).length(), new File(actualFilename).length());
+        Assert.assertEquals(expectedDoc.getXref().size(), actualDoc.getXref().size());
+        for (int i = 1; i < expectedDoc.getXref().size(); i++) {
+            PdfIndirectReference expectedRef = expectedDoc.getXref().get(i);
+            PdfIndirectReference actualRef = actualDoc.getXref().get(i);
+            Assert.assertEquals("Offset of object " + i, expectedRef.getOffset(), actualRef.getOffset());
+            Assert.assertEquals("Index of object " + i, expectedRef.getIndex(), actualRef.getIndex());
+        }
+        for (int i = 1; i <= expectedDoc.getNumberOfPages(); i++) {
+            Assert.assertArrayEquals(expectedDoc.getPage(i).getContentBytes(), actualDoc.getPage(i).getContentBytes());
+        }
+        expectedDoc.close();
+        actualDoc.close();
+    }
 }
@@ -0,0 +1,61 @@
+package com.itextpdf.kernel.pdf.canvas.parser;
+
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.ReaderProperties;
+import com.itextpdf.kernel.pdf.canvas.parser.listener.ITextExtractionStrategy;
+import com.itextpdf.kernel.pdf.canvas.parser.listener.ITextExtractionStrategyFactory;
+import com.itextpdf.kernel.pdf.canvas.parser.listener.LocationTextExtractionStrategy;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.IntegrationTest;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(IntegrationTest.class)
+public class ParallelTextExtractorTest extends ExtendedITextTest {
+
+    private static final String sourceFolder = "./src/test/resources/com/itextpdf/kernel/pdf/PdfReaderTest/";
+
+    private static final ITextExtractionStrategyFactory LOCATION_STRATEGY_FACTORY = new ITextExtractionStrategyFactory() {
+        @Override
+        public ITextExtractionStrategy createStrategy(int pageNumber) {
+            return new LocationTextExtractionStrategy();
+        }
+    };
+
+    @Test
+    public void parallelTextExtractionTest() throws IOException {
+        String[] files = {"1000PagesDocument.pdf", "1000PagesDocumentWithFullCompression.pdf"};
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (String file : files) {
+            PdfDocument sequentialDocument = new PdfDocument(new PdfReader(sourceFolder + file));
+            PdfDocument concurrentDocument = new PdfDocument(new PdfReader(sourceFolder + file, new ReaderProperties().useConcurrentReadAccess()));
+
+            List<String> text = new ParallelTextExtractor(LOCATION_STRATEGY_FACTORY).setExecutor(executor).setPagesPerTask(7)
+                    .extractText(concurrentDocument, 5, 300);
+            Assert.assertEquals(296, text.size());
+            for (int i = 5; i <= 300; i++) {
+                String expected = PdfTextExtractor.getTextFromPage(sequentialDocument.getPage(i), new LocationTextExtractionStrategy());
+                Assert.assertEquals(expected, text.get(i - 5));
+                Assert.assertTrue(text.get(i - 5).contains(String.valueOf(i)));
+            }
+
+            // without the concurrent read access the pages are processed in the calling thread
+            List<String> sequentialText = new ParallelTextExtractor(LOCATION_STRATEGY_FACTORY).extractText(sequentialDocument, 5, 300);
+            Assert.assertEquals(text, sequentialText);
+
+            Assert.assertEquals(1000, new ParallelTextExtractor(LOCATION_STRATEGY_FACTORY).setParallelism(3).extractText(sourceFolder + file).size());
+
+            sequentialDocument.close();
+            concurrentDocument.close();
+        }
+        executor.shutdown();
+    }
+}
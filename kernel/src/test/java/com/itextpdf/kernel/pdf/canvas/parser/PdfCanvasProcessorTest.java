@@ -2,12 +2,29 @@ package com.itextpdf.kernel.pdf.canvas.parser;
 
 import com.itextpdf.io.LogMessageConstant;
 import com.itextpdf.io.source.ByteArrayOutputStream;
+import com.itextpdf.io.source.ByteUtils;
+import com.itextpdf.io.font.FontConstants;
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.kernel.font.SharedFontCache;
+import com.itextpdf.kernel.geom.Matrix;
+import com.itextpdf.kernel.geom.Point;
+import com.itextpdf.kernel.geom.Rectangle;
+import com.itextpdf.kernel.pdf.PdfLiteral;
+import com.itextpdf.kernel.pdf.PdfName;
+import com.itextpdf.kernel.pdf.PdfNumber;
+import com.itextpdf.kernel.pdf.PdfObject;
+import com.itextpdf.kernel.pdf.PdfResources;
+import com.itextpdf.kernel.pdf.PdfString;
 import com.itextpdf.kernel.pdf.canvas.parser.data.ClippingPathInfo;
 import com.itextpdf.kernel.pdf.canvas.parser.data.IEventData;
 import com.itextpdf.kernel.pdf.canvas.parser.data.ImageRenderInfo;
 import com.itextpdf.kernel.pdf.canvas.parser.data.PathRenderInfo;
 import com.itextpdf.kernel.pdf.canvas.parser.data.TextRenderInfo;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
+import com.itextpdf.kernel.pdf.xobject.PdfFormXObject;
 import com.itextpdf.kernel.pdf.canvas.parser.listener.IEventListener;
+import com.itextpdf.kernel.pdf.canvas.parser.listener.SimpleTextExtractionStrategy;
 import com.itextpdf.kernel.pdf.PdfDocument;
 import com.itextpdf.kernel.pdf.PdfPage;
 import com.itextpdf.kernel.pdf.PdfReader;
@@ -17,9 +34,14 @@ import com.itextpdf.test.annotations.LogMessages;
 import com.itextpdf.test.annotations.type.IntegrationTest;
 import com.itextpdf.test.ExtendedITextTest;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Set;
 
+import org.junit.Assert;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
 
@@ -98,4 +120,133 @@ public class PdfCanvasProcessorTest extends ExtendedITextTest {
         }
     }
 
+    @Test
+    public void sharedFontCacheTest() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument pdfDoc = new PdfDocument(new PdfWriter(baos));
+        PdfFont helvetica = PdfFontFactory.createFont(FontConstants.HELVETICA);
+        PdfFont courier = PdfFontFactory.createFont(FontConstants.COURIER);
+        for (int i = 1; i <= 10; i++) {
+            new PdfCanvas(pdfDoc.addNewPage()).beginText().setFontAndSize(i < 10 ? helvetica : courier, 12)
+                    .showText("Page " + i).endText().release();
+        }
+        pdfDoc.close();
+
+        PdfDocument document = new PdfDocument(new PdfReader(new ByteArrayInputStream(baos.toByteArray())));
+        SharedFontCache fontCache = document.getSharedFontCache();
+        Assert.assertSame(fontCache, document.getSharedFontCache());
+        fontCache.setMaxSize(1);
+
+        final List<PdfFont> fonts = new ArrayList<>();
+        for (int i = 1; i <= 10; i++) {
+            new PdfCanvasProcessor(new IEventListener() {
+                public void eventOccurred(IEventData data, EventType type) {
+                    fonts.add(((TextRenderInfo) data).getFont());
+                }
+
+                public Set<EventType> getSupportedEvents() {
+                    return Collections.singleton(EventType.RENDER_TEXT);
+                }
+            }).processPageContent(document.getPage(i));
+        }
+        Assert.assertEquals(10, fonts.size());
+        for (int i = 1; i < 9; i++) {
+            // the font is decoded once and shared by the processors of all the pages
+            Assert.assertSame(fonts.get(0), fonts.get(i));
+        }
+        Assert.assertNotSame(fonts.get(0), fonts.get(9));
+        Assert.assertEquals(2, fontCache.getMissCount());
+        Assert.assertEquals(8, fontCache.getHitCount());
+        Assert.assertEquals(1, fontCache.size());
+
+        // the first font was evicted when the second one was cached
+        PdfCanvasProcessor processor = new PdfCanvasProcessor(new SimpleTextExtractionStrategy());
+        processor.processPageContent(document.getPage(1));
+        Assert.assertEquals(3, fontCache.getMissCount());
+        document.close();
+    }
+
+    @Test
+    public void operandStackProcessingTest() {
+        final List<PathRenderInfo> paths = new ArrayList<>();
+        PdfCanvasProcessor processor = new PdfCanvasProcessor(new IEventListener() {
+            public void eventOccurred(IEventData data, EventType type) {
+                if (type == EventType.RENDER_PATH) {
+                    paths.add((PathRenderInfo) data);
+                }
+            }
+
+            public Set<EventType> getSupportedEvents() {
+                return null;
+            }
+        });
+        final List<PdfObject> customOperands = new ArrayList<>();
+        processor.registerContentOperator("custom", new IContentOperator() {
+            public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
+                customOperands.addAll(operands);
+            }
+        });
+
+        byte[] content = ByteUtils.getIsoBytes("q 2 0 0 2 10 -20.5 cm 0 0 5.50 .5 re f Q /Name 1.50 (string) custom unknown");
+        processor.processContent(content, new PdfResources());
+
+        Assert.assertEquals(1, paths.size());
+        Matrix ctm = paths.get(0).getCtm();
+        Assert.assertEquals(10, ctm.get(Matrix.I31), 0);
+        Assert.assertEquals(-20.5, ctm.get(Matrix.I32), 0);
+        Assert.assertEquals(2, ctm.get(Matrix.I11), 0);
+        Point[] points = paths.get(0).getPath().getSubpaths().get(0).getPiecewiseLinearApproximation().toArray(new Point[0]);
+        Assert.assertEquals(5.5, points[1].getX(), 1e-6);
+        Assert.assertEquals(0.5, points[2].getY(), 1e-6);
+
+        Assert.assertEquals(4, customOperands.size());
+        Assert.assertEquals(new PdfName("Name"), customOperands.get(0));
+        Assert.assertEquals("1.50", customOperands.get(1).toString());
+        Assert.assertEquals(1.5, ((PdfNumber) customOperands.get(1)).doubleValue(), 0);
+        Assert.assertEquals("string", ((PdfString) customOperands.get(2)).getValue());
+        Assert.assertEquals("custom", customOperands.get(3).toString());
+    }
+
+    @Test
+    public void regionOfInterestTest() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument pdfDoc = new PdfDocument(new PdfWriter(baos));
+        PdfFont helvetica = PdfFontFactory.createFont(FontConstants.HELVETICA);
+        PdfFormXObject form = new PdfFormXObject(new Rectangle(100, 50));
+        new PdfCanvas(form, pdfDoc).beginText().setFontAndSize(helvetica, 12).moveText(10, 10)
+                .showText("Outside").endText().release();
+        PdfCanvas canvas = new PdfCanvas(pdfDoc.addNewPage());
+        canvas.rectangle(50, 50, 100, 100).fill()
+                .rectangle(400, 600, 100, 100).fill()
+                .setLineWidth(20).moveTo(170, 100).lineTo(170, 300).stroke()
+                .addXObject(form, 400, 700)
+                .addXObject(form, 100, 100)
+                .release();
+        pdfDoc.close();
+
+        PdfDocument document = new PdfDocument(new PdfReader(new ByteArrayInputStream(baos.toByteArray())));
+        final List<EventType> events = new ArrayList<>();
+        IEventListener listener = new IEventListener() {
+            public void eventOccurred(IEventData data, EventType type) {
+                events.add(type);
+            }
+
+            public Set<EventType> getSupportedEvents() {
+                return null;
+            }
+        };
+        PdfCanvasProcessor processor = new PdfCanvasProcessor(listener);
+        processor.processPageContent(document.getPage(1));
+        Assert.assertEquals(3, Collections.frequency(events, EventType.RENDER_PATH));
+        Assert.assertEquals(2, Collections.frequency(events, EventType.RENDER_TEXT));
+
+        events.clear();
+        processor = new PdfCanvasProcessor(listener);
+        processor.setRegionOfInterest(new Rectangle(0, 0, 160, 200));
+        processor.processPageContent(document.getPage(1));
+        // the stroked line is within the region only because of its width
+        Assert.assertEquals(2, Collections.frequency(events, EventType.RENDER_PATH));
+        Assert.assertEquals(1, Collections.frequency(events, EventType.RENDER_TEXT));
+        document.close();
+    }
 }
@@ -0,0 +1,127 @@
+package com.itextpdf.kernel.pdf.canvas.parser;
+
+import com.itextpdf.io.font.FontConstants;
+import com.itextpdf.io.source.ByteArrayOutputStream;
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
+import com.itextpdf.kernel.pdf.canvas.parser.data.IEventData;
+import com.itextpdf.kernel.pdf.canvas.parser.listener.IEventListener;
+import com.itextpdf.kernel.pdf.canvas.parser.listener.LocationTextExtractionStrategy;
+import com.itextpdf.kernel.pdf.canvas.parser.listener.StreamingTextExtractionStrategy;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.IntegrationTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(IntegrationTest.class)
+public class StreamingTextExtractionStrategyTest extends ExtendedITextTest {
+
+    private static final String sourceFolder = "./src/test/resources/com/itextpdf/kernel/pdf/PdfReaderTest/";
+
+    @Test
+    public void sameTextAsLocationStrategyTest() throws IOException {
+        PdfDocument pdfDocument = new PdfDocument(new PdfReader(sourceFolder + "1000PagesDocument.pdf"));
+        for (int i = 1; i <= 20; i++) {
+            Assert.assertEquals(PdfTextExtractor.getTextFromPage(pdfDocument.getPage(i), new LocationTextExtractionStrategy()),
+                    PdfTextExtractor.getTextFromPage(pdfDocument.getPage(i), new StreamingTextExtractionStrategy()));
+        }
+        pdfDocument.close();
+
+        pdfDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(createShuffledLinesDocument())));
+        String expected = PdfTextExtractor.getTextFromPage(pdfDocument.getPage(1), new LocationTextExtractionStrategy());
+        Assert.assertEquals("Line 1 first half second half\nLine 2 first half second half\nLine 3 first half second half", expected);
+        Assert.assertEquals(expected, PdfTextExtractor.getTextFromPage(pdfDocument.getPage(1), new StreamingTextExtractionStrategy()));
+        pdfDocument.close();
+
+        // diacritical marks and right-to-left text
+        pdfDocument = new PdfDocument(new PdfReader("./src/test/resources/com/itextpdf/kernel/parser/BidiTextExtractionTest/in01.pdf"));
+        for (boolean rightToLeft : new boolean[] {false, true}) {
+            Assert.assertEquals(PdfTextExtractor.getTextFromPage(pdfDocument.getPage(1), new LocationTextExtractionStrategy().setRightToLeftRunDirection(rightToLeft)),
+                    PdfTextExtractor.getTextFromPage(pdfDocument.getPage(1), new StreamingTextExtractionStrategy().setRightToLeftRunDirection(rightToLeft)));
+        }
+        pdfDocument.close();
+    }
+
+    @Test
+    public void boundedActiveLinesTest() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument pdfDoc = new PdfDocument(new PdfWriter(baos));
+        PdfFont font = PdfFontFactory.createFont(FontConstants.HELVETICA);
+        PdfCanvas canvas = new PdfCanvas(pdfDoc.addNewPage());
+        for (int i = 0; i < 100; i++) {
+            canvas.beginText().setFontAndSize(font, 6).moveText(36, 800 - i * 7);
+            for (int j = 0; j < 10; j++) {
+                canvas.showText("w" + i + "." + j + " ");
+            }
+            canvas.endText();
+        }
+        canvas.release();
+        pdfDoc.close();
+
+        final List<String> lines = new ArrayList<>();
+        final StreamingTextExtractionStrategy strategy = new StreamingTextExtractionStrategy(new StreamingTextExtractionStrategy.ITextLineHandler() {
+            @Override
+            public void lineFinished(String text, int orientationMagnitude, int distPerpendicular) {
+                lines.add(text);
+            }
+        }).setMaxActiveLines(4);
+        final int[] maxActiveLines = {0};
+        PdfCanvasProcessor processor = new PdfCanvasProcessor(new IEventListener() {
+            @Override
+            public void eventOccurred(IEventData data, EventType type) {
+                strategy.eventOccurred(data, type);
+                maxActiveLines[0] = Math.max(maxActiveLines[0], strategy.getActiveLineCount());
+            }
+
+            @Override
+            public Set<EventType> getSupportedEvents() {
+                return strategy.getSupportedEvents();
+            }
+        });
+        PdfDocument document = new PdfDocument(new PdfReader(new ByteArrayInputStream(baos.toByteArray())));
+        processor.processPageContent(document.getPage(1));
+        document.close();
+
+        Assert.assertEquals(4, maxActiveLines[0]);
+        Assert.assertEquals(96, lines.size());
+        Assert.assertEquals("", strategy.getResultantText());
+        Assert.assertEquals(100, lines.size());
+        Assert.assertEquals(0, strategy.getActiveLineCount());
+        for (int i = 0; i < 100; i++) {
+            Assert.assertTrue(lines.get(i).startsWith("w" + i + ".0 w" + i + ".1 "));
+            Assert.assertTrue(lines.get(i).endsWith("w" + i + ".9 "));
+        }
+    }
+
+    private static byte[] createShuffledLinesDocument() {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument pdfDoc = new PdfDocument(new PdfWriter(baos));
+        PdfFont font;
+        try {
+            font = PdfFontFactory.createFont(FontConstants.HELVETICA);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        PdfCanvas canvas = new PdfCanvas(pdfDoc.addNewPage());
+        // the lines are written bottom-up and the second half of each line is written first
+        for (int i = 3; i >= 1; i--) {
+            canvas.beginText().setFontAndSize(font, 12).moveText(200, 800 - i * 20).showText("second half").endText();
+            canvas.beginText().setFontAndSize(font, 12).moveText(36, 800 - i * 20).showText("Line " + i + " first half").endText();
+        }
+        canvas.release();
+        pdfDoc.close();
+        return baos.toByteArray();
+    }
+}
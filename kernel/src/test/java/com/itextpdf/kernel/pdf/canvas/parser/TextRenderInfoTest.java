@@ -1,10 +1,16 @@
 package com.itextpdf.kernel.pdf.canvas.parser;
 
 import com.itextpdf.io.LogMessageConstant;
+import com.itextpdf.io.font.FontConstants;
+import com.itextpdf.io.source.ByteArrayOutputStream;
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.font.PdfFontFactory;
 import com.itextpdf.kernel.geom.LineSegment;
 import com.itextpdf.kernel.geom.Vector;
 import com.itextpdf.kernel.pdf.PdfDocument;
 import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
 import com.itextpdf.kernel.pdf.canvas.parser.data.IEventData;
 import com.itextpdf.kernel.pdf.canvas.parser.data.TextRenderInfo;
 import com.itextpdf.kernel.pdf.canvas.parser.listener.IEventListener;
@@ -18,6 +24,7 @@ import org.junit.Assert;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
 
+import java.io.ByteArrayInputStream;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.LinkedHashSet;
@@ -81,6 +88,92 @@ public class TextRenderInfoTest extends ExtendedITextTest {
     }
 
 
+    @Test
+    public void retainedRenderInfoTest() throws Exception {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument pdfDoc = new PdfDocument(new PdfWriter(baos));
+        PdfFont font = PdfFontFactory.createFont(FontConstants.HELVETICA);
+        new PdfCanvas(pdfDoc.addNewPage()).beginText().moveText(36, 700).setFontAndSize(font, 12).showText("first")
+                .setFontAndSize(font, 20).showText("second").endText().release();
+        pdfDoc.close();
+
+        final List<TextRenderInfo> renderInfos = new ArrayList<>();
+        PdfDocument pdfDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(baos.toByteArray())));
+        new PdfCanvasProcessor(new IEventListener() {
+            @Override
+            public void eventOccurred(IEventData data, EventType type) {
+                TextRenderInfo renderInfo = (TextRenderInfo) data;
+                if (renderInfos.size() == 0) {
+                    Assert.assertEquals("first", renderInfo.getText());
+                } else {
+                    renderInfo.preserveGraphicsState();
+                }
+                renderInfos.add(renderInfo);
+            }
+
+            @Override
+            public Set<EventType> getSupportedEvents() {
+                return Collections.singleton(EventType.RENDER_TEXT);
+            }
+        }).processPageContent(pdfDocument.getPage(FIRST_PAGE));
+        pdfDocument.close();
+
+        Assert.assertEquals(2, renderInfos.size());
+        TextRenderInfo first = renderInfos.get(0);
+        Assert.assertFalse(first.isGraphicsStatePreserved());
+        // the values calculated during the event stay available
+        Assert.assertEquals("first", first.getText());
+        Assert.assertEquals(font.getWidth("first", 12), first.getUnscaledWidth(), 1e-3);
+        Assert.assertEquals(36, first.getBaseline().getStartPoint().get(Vector.I1), 1e-3);
+
+        TextRenderInfo second = renderInfos.get(1);
+        Assert.assertTrue(second.isGraphicsStatePreserved());
+        Assert.assertEquals(20, second.getFontSize(), 0);
+        Assert.assertEquals("second", second.getText());
+        Assert.assertEquals(first.getUnscaledWidth() + 36, second.getBaseline().getStartPoint().get(Vector.I1), 1e-3);
+        List<TextRenderInfo> characterRenderInfos = second.getCharacterRenderInfos();
+        Assert.assertEquals(6, characterRenderInfos.size());
+        Assert.assertTrue(characterRenderInfos.get(5).isGraphicsStatePreserved());
+        Assert.assertEquals(second.getBaseline().getEndPoint().get(Vector.I1),
+                characterRenderInfos.get(5).getBaseline().getEndPoint().get(Vector.I1), 1e-3);
+    }
+
+    @Test
+    public void retainedCharacterRenderInfosAfterCtmChangeTest() throws Exception {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument pdfDoc = new PdfDocument(new PdfWriter(baos));
+        PdfFont font = PdfFontFactory.createFont(FontConstants.HELVETICA);
+        new PdfCanvas(pdfDoc.addNewPage()).beginText().setFontAndSize(font, 12).moveText(100, 100).showText("AB").endText()
+                .concatMatrix(1, 0, 0, 1, 50, 50).beginText().setFontAndSize(font, 12).showText("C").endText().release();
+        pdfDoc.close();
+
+        final List<TextRenderInfo> characterRenderInfos = new ArrayList<>();
+        PdfDocument pdfDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(baos.toByteArray())));
+        new PdfCanvasProcessor(new IEventListener() {
+            @Override
+            public void eventOccurred(IEventData data, EventType type) {
+                characterRenderInfos.addAll(((TextRenderInfo) data).getCharacterRenderInfos());
+            }
+
+            @Override
+            public Set<EventType> getSupportedEvents() {
+                return Collections.singleton(EventType.RENDER_TEXT);
+            }
+        }).processPageContent(pdfDocument.getPage(FIRST_PAGE));
+        pdfDocument.close();
+
+        Assert.assertEquals(3, characterRenderInfos.size());
+        Vector a = characterRenderInfos.get(0).getBaseline().getStartPoint();
+        Assert.assertEquals(100, a.get(Vector.I1), 1e-3);
+        Assert.assertEquals(100, a.get(Vector.I2), 1e-3);
+        Vector b = characterRenderInfos.get(1).getBaseline().getStartPoint();
+        Assert.assertEquals(100 + font.getWidth("A", 12), b.get(Vector.I1), 1e-3);
+        Assert.assertEquals(100, b.get(Vector.I2), 1e-3);
+        Vector c = characterRenderInfos.get(2).getBaseline().getStartPoint();
+        Assert.assertEquals(50, c.get(Vector.I1), 1e-3);
+        Assert.assertEquals(50, c.get(Vector.I2), 1e-3);
+    }
+
     private static class TextPositionEventListener implements IEventListener {
         List<LineSegment> lineSegments = new ArrayList<>();
 
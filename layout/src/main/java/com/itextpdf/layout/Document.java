@@ -51,9 +51,19 @@ import com.itextpdf.layout.element.AreaBreak;
 import com.itextpdf.layout.element.IBlockElement;
 import com.itextpdf.layout.element.IElement;
 import com.itextpdf.layout.element.ILargeElement;
+import com.itextpdf.layout.property.Property;
 import com.itextpdf.layout.renderer.DocumentRenderer;
 import com.itextpdf.layout.renderer.IRenderer;
 import com.itextpdf.layout.renderer.RootRenderer;
+import com.itextpdf.layout.renderer.SectionRenderer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * Document is the default root element when creating a self-sufficient PDF. It
@@ -128,7 +138,7 @@ public class Document extends RootElement<Document> {
      * @return this element
      */
     public Document add(AreaBreak areaBreak) {
-        childElements.add(areaBreak);
+        addChildElement(areaBreak);
         ensureRootRendererNotNull().addChild(areaBreak.createRendererSubTree());
         return this;
     }
@@ -144,6 +154,101 @@ public class Document extends RootElement<Document> {
         return this;
     }
 
+    /**
+     * Lays out independent sections concurrently and appends their pages to the document in the given order.
+     * Every section starts on a new page, the same as if it were added after an {@link AreaBreak}, and the
+     * content added afterwards starts on a new page as well. The default page size and the margins of the
+     * document are taken at the moment this method is called.
+     * <p>
+     * Each section is laid out into a separate {@link SectionRenderer} on the threads of a fixed pool sized
+     * after the number of available processors; the content is drawn on the calling thread.
+     *
+     * @param sections the lists of elements of each section
+     * @return this element
+     * @see #addSections(List, ExecutorService)
+     */
+    public Document addSections(List<? extends List<? extends IElement>> sections) {
+        int threadCount = Math.max(1, Math.min(sections.size(), Runtime.getRuntime().availableProcessors()));
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        try {
+            return addSections(sections, executor);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Lays out independent sections concurrently with the given executor and appends their pages to the
+     * document in the given order. Every section starts on a new page, the same as if it were added after
+     * an {@link AreaBreak}, and the content added afterwards starts on a new page as well.
+     * <p>
+     * Sections may share fonts and images, but each element must be added to a single section only, and
+     * elements must not be modified while the sections are being laid out. Page numbers used by the
+     * elements of a section, like the one of an {@link AreaBreak} or of a fixed position, are relative
+     * to the first page of the section. Sections are laid out with {@link SectionRenderer}, that is on the
+     * whole effective area of their pages, even if a custom {@link DocumentRenderer} is set. A section is
+     * kept in memory until all previous sections are drawn.
+     *
+     * @param sections the lists of elements of each section
+     * @param executor the executor running the layout of the sections
+     * @return this element
+     */
+    public Document addSections(List<? extends List<? extends IElement>> sections, ExecutorService executor) {
+        checkClosingStatus();
+        // lazily created defaults are shared by all sections
+        getDefaultProperty(Property.FONT);
+        getDefaultProperty(Property.SPLIT_CHARACTERS);
+
+        List<Future<SectionRenderer>> laidOutSections = new ArrayList<>(sections.size());
+        for (final List<? extends IElement> section : sections) {
+            laidOutSections.add(executor.submit(new Callable<SectionRenderer>() {
+                @Override
+                public SectionRenderer call() {
+                    SectionRenderer sectionRenderer = new SectionRenderer(Document.this);
+                    for (IElement element : section) {
+                        sectionRenderer.addChild(element.createRendererSubTree());
+                    }
+                    sectionRenderer.close();
+                    return sectionRenderer;
+                }
+            }));
+        }
+
+        DocumentRenderer documentRenderer = (DocumentRenderer) ensureRootRendererNotNull();
+        try {
+            for (int i = 0; i < laidOutSections.size(); i++) {
+                SectionRenderer sectionRenderer = laidOutSections.get(i).get();
+                if (sectionRenderer.getPageSizes().isEmpty()) {
+                    continue;
+                }
+                if (pdfDocument.getNumberOfPages() > 0) {
+                    addChildElement(new AreaBreak());
+                }
+                for (IElement element : sections.get(i)) {
+                    addChildElement(element);
+                }
+                documentRenderer.addSection(sectionRenderer);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e.toString(), e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new RuntimeException(cause.toString(), cause);
+        } finally {
+            for (Future<SectionRenderer> laidOutSection : laidOutSections) {
+                laidOutSection.cancel(true);
+            }
+        }
+        return this;
+    }
+
     /**
      * Gets PDF document.
      *
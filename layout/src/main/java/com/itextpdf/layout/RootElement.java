@@ -58,6 +58,7 @@ import com.itextpdf.layout.property.FontKerning;
 import com.itextpdf.layout.property.HorizontalAlignment;
 import com.itextpdf.layout.property.Leading;
 import com.itextpdf.layout.property.Property;
+import com.itextpdf.layout.property.PropertyMap;
 import com.itextpdf.layout.property.TextAlignment;
 import com.itextpdf.layout.property.VerticalAlignment;
 import com.itextpdf.layout.renderer.IRenderer;
@@ -68,7 +69,6 @@ import com.itextpdf.layout.splitting.ISplitCharacters;
 import java.io.Closeable;
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -79,7 +79,11 @@ import java.util.Map;
  */
 public abstract class RootElement<T extends IPropertyContainer> extends ElementPropertyContainer<T> implements Closeable{
 
+    private static final Float DEFAULT_TEXT_RISE = 0f;
+    private static final Float DEFAULT_SPACING_RATIO = 0.75f;
+
     protected boolean immediateFlush = true;
+    protected boolean streamingLayout = false;
     protected PdfDocument pdfDocument;
 
     protected List<IElement> childElements = new ArrayList<>();
@@ -88,7 +92,7 @@ public abstract class RootElement<T extends IPropertyContainer> extends ElementP
      * @deprecated This field just hides the same field from {@link ElementPropertyContainer}
      */
     @Deprecated
-    protected Map<Integer, Object> properties = new HashMap<>();
+    protected Map<Integer, Object> properties = new PropertyMap();
 
     protected PdfFont defaultFont;
     protected ISplitCharacters defaultSplitCharacters;
@@ -103,7 +107,7 @@ public abstract class RootElement<T extends IPropertyContainer> extends ElementP
      * @see BlockElement
      */
     public T add(IBlockElement element) {
-        childElements.add(element);
+        addChildElement(element);
         ensureRootRendererNotNull().addChild(element.createRendererSubTree());
         return (T) (Object) this;
     }
@@ -116,11 +120,41 @@ public abstract class RootElement<T extends IPropertyContainer> extends ElementP
      * @see Image
      */
     public T add(Image image) {
-        childElements.add(image);
+        addChildElement(image);
         ensureRootRendererNotNull().addChild(image.createRendererSubTree());
         return (T) (Object) this;
     }
 
+    /**
+     * Switches streaming layout on or off. In streaming layout mode the root element
+     * does not keep references to the elements added to it, so that the elements and their
+     * renderers become eligible for garbage collection as soon as their content is drawn,
+     * and the memory used by layout stays bounded by the content of the current page.
+     * <p>
+     * Streaming layout is only supported together with immediate flush, because a relayout
+     * requires all the added elements.
+     *
+     * @param streamingLayout true to stop retaining added elements
+     * @return this element
+     */
+    public T setStreamingLayout(boolean streamingLayout) {
+        if (streamingLayout && !immediateFlush) {
+            throw new IllegalStateException("Streaming layout is not supported without immediate flush");
+        }
+        this.streamingLayout = streamingLayout;
+        return (T) (Object) this;
+    }
+
+    /**
+     * Checks whether streaming layout is enabled.
+     *
+     * @return true if added elements are not retained after they have been laid out
+     * @see #setStreamingLayout(boolean)
+     */
+    public boolean isStreamingLayout() {
+        return streamingLayout;
+    }
+
     @Override
     public boolean hasProperty(int property) {
         return hasOwnProperty(property);
@@ -128,7 +162,7 @@ public abstract class RootElement<T extends IPropertyContainer> extends ElementP
 
     @Override
     public boolean hasOwnProperty(int property) {
-        return properties.containsKey(property);
+        return PropertyMap.hasProperty(properties, property);
     }
 
     @Override
@@ -138,7 +172,7 @@ public abstract class RootElement<T extends IPropertyContainer> extends ElementP
 
     @Override
     public <T1> T1 getOwnProperty(int property) {
-        return (T1) properties.<T1>get(property);
+        return (T1) PropertyMap.getProperty(properties, property);
     }
 
     @Override
@@ -160,9 +194,9 @@ public abstract class RootElement<T extends IPropertyContainer> extends ElementP
                 case Property.TEXT_RENDERING_MODE:
                     return (T1) (Object) PdfCanvasConstants.TextRenderingMode.FILL;
                 case Property.TEXT_RISE:
-                    return (T1) (Object) 0f;
+                    return (T1) (Object) DEFAULT_TEXT_RISE;
                 case Property.SPACING_RATIO:
-                    return (T1) (Object) 0.75f;
+                    return (T1) (Object) DEFAULT_SPACING_RATIO;
                 default:
                     return (T1) (Object) null;
             }
@@ -173,12 +207,23 @@ public abstract class RootElement<T extends IPropertyContainer> extends ElementP
 
     @Override
     public void deleteOwnProperty(int property) {
-        properties.remove(property);
+        PropertyMap.deleteProperty(properties, property);
     }
 
     @Override
     public void setProperty(int property, Object value) {
-        properties.put(property, value);
+        PropertyMap.setProperty(properties, property, value);
+    }
+
+    /**
+     * Remembers an added element unless streaming layout is enabled.
+     *
+     * @param element the element which has been added to the root
+     */
+    protected void addChildElement(IElement element) {
+        if (!streamingLayout) {
+            childElements.add(element);
+        }
     }
 
     /**
@@ -62,6 +62,10 @@ import java.util.TreeMap;
  */
 public class Paragraph extends BlockElement<Paragraph> {
 
+    private static final Float DEFAULT_FIRST_LINE_INDENT = 0f;
+    private static final Float DEFAULT_MARGIN = 4f;
+    private static final Float DEFAULT_TAB_DEFAULT = 50f;
+
     protected PdfName role = PdfName.P;
     protected AccessibilityProperties tagProperties;
 
@@ -162,12 +166,12 @@ public class Paragraph extends BlockElement<Paragraph> {
             case Property.LEADING:
                 return (T1) (Object) new Leading(Leading.MULTIPLIED, childElements.size() == 1 && childElements.get(0) instanceof Image ? 1 : 1.35f);
             case Property.FIRST_LINE_INDENT:
-                return (T1) (Object) 0f;
+                return (T1) (Object) DEFAULT_FIRST_LINE_INDENT;
             case Property.MARGIN_TOP:
             case Property.MARGIN_BOTTOM:
-                return (T1) (Object) 4f;
+                return (T1) (Object) DEFAULT_MARGIN;
             case Property.TAB_DEFAULT:
-                return (T1) (Object) 50f;
+                return (T1) (Object) DEFAULT_TAB_DEFAULT;
             default:
                 return super.<T1>getDefaultProperty(property);
         }
@@ -87,6 +87,15 @@ public class LayoutArea {
         return pageNumber;
     }
 
+    /**
+     * Sets the number of page on which the area is located.
+     *
+     * @param pageNumber the page number
+     */
+    public void setPageNumber(int pageNumber) {
+        this.pageNumber = pageNumber;
+    }
+
     /**
      * Gets the {@link Rectangle box} which bounds the area.
      *
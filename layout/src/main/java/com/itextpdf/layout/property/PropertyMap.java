@@ -0,0 +1,319 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2016 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.layout.property;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A map of the properties of the layout elements and renderers, which stores the property ids and the values
+ * in two arrays. An element or a renderer usually has only a few own properties, so scanning the ids is faster
+ * than hashing, and unlike {@link java.util.HashMap} no boxed keys or entry objects are created.
+ * <br>
+ * The {@code int} overloads of the map methods avoid boxing the ids. The property containers declare their
+ * properties as {@code Map<Integer, Object>} and reach the overloads through the static helpers of this class,
+ * which fall back to the {@link Map} methods if the properties have been replaced by another map.
+ */
+public class PropertyMap extends AbstractMap<Integer, Object> {
+
+    private static final int MIN_CAPACITY = 4;
+
+    private static final int[] EMPTY_KEYS = new int[0];
+    private static final Object[] EMPTY_VALUES = new Object[0];
+
+    private int[] keys = EMPTY_KEYS;
+    private Object[] values = EMPTY_VALUES;
+    private int size;
+    private Set<Map.Entry<Integer, Object>> entrySet;
+
+    /**
+     * Creates an empty map.
+     */
+    public PropertyMap() {
+    }
+
+    /**
+     * Creates a map with the same properties as the given map.
+     *
+     * @param properties the properties to copy
+     */
+    public PropertyMap(Map<Integer, Object> properties) {
+        putAll(properties);
+    }
+
+    /**
+     * Gets the value of a property.
+     *
+     * @param property the id of the property
+     * @return the value, or {@code null} if the property is absent or is set to {@code null}
+     */
+    public Object get(int property) {
+        int index = indexOf(property);
+        return index >= 0 ? values[index] : null;
+    }
+
+    /**
+     * Checks whether a property is present, possibly with {@code null} value.
+     *
+     * @param property the id of the property
+     * @return {@code true} if the property is present
+     */
+    public boolean containsKey(int property) {
+        return indexOf(property) >= 0;
+    }
+
+    /**
+     * Sets the value of a property.
+     *
+     * @param property the id of the property
+     * @param value    the value, may be {@code null}
+     * @return the previous value, or {@code null} if there was no such property
+     */
+    public Object put(int property, Object value) {
+        int index = indexOf(property);
+        if (index >= 0) {
+            Object previous = values[index];
+            values[index] = value;
+            return previous;
+        }
+        if (size == keys.length) {
+            int capacity = Math.max(MIN_CAPACITY, size * 2);
+            keys = Arrays.copyOf(keys, capacity);
+            values = Arrays.copyOf(values, capacity);
+        }
+        keys[size] = property;
+        values[size] = value;
+        size++;
+        return null;
+    }
+
+    /**
+     * Removes a property.
+     *
+     * @param property the id of the property
+     * @return the previous value, or {@code null} if there was no such property
+     */
+    public Object remove(int property) {
+        int index = indexOf(property);
+        return index >= 0 ? removeAt(index) : null;
+    }
+
+    /**
+     * Gets the value of a property, without boxing the id if the properties are a {@link PropertyMap}.
+     *
+     * @param properties the properties
+     * @param property   the id of the property
+     * @return the value, or {@code null} if the property is absent or is set to {@code null}
+     */
+    public static Object getProperty(Map<Integer, Object> properties, int property) {
+        return properties instanceof PropertyMap ? ((PropertyMap) properties).get(property) : properties.get(property);
+    }
+
+    /**
+     * Checks whether a property is present, without boxing the id if the properties are a {@link PropertyMap}.
+     *
+     * @param properties the properties
+     * @param property   the id of the property
+     * @return {@code true} if the property is present
+     */
+    public static boolean hasProperty(Map<Integer, Object> properties, int property) {
+        return properties instanceof PropertyMap ? ((PropertyMap) properties).containsKey(property) : properties.containsKey(property);
+    }
+
+    /**
+     * Sets the value of a property, without boxing the id if the properties are a {@link PropertyMap}.
+     *
+     * @param properties the properties
+     * @param property   the id of the property
+     * @param value      the value, may be {@code null}
+     * @return the previous value, or {@code null} if there was no such property
+     */
+    public static Object setProperty(Map<Integer, Object> properties, int property, Object value) {
+        return properties instanceof PropertyMap ? ((PropertyMap) properties).put(property, value) : properties.put(property, value);
+    }
+
+    /**
+     * Removes a property, without boxing the id if the properties are a {@link PropertyMap}.
+     *
+     * @param properties the properties
+     * @param property   the id of the property
+     * @return the previous value, or {@code null} if there was no such property
+     */
+    public static Object deleteProperty(Map<Integer, Object> properties, int property) {
+        return properties instanceof PropertyMap ? ((PropertyMap) properties).remove(property) : properties.remove(property);
+    }
+
+    @Override
+    public Object get(Object key) {
+        return key instanceof Integer ? get(((Integer) key).intValue()) : null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key instanceof Integer && containsKey(((Integer) key).intValue());
+    }
+
+    @Override
+    public Object put(Integer key, Object value) {
+        return put(key.intValue(), value);
+    }
+
+    @Override
+    public Object remove(Object key) {
+        return key instanceof Integer ? remove(((Integer) key).intValue()) : null;
+    }
+
+    @Override
+    public void putAll(Map<? extends Integer, ?> map) {
+        if (map instanceof PropertyMap) {
+            PropertyMap other = (PropertyMap) map;
+            if (size == 0) {
+                keys = Arrays.copyOf(other.keys, other.size);
+                values = Arrays.copyOf(other.values, other.size);
+                size = other.size;
+            } else {
+                for (int i = 0; i < other.size; i++) {
+                    put(other.keys[i], other.values[i]);
+                }
+            }
+        } else {
+            super.putAll(map);
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public void clear() {
+        keys = EMPTY_KEYS;
+        values = EMPTY_VALUES;
+        size = 0;
+    }
+
+    @Override
+    public Set<Map.Entry<Integer, Object>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new AbstractSet<Map.Entry<Integer, Object>>() {
+                @Override
+                public Iterator<Map.Entry<Integer, Object>> iterator() {
+                    return new EntryIterator();
+                }
+
+                @Override
+                public int size() {
+                    return size;
+                }
+            };
+        }
+        return entrySet;
+    }
+
+    private int indexOf(int property) {
+        for (int i = 0; i < size; i++) {
+            if (keys[i] == property) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private Object removeAt(int index) {
+        Object previous = values[index];
+        size--;
+        // the order of the properties is not significant, so the last one takes the place of the removed one
+        keys[index] = keys[size];
+        values[index] = values[size];
+        values[size] = null;
+        return previous;
+    }
+
+    private class EntryIterator implements Iterator<Map.Entry<Integer, Object>> {
+        private int next;
+        private int last = -1;
+
+        @Override
+        public boolean hasNext() {
+            return next < size;
+        }
+
+        @Override
+        public Map.Entry<Integer, Object> next() {
+            if (next >= size) {
+                throw new NoSuchElementException();
+            }
+            last = next++;
+            return new SimpleEntry<Integer, Object>(keys[last], values[last]) {
+                @Override
+                public Object setValue(Object value) {
+                    PropertyMap.this.put(getKey().intValue(), value);
+                    return super.setValue(value);
+                }
+            };
+        }
+
+        @Override
+        public void remove() {
+            if (last < 0) {
+                throw new IllegalStateException();
+            }
+            removeAt(last);
+            // the last property was moved to the removed position, which is visited next
+            next = last;
+            last = -1;
+        }
+    }
+}
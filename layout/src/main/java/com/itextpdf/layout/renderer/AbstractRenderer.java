@@ -67,6 +67,7 @@ import com.itextpdf.layout.layout.LayoutPosition;
 import com.itextpdf.layout.property.Background;
 import com.itextpdf.layout.property.HorizontalAlignment;
 import com.itextpdf.layout.property.Property;
+import com.itextpdf.layout.property.PropertyMap;
 import com.itextpdf.layout.property.UnitValue;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -75,7 +76,6 @@ import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -103,7 +103,7 @@ public abstract class AbstractRenderer implements IRenderer {
     protected boolean flushed = false;
     protected LayoutArea occupiedArea;
     protected IRenderer parent;
-    protected Map<Integer, Object> properties = new HashMap<>();
+    protected Map<Integer, Object> properties = new PropertyMap();
     protected boolean isLastRendererForModelElement = true;
 
     /**
@@ -186,7 +186,7 @@ public abstract class AbstractRenderer implements IRenderer {
      */
     @Override
     public boolean hasOwnProperty(int property) {
-        return properties.containsKey(property);
+        return PropertyMap.hasProperty(properties, property);
     }
 
     /**
@@ -196,7 +196,7 @@ public abstract class AbstractRenderer implements IRenderer {
      * @return {@code true} if this instance or its model element have given own property, {@code false} otherwise
      */
     public boolean hasOwnOrModelProperty(int property) {
-        return properties.containsKey(property) || (null != getModelElement() && getModelElement().hasProperty(property));
+        return PropertyMap.hasProperty(properties, property) || (null != getModelElement() && getModelElement().hasProperty(property));
     }
 
     /**
@@ -204,7 +204,7 @@ public abstract class AbstractRenderer implements IRenderer {
      */
     @Override
     public void deleteOwnProperty(int property) {
-        properties.remove(property);
+        PropertyMap.deleteProperty(properties, property);
     }
 
     /**
@@ -213,8 +213,8 @@ public abstract class AbstractRenderer implements IRenderer {
      * @param property the property key to be deleted
      */
     public void deleteProperty(int property) {
-        if (properties.containsKey(property)) {
-            properties.remove(property);
+        if (PropertyMap.hasProperty(properties, property)) {
+            PropertyMap.deleteProperty(properties, property);
         } else {
             if (modelElement != null) {
                 modelElement.deleteOwnProperty(property);
@@ -228,7 +228,7 @@ public abstract class AbstractRenderer implements IRenderer {
     @Override
     public <T1> T1 getProperty(int key) {
         Object property;
-        if ((property = properties.get(key)) != null || properties.containsKey(key)) {
+        if ((property = PropertyMap.getProperty(properties, key)) != null || PropertyMap.hasProperty(properties, key)) {
             return (T1) property;
         }
         if (modelElement != null && ((property = modelElement.<T1>getProperty(key)) != null || modelElement.hasProperty(key))) {
@@ -250,7 +250,7 @@ public abstract class AbstractRenderer implements IRenderer {
      */
     @Override
     public <T1> T1 getOwnProperty(int property) {
-        return (T1) properties.get(property);
+        return (T1) PropertyMap.getProperty(properties, property);
     }
 
     /**
@@ -267,7 +267,7 @@ public abstract class AbstractRenderer implements IRenderer {
      */
     @Override
     public void setProperty(int property, Object value) {
-        properties.put(property, value);
+        PropertyMap.setProperty(properties, property, value);
     }
 
     /**
@@ -305,8 +305,7 @@ public abstract class AbstractRenderer implements IRenderer {
      * @return a {@link Float}
      */
     public Float getPropertyAsFloat(int property) {
-        Number value = this.<Number>getProperty(property);
-        return value != null ? value.floatValue() : null;
+        return toFloat(this.<Number>getProperty(property));
     }
 
     /**
@@ -317,8 +316,12 @@ public abstract class AbstractRenderer implements IRenderer {
      * @return a {@link Float}
      */
     public Float getPropertyAsFloat(int property, Float defaultValue) {
-        Number value = this.<Number>getProperty(property, defaultValue);
-        return value != null ? value.floatValue() : null;
+        return toFloat(this.<Number>getProperty(property, defaultValue));
+    }
+
+    private static Float toFloat(Number value) {
+        // the float values are usually stored as Float already, so there is no need to box them again
+        return value instanceof Float ? (Float) value : value != null ? (Float) value.floatValue() : null;
     }
 
     /**
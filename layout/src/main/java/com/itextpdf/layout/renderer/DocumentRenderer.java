@@ -54,7 +54,10 @@ import com.itextpdf.layout.layout.LayoutArea;
 import com.itextpdf.layout.layout.LayoutResult;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Set;
 
 public class DocumentRenderer extends RootRenderer {
 
@@ -81,6 +84,58 @@ public class DocumentRenderer extends RootRenderer {
         return null;
     }
 
+    /**
+     * Appends the pages of a section which has been laid out separately to the end of the document,
+     * and draws the section content on them. The page numbers of the section renderers are shifted
+     * accordingly, and the content added after the section starts on a new page.
+     *
+     * @param section a section renderer which has been closed
+     */
+    public void addSection(SectionRenderer section) {
+        addWaitingKeepWithNextRenderer();
+
+        PdfDocument pdfDocument = document.getPdfDocument();
+        int pageOffset = pdfDocument.getNumberOfPages();
+        for (PageSize pageSize : section.getPageSizes()) {
+            addNewPage(pageSize);
+        }
+
+        Set<LayoutArea> movedAreas = Collections.newSetFromMap(new IdentityHashMap<LayoutArea, Boolean>());
+        for (IRenderer renderer : section.getChildRenderers()) {
+            movePageNumbers(renderer, pageOffset, movedAreas);
+        }
+        for (IRenderer renderer : section.positionedRenderers) {
+            movePageNumbers(renderer, pageOffset, movedAreas);
+        }
+        if (immediateFlush) {
+            for (IRenderer renderer : section.getChildRenderers()) {
+                flushSingleRenderer(renderer);
+            }
+            for (IRenderer renderer : section.positionedRenderers) {
+                flushSingleRenderer(renderer);
+            }
+        } else {
+            childRenderers.addAll(section.getChildRenderers());
+            positionedRenderers.addAll(section.positionedRenderers);
+        }
+        section.childRenderers.clear();
+        section.positionedRenderers.clear();
+
+        // As with the regular flow, the last page is kept unflushed
+        int lastPageNumber = pdfDocument.getNumberOfPages();
+        if (immediateFlush) {
+            for (int i = Math.max(pageOffset, 1); i < lastPageNumber; i++) {
+                if (!pdfDocument.getPage(i).isFlushed()) {
+                    pdfDocument.getPage(i).flush();
+                }
+            }
+        }
+        if (lastPageNumber > pageOffset) {
+            currentPageNumber = lastPageNumber;
+            currentArea = null;
+        }
+    }
+
     protected LayoutArea updateCurrentArea(LayoutResult overflowResult) {
         AreaBreak areaBreak = overflowResult != null && overflowResult.getAreaBreak() != null ? overflowResult.getAreaBreak() : null;
         moveToNextPage();
@@ -106,10 +161,16 @@ public class DocumentRenderer extends RootRenderer {
             ensureDocumentHasNPages(pageNum, null);
             PdfPage correspondingPage = pdfDocument.getPage(pageNum);
 
-            boolean wrapOldContent = pdfDocument.getReader() != null && pdfDocument.getWriter() != null &&
+            // Only pages of an existing document may have old content to be wrapped, so there is no need
+            // to remember every page a renderer has been drawn on when a new document is created
+            boolean stampingMode = pdfDocument.getReader() != null && pdfDocument.getWriter() != null;
+            boolean pageVisited = stampingMode && wrappedContentPage.contains(pageNum);
+            boolean wrapOldContent = stampingMode &&
                     correspondingPage.getContentStreamCount() > 0 && correspondingPage.getLastContentStream().getLength() > 0 &&
-                    !wrappedContentPage.contains(pageNum) && pdfDocument.getNumberOfPages() >= pageNum;
-            wrappedContentPage.add(pageNum);
+                    !pageVisited && pdfDocument.getNumberOfPages() >= pageNum;
+            if (stampingMode && !pageVisited) {
+                wrappedContentPage.add(pageNum);
+            }
 
             if (pdfDocument.isTagged()) {
                 pdfDocument.getTagStructureContext().getAutoTaggingPointer().setPageForTagging(correspondingPage);
@@ -139,6 +200,30 @@ public class DocumentRenderer extends RootRenderer {
         return lastPageSize;
     }
 
+    private void movePageNumbers(IRenderer renderer, int pageOffset, Set<LayoutArea> movedAreas) {
+        LayoutArea occupiedArea = renderer.getOccupiedArea();
+        if (occupiedArea != null && movedAreas.add(occupiedArea)) {
+            occupiedArea.setPageNumber(occupiedArea.getPageNumber() + pageOffset);
+        }
+        for (IRenderer child : renderer.getChildRenderers()) {
+            movePageNumbers(child, pageOffset, movedAreas);
+        }
+        if (renderer instanceof AbstractRenderer) {
+            for (IRenderer child : ((AbstractRenderer) renderer).positionedRenderers) {
+                movePageNumbers(child, pageOffset, movedAreas);
+            }
+        }
+        if (renderer instanceof TableRenderer) {
+            TableRenderer tableRenderer = (TableRenderer) renderer;
+            if (tableRenderer.headerRenderer != null) {
+                movePageNumbers(tableRenderer.headerRenderer, pageOffset, movedAreas);
+            }
+            if (tableRenderer.footerRenderer != null) {
+                movePageNumbers(tableRenderer.footerRenderer, pageOffset, movedAreas);
+            }
+        }
+    }
+
     private void moveToNextPage() {
         // We don't flush this page immediately, but only flush previous one because of manipulations with areas in case
         // of keepTogether property.
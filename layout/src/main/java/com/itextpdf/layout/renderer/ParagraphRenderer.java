@@ -54,13 +54,13 @@ import com.itextpdf.layout.layout.LineLayoutResult;
 import com.itextpdf.layout.margincollapse.MarginsCollapseHandler;
 import com.itextpdf.layout.property.Leading;
 import com.itextpdf.layout.property.Property;
+import com.itextpdf.layout.property.PropertyMap;
 import com.itextpdf.layout.property.TextAlignment;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 
 /**
@@ -69,6 +69,8 @@ import java.util.List;
  */
 public class ParagraphRenderer extends BlockRenderer {
 
+    private static final Float CELL_CONTENT_MARGIN = 0f;
+
     protected float previousDescent = 0;
     protected List<LineRenderer> lines = null;
 
@@ -370,7 +372,7 @@ public class ParagraphRenderer extends BlockRenderer {
     @Override
     public <T1> T1 getDefaultProperty(int property) {
         if ((property == Property.MARGIN_TOP || property == Property.MARGIN_BOTTOM) && parent instanceof CellRenderer) {
-            return (T1) (Object) 0f;
+            return (T1) (Object) CELL_CONTENT_MARGIN;
         }
         return super.<T1>getDefaultProperty(property);
     }
@@ -448,7 +450,7 @@ public class ParagraphRenderer extends BlockRenderer {
     protected ParagraphRenderer createSplitRenderer(IRenderer parent) {
         ParagraphRenderer splitRenderer = createSplitRenderer();
         splitRenderer.parent = parent;
-        splitRenderer.properties = new HashMap<>(properties);
+        splitRenderer.properties = new PropertyMap(properties);
         return splitRenderer;
     }
 
@@ -223,12 +223,7 @@ public abstract class RootRenderer extends AbstractRenderer {
      * and when no consequent element has been added. This method addresses such situations.
      */
     public void close() {
-        if (keepWithNextHangingRenderer != null) {
-            keepWithNextHangingRenderer.setProperty(Property.KEEP_WITH_NEXT, false);
-            IRenderer rendererToBeAdded = keepWithNextHangingRenderer;
-            keepWithNextHangingRenderer = null;
-            addChild(rendererToBeAdded);
-        }
+        addWaitingKeepWithNextRenderer();
         if (!immediateFlush) {
             flush();
         }
@@ -251,6 +246,19 @@ public abstract class RootRenderer extends AbstractRenderer {
 
     protected abstract void flushSingleRenderer(IRenderer resultRenderer);
 
+    /**
+     * Places the renderer which is waiting for the next element because of {@link Property#KEEP_WITH_NEXT},
+     * if there is one, ignoring the property.
+     */
+    protected void addWaitingKeepWithNextRenderer() {
+        if (keepWithNextHangingRenderer != null) {
+            keepWithNextHangingRenderer.setProperty(Property.KEEP_WITH_NEXT, false);
+            IRenderer rendererToBeAdded = keepWithNextHangingRenderer;
+            keepWithNextHangingRenderer = null;
+            addChild(rendererToBeAdded);
+        }
+    }
+
     protected abstract LayoutArea updateCurrentArea(LayoutResult overflowResult);
 
     private void processRenderer(IRenderer renderer, List<IRenderer> resultRenderers) {
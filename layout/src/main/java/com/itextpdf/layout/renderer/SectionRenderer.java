@@ -0,0 +1,136 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2016 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.layout.renderer;
+
+import com.itextpdf.kernel.geom.PageSize;
+import com.itextpdf.layout.Document;
+import com.itextpdf.layout.element.AreaBreak;
+import com.itextpdf.layout.layout.LayoutArea;
+import com.itextpdf.layout.layout.LayoutResult;
+import com.itextpdf.layout.property.AreaBreakType;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Lays out a section of a {@link Document}, which always starts on a new page, without accessing the
+ * underlying {@link com.itextpdf.kernel.pdf.PdfDocument}. The pages of the section are numbered starting
+ * from 1 and only exist as page sizes until the section is added to a {@link DocumentRenderer} with
+ * {@link DocumentRenderer#addSection(SectionRenderer)}, which creates the pages and draws the content.
+ * <p>
+ * Since nothing is written during layout, several sections of the same document may be laid out
+ * concurrently, as long as each element is only added to a single section.
+ */
+public class SectionRenderer extends RootRenderer {
+
+    protected Document document;
+    private PageSize defaultPageSize;
+    private List<PageSize> pageSizes = new ArrayList<>();
+
+    /**
+     * Creates a renderer for a section of the given document. The default page size of the document
+     * is taken at this moment.
+     *
+     * @param document the document the section belongs to
+     */
+    public SectionRenderer(Document document) {
+        this.document = document;
+        this.immediateFlush = false;
+        this.modelElement = document;
+        this.defaultPageSize = document.getPdfDocument().getDefaultPageSize();
+    }
+
+    /**
+     * Finishes the layout of the section. Unlike other root renderers, a section renderer
+     * does not draw its content on closing.
+     */
+    @Override
+    public void close() {
+        addWaitingKeepWithNextRenderer();
+    }
+
+    /**
+     * Gets the sizes of the pages occupied by the section, in the order of the pages.
+     *
+     * @return the list of page sizes
+     */
+    public List<PageSize> getPageSizes() {
+        return Collections.unmodifiableList(pageSizes);
+    }
+
+    @Override
+    public LayoutArea getOccupiedArea() {
+        throw new IllegalStateException("Not applicable for SectionRenderer");
+    }
+
+    @Override
+    public IRenderer getNextRenderer() {
+        return null;
+    }
+
+    @Override
+    protected LayoutArea updateCurrentArea(LayoutResult overflowResult) {
+        AreaBreak areaBreak = overflowResult != null && overflowResult.getAreaBreak() != null ? overflowResult.getAreaBreak() : null;
+        currentPageNumber++;
+        while (areaBreak != null && areaBreak.getType() == AreaBreakType.LAST_PAGE && currentPageNumber < pageSizes.size()) {
+            currentPageNumber++;
+        }
+        PageSize pageSize;
+        if (currentPageNumber > pageSizes.size()) {
+            pageSize = areaBreak != null && areaBreak.getPageSize() != null ? areaBreak.getPageSize() : defaultPageSize;
+            while (pageSizes.size() < currentPageNumber) {
+                pageSizes.add(pageSize);
+            }
+        } else {
+            pageSize = pageSizes.get(currentPageNumber - 1);
+        }
+        return (currentArea = new LayoutArea(currentPageNumber, document.getPageEffectiveArea(pageSize)));
+    }
+
+    @Override
+    protected void flushSingleRenderer(IRenderer resultRenderer) {
+        throw new IllegalStateException("Section content is drawn by the DocumentRenderer the section is added to");
+    }
+}
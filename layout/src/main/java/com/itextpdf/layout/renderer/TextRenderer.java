@@ -47,8 +47,10 @@ import com.itextpdf.io.LogMessageConstant;
 import com.itextpdf.io.font.FontMetrics;
 import com.itextpdf.io.font.FontProgram;
 import com.itextpdf.io.font.TrueTypeFont;
+import com.itextpdf.io.font.otf.ActualTextIterator;
 import com.itextpdf.io.font.otf.Glyph;
 import com.itextpdf.io.font.otf.GlyphLine;
+import com.itextpdf.io.font.otf.PackedGlyphLine;
 import com.itextpdf.kernel.color.Color;
 import com.itextpdf.kernel.font.PdfFont;
 import com.itextpdf.kernel.font.PdfType0Font;
@@ -104,6 +106,12 @@ public class TextRenderer extends AbstractRenderer {
 
     protected boolean otfFeaturesApplied = false;
 
+    // the string the whole text was converted from, while the text is not changed otherwise
+    private String shapingText;
+
+    // the widths, unicodes and offsets of the text, packed on layout and shared with the split renderers
+    private PackedGlyphLine packedText;
+
     protected float tabAnchorCharacterPosition = -1;
 
     /**
@@ -135,6 +143,8 @@ public class TextRenderer extends AbstractRenderer {
         this.strToBeConverted = other.strToBeConverted;
         this.otfFeaturesApplied = other.otfFeaturesApplied;
         this.tabAnchorCharacterPosition = other.tabAnchorCharacterPosition;
+        this.shapingText = other.shapingText;
+        this.packedText = other.packedText;
     }
 
     @Override
@@ -164,6 +174,7 @@ public class TextRenderer extends AbstractRenderer {
 
         line = new GlyphLine(text);
         line.start = line.end = -1;
+        packedText = getPackedText(text);
 
         float[] ascenderDescender = calculateAscenderDescender(font);
         float ascender = ascenderDescender[0];
@@ -186,7 +197,7 @@ public class TextRenderer extends AbstractRenderer {
         boolean isSplitForcedByNewLineAndWeNeedToIgnoreNewLineSymbol = false;
 
         while (currentTextPos < text.end) {
-            if (noPrint(text.get(currentTextPos))) {
+            if (noPrint(packedText.getUnicode(currentTextPos))) {
                 currentTextPos++;
                 continue;
             }
@@ -211,17 +222,16 @@ public class TextRenderer extends AbstractRenderer {
                     break;
                 }
 
-                Glyph currentGlyph = text.get(ind);
-                if (noPrint(currentGlyph))
+                if (noPrint(packedText.getUnicode(ind)))
                     continue;
 
-                if (tabAnchorCharacter != null && tabAnchorCharacter == text.get(ind).getUnicode()) {
+                if (tabAnchorCharacter != null && tabAnchorCharacter == packedText.getUnicode(ind)) {
                     tabAnchorCharacterPosition = currentLineWidth + nonBreakablePartFullWidth;
                     tabAnchorCharacter = null;
                 }
 
-                float glyphWidth = getCharWidth(currentGlyph, fontSize, hScale, characterSpacing, wordSpacing) / TEXT_SPACE_COEFF;
-                float xAdvance = previousCharPos != -1 ? text.get(previousCharPos).getXAdvance() : 0;
+                float glyphWidth = getCharWidth(packedText.getWidth(ind), packedText.getUnicode(ind), fontSize, hScale, characterSpacing, wordSpacing) / TEXT_SPACE_COEFF;
+                float xAdvance = previousCharPos != -1 ? packedText.getXAdvance(previousCharPos) : 0;
                 if (xAdvance != 0) {
                     xAdvance = scaleXAdvance(xAdvance, fontSize, hScale) / TEXT_SPACE_COEFF;
                 }
@@ -295,7 +305,7 @@ public class TextRenderer extends AbstractRenderer {
                                     String pre = hyph.getPreHyphenText(i);
                                     String pos = hyph.getPostHyphenText(i);
                                     float currentHyphenationChoicePreTextWidth =
-                                            getGlyphLineWidth(convertToGlyphLine(pre + hyphenationConfig.getHyphenSymbol()), fontSize, hScale, characterSpacing, wordSpacing);
+                                            getGlyphLineWidth(new PackedGlyphLine(convertToGlyphLine(pre + hyphenationConfig.getHyphenSymbol())), fontSize, hScale, characterSpacing, wordSpacing);
                                     if (currentLineWidth + currentHyphenationChoicePreTextWidth + italicSkewAddition + boldSimulationAddition <= layoutBox.getWidth()) {
                                         hyphenationApplied = true;
 
@@ -410,53 +420,87 @@ public class TextRenderer extends AbstractRenderer {
         convertWaitingStringToGlyphLine();
         Character.UnicodeScript script = this.<Character.UnicodeScript>getProperty(Property.FONT_SCRIPT);
         if (!otfFeaturesApplied) {
-            if (script == null && TypographyUtils.isTypographyModuleInitialized()) {
-                // Try to autodetect complex script.
-                Collection<Character.UnicodeScript> supportedScripts = TypographyUtils.getSupportedScripts();
-                Map<Character.UnicodeScript, Integer> scriptFrequency = new EnumMap<Character.UnicodeScript, Integer>(Character.UnicodeScript.class);
-                for (int i = text.start; i < text.end; i++) {
-                    int unicode = text.get(i).getUnicode();
-                    if (unicode > -1) {
-                        Character.UnicodeScript glyphScript = Character.UnicodeScript.of(unicode);
-                        if (scriptFrequency.containsKey(glyphScript)) {
-                            scriptFrequency.put(glyphScript, scriptFrequency.get(glyphScript) + 1);
-                        } else {
-                            scriptFrequency.put(glyphScript, 1);
-                        }
-                    }
+            PdfFont font = getPropertyAsFont(Property.FONT);
+            FontKerning fontKerning = (FontKerning) this.<FontKerning>getProperty(Property.FONT_KERNING, FontKerning.NO);
+            boolean kerning = fontKerning == FontKerning.YES;
+            boolean detectScript = script == null && TypographyUtils.isTypographyModuleInitialized();
+            boolean applyScript = isOtfFont(font) && (script != null || detectScript);
+
+            TextShapingCache cache = TextShapingCache.getInstance();
+            if (cache != null && shapingText != null && (applyScript || kerning)
+                    && text.start == 0 && text.end == text.size()) {
+                TextShapingCache.ShapedText shapedText = cache.getShapedText(font, shapingText, script, kerning);
+                if (shapedText != null) {
+                    applyDetectedScript(shapedText.detectedScript);
+                    text = TextShapingCache.copyOf(shapedText.glyphLine);
+                } else {
+                    Character.UnicodeScript detectedScript = shapeText(font, script, detectScript, kerning);
+                    cache.put(font, shapingText, true, script, kerning, text, detectedScript);
                 }
-                Integer max = 0;
-                Map.Entry<Character.UnicodeScript, Integer> selectedEntry = null;
-                for (Map.Entry<Character.UnicodeScript, Integer> entry : scriptFrequency.entrySet()) {
-                    Character.UnicodeScript entryScript = entry.getKey();
-                    if (entry.getValue() > max && !Character.UnicodeScript.COMMON.equals(entryScript) && !Character.UnicodeScript.UNKNOWN.equals(entryScript)
-                            && !Character.UnicodeScript.INHERITED.equals(entryScript)) {
-                        max = entry.getValue();
-                        selectedEntry = entry;
+            } else {
+                shapeText(font, script, detectScript, kerning);
+            }
+
+            otfFeaturesApplied = true;
+            packedText = null;
+        }
+    }
+
+    /**
+     * Applies the OpenType script features and the kerning to the text.
+     *
+     * @return the detected dominant script of the text, or {@code null}
+     */
+    private Character.UnicodeScript shapeText(PdfFont font, Character.UnicodeScript script, boolean detectScript, boolean kerning) {
+        Character.UnicodeScript detectedScript = null;
+        if (detectScript) {
+            // Try to autodetect complex script.
+            Collection<Character.UnicodeScript> supportedScripts = TypographyUtils.getSupportedScripts();
+            Map<Character.UnicodeScript, Integer> scriptFrequency = new EnumMap<Character.UnicodeScript, Integer>(Character.UnicodeScript.class);
+            for (int i = text.start; i < text.end; i++) {
+                int unicode = text.get(i).getUnicode();
+                if (unicode > -1) {
+                    Character.UnicodeScript glyphScript = Character.UnicodeScript.of(unicode);
+                    if (scriptFrequency.containsKey(glyphScript)) {
+                        scriptFrequency.put(glyphScript, scriptFrequency.get(glyphScript) + 1);
+                    } else {
+                        scriptFrequency.put(glyphScript, 1);
                     }
                 }
-                if (selectedEntry != null) {
-                    Character.UnicodeScript selectScript = ((Map.Entry<Character.UnicodeScript, Integer>) selectedEntry).getKey();
-                    if ((selectScript == Character.UnicodeScript.ARABIC || selectScript == Character.UnicodeScript.HEBREW) && parent instanceof LineRenderer) {
-                        setProperty(Property.BASE_DIRECTION, BaseDirection.DEFAULT_BIDI);
-                    }
-                    if (supportedScripts != null && supportedScripts.contains(selectScript)) {
-                        script = selectScript;
-                    }
+            }
+            Integer max = 0;
+            Map.Entry<Character.UnicodeScript, Integer> selectedEntry = null;
+            for (Map.Entry<Character.UnicodeScript, Integer> entry : scriptFrequency.entrySet()) {
+                Character.UnicodeScript entryScript = entry.getKey();
+                if (entry.getValue() > max && !Character.UnicodeScript.COMMON.equals(entryScript) && !Character.UnicodeScript.UNKNOWN.equals(entryScript)
+                        && !Character.UnicodeScript.INHERITED.equals(entryScript)) {
+                    max = entry.getValue();
+                    selectedEntry = entry;
                 }
             }
-
-            PdfFont font = getPropertyAsFont(Property.FONT);
-            if (isOtfFont(font) && script != null) {
-                TypographyUtils.applyOtfScript(font.getFontProgram(), text, script);
+            if (selectedEntry != null) {
+                Character.UnicodeScript selectScript = ((Map.Entry<Character.UnicodeScript, Integer>) selectedEntry).getKey();
+                applyDetectedScript(selectScript);
+                detectedScript = selectScript;
+                if (supportedScripts != null && supportedScripts.contains(selectScript)) {
+                    script = selectScript;
+                }
             }
+        }
 
-            FontKerning fontKerning = (FontKerning) this.<FontKerning>getProperty(Property.FONT_KERNING, FontKerning.NO);
-            if (fontKerning == FontKerning.YES) {
-                TypographyUtils.applyKerning(font.getFontProgram(), text);
-            }
+        if (isOtfFont(font) && script != null) {
+            TypographyUtils.applyOtfScript(font.getFontProgram(), text, script);
+        }
 
-            otfFeaturesApplied = true;
+        if (kerning) {
+            TypographyUtils.applyKerning(font.getFontProgram(), text);
+        }
+        return detectedScript;
+    }
+
+    private void applyDetectedScript(Character.UnicodeScript detectedScript) {
+        if ((detectedScript == Character.UnicodeScript.ARABIC || detectedScript == Character.UnicodeScript.HEBREW) && parent instanceof LineRenderer) {
+            setProperty(Property.BASE_DIRECTION, BaseDirection.DEFAULT_BIDI);
         }
     }
 
@@ -597,16 +641,17 @@ public class TextRenderer extends AbstractRenderer {
                 }
                 line = line.filter(filter);
                 if (writeReversedChars) {
-                    canvas.showText(line, new ReversedCharsIterator(reversedRanges, line).
+                    canvas.showText(getPackedText(line), new ReversedCharsIterator(reversedRanges, line).
                             setUseReversed(writeReversedChars));
                 } else {
-                    canvas.showText(line);
+                    canvas.showText(getPackedText(line), new ActualTextIterator(line));
                 }
             } else {
                 if (appearanceStreamLayout) {
                     line.setActualText(line.start, line.end, null);
                 }
-                canvas.showText(line.filter(filter));
+                GlyphLine printedLine = line.filter(filter);
+                canvas.showText(getPackedText(printedLine), new ActualTextIterator(printedLine));
             }
 
             canvas.endText().restoreState();
@@ -779,6 +824,8 @@ public class TextRenderer extends AbstractRenderer {
         this.text.start = leftPos;
         this.text.end = rightPos;
         this.otfFeaturesApplied = false;
+        this.shapingText = null;
+        this.packedText = null;
     }
 
     public GlyphLine getText() {
@@ -858,7 +905,16 @@ public class TextRenderer extends AbstractRenderer {
 
     private GlyphLine convertToGlyphLine(String text) {
         PdfFont font = getPropertyAsFont(Property.FONT);
-        return font.createGlyphLine(text);
+        TextShapingCache cache = TextShapingCache.getInstance();
+        if (cache == null) {
+            return font.createGlyphLine(text);
+        }
+        GlyphLine glyphLine = cache.getGlyphLine(font, text);
+        if (glyphLine == null) {
+            glyphLine = font.createGlyphLine(text);
+            cache.put(font, text, false, null, false, glyphLine, null);
+        }
+        return glyphLine;
     }
 
     private boolean isOtfFont(PdfFont font) {
@@ -919,12 +975,14 @@ public class TextRenderer extends AbstractRenderer {
         splitRenderer.parent = parent;
         splitRenderer.yLineOffset = yLineOffset;
         splitRenderer.otfFeaturesApplied = otfFeaturesApplied;
+        splitRenderer.packedText = packedText;
         splitRenderer.isLastRendererForModelElement = false;
         splitRenderer.addAllProperties(getOwnProperties());
 
         TextRenderer overflowRenderer = createOverflowRenderer();
         overflowRenderer.setText(text, initialOverflowTextPos, text.end);
         overflowRenderer.otfFeaturesApplied = otfFeaturesApplied;
+        overflowRenderer.packedText = packedText;
         overflowRenderer.parent = parent;
         overflowRenderer.addAllProperties(getOwnProperties());
 
@@ -954,27 +1012,31 @@ public class TextRenderer extends AbstractRenderer {
     }
 
     protected float calculateLineWidth() {
-        return getGlyphLineWidth(line, (float) this.getPropertyAsFloat(Property.FONT_SIZE), this.getPropertyAsFloat(Property.HORIZONTAL_SCALING, 1f),
+        return getGlyphLineWidth(getPackedText(line), (float) this.getPropertyAsFloat(Property.FONT_SIZE), this.getPropertyAsFloat(Property.HORIZONTAL_SCALING, 1f),
                 this.getPropertyAsFloat(Property.CHARACTER_SPACING), this.getPropertyAsFloat(Property.WORD_SPACING));
     }
 
     private static boolean noPrint(Glyph g) {
-        if (!g.hasValidUnicode()) {
-            return false;
-        }
-        int c = g.getUnicode();
+        return g.hasValidUnicode() && noPrint(g.getUnicode());
+    }
+
+    private static boolean noPrint(int c) {
         return c >= 0x200b && c <= 0x200f || c >= 0x202a && c <= 0x202e || c == '\u00AD';
     }
 
     private float getCharWidth(Glyph g, float fontSize, Float hScale, Float characterSpacing, Float wordSpacing) {
+        return getCharWidth(g.getWidth(), g.getUnicode(), fontSize, hScale, characterSpacing, wordSpacing);
+    }
+
+    private float getCharWidth(int glyphWidth, int unicode, float fontSize, Float hScale, Float characterSpacing, Float wordSpacing) {
         if (hScale == null)
             hScale = 1f;
 
-        float resultWidth = g.getWidth() * fontSize * (float) hScale;
+        float resultWidth = glyphWidth * fontSize * (float) hScale;
         if (characterSpacing != null) {
             resultWidth += (float) characterSpacing * (float) hScale * TEXT_SPACE_COEFF;
         }
-        if (wordSpacing != null && g.hasValidUnicode() && g.getUnicode() == ' ') {
+        if (wordSpacing != null && unicode == ' ') {
             resultWidth += (float) wordSpacing * (float) hScale * TEXT_SPACE_COEFF;
         }
         return resultWidth;
@@ -984,19 +1046,26 @@ public class TextRenderer extends AbstractRenderer {
         return xAdvance * fontSize * (float) hScale;
     }
 
-    private float getGlyphLineWidth(GlyphLine glyphLine, float fontSize, Float hScale, Float characterSpacing, Float wordSpacing) {
+    private float getGlyphLineWidth(PackedGlyphLine glyphLine, float fontSize, Float hScale, Float characterSpacing, Float wordSpacing) {
         float width = 0;
         for (int i = glyphLine.start; i < glyphLine.end; i++) {
-            if (!noPrint(glyphLine.get(i))) {
-                float charWidth = getCharWidth(glyphLine.get(i), fontSize, hScale, characterSpacing, wordSpacing);
+            if (!noPrint(glyphLine.getUnicode(i))) {
+                float charWidth = getCharWidth(glyphLine.getWidth(i), glyphLine.getUnicode(i), fontSize, hScale, characterSpacing, wordSpacing);
                 width += charWidth;
-                float xAdvance = (i != glyphLine.start) ? scaleXAdvance(glyphLine.get(i - 1).getXAdvance(), fontSize, hScale) : 0;
+                float xAdvance = (i != glyphLine.start) ? scaleXAdvance(glyphLine.getXAdvance(i - 1), fontSize, hScale) : 0;
                 width += xAdvance;
             }
         }
         return width / TEXT_SPACE_COEFF;
     }
 
+    /**
+     * Gets the packed glyphs of the line. The glyphs packed on layout are reused if they cover the line.
+     */
+    private PackedGlyphLine getPackedText(GlyphLine glyphLine) {
+        return packedText != null && packedText.isPackedFrom(glyphLine) ? packedText : new PackedGlyphLine(glyphLine);
+    }
+
     private int[] getWordBoundsForHyphenation(GlyphLine text, int leftTextPos, int rightTextPos, int wordMiddleCharPos) {
         while (wordMiddleCharPos >= leftTextPos && !isGlyphPartOfWordForHyphenation(text.get(wordMiddleCharPos)) && !isWhitespaceGlyph(text.get(wordMiddleCharPos))) {
             wordMiddleCharPos--;
@@ -1029,6 +1098,7 @@ public class TextRenderer extends AbstractRenderer {
         if (strToBeConverted != null) {
             GlyphLine glyphLine = convertToGlyphLine(strToBeConverted);
             setText(glyphLine, glyphLine.start, glyphLine.end);
+            shapingText = strToBeConverted;
             strToBeConverted = null;
         }
     }
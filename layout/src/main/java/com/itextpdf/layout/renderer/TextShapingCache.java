@@ -0,0 +1,357 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2016 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.layout.renderer;
+
+import com.itextpdf.io.font.otf.Glyph;
+import com.itextpdf.io.font.otf.GlyphLine;
+import com.itextpdf.io.font.CMapEncoding;
+import com.itextpdf.io.font.FontEncoding;
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.font.PdfSimpleFont;
+import com.itextpdf.kernel.font.PdfTrueTypeFont;
+import com.itextpdf.kernel.font.PdfType0Font;
+import com.itextpdf.kernel.font.PdfType1Font;
+
+import java.lang.ref.WeakReference;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A bounded cache of the glyph lines which {@link TextRenderer} produces from the strings, i.e. the result of
+ * the glyph lookup in the font and of the OpenType shaping (script substitutions and positioning, kerning).
+ * Documents which repeat the same labels and values many times convert and shape each distinct string only once
+ * per font and shaping settings.
+ * <br>
+ * The cache is thread safe and keeps at most the given number of entries, the least recently used entries are
+ * evicted first. The fonts are referenced weakly, so the cache doesn't keep the documents in memory.
+ * The fonts with the same font program and encoding, e.g. the fonts of the different documents created
+ * from the same file, share the entries.
+ * <br>
+ * The caching is disabled by default and is enabled with {@link #setInstance(TextShapingCache)}. It pays off
+ * when the same strings are shaped many times, e.g. with OpenType features applied by the typography module.
+ * Plain glyph lookup is cheap, and the cache is guarded by a single lock, which the threads laying out
+ * text concurrently contend for.
+ */
+public class TextShapingCache {
+
+    /**
+     * The default maximum number of entries of the cache.
+     */
+    public static final int DEFAULT_MAX_ENTRIES = 10000;
+
+    private static volatile TextShapingCache instance;
+
+    private final int maxEntries;
+    private final LinkedHashMap<ShapingKey, ShapedText> entries;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * Creates a cache.
+     *
+     * @param maxEntries the maximum number of entries of the cache
+     */
+    public TextShapingCache(int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("The parameter must be a positive integer");
+        }
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<ShapingKey, ShapedText>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ShapingKey, ShapedText> eldest) {
+                if (size() > TextShapingCache.this.maxEntries) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Gets the cache which is used by {@link TextRenderer}.
+     *
+     * @return the cache in use, or {@code null} if the caching is disabled, which is the default
+     */
+    public static TextShapingCache getInstance() {
+        return instance;
+    }
+
+    /**
+     * Sets the cache which is used by {@link TextRenderer}.
+     *
+     * @param cache the cache to use, or {@code null} to disable the caching
+     */
+    public static void setInstance(TextShapingCache cache) {
+        instance = cache;
+    }
+
+    /**
+     * Gets the maximum number of entries of the cache.
+     *
+     * @return the maximum number of entries
+     */
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    /**
+     * Gets the current number of entries of the cache.
+     *
+     * @return the number of entries
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Gets the number of lookups which found the glyph line in the cache.
+     *
+     * @return the number of cache hits
+     */
+    public synchronized long getHitCount() {
+        return hits;
+    }
+
+    /**
+     * Gets the number of lookups which didn't find the glyph line in the cache, so it was produced from the string.
+     *
+     * @return the number of cache misses
+     */
+    public synchronized long getMissCount() {
+        return misses;
+    }
+
+    /**
+     * Gets the number of entries which were removed from the cache to stay within the maximum number of entries.
+     *
+     * @return the number of evicted entries
+     */
+    public synchronized long getEvictionCount() {
+        return evictions;
+    }
+
+    /**
+     * Removes all the entries and resets the counters.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        hits = 0;
+        misses = 0;
+        evictions = 0;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "TextShapingCache{" +
+                "size=" + entries.size() +
+                ", maxEntries=" + maxEntries +
+                ", hits=" + hits +
+                ", misses=" + misses +
+                ", evictions=" + evictions +
+                '}';
+    }
+
+    /**
+     * Gets a copy of the cached glyph line of the string before the shaping, which the renderer may modify.
+     *
+     * @return the glyph line, or {@code null} if there is no such entry
+     */
+    GlyphLine getGlyphLine(PdfFont font, String text) {
+        ShapedText shapedText = get(new ShapingKey(font, text, false, null, false));
+        return shapedText != null ? shapedText.glyphLine.copyOnWrite() : null;
+    }
+
+    /**
+     * Gets the cached result of the shaping. The glyph line of the result must not be modified.
+     *
+     * @return the result of the shaping, or {@code null} if there is no such entry
+     */
+    ShapedText getShapedText(PdfFont font, String text, Character.UnicodeScript script, boolean kerning) {
+        return get(new ShapingKey(font, text, true, script, kerning));
+    }
+
+    void put(PdfFont font, String text, boolean shaped, Character.UnicodeScript script, boolean kerning, GlyphLine glyphLine,
+             Character.UnicodeScript detectedScript) {
+        ShapingKey key = new ShapingKey(font, text, shaped, script, kerning).makeWeak();
+        GlyphLine copy = glyphLine.copy(glyphLine.start, glyphLine.end);
+        copyPlacedGlyphs(copy);
+        ShapedText value = new ShapedText(copy, detectedScript);
+        synchronized (this) {
+            entries.put(key, value);
+        }
+    }
+
+    /**
+     * Copies the cached glyph line, so that the cached line is not affected by the changes of the copy.
+     */
+    static GlyphLine copyOf(GlyphLine glyphLine) {
+        GlyphLine copy = glyphLine.copyOnWrite();
+        copyPlacedGlyphs(copy);
+        return copy;
+    }
+
+    /**
+     * The glyphs are shared by the cached line and its copies, except the glyphs with placement,
+     * which anchor delta may be changed by the bidi reordering.
+     */
+    private static void copyPlacedGlyphs(GlyphLine glyphLine) {
+        for (int i = 0; i < glyphLine.size(); i++) {
+            Glyph glyph = glyphLine.get(i);
+            if (glyph.hasPlacement()) {
+                glyphLine.set(i, new Glyph(glyph));
+            }
+        }
+    }
+
+    private synchronized ShapedText get(ShapingKey key) {
+        ShapedText shapedText = entries.get(key);
+        if (shapedText != null) {
+            hits++;
+        } else {
+            misses++;
+        }
+        return shapedText;
+    }
+
+    /**
+     * The result of the shaping of a string.
+     */
+    static class ShapedText {
+        final GlyphLine glyphLine;
+        // the dominant script found by the script detection, if the script wasn't specified
+        final Character.UnicodeScript detectedScript;
+
+        ShapedText(GlyphLine glyphLine, Character.UnicodeScript detectedScript) {
+            this.glyphLine = glyphLine;
+            this.detectedScript = detectedScript;
+        }
+    }
+
+    private static class ShapingKey {
+        // either the font program, for the fonts which glyphs are defined by the program and the encoding only,
+        // or the font itself. The keys of the entries reference it weakly, the keys of the lookups strongly
+        private Object font;
+        private WeakReference<Object> weakFont;
+        private final Class<?> fontClass;
+        private final String encoding;
+        private final String text;
+        private final boolean shaped;
+        private final Character.UnicodeScript script;
+        private final boolean kerning;
+        private final int hash;
+
+        ShapingKey(PdfFont font, String text, boolean shaped, Character.UnicodeScript script, boolean kerning) {
+            String encoding = getEncodingName(font);
+            Object fontObject = encoding != null ? font.getFontProgram() : font;
+            this.font = fontObject;
+            this.fontClass = font.getClass();
+            this.encoding = encoding;
+            this.text = text;
+            this.shaped = shaped;
+            this.script = script;
+            this.kerning = kerning;
+            int hash = System.identityHashCode(fontObject);
+            hash = 31 * hash + text.hashCode();
+            hash = 31 * hash + (shaped ? 1 : 0);
+            hash = 31 * hash + (script != null ? script.hashCode() : 0);
+            this.hash = 31 * hash + (kerning ? 1 : 0);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ShapingKey)) {
+                return false;
+            }
+            ShapingKey other = (ShapingKey) o;
+            Object font = getFont();
+            // the entries of the collected fonts are never matched and are evicted eventually
+            return hash == other.hash && font != null && font == other.getFont() && fontClass == other.fontClass
+                    && shaped == other.shaped && kerning == other.kerning && script == other.script
+                    && (encoding == null ? other.encoding == null : encoding.equals(other.encoding))
+                    && text.equals(other.text);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        ShapingKey makeWeak() {
+            weakFont = new WeakReference<>(font);
+            font = null;
+            return this;
+        }
+
+        private Object getFont() {
+            return weakFont != null ? weakFont.get() : font;
+        }
+
+        /**
+         * Gets the name of the encoding, if the glyphs of the font depend only on the font program and on this encoding.
+         *
+         * @return the name of the encoding, or {@code null} if the glyphs may depend on the font itself
+         */
+        private static String getEncodingName(PdfFont font) {
+            if (font instanceof PdfType0Font) {
+                CMapEncoding cmap = ((PdfType0Font) font).getCmap();
+                return cmap != null ? cmap.getCmapName() + (cmap.isDirect() ? "" : "/" + cmap.getUniMapName()) : null;
+            }
+            if (font instanceof PdfType1Font || font instanceof PdfTrueTypeFont) {
+                FontEncoding fontEncoding = ((PdfSimpleFont<?>) font).getFontEncoding();
+                if (fontEncoding != null && !fontEncoding.hasDifferences()) {
+                    return fontEncoding.isFontSpecific() ? "FontSpecific" : fontEncoding.getBaseEncoding();
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -58,6 +58,7 @@ import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -91,8 +92,8 @@ class TypographyUtils {
     private static final Collection<Character.UnicodeScript> SUPPORTED_SCRIPTS;
     private static final boolean TYPOGRAPHY_MODULE_INITIALIZED;
 
-    private static Map<String, Class<?>> cachedClasses = new HashMap<>();
-    private static Map<TypographyMethodSignature, AccessibleObject> cachedMethods = new HashMap<>();
+    private static Map<String, Class<?>> cachedClasses = Collections.synchronizedMap(new HashMap<String, Class<?>>());
+    private static Map<TypographyMethodSignature, AccessibleObject> cachedMethods = Collections.synchronizedMap(new HashMap<TypographyMethodSignature, AccessibleObject>());
 
     private static final String typographyNotFoundException = "Cannot find pdfCalligraph module, which was implicitly required by one of the layout properties";
 
@@ -7,7 +7,11 @@ import com.itextpdf.kernel.pdf.PdfReader;
 import com.itextpdf.kernel.pdf.PdfWriter;
 import com.itextpdf.kernel.utils.CompareTool;
 import com.itextpdf.layout.element.AreaBreak;
+import com.itextpdf.layout.element.Cell;
+import com.itextpdf.layout.element.IBlockElement;
+import com.itextpdf.layout.element.IElement;
 import com.itextpdf.layout.element.Paragraph;
+import com.itextpdf.layout.element.Table;
 import com.itextpdf.layout.property.AreaBreakType;
 import com.itextpdf.test.ExtendedITextTest;
 import com.itextpdf.test.annotations.type.IntegrationTest;
@@ -17,6 +21,8 @@ import org.junit.Test;
 import org.junit.experimental.categories.Category;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 
 @Category(IntegrationTest.class)
 public class AreaBreakTest extends ExtendedITextTest {
@@ -90,4 +96,62 @@ public class AreaBreakTest extends ExtendedITextTest {
         Assert.assertNull(new CompareTool().compareByContent(outFileName, cmpFileName, destinationFolder, "diff"));
     }
 
+    @Test
+    public void parallelSectionsTest() throws IOException, InterruptedException {
+        String outFileName = destinationFolder + "parallelSections.pdf";
+        String cmpFileName = destinationFolder + "parallelSections_sequential.pdf";
+
+        Document sequentialDocument = new Document(new PdfDocument(new PdfWriter(cmpFileName)));
+        sequentialDocument.add(new Paragraph("Report"));
+        for (List<IElement> section : createSections()) {
+            sequentialDocument.add(new AreaBreak());
+            for (IElement element : section) {
+                if (element instanceof AreaBreak) {
+                    sequentialDocument.add((AreaBreak) element);
+                } else {
+                    sequentialDocument.add((IBlockElement) element);
+                }
+            }
+        }
+        sequentialDocument.add(new AreaBreak());
+        sequentialDocument.add(new Paragraph("End of report"));
+        sequentialDocument.close();
+
+        PdfDocument pdfDocument = new PdfDocument(new PdfWriter(outFileName));
+        Document document = new Document(pdfDocument);
+        document.add(new Paragraph("Report"));
+        document.addSections(createSections());
+        document.add(new Paragraph("End of report"));
+        int pageCount = pdfDocument.getNumberOfPages();
+        document.close();
+
+        PdfDocument cmpDocument = new PdfDocument(new PdfReader(cmpFileName));
+        int cmpPageCount = cmpDocument.getNumberOfPages();
+        cmpDocument.close();
+        Assert.assertEquals(cmpPageCount, pageCount);
+        Assert.assertNull(new CompareTool().compareByContent(outFileName, cmpFileName, destinationFolder, "diff"));
+    }
+
+    private static List<List<IElement>> createSections() {
+        List<List<IElement>> sections = new ArrayList<>();
+        for (int i = 1; i <= 6; i++) {
+            List<IElement> section = new ArrayList<>();
+            section.add(new Paragraph("Section " + i).setFontSize(20));
+            for (int j = 1; j <= 20 * i; j++) {
+                section.add(new Paragraph("Paragraph " + j + " of section " + i));
+            }
+            Table table = new Table(3);
+            for (int j = 1; j <= 30 * i; j++) {
+                table.addCell(new Cell().add(new Paragraph("Cell " + j)));
+            }
+            section.add(table);
+            if (i % 2 == 0) {
+                section.add(new AreaBreak(new PageSize(300, 300)));
+                section.add(new Paragraph("Appendix of section " + i));
+            }
+            sections.add(section);
+        }
+        return sections;
+    }
+
 }
@@ -4,6 +4,7 @@ import com.itextpdf.kernel.geom.PageSize;
 import com.itextpdf.kernel.pdf.PdfDocument;
 import com.itextpdf.kernel.pdf.PdfWriter;
 import com.itextpdf.kernel.utils.CompareTool;
+import com.itextpdf.layout.element.AreaBreak;
 import com.itextpdf.layout.element.Cell;
 import com.itextpdf.layout.element.Paragraph;
 import com.itextpdf.layout.element.Table;
@@ -14,7 +15,9 @@ import org.junit.BeforeClass;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.text.MessageFormat;
 
 @Category(IntegrationTest.class)
@@ -247,4 +250,41 @@ public class LargeElementTest extends ExtendedITextTest {
         Assert.assertNull(new CompareTool().compareByContent(outFileName, cmpFileName, destinationFolder, testName + "_diff"));
     }
 
+    @Test
+    public void streamingLayoutTest() throws IOException {
+        int pageCount = 300;
+        OutputStream discardingStream = new OutputStream() {
+            @Override
+            public void write(int b) {
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+            }
+        };
+
+        PdfDocument pdfDoc = new PdfDocument(new PdfWriter(discardingStream));
+        Document doc = new Document(pdfDoc).setStreamingLayout(true);
+        doc.add(new Paragraph("Page 1"));
+        for (int i = 2; i <= pageCount; i++) {
+            doc.add(new AreaBreak());
+            doc.add(new Paragraph(MessageFormat.format("Page {0}", i)));
+        }
+
+        Assert.assertEquals(pageCount, pdfDoc.getNumberOfPages());
+        Assert.assertTrue(doc.childElements.isEmpty());
+        Assert.assertTrue(doc.getRenderer().getChildRenderers().isEmpty());
+        // only the last two pages are kept, the previous ones are flushed as the layout proceeds
+        Assert.assertTrue(pdfDoc.getPage(1).isFlushed());
+        Assert.assertTrue(pdfDoc.getPage(pageCount - 2).isFlushed());
+
+        doc.close();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void streamingLayoutWithoutImmediateFlushTest() {
+        PdfDocument pdfDoc = new PdfDocument(new PdfWriter(new ByteArrayOutputStream()));
+        new Document(pdfDoc, PageSize.A4, false).setStreamingLayout(true);
+    }
+
 }
@@ -0,0 +1,98 @@
+package com.itextpdf.layout;
+
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.layout.element.AreaBreak;
+import com.itextpdf.layout.element.Paragraph;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.SlowTest;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.text.MessageFormat;
+
+@Category(SlowTest.class)
+public class StreamingLayoutTest extends ExtendedITextTest {
+
+    private static final int PAGE_COUNT = 100000;
+    private static final int FIRST_MEASURED_PAGE = 1000;
+    // the document itself keeps an xref entry and a page tree entry for every flushed page,
+    // which takes about 350 bytes per page, while the laid out content must not be retained at all
+    private static final long MAX_RETAINED_HEAP_GROWTH_PER_PAGE = 512;
+
+    /**
+     * Lays out {@link #PAGE_COUNT} pages in a separate JVM with a small heap, which runs out of memory
+     * if the layout retains the renderers or the elements of the flushed pages.
+     */
+    @Test
+    public void streamingLayoutInSmallHeapTest() throws IOException, InterruptedException {
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        Process process = new ProcessBuilder(java, "-Xmx48m", "-XX:+UseSerialGC",
+                "-cp", System.getProperty("java.class.path"), StreamingLayoutTest.class.getName())
+                .redirectErrorStream(true).start();
+        String output = readFully(process.getInputStream());
+        Assert.assertEquals(output, 0, process.waitFor());
+    }
+
+    /**
+     * Runs the streaming layout and fails if the retained heap grows between the page {@link #FIRST_MEASURED_PAGE}
+     * and the last page by more than the document needs to keep track of the flushed pages.
+     */
+    public static void main(String[] args) throws IOException {
+        OutputStream discardingStream = new OutputStream() {
+            @Override
+            public void write(int b) {
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+            }
+        };
+
+        PdfDocument pdfDoc = new PdfDocument(new PdfWriter(discardingStream));
+        Document doc = new Document(pdfDoc).setStreamingLayout(true);
+        doc.add(new Paragraph("Page 1"));
+        long retainedHeapAtFirstMeasuredPage = 0;
+        for (int i = 2; i <= PAGE_COUNT; i++) {
+            doc.add(new AreaBreak());
+            doc.add(new Paragraph(MessageFormat.format("Page {0}", i)));
+            if (i == FIRST_MEASURED_PAGE) {
+                retainedHeapAtFirstMeasuredPage = getRetainedHeap();
+            }
+        }
+        long retainedHeapAtLastPage = getRetainedHeap();
+        if (pdfDoc.getNumberOfPages() != PAGE_COUNT) {
+            throw new AssertionError(MessageFormat.format("Expected {0} pages, got {1}", PAGE_COUNT, pdfDoc.getNumberOfPages()));
+        }
+        long maxRetainedHeapGrowth = MAX_RETAINED_HEAP_GROWTH_PER_PAGE * (PAGE_COUNT - FIRST_MEASURED_PAGE);
+        if (retainedHeapAtLastPage - retainedHeapAtFirstMeasuredPage > maxRetainedHeapGrowth) {
+            throw new AssertionError(MessageFormat.format("Retained heap grew from {0} bytes at page {1} to {2} bytes at page {3}",
+                    String.valueOf(retainedHeapAtFirstMeasuredPage), FIRST_MEASURED_PAGE, String.valueOf(retainedHeapAtLastPage), PAGE_COUNT));
+        }
+        doc.close();
+    }
+
+    private static long getRetainedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static String readFully(InputStream stream) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        byte[] buffer = new byte[4096];
+        int read;
+        while ((read = stream.read(buffer)) != -1) {
+            output.write(buffer, 0, read);
+        }
+        return output.toString();
+    }
+}
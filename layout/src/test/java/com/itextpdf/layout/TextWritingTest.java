@@ -13,6 +13,7 @@ import com.itextpdf.layout.element.AreaBreak;
 import com.itextpdf.layout.element.Paragraph;
 import com.itextpdf.layout.element.Text;
 import com.itextpdf.layout.property.Property;
+import com.itextpdf.layout.renderer.TextShapingCache;
 import com.itextpdf.test.ExtendedITextTest;
 import com.itextpdf.test.annotations.type.IntegrationTest;
 import org.junit.Assert;
@@ -60,6 +61,42 @@ public class TextWritingTest extends ExtendedITextTest {
         Assert.assertNull(new CompareTool().compareByContent(outFileName, cmpFileName, destinationFolder, "diff"));
     }
 
+    @Test
+    public void textShapingCacheTest() throws IOException, InterruptedException {
+        String outFileName = destinationFolder + "textShapingCacheTest.pdf";
+        String cmpFileName = destinationFolder + "textShapingCacheTest_noCache.pdf";
+        TextShapingCache defaultCache = TextShapingCache.getInstance();
+        // the caching is opt-in
+        Assert.assertNull(defaultCache);
+        try {
+            TextShapingCache cache = new TextShapingCache(100);
+            TextShapingCache.setInstance(cache);
+            writeRepeatedLabels(cmpFileName);
+            writeRepeatedLabels(outFileName);
+            // every distinct string is converted once, all the other lookups are hits, also in the second document
+            Assert.assertEquals(2, cache.getMissCount());
+            Assert.assertTrue(cache.getHitCount() >= 2 * 199);
+            Assert.assertEquals(2, cache.size());
+
+            TextShapingCache.setInstance(null);
+            writeRepeatedLabels(cmpFileName);
+        } finally {
+            TextShapingCache.setInstance(defaultCache);
+        }
+
+        Assert.assertNull(new CompareTool().compareByContent(outFileName, cmpFileName, destinationFolder, "diff"));
+    }
+
+    private static void writeRepeatedLabels(String outFileName) throws IOException {
+        Document document = new Document(new PdfDocument(new PdfWriter(outFileName)));
+        PdfFont font = PdfFontFactory.createFont(FontConstants.HELVETICA);
+        for (int i = 0; i < 100; i++) {
+            document.add(new Paragraph().setFont(font)
+                    .add(new Text("Total amount: ")).add(new Text("AVAILABLE")));
+        }
+        document.close();
+    }
+
     @Test
     public void textRenderingModeTest01() throws IOException, InterruptedException {
         String outFileName = destinationFolder + "textRenderingModeTest01.pdf";
@@ -5,7 +5,10 @@ import com.itextpdf.test.annotations.type.UnitTest;
 
 import java.lang.reflect.Field;
 import java.text.MessageFormat;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
 import java.util.Set;
 
 import org.junit.Assert;
@@ -39,4 +42,57 @@ public class PropertyTest extends ExtendedITextTest {
         System.out.println(MessageFormat.format("Max field value: {0}", maxFieldValue));
     }
 
+    @Test
+    public void propertyMapTest() {
+        PropertyMap map = new PropertyMap();
+        Map<Integer, Object> expected = new HashMap<>();
+        int[] keys = {Property.FONT_SIZE, Property.WIDTH, Property.COLLAPSING_MARGINS, 1000, -5, Property.ACTION};
+        for (int i = 0; i < keys.length; i++) {
+            Object value = i == 2 ? null : "value" + i;
+            Assert.assertNull(map.put(keys[i], value));
+            expected.put(keys[i], value);
+        }
+        Assert.assertEquals(expected, map);
+        Assert.assertEquals(expected.hashCode(), map.hashCode());
+        Assert.assertTrue(map.containsKey(Property.COLLAPSING_MARGINS));
+        Assert.assertNull(map.get(Property.COLLAPSING_MARGINS));
+        Assert.assertFalse(map.containsKey(Property.BORDER));
+        Assert.assertEquals("value3", map.get(1000));
+
+        PropertyMap copy = new PropertyMap(map);
+        Assert.assertEquals("value1", copy.put(Property.WIDTH, "other"));
+        Assert.assertEquals("value1", map.get(Property.WIDTH));
+        Assert.assertEquals("value0", copy.remove(Property.FONT_SIZE));
+        Assert.assertNull(copy.remove(Property.FONT_SIZE));
+        Assert.assertEquals(expected.size() - 1, copy.size());
+
+        for (Iterator<Map.Entry<Integer, Object>> iterator = map.entrySet().iterator(); iterator.hasNext(); ) {
+            int key = iterator.next().getKey();
+            if (key == 1000 || key == Property.WIDTH) {
+                iterator.remove();
+            }
+        }
+        expected.remove(1000);
+        expected.remove(Property.WIDTH);
+        Assert.assertEquals(expected, map);
+        Assert.assertEquals(expected.keySet(), map.keySet());
+    }
+
+    @Test
+    public void propertyMapHelpersTest() {
+        // the helpers also work when the properties of a container have been replaced by another map
+        for (Map<Integer, Object> properties : new Map[] {new PropertyMap(), new HashMap<Integer, Object>()}) {
+            Assert.assertNull(PropertyMap.setProperty(properties, Property.FONT_SIZE, 12f));
+            Assert.assertNull(PropertyMap.setProperty(properties, Property.ACTION, null));
+            Assert.assertEquals(12f, PropertyMap.setProperty(properties, Property.FONT_SIZE, 14f));
+            Assert.assertEquals(14f, PropertyMap.getProperty(properties, Property.FONT_SIZE));
+            Assert.assertTrue(PropertyMap.hasProperty(properties, Property.ACTION));
+            Assert.assertNull(PropertyMap.getProperty(properties, Property.ACTION));
+            Assert.assertFalse(PropertyMap.hasProperty(properties, Property.WIDTH));
+            Assert.assertEquals(14f, PropertyMap.deleteProperty(properties, Property.FONT_SIZE));
+            Assert.assertFalse(PropertyMap.hasProperty(properties, Property.FONT_SIZE));
+            Assert.assertEquals(1, properties.size());
+        }
+    }
+
 }